@@ -28,23 +28,50 @@ import com.intellij.openapi.actionSystem.ActionToolbar;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.intellij.openapi.actionSystem.ex.ComboBoxAction;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.FoldRegion;
+import com.intellij.openapi.editor.FoldingModel;
+import com.intellij.openapi.editor.Inlay;
 import com.intellij.openapi.editor.ScrollType;
+import com.intellij.openapi.editor.markup.HighlighterLayer;
+import com.intellij.openapi.editor.markup.RangeHighlighter;
 import com.intellij.openapi.fileTypes.FileTypeManager;
 import com.intellij.openapi.fileTypes.FileTypeRegistry;
 import com.intellij.openapi.options.ShowSettingsUtil;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.IdeFocusManager;
 import com.intellij.ui.PopupHandler;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.util.text.DateFormatUtil;
 import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.annotate.AnnotationInlayRenderer;
+import org.objectweb.asm.idea.annotate.InstructionAnnotation;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
 import org.objectweb.asm.idea.config.ASMPluginConfigurable;
+import org.objectweb.asm.idea.diff.StructuralDiffView;
 
 import javax.swing.*;
 import java.awt.BorderLayout;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Created by IntelliJ IDEA.
@@ -57,57 +84,283 @@ import java.awt.BorderLayout;
  * @author Thiakil (December 2017)
  */
 public class ACodeView extends SimpleToolWindowPanel implements Disposable{
-	protected final Project project;
-	private final   String  extension;
+	private static final Logger LOG = Logger.getInstance(ACodeView.class);
+	
+	/**
+	 * An instruction to move the caret to once its class is shown.
+	 */
+	private record Reveal(VirtualFile file, String method, int instruction){ }
+	
+	protected final Project                 project;
+	private final   String                  extension;
+	private final   BytecodeRenderer.Target target;
+	private final   DefaultActionGroup      actions;
 	
 	
 	protected Editor      editor;
 	protected Document    document;
-	// used for diff view
-	private   String      previousCode;
-	private   VirtualFile previousFile;
+	// text of the view, kept while the editor is released
+	private   String      code = "";
+	private   MemberIndex members = MemberIndex.EMPTY;
+	// the class file shown, its builds are kept by the BytecodeHistory
+	private   VirtualFile file;
+	private   Reveal      reveal;
 	
-	public ACodeView(final Project project, final String fileExtension){
+	// notes on the instructions of a class, shown while that class is
+	private       List<InstructionAnnotation> annotations            = List.of();
+	private       VirtualFile                 annotated;
+	private final List<RangeHighlighter>      annotationHighlighters = new ArrayList<>();
+	private final List<Inlay<?>>              annotationInlays       = new ArrayList<>();
+	
+	public ACodeView(final Project project, final String fileExtension, final BytecodeRenderer.Target target){
 		super(true, true);
 		this.project = project;
 		this.extension = fileExtension;
+		this.target = target;
+		this.actions = new DefaultActionGroup();
 		setupUI();
 	}
 	
-	public ACodeView(final Project project){
-		this(project, "java");
+	public ACodeView(final Project project, final BytecodeRenderer.Target target){
+		this(project, "java", target);
 	}
 	
 	private void setupUI(){
-		final EditorFactory editorFactory = EditorFactory.getInstance();
-		document = editorFactory.createDocument("");
-		editor = editorFactory.createEditor(document, project, FileTypeManager.getInstance().getFileTypeByExtension(extension), true);
-		
-		final JComponent editorComponent = editor.getComponent();
-		add(editorComponent);
-		final AnAction     diffAction = createShowDiffAction();
-		DefaultActionGroup group      = new DefaultActionGroup();
-		group.add(diffAction);
-		group.add(new ShowSettingsAction());
+		final AnAction diffAction = createShowDiffAction();
+		actions.add(new ClassSelectorAction());
+		actions.add(diffAction);
+		actions.add(new ShowStructuralDiffAction());
+		actions.add(new GoToMemberAction());
+		actions.add(new CurrentMethodOnlyAction());
+		for(AnAction action : createViewActions()) actions.add(action);
+		actions.add(new ShowSettingsAction());
 		
 		final ActionManager actionManager = ActionManager.getInstance();
-		final ActionToolbar actionToolBar = actionManager.createActionToolbar("ASM", group, true);
-		final JPanel        buttonsPanel  = new JPanel(new BorderLayout());
+		final ActionToolbar actionToolBar = actionManager.createActionToolbar("ASM", actions, true);
+		actionToolBar.setTargetComponent(this);
+		final JPanel buttonsPanel = new JPanel(new BorderLayout());
 		buttonsPanel.add(actionToolBar.getComponent(), BorderLayout.CENTER);
-		PopupHandler.installPopupMenu(editor.getContentComponent(), group, "ASM");
 		setToolbar(buttonsPanel);
+		
+		LazyEditor.install(this, this, this::createEditor, this::releaseEditor);
+	}
+	
+	private void createEditor(){
+		if(editor != null) return;
+		final long          start         = System.nanoTime();
+		final EditorFactory editorFactory = EditorFactory.getInstance();
+		document = editorFactory.createDocument(code);
+		editor = editorFactory.createEditor(document, project, FileTypeManager.getInstance().getFileTypeByExtension(extension), true);
+		editor.getSettings().setFoldingOutlineShown(true);
+		PopupHandler.installPopupMenu(editor.getContentComponent(), actions, "ASM");
+		add(editor.getComponent());
+		revalidate();
+		applyFolding();
+		applyAnnotations();
+		applyReveal();
+		editorCreated(editor);
+		if(LOG.isDebugEnabled()){
+			LOG.debug(getClass().getSimpleName() + " editor for " + project.getName() + " created in " +
+			          (System.nanoTime() - start)/1_000_000 + " ms, " + code.length() + " chars; now " +
+			          BytecodeOutlineToolWindowFactory.footprint(project));
+		}
+	}
+	
+	private void releaseEditor(){
+		if(editor == null) return;
+		remove(editor.getComponent());
+		EditorFactory.getInstance().releaseEditor(editor);
+		editor = null;
+		document = null;
+		annotationHighlighters.clear();
+		annotationInlays.clear();
+		if(LOG.isDebugEnabled()){
+			LOG.debug(getClass().getSimpleName() + " editor for " + project.getName() + " released after being hidden; now " +
+			          BytecodeOutlineToolWindowFactory.footprint(project));
+		}
+	}
+	
+	/**
+	 * Called once, while the toolbar is built, for the actions only this view has.
+	 */
+	protected List<AnAction> createViewActions(){
+		return List.of();
+	}
+	
+	/**
+	 * Called whenever a new editor is created for this view, the view's text is already in its document.
+	 */
+	protected void editorCreated(final Editor editor){
+	}
+	
+	/**
+	 * @return whether the view currently holds an editor, see {@link LazyEditor}
+	 */
+	public boolean isEditorAllocated(){
+		return editor != null;
+	}
+	
+	public String getCode(){
+		return code;
+	}
+	
+	/**
+	 * @return where the members are in {@link #getCode()}
+	 */
+	public MemberIndex getMembers(){
+		return members;
+	}
+	
+	/**
+	 * @return the class file shown, or null
+	 */
+	public VirtualFile getFile(){
+		return file;
+	}
+	
+	/**
+	 * @return the name and descriptor of the method at the caret, or null if the caret is not in a method
+	 */
+	public String getMethodAtCaret(){
+		return editor == null? null : getMethodAt(editor.getCaretModel().getOffset());
+	}
+	
+	/**
+	 * @return the name and descriptor of the method at an offset of the text, or null if there is no method there
+	 */
+	protected String getMethodAt(final int offset){
+		for(MemberIndex.Member member : members.getMembers()){
+			if(member.kind() == MemberIndex.Kind.METHOD && member.start()<=offset && offset<=member.end()) return member.name();
+		}
+		return null;
+	}
+	
+	/**
+	 * @return the index, among the real instructions of {@link #getMethodAtCaret()}, of the instruction on the line of
+	 * the caret or else the closest one above it, or -1 if there is none
+	 */
+	public int getInstructionAtCaret(){
+		final String method = getMethodAtCaret();
+		if(method == null) return -1;
+		final int   lineEnd = document.getLineEndOffset(document.getLineNumber(editor.getCaretModel().getOffset()));
+		final int[] offsets = members.instructionOffsets(document.getCharsSequence(), method);
+		final int   found   = Arrays.binarySearch(offsets, lineEnd);
+		return found>=0? found : -found - 2;
 	}
 	
 	public void setCode(final VirtualFile file, final String code){
-		final String text = document.getText();
-		if(previousFile == null || file == null || previousFile.getPath().equals(file.getPath()) && !text.isEmpty()){
-			if(file != null) previousCode = text;
-		}else if(!previousFile.getPath().equals(file.getPath())){
-			previousCode = ""; // reset previous code
+		setCode(file, code, MemberIndex.EMPTY);
+	}
+	
+	/**
+	 * @param members where the members are in the code, used for folding and navigation
+	 */
+	public void setCode(final VirtualFile file, final String code, final MemberIndex members){
+		this.code = code;
+		this.file = file;
+		this.members = members;
+		if(editor != null){
+			document.setText(code);
+			applyFolding();
+			applyAnnotations();
+			editor.getScrollingModel().scrollTo(editor.offsetToLogicalPosition(0), ScrollType.MAKE_VISIBLE);
+			applyReveal();
 		}
-		document.setText(code);
-		if(file != null) previousFile = file;
-		editor.getScrollingModel().scrollTo(editor.offsetToLogicalPosition(0), ScrollType.MAKE_VISIBLE);
+	}
+	
+	/**
+	 * Moves the caret to an instruction of a class, now if the class is shown or else as soon as it is.
+	 *
+	 * @param method      the method name and descriptor
+	 * @param instruction the index of the instruction among the real instructions of the method
+	 */
+	public void revealInstruction(final VirtualFile file, final String method, final int instruction){
+		reveal = new Reveal(file, method, instruction);
+		if(editor != null) applyReveal();
+	}
+	
+	private void applyReveal(){
+		if(reveal == null || !reveal.file().equals(file)) return;
+		final int offset = members.instructionOffset(document.getCharsSequence(), reveal.method(), reveal.instruction());
+		reveal = null;
+		if(offset<0) return;
+		final FoldRegion folded = editor.getFoldingModel().getCollapsedRegionAtOffset(offset);
+		if(folded != null) editor.getFoldingModel().runBatchFoldingOperation(() -> folded.setExpanded(true));
+		editor.getCaretModel().moveToOffset(offset);
+		editor.getScrollingModel().scrollToCaret(ScrollType.CENTER);
+		IdeFocusManager.getInstance(project).requestFocus(editor.getContentComponent(), true);
+	}
+	
+	/**
+	 * Replaces the notes shown on instruction lines, see {@link org.objectweb.asm.idea.annotate.InstructionAnnotations}.
+	 *
+	 * @param file the class file the notes are about, they are only shown while it is
+	 */
+	public void setAnnotations(final VirtualFile file, final List<InstructionAnnotation> annotations){
+		this.annotated = file;
+		this.annotations = List.copyOf(annotations);
+		if(editor != null) applyAnnotations();
+	}
+	
+	/**
+	 * Adds notes to those shown on instruction lines, leaving the others in place.
+	 *
+	 * @param file the class file the notes are about, they are dropped unless the shown notes are about it too
+	 */
+	public void addAnnotations(final VirtualFile file, final List<InstructionAnnotation> annotations){
+		if(!file.equals(annotated)) return;
+		final List<InstructionAnnotation> all = new ArrayList<>(this.annotations);
+		all.addAll(annotations);
+		this.annotations = List.copyOf(all);
+		if(editor != null && file.equals(this.file)) addAnnotationMarkers(annotations);
+	}
+	
+	private void applyAnnotations(){
+		for(RangeHighlighter highlighter : annotationHighlighters) editor.getMarkupModel().removeHighlighter(highlighter);
+		for(Inlay<?> inlay : annotationInlays) Disposer.dispose(inlay);
+		annotationHighlighters.clear();
+		annotationInlays.clear();
+		if(annotations.isEmpty() || file == null || !file.equals(annotated)) return;
+		addAnnotationMarkers(annotations);
+	}
+	
+	private void addAnnotationMarkers(final List<InstructionAnnotation> annotations){
+		final CharSequence       text         = document.getCharsSequence();
+		final Map<String, int[]> instructions = new HashMap<>();
+		for(InstructionAnnotation annotation : annotations){
+			final int offset;
+			if(annotation.instruction() == InstructionAnnotation.DECLARATION){
+				offset = members.declarationOffset(text, annotation.method());
+			}else{
+				final int[] offsets = instructions.computeIfAbsent(annotation.method(), method -> members.instructionOffsets(text, method));
+				offset = annotation.instruction()<offsets.length? offsets[annotation.instruction()] : -1;
+			}
+			if(offset<0) continue;
+			final int      line  = document.getLineNumber(offset);
+			final Inlay<?> inlay = editor.getInlayModel().addAfterLineEndElement(document.getLineEndOffset(line), false, new AnnotationInlayRenderer(annotation));
+			if(inlay != null) annotationInlays.add(inlay);
+			if(annotation.color() == null) continue;
+			final RangeHighlighter highlighter = editor.getMarkupModel().addLineHighlighter(line, HighlighterLayer.ADDITIONAL_SYNTAX, null);
+			highlighter.setLineMarkerRenderer(AnnotationInlayRenderer.gutterStrip(annotation.color()));
+			highlighter.setErrorStripeMarkColor(annotation.color());
+			highlighter.setErrorStripeTooltip(annotation.text());
+			annotationHighlighters.add(highlighter);
+		}
+	}
+	
+	/**
+	 * Folds every member body and every run of fields or annotations, collapsed.
+	 */
+	private void applyFolding(){
+		final FoldingModel foldingModel = editor.getFoldingModel();
+		final var          folds        = members.folds(document.getCharsSequence());
+		foldingModel.runBatchFoldingOperation(() -> {
+			for(FoldRegion region : foldingModel.getAllFoldRegions()) foldingModel.removeFoldRegion(region);
+			for(MemberIndex.Fold fold : folds){
+				final FoldRegion region = foldingModel.addFoldRegion(fold.start(), fold.end(), fold.placeholder());
+				if(region != null) region.setExpanded(false);
+			}
+		});
 	}
 	
 	
@@ -123,6 +376,111 @@ public class ACodeView extends SimpleToolWindowPanel implements Disposable{
 		return new ShowDiffAction();
 	}
 	
+	/**
+	 * Switches the views between the classes emitted by the shown source file.
+	 */
+	private final class ClassSelectorAction extends ComboBoxAction{
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void update(final @NotNull AnActionEvent e){
+			final BytecodeRenderer renderer = BytecodeRenderer.getInstance(project);
+			final VirtualFile      selected = renderer.getSelected();
+			e.getPresentation().setVisible(selected != null && renderer.getClasses().size()>1);
+			if(selected != null) e.getPresentation().setText(selected.getNameWithoutExtension(), false);
+		}
+		
+		@Override
+		protected @NotNull DefaultActionGroup createPopupActionGroup(final @NotNull JComponent button, final @NotNull DataContext dataContext){
+			final BytecodeRenderer   renderer = BytecodeRenderer.getInstance(project);
+			final DefaultActionGroup group    = new DefaultActionGroup();
+			for(VirtualFile classFile : renderer.getClasses()){
+				group.add(new AnAction(classFile.getNameWithoutExtension()){
+					@Override
+					public void actionPerformed(final @NotNull AnActionEvent e){
+						renderer.select(classFile);
+					}
+				});
+			}
+			return group;
+		}
+	}
+	
+	/**
+	 * Lists the members of the view and moves the caret to the picked one, using the offsets recorded while rendering.
+	 */
+	private final class GoToMemberAction extends AnAction{
+		
+		private GoToMemberAction(){
+			super("Go to Member", "Jump to a method, field or annotation of the shown class", AllIcons.Toolwindows.ToolWindowStructure);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void update(final AnActionEvent e){
+			e.getPresentation().setEnabled(editor != null && !members.isEmpty());
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			if(editor == null || members.isEmpty()) return;
+			JBPopupFactory.getInstance()
+			              .createPopupChooserBuilder(members.getMembers())
+			              .setTitle("Go to Member")
+			              .setRenderer(SimpleListCellRenderer.<MemberIndex.Member>create((label, member, index) -> {
+				              label.setText(member.name());
+				              label.setIcon(switch(member.kind()){
+					              case ANNOTATION -> AllIcons.Nodes.Annotationtype;
+					              case FIELD -> AllIcons.Nodes.Field;
+					              case METHOD -> AllIcons.Nodes.Method;
+				              });
+			              }))
+			              .setNamerForFiltering(MemberIndex.Member::name)
+			              .setItemChosenCallback(member -> {
+				              if(editor == null || member.end()>document.getTextLength()) return;
+				              editor.getCaretModel().moveToOffset(member.start());
+				              editor.getScrollingModel().scrollToCaret(ScrollType.CENTER_DOWN);
+				              IdeFocusManager.getInstance(project).requestFocus(editor.getContentComponent(), true);
+			              })
+			              .createPopup()
+			              .showInBestPositionFor(e.getDataContext());
+		}
+	}
+	
+	/**
+	 * Renders only the method which was at the caret when the class was shown.
+	 */
+	private final class CurrentMethodOnlyAction extends ToggleAction{
+		
+		private CurrentMethodOnlyAction(){
+			super("Current Method Only", "Show only the method at the caret instead of the whole class", AllIcons.General.Filter);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public boolean isSelected(final @NotNull AnActionEvent e){
+			return project.getService(ASMPluginComponent.class).isCurrentMethodOnly();
+		}
+		
+		@Override
+		public void setSelected(final @NotNull AnActionEvent e, final boolean state){
+			project.getService(ASMPluginComponent.class).setCurrentMethodOnly(state);
+			BytecodeRenderer.getInstance(project).settingsChanged();
+		}
+	}
+	
 	private final class ShowSettingsAction extends AnAction{
 		
 		private ShowSettingsAction(){
@@ -137,13 +495,13 @@ public class ACodeView extends SimpleToolWindowPanel implements Disposable{
 		}
 	}
 	
-	private class ShowDiffAction extends AnAction{
+	/**
+	 * Base for actions comparing two builds of the shown class from the {@link BytecodeHistory}.
+	 */
+	private abstract class CompareBuildsAction extends AnAction{
 		
-		public ShowDiffAction(){
-			super("Show Differences",
-			      "Shows differences from the previous version of bytecode for this file",
-			      AllIcons.Actions.Diff
-			);
+		protected CompareBuildsAction(final String text, final String description, final Icon icon){
+			super(text, description, icon);
 		}
 		
 		@Override
@@ -153,22 +511,105 @@ public class ACodeView extends SimpleToolWindowPanel implements Disposable{
 		
 		@Override
 		public void update(final AnActionEvent e){
-			e.getPresentation().setEnabled(!"".equals(previousCode) && (previousFile != null));
+			e.getPresentation().setEnabled(file != null && BytecodeHistory.getInstance(project).getRevisions(file.getPath()).size()>1);
 		}
 		
 		@Override
 		public void actionPerformed(final @NotNull AnActionEvent e){
-			// there must be a simpler way to obtain the file type
-			var psiFile        = FileTypeRegistry.getInstance().getFileTypeByExtension(extension);
-			var currentContent = DiffContentFactory.getInstance().create(previousFile == null? "" : document.getText(), psiFile);
-			var oldContent     = DiffContentFactory.getInstance().create(previousCode == null? "" : previousCode, psiFile);
-			DiffManager.getInstance().showDiff(
-				project,
-				new SimpleDiffRequest(
-					"Show Differences from Previous Class Contents",
-					oldContent, currentContent,
-					"Previous version", "Current version"
-				));
+			if(file == null) return;
+			final String                         classKey  = file.getPath();
+			final List<BytecodeHistory.Revision> revisions = BytecodeHistory.getInstance(project).getRevisions(classKey);
+			if(revisions.size()<2) return;
+			if(revisions.size() == 2){
+				compare(classKey, revisions.get(1), revisions.get(0));
+				return;
+			}
+			JBPopupFactory.getInstance()
+			              .createPopupChooserBuilder(revisions)
+			              .setTitle("Compare With Current Build, or Select Two Builds")
+			              .setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION)
+			              .setRenderer(SimpleListCellRenderer.create("", ACodeView::describe))
+			              .setItemsChosenCallback(chosen -> {
+				              var sorted = chosen.stream().sorted(Comparator.comparingInt(BytecodeHistory.Revision::index)).toList();
+				              if(sorted.size() == 1 && sorted.get(0).index()>0) compare(classKey, sorted.get(0), revisions.get(0));
+				              else if(sorted.size() == 2) compare(classKey, sorted.get(1), sorted.get(0));
+			              })
+			              .createPopup()
+			              .showInBestPositionFor(e.getDataContext());
+		}
+		
+		protected abstract void compare(String classKey, BytecodeHistory.Revision older, BytecodeHistory.Revision newer);
+	}
+	
+	private class ShowStructuralDiffAction extends CompareBuildsAction{
+		
+		public ShowStructuralDiffAction(){
+			super("Show Changed Members",
+			      "Lists the fields and methods which differ between builds of this file, then compares the picked ones",
+			      AllIcons.Nodes.Method
+			);
+		}
+		
+		@Override
+		protected void compare(final String classKey, final BytecodeHistory.Revision older, final BytecodeHistory.Revision newer){
+			var history    = BytecodeHistory.getInstance(project);
+			var olderBytes = history.restore(classKey, older);
+			var newerBytes = history.restore(classKey, newer);
+			if(olderBytes == null || newerBytes == null) return;
+			StructuralDiffView.show(project, olderBytes, newerBytes, describe(older), describe(newer));
 		}
 	}
+	
+	private class ShowDiffAction extends CompareBuildsAction{
+		
+		public ShowDiffAction(){
+			super("Show Differences",
+			      "Shows differences between builds of the bytecode for this file",
+			      AllIcons.Actions.Diff
+			);
+		}
+		
+		/**
+		 * Renders both builds with the current settings, so only what changed between builds shows up.
+		 */
+		@Override
+		protected void compare(final String classKey, final BytecodeHistory.Revision older, final BytecodeHistory.Revision newer){
+			ProgressManager.getInstance().run(new Task.Backgroundable(project, "Rendering builds to compare"){
+				private String olderText;
+				private String newerText;
+				
+				@Override
+				public void run(final @NotNull ProgressIndicator indicator){
+					var history  = BytecodeHistory.getInstance(project);
+					var renderer = BytecodeRenderer.getInstance(project);
+					olderText = render(renderer, history.restore(classKey, older));
+					newerText = render(renderer, history.restore(classKey, newer));
+				}
+				
+				private String render(final BytecodeRenderer renderer, final byte[] bytes){
+					return bytes == null? "// This build is no longer in the history" : renderer.renderText(target, bytes);
+				}
+				
+				@Override
+				public void onSuccess(){
+					// there must be a simpler way to obtain the file type
+					var fileType   = FileTypeRegistry.getInstance().getFileTypeByExtension(extension);
+					var oldContent = DiffContentFactory.getInstance().create(olderText, fileType);
+					var newContent = DiffContentFactory.getInstance().create(newerText, fileType);
+					DiffManager.getInstance().showDiff(
+						project,
+						new SimpleDiffRequest(
+							"Show Differences Between Class Builds",
+							oldContent, newContent,
+							describe(older), describe(newer)
+						));
+				}
+			});
+		}
+	}
+	
+	private static String describe(final BytecodeHistory.Revision revision){
+		return (revision.index() == 0? "Current build" : "Build") + " of " + DateFormatUtil.formatTimeWithSeconds(revision.timestamp()) +
+		       " (" + revision.length() + " bytes)";
+	}
 }
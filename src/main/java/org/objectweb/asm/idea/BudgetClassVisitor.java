@@ -0,0 +1,245 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.util.Printer;
+
+/**
+ * A pass-through class visitor which interrupts the visit with a {@link BudgetExceededException} once the stage it
+ * guards has run for longer than its budget. The member being visited at that point is reported in the exception.
+ * <p>
+ * A printer only writes its text once the visit ends, so given the printer, the budget is also checked while it writes:
+ * a checkpoint follows the text of every member, and reports that member if the budget ran out by then.
+ */
+public class BudgetClassVisitor extends ClassVisitor{
+	
+	/**
+	 * The clock is only read every this many instructions, mask form.
+	 */
+	private static final int CHECK_MASK = 63;
+	
+	private final String  stage;
+	private final long    budgetMillis;
+	private final long    deadline;
+	private final Printer printer;
+	
+	private String member;
+	private int    ticks;
+	
+	public BudgetClassVisitor(final String stage, final long budgetMillis, final ClassVisitor classVisitor){
+		this(stage, budgetMillis, null, classVisitor);
+	}
+	
+	/**
+	 * @param printer the printer the visit ends in, or null to only check the visit
+	 */
+	public BudgetClassVisitor(final String stage, final long budgetMillis, final Printer printer, final ClassVisitor classVisitor){
+		super(Opcodes.ASM9, classVisitor);
+		this.stage = stage;
+		this.budgetMillis = budgetMillis;
+		this.deadline = System.nanoTime() + budgetMillis*1_000_000L;
+		this.printer = printer;
+	}
+	
+	@Override
+	public FieldVisitor visitField(final int access, final String name, final String descriptor, final String signature, final Object value){
+		member = name + " " + descriptor;
+		check();
+		final FieldVisitor fv = super.visitField(access, name, descriptor, signature, value);
+		checkpoint(member);
+		return fv;
+	}
+	
+	@Override
+	public MethodVisitor visitMethod(final int access, final String name, final String descriptor, final String signature, final String[] exceptions){
+		member = name + descriptor;
+		check();
+		final MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
+		// the printer has added the text of the method, its body is filled in as the visit goes on
+		checkpoint(member);
+		return mv == null? null : new BudgetMethodVisitor(mv);
+	}
+	
+	@Override
+	public void visitEnd(){
+		member = null;
+		check();
+		super.visitEnd();
+	}
+	
+	private void tick(){
+		if((++ticks&CHECK_MASK) == 0) check();
+	}
+	
+	private void check(){
+		if(System.nanoTime() - deadline>0){
+			throw new BudgetExceededException(stage, member, budgetMillis);
+		}
+	}
+	
+	private void checkpoint(final String member){
+		if(printer != null) printer.getText().add(new Checkpoint(member));
+	}
+	
+	/**
+	 * Written out by the printer after the text of a member, as {@link MemberIndexVisitor} markers are.
+	 */
+	private final class Checkpoint{
+		private final String member;
+		
+		private Checkpoint(final String member){
+			this.member = member;
+		}
+		
+		@Override
+		public String toString(){
+			if(System.nanoTime() - deadline>0){
+				throw new BudgetExceededException(stage + " printing", member, budgetMillis);
+			}
+			return "";
+		}
+	}
+	
+	private final class BudgetMethodVisitor extends MethodVisitor{
+		
+		private BudgetMethodVisitor(final MethodVisitor methodVisitor){
+			super(Opcodes.ASM9, methodVisitor);
+		}
+		
+		@Override
+		public void visitFrame(final int type, final int numLocal, final Object[] local, final int numStack, final Object[] stack){
+			tick();
+			super.visitFrame(type, numLocal, local, numStack, stack);
+		}
+		
+		@Override
+		public void visitInsn(final int opcode){
+			tick();
+			super.visitInsn(opcode);
+		}
+		
+		@Override
+		public void visitIntInsn(final int opcode, final int operand){
+			tick();
+			super.visitIntInsn(opcode, operand);
+		}
+		
+		@Override
+		public void visitVarInsn(final int opcode, final int varIndex){
+			tick();
+			super.visitVarInsn(opcode, varIndex);
+		}
+		
+		@Override
+		public void visitTypeInsn(final int opcode, final String type){
+			tick();
+			super.visitTypeInsn(opcode, type);
+		}
+		
+		@Override
+		public void visitFieldInsn(final int opcode, final String owner, final String name, final String descriptor){
+			tick();
+			super.visitFieldInsn(opcode, owner, name, descriptor);
+		}
+		
+		@Override
+		public void visitMethodInsn(final int opcode, final String owner, final String name, final String descriptor, final boolean isInterface){
+			tick();
+			super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+		}
+		
+		@Override
+		public void visitInvokeDynamicInsn(final String name, final String descriptor, final Handle bootstrapMethodHandle, final Object... bootstrapMethodArguments){
+			tick();
+			super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+		}
+		
+		@Override
+		public void visitJumpInsn(final int opcode, final Label label){
+			tick();
+			super.visitJumpInsn(opcode, label);
+		}
+		
+		@Override
+		public void visitLabel(final Label label){
+			tick();
+			super.visitLabel(label);
+		}
+		
+		@Override
+		public void visitLdcInsn(final Object value){
+			tick();
+			super.visitLdcInsn(value);
+		}
+		
+		@Override
+		public void visitIincInsn(final int varIndex, final int increment){
+			tick();
+			super.visitIincInsn(varIndex, increment);
+		}
+		
+		@Override
+		public void visitTableSwitchInsn(final int min, final int max, final Label dflt, final Label... labels){
+			check();
+			super.visitTableSwitchInsn(min, max, dflt, labels);
+		}
+		
+		@Override
+		public void visitLookupSwitchInsn(final Label dflt, final int[] keys, final Label[] labels){
+			check();
+			super.visitLookupSwitchInsn(dflt, keys, labels);
+		}
+		
+		@Override
+		public void visitMultiANewArrayInsn(final String descriptor, final int numDimensions){
+			tick();
+			super.visitMultiANewArrayInsn(descriptor, numDimensions);
+		}
+		
+		@Override
+		public void visitTryCatchBlock(final Label start, final Label end, final Label handler, final String type){
+			tick();
+			super.visitTryCatchBlock(start, end, handler, type);
+		}
+		
+		@Override
+		public void visitLocalVariable(final String name, final String descriptor, final String signature, final Label start, final Label end, final int index){
+			tick();
+			super.visitLocalVariable(name, descriptor, signature, start, end, index);
+		}
+		
+		@Override
+		public void visitLineNumber(final int line, final Label start){
+			tick();
+			super.visitLineNumber(line, start);
+		}
+		
+		@Override
+		public void visitEnd(){
+			check();
+			super.visitEnd();
+		}
+	}
+}
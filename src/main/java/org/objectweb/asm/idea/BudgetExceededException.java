@@ -0,0 +1,51 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+/**
+ * Thrown when a rendering stage runs past its configured time budget.
+ */
+public class BudgetExceededException extends RuntimeException{
+	
+	private final String stage;
+	private final String member;
+	private final long   budgetMillis;
+	
+	public BudgetExceededException(final String stage, final String member, final long budgetMillis){
+		super(stage + " exceeded its " + budgetMillis + " ms budget" + (member == null? "" : " in " + member));
+		this.stage = stage;
+		this.member = member;
+		this.budgetMillis = budgetMillis;
+	}
+	
+	public String getStage(){
+		return stage;
+	}
+	
+	/**
+	 * @return the member being visited when the budget ran out, or null if the stage is not member based
+	 */
+	public String getMember(){
+		return member;
+	}
+	
+	public long getBudgetMillis(){
+		return budgetMillis;
+	}
+}
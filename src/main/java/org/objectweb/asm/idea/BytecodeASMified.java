@@ -31,7 +31,7 @@ import com.intellij.openapi.project.Project;
 public class BytecodeASMified extends ACodeView{
 	
 	public BytecodeASMified(final Project project){
-		super(project);
+		super(project, BytecodeRenderer.Target.ASMIFIED);
 	}
 	
 	public static BytecodeASMified getInstance(Project project){
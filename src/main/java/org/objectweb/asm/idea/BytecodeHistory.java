@@ -0,0 +1,361 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+import com.intellij.openapi.project.Project;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Keeps the last few builds of every class shown in the tool window, so any two of them can be compared.
+ * <p>
+ * The class bytes are stored rather than the rendered text: they are several times smaller, and every view can render
+ * them again with the current settings. The latest build of a class is kept deflated, each older one as a reverse
+ * delta against the build that followed it, also deflated. The delta follows the parts the two builds share wherever
+ * they moved to, so a rebuild which renumbers the constant pool still costs little more than what changed. All classes share one
+ * memory cap, when it is exceeded the oldest builds of the least recently shown classes go first.
+ */
+public class BytecodeHistory{
+	
+	static final int  MAX_REVISIONS   = 10;
+	static final long MAX_TOTAL_BYTES = 8L*1024*1024;
+	
+	/**
+	 * How many equal bytes start a match against the newer version. Shorter runs are stored as they are, and left to
+	 * the deflater.
+	 */
+	private static final int  DELTA_BLOCK   = 16;
+	// how many bytes a match is walked past its best score before giving up
+	private static final int  DELTA_SLACK   = 64;
+	private static final byte DELTA_ADD     = 0;
+	private static final byte DELTA_INSERT  = 1;
+	private static final int  HASH_BASE     = 31;
+	// HASH_BASE to the power DELTA_BLOCK - 1, what the first byte of a block weighs in its hash
+	private static final int  HASH_BASE_POW = pow(HASH_BASE, DELTA_BLOCK - 1);
+	
+	/**
+	 * One recorded build of a class.
+	 *
+	 * @param index     0 for the latest build, growing towards older builds
+	 * @param timestamp when the build was first shown
+	 * @param length    the size of the class file
+	 */
+	public record Revision(int index, long timestamp, int length){ }
+	
+	private static final class Entry{
+		private final long   timestamp;
+		private final int    length;
+		private       byte[] data;
+		
+		private Entry(final long timestamp, final int length, final byte[] data){
+			this.timestamp = timestamp;
+			this.length = length;
+			this.data = data;
+		}
+	}
+	
+	/**
+	 * The builds of one class, newest first. The first entry holds the whole class, the others deltas.
+	 */
+	private static final class ClassHistory{
+		private final LinkedList<Entry> entries = new LinkedList<>();
+		
+		private long size(){
+			long size = 0;
+			for(Entry entry : entries) size += entry.data.length;
+			return size;
+		}
+	}
+	
+	// in the order they were last shown, so iteration starts from the least recently shown class; only recording a
+	// build moves a class to the end, lookups leave the order alone
+	private final Map<String, ClassHistory> classes = new LinkedHashMap<>();
+	private       long                      totalBytes;
+	
+	public static BytecodeHistory getInstance(Project project){
+		return project.getService(BytecodeHistory.class);
+	}
+	
+	/**
+	 * Records a build of a class, unless it is identical to the latest recorded one.
+	 *
+	 * @param classKey identifies the class, usually the path of its class file
+	 * @param bytes    the class file contents
+	 */
+	public synchronized void record(final String classKey, final byte[] bytes){
+		final ClassHistory previous = classes.remove(classKey);
+		final ClassHistory history  = previous == null? new ClassHistory() : previous;
+		classes.put(classKey, history);
+		if(!history.entries.isEmpty()){
+			final Entry  latest      = history.entries.getFirst();
+			final byte[] latestBytes = inflate(latest.data, latest.length);
+			if(Arrays.equals(latestBytes, bytes)) return;
+			
+			// the previous build is now stored relative to the new one
+			final byte[] delta = deflate(encodeDelta(bytes, latestBytes));
+			totalBytes += delta.length - latest.data.length;
+			latest.data = delta;
+		}
+		final Entry entry = new Entry(System.currentTimeMillis(), bytes.length, deflate(bytes));
+		history.entries.addFirst(entry);
+		totalBytes += entry.data.length;
+		
+		while(history.entries.size()>MAX_REVISIONS){
+			totalBytes -= history.entries.removeLast().data.length;
+		}
+		evict();
+	}
+	
+	/**
+	 * @return the recorded builds of the class, newest first
+	 */
+	public synchronized List<Revision> getRevisions(final String classKey){
+		final ClassHistory history = classes.get(classKey);
+		if(history == null) return List.of();
+		final List<Revision> revisions = new ArrayList<>(history.entries.size());
+		int                  index     = 0;
+		for(Entry entry : history.entries){
+			revisions.add(new Revision(index++, entry.timestamp, entry.length));
+		}
+		return revisions;
+	}
+	
+	/**
+	 * Rebuilds the class file of a recorded build.
+	 *
+	 * @return the class bytes, or null if that build is no longer recorded
+	 */
+	public synchronized byte[] restore(final String classKey, final Revision revision){
+		final ClassHistory history = classes.get(classKey);
+		if(history == null || revision.index()>=history.entries.size()) return null;
+		final Iterator<Entry> iterator = history.entries.iterator();
+		Entry                 entry    = iterator.next();
+		byte[]                bytes    = inflate(entry.data, entry.length);
+		for(int i = 0; i<revision.index(); i++){
+			entry = iterator.next();
+			bytes = decodeDelta(bytes, inflate(entry.data, -1));
+		}
+		return entry.timestamp == revision.timestamp()? bytes : null;
+	}
+	
+	/**
+	 * @return the memory used by all recorded builds
+	 */
+	public synchronized long getTotalBytes(){
+		return totalBytes;
+	}
+	
+	private void evict(){
+		final Iterator<ClassHistory> iterator = classes.values().iterator();
+		while(totalBytes>MAX_TOTAL_BYTES && iterator.hasNext()){
+			final ClassHistory history = iterator.next();
+			while(totalBytes>MAX_TOTAL_BYTES && history.entries.size()>1){
+				totalBytes -= history.entries.removeLast().data.length;
+			}
+			if(totalBytes>MAX_TOTAL_BYTES){
+				totalBytes -= history.size();
+				iterator.remove();
+			}
+		}
+	}
+	
+	/**
+	 * Encodes the older version of a class against the newer one. A class file has no lines, and an edit which
+	 * renumbers the constant pool changes two bytes in every few all over the class, so the runs the two versions share
+	 * are short. Instead, wherever a block of the older version is found in the newer one, the match is stretched for as
+	 * long as most bytes around it still agree, and only the byte differences over that stretch are stored: mostly
+	 * zeros and a few repeated index shifts, which the deflater then squeezes to almost nothing.
+	 */
+	static byte[] encodeDelta(final byte[] newer, final byte[] older){
+		final int[] blocks = indexBlocks(newer);
+		final int   mask   = blocks.length - 1;
+		
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(older.length + 16);
+		try(DataOutputStream out = new DataOutputStream(bytes)){
+			out.writeInt(older.length);
+			// older[literal, position) has no match yet
+			int literal  = 0;
+			int position = 0;
+			int hash     = older.length>=DELTA_BLOCK? hash(older, 0) : 0;
+			while(position + DELTA_BLOCK<=older.length){
+				final int candidate = blocks[hash&mask] - 1;
+				if(candidate>=0 && Arrays.equals(newer, candidate, candidate + DELTA_BLOCK, older, position, position + DELTA_BLOCK)){
+					final int before = stretch(newer, candidate - 1, older, position - 1, -1, Math.min(position - literal, candidate));
+					final int after  = stretch(newer, candidate, older, position, 1, Math.min(older.length - position, newer.length - candidate));
+					final int start  = position - before;
+					final int from   = candidate - before;
+					final int length = before + after;
+					if(start>literal){
+						out.writeByte(DELTA_INSERT);
+						out.writeInt(start - literal);
+						out.write(older, literal, start - literal);
+					}
+					out.writeByte(DELTA_ADD);
+					out.writeInt(from);
+					out.writeInt(length);
+					for(int i = 0; i<length; i++) out.writeByte(older[start + i] - newer[from + i]);
+					literal = position = start + length;
+					if(position + DELTA_BLOCK<=older.length) hash = hash(older, position);
+					continue;
+				}
+				if(position + DELTA_BLOCK<older.length) hash = roll(hash, older[position], older[position + DELTA_BLOCK]);
+				position++;
+			}
+			if(older.length>literal){
+				out.writeByte(DELTA_INSERT);
+				out.writeInt(older.length - literal);
+				out.write(older, literal, older.length - literal);
+			}
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+	
+	static byte[] decodeDelta(final byte[] newer, final byte[] delta){
+		try(DataInputStream in = new DataInputStream(new ByteArrayInputStream(delta))){
+			final byte[] older    = new byte[in.readInt()];
+			int          position = 0;
+			while(position<older.length){
+				final int op = in.readByte();
+				if(op == DELTA_ADD){
+					final int from   = in.readInt();
+					final int length = in.readInt();
+					for(int i = 0; i<length; i++) older[position + i] = (byte)(newer[from + i] + in.readByte());
+					position += length;
+				}else{
+					final int length = in.readInt();
+					in.readFully(older, position, length);
+					position += length;
+				}
+			}
+			return older;
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Walks from a match, one byte at a time in the given direction, scoring one for every equal byte and minus one for
+	 * every other, and stops once the score has not improved for {@link #DELTA_SLACK} bytes.
+	 *
+	 * @param limit how many bytes there are to walk over
+	 * @return how many bytes the match should cover, where the score was best
+	 */
+	private static int stretch(final byte[] newer, final int to, final byte[] older, final int from, final int step, final int limit){
+		int score = 0;
+		int best  = 0;
+		int taken = 0;
+		for(int i = 0; i<limit && i - taken<=DELTA_SLACK; i++){
+			score += newer[to + i*step] == older[from + i*step]? 1 : -1;
+			if(score>=best){
+				best = score;
+				taken = i + 1;
+			}
+		}
+		return taken;
+	}
+	
+	/**
+	 * @return the first start of every block of the class, plus one, by hash
+	 */
+	private static int[] indexBlocks(final byte[] newer){
+		final int[] blocks = new int[Integer.highestOneBit(Math.max(newer.length, 1))*2];
+		if(newer.length<DELTA_BLOCK) return blocks;
+		int hash = hash(newer, 0);
+		for(int start = 0; ; start++){
+			final int slot = hash&(blocks.length - 1);
+			if(blocks[slot] == 0) blocks[slot] = start + 1;
+			if(start + DELTA_BLOCK>=newer.length) return blocks;
+			hash = roll(hash, newer[start], newer[start + DELTA_BLOCK]);
+		}
+	}
+	
+	private static int hash(final byte[] data, final int start){
+		int hash = 0;
+		for(int i = start; i<start + DELTA_BLOCK; i++) hash = hash*HASH_BASE + (data[i]&0xFF);
+		return hash;
+	}
+	
+	/**
+	 * Moves a hash of {@link #DELTA_BLOCK} bytes one byte forward.
+	 */
+	private static int roll(final int hash, final byte out, final byte in){
+		return (hash - (out&0xFF)*HASH_BASE_POW)*HASH_BASE + (in&0xFF);
+	}
+	
+	private static int pow(final int base, final int exponent){
+		int result = 1;
+		for(int i = 0; i<exponent; i++) result *= base;
+		return result;
+	}
+	
+	private static byte[] deflate(final byte[] data){
+		final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try{
+			deflater.setInput(data);
+			deflater.finish();
+			final ByteArrayOutputStream out    = new ByteArrayOutputStream(data.length/2 + 16);
+			final byte[]                buffer = new byte[8192];
+			while(!deflater.finished()){
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return out.toByteArray();
+		}finally{
+			deflater.end();
+		}
+	}
+	
+	/**
+	 * @param length the inflated length if known, or -1
+	 */
+	private static byte[] inflate(final byte[] data, final int length){
+		final Inflater inflater = new Inflater();
+		try{
+			inflater.setInput(data);
+			final ByteArrayOutputStream out    = new ByteArrayOutputStream(length<0? data.length*3 : length);
+			final byte[]                buffer = new byte[8192];
+			while(!inflater.finished()){
+				final int n = inflater.inflate(buffer);
+				if(n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+				out.write(buffer, 0, n);
+			}
+			return out.toByteArray();
+		}catch(DataFormatException e){
+			throw new IllegalStateException("Corrupted bytecode history", e);
+		}finally{
+			inflater.end();
+		}
+	}
+}
@@ -18,7 +18,25 @@
 
 package org.objectweb.asm.idea;
 
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.FoldRegion;
+import com.intellij.openapi.editor.event.EditorMouseEvent;
+import com.intellij.openapi.editor.event.EditorMouseMotionListener;
+import com.intellij.openapi.editor.ex.EditorEx;
+import com.intellij.openapi.editor.ex.FoldingListener;
+import com.intellij.openapi.editor.ex.FoldingModelEx;
 import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+import org.objectweb.asm.idea.frames.InferredFrames;
+import org.objectweb.asm.idea.lang.BytecodeFileType;
+
+import java.util.List;
 
 
 /**
@@ -31,10 +49,95 @@ import com.intellij.openapi.project.Project;
 public class BytecodeOutline extends ACodeView{
 	
 	public BytecodeOutline(final Project project){
-		super(project);
+		super(project, BytecodeFileType.EXTENSION, BytecodeRenderer.Target.BYTECODE);
 	}
 	
 	public static BytecodeOutline getInstance(Project project){
 		return project.getService(BytecodeOutline.class);
 	}
+	
+	@Override
+	protected List<AnAction> createViewActions(){
+		return List.of(new InferFramesAction(), new InferAllFramesAction());
+	}
+	
+	/**
+	 * Infers the frames of a method when it is expanded or hovered, see {@link InferredFrames}.
+	 */
+	@Override
+	protected void editorCreated(final Editor editor){
+		final EditorEx editorEx = (EditorEx)editor;
+		((FoldingModelEx)editor.getFoldingModel()).addListener(new FoldingListener(){
+			@Override
+			public void onFoldRegionStateChange(final @NotNull FoldRegion region){
+				if(region.isExpanded()) inferFrames(region.getStartOffset());
+			}
+		}, editorEx.getDisposable());
+		editor.addEditorMouseMotionListener(new EditorMouseMotionListener(){
+			@Override
+			public void mouseMoved(final @NotNull EditorMouseEvent e){
+				if(e.isOverText()) inferFrames(e.getOffset());
+			}
+		}, editorEx.getDisposable());
+	}
+	
+	private void inferFrames(final int offset){
+		if(!project.getService(ASMPluginComponent.class).isInferFrames()) return;
+		final String method = getMethodAt(offset);
+		if(method != null) InferredFrames.getInstance(project).request(getFile(), List.of(method));
+	}
+	
+	private final class InferFramesAction extends ToggleAction{
+		
+		private InferFramesAction(){
+			super("Show Inferred Frames", "Show the stack and local types before every instruction of the methods expanded or hovered", AllIcons.Debugger.Frame);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public boolean isSelected(final @NotNull AnActionEvent e){
+			return project.getService(ASMPluginComponent.class).isInferFrames();
+		}
+		
+		@Override
+		public void setSelected(final @NotNull AnActionEvent e, final boolean state){
+			project.getService(ASMPluginComponent.class).setInferFrames(state);
+			if(!state){
+				InferredFrames.getInstance(project).clear();
+				return;
+			}
+			final String method = getMethodAtCaret();
+			if(method != null) InferredFrames.getInstance(project).request(getFile(), List.of(method));
+		}
+	}
+	
+	private final class InferAllFramesAction extends AnAction{
+		
+		private InferAllFramesAction(){
+			super("Infer Frames of All Methods", "Show the stack and local types before every instruction of the class", AllIcons.Actions.ShowAsTree);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void update(final @NotNull AnActionEvent e){
+			e.getPresentation().setEnabled(project.getService(ASMPluginComponent.class).isInferFrames() && getFile() != null);
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			final List<String> methods = getMembers().getMembers().stream()
+			                                         .filter(member -> member.kind() == MemberIndex.Kind.METHOD)
+			                                         .map(MemberIndex.Member::name)
+			                                         .toList();
+			InferredFrames.getInstance(project).request(getFile(), methods);
+		}
+	}
 }
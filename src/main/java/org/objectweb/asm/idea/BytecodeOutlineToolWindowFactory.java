@@ -18,21 +18,40 @@
 
 package org.objectweb.asm.idea;
 
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.wm.ToolWindow;
 import com.intellij.openapi.wm.ToolWindowFactory;
 import com.intellij.ui.content.ContentFactory;
 import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.alloc.AllocationsPanel;
+import org.objectweb.asm.idea.assembly.AssemblyView;
+import org.objectweb.asm.idea.browser.JarBrowser;
+import org.objectweb.asm.idea.cfg.ControlFlowView;
+import org.objectweb.asm.idea.jit.JitReportPanel;
+import org.objectweb.asm.idea.search.PatternSearchPanel;
+
+import java.util.List;
 
 /**
  * ASM ToolWindow factory
  */
 public class BytecodeOutlineToolWindowFactory implements ToolWindowFactory{
+	private static final Logger LOG = Logger.getInstance(BytecodeOutlineToolWindowFactory.class);
+	
 	@Override
 	public void createToolWindowContent(final @NotNull Project project, final @NotNull ToolWindow toolWindow){
+		final long start = System.nanoTime();
+		
 		var outline    = BytecodeOutline.getInstance(project);
 		var asmified   = BytecodeASMified.getInstance(project);
 		var groovified = GroovifiedView.getInstance(project);
+		var assembly   = AssemblyView.getInstance(project);
+		var cfg        = ControlFlowView.getInstance(project);
+		var browser    = JarBrowser.getInstance(project);
+		var search     = PatternSearchPanel.getInstance(project);
+		var jitReport  = JitReportPanel.getInstance(project);
+		var allocs     = AllocationsPanel.getInstance(project);
 		
 		var cf = ContentFactory.getInstance();
 		var cm = toolWindow.getContentManager();
@@ -40,5 +59,35 @@ public class BytecodeOutlineToolWindowFactory implements ToolWindowFactory{
 		cm.addContent(cf.createContent(outline, "Bytecode", false));
 		cm.addContent(cf.createContent(asmified, "ASMified", false));
 		cm.addContent(cf.createContent(groovified, "Groovified", false));
+		cm.addContent(cf.createContent(assembly, AssemblyView.TAB_NAME, false));
+		cm.addContent(cf.createContent(cfg, ControlFlowView.TAB_NAME, false));
+		cm.addContent(cf.createContent(browser, JarBrowser.TAB_NAME, false));
+		cm.addContent(cf.createContent(search, PatternSearchPanel.TAB_NAME, false));
+		cm.addContent(cf.createContent(jitReport, JitReportPanel.TAB_NAME, false));
+		cm.addContent(cf.createContent(allocs, AllocationsPanel.TAB_NAME, false));
+		
+		// the views create their editors once shown, so this only measures the services and toolbars
+		LOG.debug("ASM tool window content for " + project.getName() + " created in " + (System.nanoTime() - start)/1_000_000 + " ms, " +
+		          footprint(project));
+	}
+	
+	/**
+	 * Sums up what the plugin holds for a project, for the debug log. Only views which already exist are counted,
+	 * the others hold nothing yet.
+	 */
+	static String footprint(final Project project){
+		int  views   = 0;
+		int  editors = 0;
+		long chars   = 0;
+		for(Class<? extends ACodeView> type : List.of(BytecodeOutline.class, BytecodeASMified.class, GroovifiedView.class)){
+			final ACodeView view = project.getServiceIfCreated(type);
+			if(view == null) continue;
+			views++;
+			if(view.isEditorAllocated()) editors++;
+			chars += view.getCode().length();
+		}
+		final BytecodeHistory history = project.getServiceIfCreated(BytecodeHistory.class);
+		return views + " views, " + editors + " editors, " + chars + " chars of text, " +
+		       (history == null? 0 : history.getTotalBytes()) + " bytes of recorded builds";
 	}
 }
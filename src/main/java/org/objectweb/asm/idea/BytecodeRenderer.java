@@ -0,0 +1,521 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.ui.content.Content;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.idea.annotate.InstructionAnnotations;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+import org.objectweb.asm.util.Printer;
+import org.objectweb.asm.util.Textifier;
+import org.objectweb.asm.util.TraceClassVisitor;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Renders class bytes into the Bytecode, ASMified and Groovified views. The bytes of the last rendered classes are kept
+ * so a settings change can re-render only the views it affects, without compiling or reading the class again.
+ */
+public class BytecodeRenderer{
+	
+	public enum Target{
+		BYTECODE, ASMIFIED, GROOVIFIED
+	}
+	
+	/**
+	 * The text of a view and where its members are in it.
+	 */
+	public record Output(String text, MemberIndex members){
+		
+		private static Output of(final String text){
+			return new Output(text, MemberIndex.EMPTY);
+		}
+	}
+	
+	/**
+	 * A method of the rendered class, as named in the class file.
+	 */
+	public record MethodRef(String name, String descriptor){
+		
+		@Override
+		public String toString(){
+			return name + descriptor;
+		}
+	}
+	
+	private static final String REFORMAT_TIMEOUT = "// Reformat exceeded its %d ms budget, showing unformatted code\n";
+	
+	private final Project         project;
+	// renders the classes which are not shown, after the shown one, so they are ready to be switched to
+	private final ExecutorService prefetcher;
+	
+	/**
+	 * The class files emitted by the shown source file, in name order, and the one shown.
+	 */
+	private volatile List<ClassRendering> classes = List.of();
+	private volatile ClassRendering       selected;
+	
+	// the method at the caret when the class was rendered, and the class it belongs to
+	private volatile MethodRef   method;
+	private volatile VirtualFile methodOwner;
+	
+	/**
+	 * The bytes of one class file, its rendered views and the analyses run on it. Each view is rendered at most once
+	 * for a given set of settings and each analysis run at most once, so switching between classes is served from
+	 * memory.
+	 */
+	private final class ClassRendering{
+		private final VirtualFile file;
+		private final byte[]      bytes;
+		
+		private final Map<Target, List<Object>>              keys     = new EnumMap<>(Target.class);
+		private final Map<Target, CompletableFuture<Output>> outputs  = new EnumMap<>(Target.class);
+		private final Map<Class<?>, CompletableFuture<?>>    analyses = new HashMap<>();
+		
+		// set once another source file is rendered, its background renders are then skipped
+		private volatile boolean dropped;
+		
+		private ClassRendering(final VirtualFile file, final byte[] bytes){
+			this.file = file;
+			this.bytes = bytes;
+		}
+		
+		/**
+		 * @return the view rendered with the current settings, started now unless it already was
+		 */
+		private CompletableFuture<Output> output(final Target target, final ASMPluginComponent config){
+			return output(target, config, null);
+		}
+		
+		/**
+		 * @param executor runs the render if it is started now, null for the common pool
+		 */
+		private synchronized CompletableFuture<Output> output(final Target target, final ASMPluginComponent config, final Executor executor){
+			final MethodRef    filter = config.isCurrentMethodOnly() && file.equals(methodOwner)? method : null;
+			final List<Object> key    = settingsKey(target, config, bytes.length, filter);
+			if(!key.equals(keys.get(target))){
+				keys.put(target, key);
+				final CompletableFuture<Output> output = executor == null?
+				                                         CompletableFuture.supplyAsync(() -> renderText(target, bytes, config, filter)) :
+				                                         CompletableFuture.supplyAsync(() -> renderText(target, bytes, config, filter), executor);
+				outputs.put(target, output.exceptionally(e -> Output.of(mapVisitErr(e, config))));
+			}
+			return outputs.get(target);
+		}
+		
+		/**
+		 * Queues the views of this class to be rendered in the background. Each view is only started once a prefetch
+		 * thread gets to it, so selecting the class meanwhile renders it right away instead of waiting in the queue.
+		 */
+		private void prefetch(final ASMPluginComponent config){
+			for(Target target : Target.values()){
+				prefetcher.execute(() -> {
+					if(dropped) return;
+					// rendered outside of the lock, so selecting the class meanwhile waits on the future, not the lock
+					final List<Runnable> started = new ArrayList<>(1);
+					output(target, config, started::add);
+					for(Runnable render : started) render.run();
+				});
+			}
+		}
+		
+		/**
+		 * Skips the background renders of this class which have not started yet.
+		 */
+		private void drop(){
+			dropped = true;
+		}
+		
+		private synchronized CompletableFuture<Output> current(final Target target){
+			return outputs.get(target);
+		}
+		
+		@SuppressWarnings("unchecked")
+		private synchronized <T> CompletableFuture<T> analysis(final Class<T> type, final Function<byte[], T> analysis){
+			return (CompletableFuture<T>)analyses.computeIfAbsent(type, k -> CompletableFuture.supplyAsync(() -> analysis.apply(bytes)));
+		}
+	}
+	
+	public BytecodeRenderer(final Project project){
+		this.project = project;
+		this.prefetcher = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+			"ASM Class Prefetch", Math.max(1, Runtime.getRuntime().availableProcessors()/2)
+		);
+	}
+	
+	public static BytecodeRenderer getInstance(Project project){
+		return project.getService(BytecodeRenderer.class);
+	}
+	
+	/**
+	 * Shows one of the given classes, all emitted by the same source file. Once the shown class is rendered, the others
+	 * are rendered in parallel in the background so switching to them is served from memory. Background renders of the
+	 * classes of a previous call which have not started yet are skipped.
+	 *
+	 * @param classes the class files and their bytes
+	 * @param file    the class to show first
+	 * @param method  the method at the caret, rendered alone in current method only mode, or null
+	 */
+	public void render(final Map<VirtualFile, byte[]> classes, final VirtualFile file, final MethodRef method){
+		final List<ClassRendering> renderings = new ArrayList<>(classes.size());
+		ClassRendering             shown      = null;
+		for(Map.Entry<VirtualFile, byte[]> entry : classes.entrySet()){
+			final ClassRendering rendering = new ClassRendering(entry.getKey(), entry.getValue());
+			renderings.add(rendering);
+			if(entry.getKey().equals(file)) shown = rendering;
+		}
+		if(shown == null) return;
+		for(ClassRendering previous : this.classes) previous.drop();
+		this.method = method;
+		this.methodOwner = file;
+		this.classes = List.copyOf(renderings);
+		select(shown, true);
+		if(renderings.size() == 1) return;
+		
+		final ASMPluginComponent     config      = project.getService(ASMPluginComponent.class);
+		final ClassRendering         prioritized = shown;
+		final CompletableFuture<?>[] first       = new CompletableFuture<?>[Target.values().length];
+		for(Target target : Target.values()) first[target.ordinal()] = shown.output(target, config);
+		CompletableFuture.allOf(first).whenComplete((r, e) -> {
+			for(ClassRendering rendering : renderings){
+				if(rendering != prioritized) rendering.prefetch(config);
+			}
+		});
+	}
+	
+	/**
+	 * Shows a class, unless it is already shown, and moves the caret of the Bytecode view to one of its instructions.
+	 *
+	 * @param instruction the index of the instruction among the real instructions of the method
+	 */
+	public void reveal(final VirtualFile file, final byte[] bytes, final MethodRef method, final int instruction){
+		final BytecodeOutline outline = BytecodeOutline.getInstance(project);
+		outline.revealInstruction(file, method.toString(), instruction);
+		if(!file.equals(getSelected())) render(Map.of(file, bytes), file, null);
+		final ToolWindow toolWindow = ToolWindowManager.getInstance(project).getToolWindow("ASM");
+		if(toolWindow == null) return;
+		final Content content = toolWindow.getContentManager().getContent(outline);
+		if(content != null) toolWindow.getContentManager().setSelectedContent(content);
+	}
+	
+	/**
+	 * @return the class files of the shown source file
+	 */
+	public List<VirtualFile> getClasses(){
+		return classes.stream().map(rendering -> rendering.file).toList();
+	}
+	
+	/**
+	 * @return the class file shown in the views, or null
+	 */
+	public VirtualFile getSelected(){
+		final ClassRendering rendering = selected;
+		return rendering == null? null : rendering.file;
+	}
+	
+	/**
+	 * @return the contents of the class file shown in the views, or null
+	 */
+	public byte[] getSelectedBytes(){
+		final ClassRendering rendering = selected;
+		return rendering == null? null : rendering.bytes;
+	}
+	
+	/**
+	 * Runs an analysis of a class emitted by the shown source file, at most once: the result is kept with the rendered
+	 * views of the class and dropped with them. Bytes of any other class are analysed every time.
+	 *
+	 * @param bytes    the class file contents, as handed out by this renderer
+	 * @param type     the type of the result, which identifies the analysis
+	 * @param analysis computes the result from the class bytes, on a background thread
+	 */
+	public <T> CompletableFuture<T> analysis(final byte[] bytes, final Class<T> type, final Function<byte[], T> analysis){
+		for(ClassRendering rendering : classes){
+			if(rendering.bytes == bytes) return rendering.analysis(type, analysis);
+		}
+		return CompletableFuture.supplyAsync(() -> analysis.apply(bytes));
+	}
+	
+	/**
+	 * Shows another class emitted by the same source file.
+	 */
+	public void select(final VirtualFile file){
+		for(ClassRendering rendering : classes){
+			if(rendering.file.equals(file)){
+				select(rendering, false);
+				return;
+			}
+		}
+	}
+	
+	private void select(final ClassRendering rendering, final boolean activate){
+		selected = rendering;
+		BytecodeHistory.getInstance(project).record(rendering.file.getPath(), rendering.bytes);
+		InstructionAnnotations.getInstance(project).update(rendering.file, rendering.bytes);
+		show(rendering, EnumSet.allOf(Target.class), activate);
+	}
+	
+	public void clear(){
+		for(ClassRendering rendering : classes) rendering.drop();
+		classes = List.of();
+		selected = null;
+		method = null;
+		methodOwner = null;
+	}
+	
+	/**
+	 * Re-renders, from the retained bytes, the views whose output depends on a setting that has changed. Classes which
+	 * are not shown are re-rendered when they are selected again.
+	 */
+	public void settingsChanged(){
+		final ClassRendering rendering = selected;
+		if(rendering == null) return;
+		
+		final ASMPluginComponent config = project.getService(ASMPluginComponent.class);
+		final Set<Target>        stale  = EnumSet.noneOf(Target.class);
+		for(Target target : Target.values()){
+			final CompletableFuture<Output> previous = rendering.current(target);
+			if(rendering.output(target, config) != previous) stale.add(target);
+		}
+		if(!stale.isEmpty()) show(rendering, stale, false);
+	}
+	
+	private void show(final ClassRendering rendering, final Set<Target> targets, final boolean activate){
+		final ASMPluginComponent config = project.getService(ASMPluginComponent.class);
+		
+		Executor exec = r -> {
+			ApplicationManager.getApplication().invokeLater(
+				() -> {
+					// another class may have been selected in the meantime
+					if(selected != rendering) return;
+					ApplicationManager.getApplication().runWriteAction(() -> {
+						r.run();
+						if(activate) ToolWindowManager.getInstance(project).getToolWindow("ASM").activate(null);
+					});
+				}
+			);
+		};
+		
+		for(Target target : targets){
+			final ACodeView view = getView(target);
+			rendering.output(target, config)
+			         .thenAcceptAsync(output -> view.setCode(rendering.file, output.text(), output.members()), exec);
+		}
+	}
+	
+	/**
+	 * Renders a whole class for one of the views with the current settings, on the calling thread.
+	 *
+	 * @return the text for the view, or a description of the failure
+	 */
+	public String renderText(final Target target, final byte[] bytes){
+		final ASMPluginComponent config = project.getService(ASMPluginComponent.class);
+		try{
+			return renderText(target, bytes, config, null).text();
+		}catch(RuntimeException e){
+			return mapVisitErr(e, config);
+		}
+	}
+	
+	/**
+	 * @param filter the only method to render, or null to render them all
+	 */
+	private Output renderText(final Target target, final byte[] bytes, final ASMPluginComponent config, final MethodRef filter){
+		final ClassReader reader    = new ClassReader(bytes);
+		final int         classSize = bytes.length;
+		final boolean     oneMethod = filter != null;
+		final int         flags     = target == Target.GROOVIFIED? groovifiedFlags(config, classSize, oneMethod) : computeFlags(config, classSize, oneMethod);
+		final long        budget    = config.getStageBudgetMillis();
+		final String      degraded  = degradeNotice(config, classSize, oneMethod);
+		
+		var stringWriter = new StringWriter();
+		final Printer printer = switch(target){
+			case BYTECODE -> new Textifier();
+			case ASMIFIED -> new CustomASMifier();
+			case GROOVIFIED -> new GroovifiedTextifier(config.getCodeStyle());
+		};
+		final MemberIndexVisitor indexer = new MemberIndexVisitor(
+			printer, stringWriter,
+			new TraceClassVisitor(null, printer, new PrintWriter(stringWriter))
+		);
+		final String stage = switch(target){
+			case BYTECODE -> "Bytecode";
+			case ASMIFIED -> "ASMified";
+			case GROOVIFIED -> "Groovified";
+		};
+		final ClassVisitor budgeted = new BudgetClassVisitor(stage, budget, printer, indexer);
+		String             notice   = "";
+		if(filter == null){
+			reader.accept(budgeted, flags);
+		}else{
+			final MethodFilterVisitor filtering = new MethodFilterVisitor(filter.name(), filter.descriptor(), budgeted);
+			reader.accept(filtering, flags);
+			notice = filterNotice(filter, filtering.isFound());
+		}
+		
+		final String code = stringWriter.toString();
+		if(target == Target.ASMIFIED && degraded.isEmpty()){
+			final String formatted = reformat(code, budget);
+			if(formatted != null) return new Output(notice + formatted, indexer.getIndex(0).remap(code, formatted).shifted(notice.length()));
+			notice = REFORMAT_TIMEOUT.formatted(budget) + notice;
+		}
+		notice = degraded + notice;
+		return new Output(notice + code, indexer.getIndex(notice.length()));
+	}
+	
+	private ACodeView getView(final Target target){
+		return switch(target){
+			case BYTECODE -> BytecodeOutline.getInstance(project);
+			case ASMIFIED -> BytecodeASMified.getInstance(project);
+			case GROOVIFIED -> GroovifiedView.getInstance(project);
+		};
+	}
+	
+	/**
+	 * @return everything from the settings which can change the output of the given view
+	 */
+	private static List<Object> settingsKey(final Target target, final ASMPluginComponent config, final int classSize, final MethodRef filter){
+		final boolean oneMethod = filter != null;
+		final int     flags     = computeFlags(config, classSize, oneMethod);
+		final String  method    = String.valueOf(filter);
+		final String  degraded  = degradeNotice(config, classSize, oneMethod);
+		return switch(target){
+			case BYTECODE, ASMIFIED -> List.of(flags, degraded, config.getStageBudgetMillis(), method);
+			case GROOVIFIED -> List.of(groovifiedFlags(config, classSize, oneMethod), config.getCodeStyle(), degraded, config.getStageBudgetMillis(), method);
+		};
+	}
+	
+	
+	/**
+	 * Reformats ASMified code.
+	 *
+	 * @return the formatted code, or null if formatting ran past the budget
+	 */
+	private String reformat(final String code, final long budgetMillis){
+		var indicator = new EmptyProgressIndicator();
+		var timeout   = AppExecutorUtil.getAppScheduledExecutorService().schedule(indicator::cancel, budgetMillis, TimeUnit.MILLISECONDS);
+		try{
+			return ProgressManager.getInstance().runProcess(() -> ApplicationManager.getApplication().runReadAction((Computable<String>)() -> {
+				var asmfiedFile = PsiFileFactory.getInstance(project).createFileFromText(
+					"asm.java", JavaFileType.INSTANCE, code
+				);
+				CodeStyleManager.getInstance(project).reformatText(asmfiedFile, 0, asmfiedFile.getTextLength());
+				return asmfiedFile.getText();
+			}), indicator);
+		}catch(ProcessCanceledException e){
+			return null;
+		}finally{
+			timeout.cancel(false);
+		}
+	}
+	
+	/**
+	 * @param oneMethod whether a single method is rendered, which always shows its body
+	 * @return a comment line describing which stages were skipped because of the class size, or an empty string
+	 */
+	private static String degradeNotice(final ASMPluginComponent config, final int classSize, final boolean oneMethod){
+		final int sizeKb = classSize/1024;
+		if(sizeKb>config.getSignaturesOnlySizeKb() && !oneMethod){
+			return "// Class file is " + sizeKb + " KiB, over the " + config.getSignaturesOnlySizeKb() + " KiB limit: showing member signatures only, " +
+			       "use Current Method Only to show the body of the method at the caret\n";
+		}
+		if(sizeKb>config.getDegradeSizeKb()){
+			return "// Class file is " + sizeKb + " KiB, over the " + config.getDegradeSizeKb() + " KiB limit: frames skipped and ASMified code not reformatted\n";
+		}
+		return "";
+	}
+	
+	private static String filterNotice(final MethodRef filter, final boolean found){
+		if(!found) return "// Current method only: " + filter + " is not in this class file, showing the class without methods\n";
+		return "// Current method only: showing " + filter + "\n";
+	}
+	
+	private static String mapVisitErr(Throwable e, ASMPluginComponent config){
+		if(e instanceof CompletionException ce && ce.getCause() != null) e = ce.getCause();
+		if(e instanceof BudgetExceededException budget){
+			return "/*\n" +
+			       budget.getMessage() + ".\n" +
+			       "Raise the time budget or enable a skip option in the configuration. Current config:\n" +
+			       config + "\n" +
+			       "*/";
+		}
+		var printw = new StringWriter();
+		e.printStackTrace(new PrintWriter(printw));
+		return "/*\n" +
+		       "Something went wrong! Try enabling a skip option in the configuration. Current config:\n" +
+		       config + "\n" +
+		       "\n" +
+		       "Stacktrace:\n" +
+		       printw.toString().replace("\r", "") + "\n" +
+		       "*/";
+	}
+	
+	/**
+	 * Past the signatures-only size, method bodies are skipped unless a single method is rendered: its body is what
+	 * was asked for, and filtering skips the code of the others anyway.
+	 */
+	private static int computeFlags(ASMPluginComponent config, int classSize, boolean oneMethod){
+		int flags = 0;
+		if(config.isSkipDebug()) flags = flags|ClassReader.SKIP_DEBUG;
+		if(config.isSkipFrames()) flags = flags|ClassReader.SKIP_FRAMES;
+		if(config.isExpandFrames()) flags = flags|ClassReader.EXPAND_FRAMES;
+		if(config.isSkipCode()) flags = flags|ClassReader.SKIP_CODE;
+		final int sizeKb = classSize/1024;
+		if(sizeKb>config.getDegradeSizeKb()) flags = (flags|ClassReader.SKIP_FRAMES)&~ClassReader.EXPAND_FRAMES;
+		if(sizeKb>config.getSignaturesOnlySizeKb() && !oneMethod) flags = flags|ClassReader.SKIP_CODE;
+		return flags;
+	}
+	
+	/**
+	 * The Groovified view never shows frames or debug info, only the signatures-only degrade mode applies to it.
+	 */
+	private static int groovifiedFlags(ASMPluginComponent config, int classSize, boolean oneMethod){
+		int flags = ClassReader.SKIP_FRAMES|ClassReader.SKIP_DEBUG;
+		if(classSize/1024>config.getSignaturesOnlySizeKb() && !oneMethod) flags = flags|ClassReader.SKIP_CODE;
+		return flags;
+	}
+}
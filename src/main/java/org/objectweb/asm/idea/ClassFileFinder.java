@@ -0,0 +1,99 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.CompilerModuleExtension;
+import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds class files by the internal name of their class, among the module outputs, the libraries and the JDK of a
+ * project, in classpath order.
+ * <p>
+ * The roots are listed once, so one finder should serve a batch of lookups and be dropped afterwards.
+ */
+public final class ClassFileFinder{
+	
+	private final VirtualFile[] roots;
+	
+	private ClassFileFinder(final VirtualFile[] roots){
+		this.roots = roots;
+	}
+	
+	public static ClassFileFinder of(final Project project){
+		return new ClassFileFinder(ReadAction.compute(() -> OrderEnumerator.orderEntries(project).classes().getRoots()));
+	}
+	
+	/**
+	 * @return the output directories of every module, production and tests, which are on the local file system
+	 */
+	public static List<Path> outputDirectories(final Project project){
+		return ReadAction.compute(() -> {
+			final Set<Path> paths = new LinkedHashSet<>();
+			for(Module module : ModuleManager.getInstance(project).getModules()){
+				final CompilerModuleExtension extension = CompilerModuleExtension.getInstance(module);
+				if(extension == null) continue;
+				for(VirtualFile root : extension.getOutputRoots(true)){
+					if(root.isInLocalFileSystem()) paths.add(root.toNioPath());
+				}
+			}
+			return List.copyOf(paths);
+		});
+	}
+	
+	/**
+	 * @return the jars and class directories of the libraries of every module, without the JDK, which are on the local
+	 * file system
+	 */
+	public static List<Path> libraryRoots(final Project project){
+		return ReadAction.compute(() -> {
+			final Set<Path> paths = new LinkedHashSet<>();
+			for(VirtualFile root : OrderEnumerator.orderEntries(project).withoutSdk().librariesOnly().classes().getRoots()){
+				final VirtualFile jar = JarFileSystem.getInstance().getVirtualFileForJar(root);
+				if(jar != null && jar.isInLocalFileSystem()) paths.add(jar.toNioPath());
+				else if(root.isInLocalFileSystem() && root.isDirectory()) paths.add(root.toNioPath());
+			}
+			return List.copyOf(paths);
+		});
+	}
+	
+	/**
+	 * @param className the internal name of a class
+	 * @return its class file, or null if it is not on the classpath of the project
+	 */
+	public VirtualFile find(final String className){
+		final String path = className + ".class";
+		for(VirtualFile root : roots){
+			if(!root.isValid()) continue;
+			final VirtualFile file = root.findFileByRelativePath(path);
+			if(file != null && !file.isDirectory()) return file;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+import org.objectweb.asm.ClassReader;
+
+/**
+ * Walks the methods of a class file straight to their Code attributes, without visiting a single instruction.
+ * <p>
+ * The fields are skipped by their attribute lengths, then every method is handed over with where its Code attribute
+ * is, so sizes, max stack and locals, or the code array itself can be read in place with the {@link ClassReader}.
+ */
+public final class CodeAttributes{
+	
+	/**
+	 * Receives the methods of a class file, in declaration order.
+	 */
+	@FunctionalInterface
+	public interface Visitor{
+		
+		/**
+		 * @param code the offset of the Code attribute of the method in the class file, or -1 if it has none
+		 */
+		void visitMethod(int access, String name, String descriptor, int code);
+	}
+	
+	private CodeAttributes(){ }
+	
+	public static void accept(final ClassReader reader, final Visitor visitor){
+		final char[] buffer = new char[reader.getMaxStringLength()];
+		int          offset = reader.header + 6;
+		offset += 2 + 2*reader.readUnsignedShort(offset);
+		final int fields = reader.readUnsignedShort(offset);
+		offset += 2;
+		for(int i = 0; i<fields; i++){
+			final int attributes = reader.readUnsignedShort(offset + 6);
+			offset += 8;
+			for(int j = 0; j<attributes; j++) offset += 6 + reader.readInt(offset + 2);
+		}
+		
+		final int methods = reader.readUnsignedShort(offset);
+		offset += 2;
+		for(int i = 0; i<methods; i++){
+			final int    access     = reader.readUnsignedShort(offset);
+			final String name       = reader.readUTF8(offset + 2, buffer);
+			final String descriptor = reader.readUTF8(offset + 4, buffer);
+			final int    attributes = reader.readUnsignedShort(offset + 6);
+			int          code       = -1;
+			offset += 8;
+			for(int j = 0; j<attributes; j++){
+				if(code<0 && "Code".equals(reader.readUTF8(offset, buffer))) code = offset;
+				offset += 6 + reader.readInt(offset + 2);
+			}
+			visitor.visitMethod(access, name, descriptor, code);
+		}
+	}
+	
+	public static int maxStack(final ClassReader reader, final int code){
+		return reader.readUnsignedShort(code + 6);
+	}
+	
+	public static int maxLocals(final ClassReader reader, final int code){
+		return reader.readUnsignedShort(code + 8);
+	}
+	
+	/**
+	 * @return the length of the code array, the size HotSpot measures against its inlining thresholds
+	 */
+	public static int codeLength(final ClassReader reader, final int code){
+		return reader.readInt(code + 10);
+	}
+	
+	/**
+	 * @return the offset of the code array in the class file
+	 */
+	public static int codeStart(final int code){
+		return code + 14;
+	}
+}
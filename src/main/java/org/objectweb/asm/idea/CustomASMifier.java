@@ -38,6 +38,7 @@ import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.TypePath;
+import org.objectweb.asm.idea.export.ASMifierBatch;
 import org.objectweb.asm.util.ASMifier;
 import org.objectweb.asm.util.ASMifierSupport;
 import org.objectweb.asm.util.Printer;
@@ -71,7 +72,9 @@ public final class CustomASMifier extends Printer{
 	 */
 	private static final String USAGE =
 		"Prints the ASM code to generate the given class.\n"
-		+ "Usage: ASMifier [-nodebug] <fully qualified class name or class file name>";
+		+ "Usage: ASMifier [-nodebug] <fully qualified class name or class file name>\n"
+		+ "Batch mode, for many classes:\n"
+		+ ASMifierBatch.USAGE;
 	
 	/**
 	 * A pseudo access flag used to distinguish class access flags.
@@ -169,12 +172,20 @@ public final class CustomASMifier extends Printer{
 	 *
 	 * <p>Usage: ASMifier [-nodebug] &lt;binary class name or class file name&gt;
 	 *
+	 * <p>Given jars, directories, globs or several inputs, or any of the batch options, runs in batch mode instead, see
+	 * {@link ASMifierBatch}.
+	 *
 	 * @param args the command line arguments.
 	 * @throws IOException if the class cannot be found, or if an IOException occurs.
 	 */
 	public static void main(final String[] args) throws IOException{
 		var output = new PrintWriter(System.out, true);
 		var logger = new PrintWriter(System.err, true);
+		if(args.length>0 && ASMifierBatch.isBatch(args)){
+			final int status = ASMifierBatch.run(args, logger);
+			if(status != 0) System.exit(status);
+			return;
+		}
 		if(args.length<1
 		   || args.length>2
 		   || ((args[0].equals("-debug") || args[0].equals("-nodebug")) && args.length != 2)){
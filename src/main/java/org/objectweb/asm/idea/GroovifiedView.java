@@ -34,7 +34,7 @@ import com.intellij.openapi.project.Project;
 public class GroovifiedView extends ACodeView{
 	
 	public GroovifiedView(final Project project){
-		super(project, "groovy");
+		super(project, "groovy", BytecodeRenderer.Target.GROOVIFIED);
 	}
 	
 	public static GroovifiedView getInstance(Project project){
@@ -0,0 +1,62 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.util.Alarm;
+
+import javax.swing.*;
+import java.awt.event.HierarchyEvent;
+
+/**
+ * Keeps the editor of a tool window view only while the view is on screen, or was until recently. Views of a project
+ * nobody looks at then hold their text and nothing else.
+ */
+public final class LazyEditor{
+	
+	/**
+	 * How long a view may stay hidden before its editor is released.
+	 */
+	public static final int RELEASE_DELAY_MILLIS = 60_000;
+	
+	private LazyEditor(){
+	}
+	
+	/**
+	 * @param view    the view holding the editor
+	 * @param parent  disposes of the pending release
+	 * @param shown   called whenever the view comes on screen, should create the editor unless it exists
+	 * @param release called once the view has stayed hidden for {@link #RELEASE_DELAY_MILLIS}, should release the
+	 *                editor if there is one
+	 */
+	public static void install(final JComponent view, final Disposable parent, final Runnable shown, final Runnable release){
+		final Alarm releaseAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, parent);
+		view.addHierarchyListener(e -> {
+			if((e.getChangeFlags()&HierarchyEvent.SHOWING_CHANGED) == 0) return;
+			releaseAlarm.cancelAllRequests();
+			if(view.isShowing()){
+				shown.run();
+			}else{
+				releaseAlarm.addRequest(() -> {
+					if(!view.isShowing()) release.run();
+				}, RELEASE_DELAY_MILLIS);
+			}
+		});
+	}
+}
@@ -0,0 +1,246 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+import org.objectweb.asm.util.Printer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Where each method, field and class annotation starts and ends in the text of a view, as recorded by the
+ * {@link MemberIndexVisitor} while the text was printed.
+ */
+public final class MemberIndex{
+	
+	public static final MemberIndex EMPTY = new MemberIndex(List.of());
+	
+	private static final Set<String> OPCODES = Arrays.stream(Printer.OPCODES)
+	                                                 .filter(op -> op != null && !op.isEmpty())
+	                                                 .collect(Collectors.toUnmodifiableSet());
+	
+	public enum Kind{
+		ANNOTATION("annotations"), FIELD("fields"), METHOD("methods");
+		
+		private final String plural;
+		
+		Kind(final String plural){
+			this.plural = plural;
+		}
+	}
+	
+	/**
+	 * @param start offset of the first non blank character of the member
+	 * @param end   offset after its last non blank character
+	 */
+	public record Member(Kind kind, String name, int start, int end){ }
+	
+	/**
+	 * A folding region and its placeholder text.
+	 */
+	public record Fold(int start, int end, String placeholder){ }
+	
+	private final List<Member> members;
+	
+	MemberIndex(final List<Member> members){
+		this.members = List.copyOf(members);
+	}
+	
+	/**
+	 * @return the members in text order
+	 */
+	public List<Member> getMembers(){
+		return members;
+	}
+	
+	public boolean isEmpty(){
+		return members.isEmpty();
+	}
+	
+	/**
+	 * @return one region per method body, after its declaration line, and one per run of consecutive fields or class
+	 * annotations
+	 */
+	public List<Fold> folds(final CharSequence text){
+		final List<Fold> folds = new ArrayList<>();
+		for(int i = 0; i<members.size(); ){
+			final Member member = members.get(i);
+			if(member.kind() == Kind.METHOD){
+				final int declarationEnd = declarationEnd(text, member);
+				if(declarationEnd<member.end()) folds.add(new Fold(declarationEnd, member.end(), "..."));
+				i++;
+				continue;
+			}
+			int last = i;
+			while(last + 1<members.size() && members.get(last + 1).kind() == member.kind() &&
+			      isBlank(text, members.get(last).end(), members.get(last + 1).start())){
+				last++;
+			}
+			if(last>i) folds.add(new Fold(member.start(), members.get(last).end(), (last - i + 1) + " " + member.kind().plural));
+			i = last + 1;
+		}
+		return folds;
+	}
+	
+	/**
+	 * @return the index for the same text with {@code delta} characters inserted in front
+	 */
+	public MemberIndex shifted(final int delta){
+		if(delta == 0 || members.isEmpty()) return this;
+		final List<Member> shifted = new ArrayList<>(members.size());
+		for(Member member : members){
+			shifted.add(new Member(member.kind(), member.name(), member.start() + delta, member.end() + delta));
+		}
+		return new MemberIndex(shifted);
+	}
+	
+	/**
+	 * Moves the offsets over to a copy of the text which only differs in whitespace, such as the reformatted ASMified
+	 * code.
+	 *
+	 * @return the index for the other text, or {@link #EMPTY} if the texts differ in more than whitespace
+	 */
+	public MemberIndex remap(final CharSequence from, final CharSequence to){
+		if(members.isEmpty()) return this;
+		if(!sameIgnoringWhitespace(from, to)) return EMPTY;
+		
+		// members are in text order, so start and end offsets taken in turn never decrease and one walk of each text
+		// is enough: an offset is converted to the number of non blank characters before it, then back
+		final int[] ranks = new int[members.size()*2];
+		int         rank  = 0;
+		int         pos   = 0;
+		for(int i = 0; i<ranks.length; i++){
+			final Member member = members.get(i/2);
+			final int    offset = i%2 == 0? member.start() : member.end();
+			for(; pos<offset; pos++){
+				if(!Character.isWhitespace(from.charAt(pos))) rank++;
+			}
+			ranks[i] = rank;
+		}
+		
+		final List<Member> remapped = new ArrayList<>(members.size());
+		rank = 0;
+		pos = 0;
+		int start = 0;
+		for(int i = 0; i<ranks.length; i++){
+			// a start is the position of its character, an end the position after the character before it
+			final int wanted = i%2 == 0? ranks[i] : ranks[i] - 1;
+			while(pos<to.length() && (rank<wanted || Character.isWhitespace(to.charAt(pos)))){
+				if(!Character.isWhitespace(to.charAt(pos))) rank++;
+				pos++;
+			}
+			if(i%2 == 0){
+				start = pos;
+			}else{
+				final Member member = members.get(i/2);
+				remapped.add(new Member(member.kind(), member.name(), start, Math.max(start, Math.min(pos + 1, to.length()))));
+			}
+		}
+		return new MemberIndex(remapped);
+	}
+	
+	/**
+	 * Finds an instruction in Textifier output, where every instruction is on a line of its own which starts with its
+	 * opcode.
+	 *
+	 * @param method      the method name and descriptor
+	 * @param instruction the index of the instruction among the real instructions of the method
+	 * @return the offset of the instruction's opcode, or -1 if the method or instruction is not in the text
+	 */
+	public int instructionOffset(final CharSequence text, final String method, final int instruction){
+		final int[] offsets = instructionOffsets(text, method);
+		return instruction>=0 && instruction<offsets.length? offsets[instruction] : -1;
+	}
+	
+	/**
+	 * @param method the method name and descriptor
+	 * @return the offset of the opcode of every real instruction of the method, in order, empty if the method is not
+	 * in the text
+	 */
+	public int[] instructionOffsets(final CharSequence text, final String method){
+		final Member member = findMethod(method);
+		if(member == null) return new int[0];
+		int[] offsets = new int[16];
+		int   count   = 0;
+		for(int line = declarationEnd(text, member) + 1; line<member.end(); ){
+			int start = line;
+			while(start<member.end() && text.charAt(start) == ' ') start++;
+			int end = start;
+			while(end<member.end() && isOpcodeChar(text.charAt(end))) end++;
+			if(end>start && OPCODES.contains(text.subSequence(start, end).toString())){
+				if(count == offsets.length) offsets = Arrays.copyOf(offsets, count*2);
+				offsets[count++] = start;
+			}
+			while(end<member.end() && text.charAt(end) != '\n') end++;
+			line = end + 1;
+		}
+		return Arrays.copyOf(offsets, count);
+	}
+	
+	/**
+	 * @param method the method name and descriptor
+	 * @return the offset of the end of the declaration line of the method, or -1 if the method is not in the text
+	 */
+	public int declarationOffset(final CharSequence text, final String method){
+		final Member member = findMethod(method);
+		return member == null? -1 : declarationEnd(text, member);
+	}
+	
+	/**
+	 * @param method the method name and descriptor
+	 * @return the method, or null if it is not in the text
+	 */
+	public Member findMethod(final String method){
+		for(Member member : members){
+			if(member.kind() == Kind.METHOD && member.name().equals(method)) return member;
+		}
+		return null;
+	}
+	
+	private static boolean isOpcodeChar(final char c){
+		return c>='A' && c<='Z' || c>='0' && c<='9' || c == '_';
+	}
+	
+	private static int declarationEnd(final CharSequence text, final Member method){
+		int offset = method.start();
+		while(offset<method.end() && text.charAt(offset) != '(') offset++;
+		while(offset<method.end() && text.charAt(offset) != '\n') offset++;
+		return offset;
+	}
+	
+	private static boolean sameIgnoringWhitespace(final CharSequence a, final CharSequence b){
+		int i = 0, j = 0;
+		while(true){
+			while(i<a.length() && Character.isWhitespace(a.charAt(i))) i++;
+			while(j<b.length() && Character.isWhitespace(b.charAt(j))) j++;
+			if(i == a.length() || j == b.length()) return i == a.length() && j == b.length();
+			if(a.charAt(i++) != b.charAt(j++)) return false;
+		}
+	}
+	
+	private static boolean isBlank(final CharSequence text, final int start, final int end){
+		for(int i = start; i<end; i++){
+			if(!Character.isWhitespace(text.charAt(i))) return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.TypePath;
+import org.objectweb.asm.util.Printer;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the {@link MemberIndex} of a view while its printer writes the text, instead of searching the text afterwards.
+ * <p>
+ * Placed in front of the {@link org.objectweb.asm.util.TraceClassVisitor}, it adds a marker to the printer's text
+ * before and after each member. The printer writes its text out by calling {@code toString()} on every element in
+ * order, so when a marker's turn comes it records how much has been written so far, which is the member's offset.
+ */
+public class MemberIndexVisitor extends ClassVisitor{
+	
+	private final class Marker{
+		private int offset = -1;
+		
+		@Override
+		public String toString(){
+			offset = out.getBuffer().length();
+			return "";
+		}
+	}
+	
+	private record Pending(MemberIndex.Kind kind, String name, Marker start, Marker end){ }
+	
+	private final List<Object>  text;
+	private final StringWriter  out;
+	private final List<Pending> pending = new ArrayList<>();
+	
+	/**
+	 * @param printer      the printer of the trace visitor
+	 * @param out          where the printer writes
+	 * @param classVisitor the trace visitor
+	 */
+	public MemberIndexVisitor(final Printer printer, final StringWriter out, final ClassVisitor classVisitor){
+		super(Opcodes.ASM9, classVisitor);
+		this.text = printer.getText();
+		this.out = out;
+	}
+	
+	@Override
+	public AnnotationVisitor visitAnnotation(final String descriptor, final boolean visible){
+		final Marker            start   = mark();
+		final AnnotationVisitor visitor = super.visitAnnotation(descriptor, visible);
+		pending.add(new Pending(MemberIndex.Kind.ANNOTATION, descriptor, start, mark()));
+		return visitor;
+	}
+	
+	@Override
+	public AnnotationVisitor visitTypeAnnotation(final int typeRef, final TypePath typePath, final String descriptor, final boolean visible){
+		final Marker            start   = mark();
+		final AnnotationVisitor visitor = super.visitTypeAnnotation(typeRef, typePath, descriptor, visible);
+		pending.add(new Pending(MemberIndex.Kind.ANNOTATION, descriptor, start, mark()));
+		return visitor;
+	}
+	
+	@Override
+	public FieldVisitor visitField(final int access, final String name, final String descriptor, final String signature, final Object value){
+		final Marker       start   = mark();
+		final FieldVisitor visitor = super.visitField(access, name, descriptor, signature, value);
+		pending.add(new Pending(MemberIndex.Kind.FIELD, name + " " + descriptor, start, mark()));
+		return visitor;
+	}
+	
+	@Override
+	public MethodVisitor visitMethod(final int access, final String name, final String descriptor, final String signature, final String[] exceptions){
+		final Marker        start   = mark();
+		final MethodVisitor visitor = super.visitMethod(access, name, descriptor, signature, exceptions);
+		pending.add(new Pending(MemberIndex.Kind.METHOD, name + descriptor, start, mark()));
+		return visitor;
+	}
+	
+	private Marker mark(){
+		final Marker marker = new Marker();
+		text.add(marker);
+		return marker;
+	}
+	
+	/**
+	 * To be called once the printer has written the text.
+	 *
+	 * @param shift added to every offset, for text placed in front of the printer's output
+	 */
+	public MemberIndex getIndex(final int shift){
+		final CharSequence             written = out.getBuffer();
+		final List<MemberIndex.Member> members = new ArrayList<>(pending.size());
+		for(Pending member : pending){
+			if(member.start().offset<0 || member.end().offset<0) continue;
+			// trim the blank lines the printers put around members
+			int start = member.start().offset;
+			int end   = member.end().offset;
+			while(start<end && Character.isWhitespace(written.charAt(start))) start++;
+			while(end>start && Character.isWhitespace(written.charAt(end - 1))) end--;
+			if(start<end) members.add(new MemberIndex.Member(member.kind(), member.name(), start + shift, end + shift));
+		}
+		return new MemberIndex(members);
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Lets a single method through to the printers. Every other method is dropped by returning null from
+ * {@link #visitMethod}, which makes the {@link org.objectweb.asm.ClassReader} jump over its attributes, code included,
+ * without decoding them.
+ */
+public class MethodFilterVisitor extends ClassVisitor{
+	
+	private final String  name;
+	private final String  descriptor;
+	private       boolean found;
+	
+	public MethodFilterVisitor(final String name, final String descriptor, final ClassVisitor classVisitor){
+		super(Opcodes.ASM9, classVisitor);
+		this.name = name;
+		this.descriptor = descriptor;
+	}
+	
+	@Override
+	public MethodVisitor visitMethod(final int access, final String name, final String descriptor, final String signature, final String[] exceptions){
+		if(!this.name.equals(name) || !this.descriptor.equals(descriptor)) return null;
+		found = true;
+		return super.visitMethod(access, name, descriptor, signature, exceptions);
+	}
+	
+	/**
+	 * @return whether the class has the method
+	 */
+	public boolean isFound(){
+		return found;
+	}
+}
@@ -18,7 +18,6 @@
 
 package org.objectweb.asm.idea;
 
-import com.intellij.ide.highlighter.JavaFileType;
 import com.intellij.ide.util.JavaAnonymousClassesHelper;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
@@ -28,8 +27,10 @@ import com.intellij.openapi.actionSystem.PlatformDataKeys;
 import com.intellij.openapi.actionSystem.Presentation;
 import com.intellij.openapi.application.Application;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.compiler.CompileScope;
 import com.intellij.openapi.compiler.CompilerManager;
+import com.intellij.openapi.editor.Caret;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.fileEditor.FileEditor;
 import com.intellij.openapi.fileEditor.FileEditorManager;
@@ -48,29 +49,29 @@ import com.intellij.openapi.wm.ToolWindowManager;
 import com.intellij.openapi.wm.WindowManager;
 import com.intellij.psi.PsiAnonymousClass;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassInitializer;
 import com.intellij.psi.PsiClassOwner;
 import com.intellij.psi.PsiCompiledElement;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiFileFactory;
 import com.intellij.psi.PsiManager;
-import com.intellij.psi.codeStyle.CodeStyleManager;
+import com.intellij.psi.PsiMember;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
 import com.intellij.psi.util.ClassUtil;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.ui.LightColors;
 import com.intellij.ui.awt.RelativePoint;
 import groovyjarjarantlr4.v4.runtime.misc.NotNull;
-import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.ClassVisitor;
-import org.objectweb.asm.idea.config.ASMPluginComponent;
-import org.objectweb.asm.util.TraceClassVisitor;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
-import java.util.concurrent.Executor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Semaphore;
 
 
@@ -109,14 +110,15 @@ public class ShowBytecodeOutlineAction extends AnAction{
 		if(project == null || virtualFile == null) return;
 		final PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
 		if(psiFile instanceof PsiClassOwner){
-			final Module module = ModuleUtil.findModuleForPsiElement(psiFile);
+			final BytecodeRenderer.MethodRef method = findMethodAtCaret(psiFile, e.getData(CommonDataKeys.CARET));
+			final Module                     module = ModuleUtil.findModuleForPsiElement(psiFile);
 			if(module == null)
 				return;
 			final CompilerModuleExtension cme             = CompilerModuleExtension.getInstance(module);
 			final CompilerManager         compilerManager = CompilerManager.getInstance(project);
 			final VirtualFile[]           files           = {virtualFile};
 			if("class".equals(virtualFile.getExtension())){
-				runAsmDecode(project, virtualFile);
+				runAsmDecode(project, virtualFile, psiFile, method);
 			}else if(!virtualFile.isInLocalFileSystem() && !virtualFile.isWritable()){
 				// probably a source file in a library
 				PsiElement el = psiFile.findElementAt(e.getData(CommonDataKeys.CARET).getOffset());
@@ -143,7 +145,7 @@ public class ShowBytecodeOutlineAction extends AnAction{
 									if(classRoot != null){
 										VirtualFile classFile = classRoot.findFileByRelativePath(relativePath);
 										if(classFile != null){
-											runAsmDecode(project, classFile);
+											runAsmDecode(project, classFile, psiFile, method);
 											return;
 										}
 									}
@@ -155,7 +157,7 @@ public class ShowBytecodeOutlineAction extends AnAction{
 				//fallback
 				final PsiClass[] psiClasses = ((PsiClassOwner)psiFile).getClasses();
 				if(psiClasses.length>0){
-					runAsmDecode(project, psiClasses[0].getOriginalElement().getContainingFile().getVirtualFile());
+					runAsmDecode(project, psiClasses[0].getOriginalElement().getContainingFile().getVirtualFile(), psiFile, method);
 				}
 			}else{
 				final Application application = ApplicationManager.getApplication();
@@ -189,7 +191,7 @@ public class ShowBytecodeOutlineAction extends AnAction{
 					}catch(InterruptedException e1){
 						result[0] = null;
 					}
-					runAsmDecode(project, result[0]);
+					runAsmDecode(project, result[0], psiFile, method);
 				});
 			}
 		}
@@ -219,17 +221,7 @@ public class ShowBytecodeOutlineAction extends AnAction{
 			}
 			
 			private VirtualFile getClassFile(@NotNull PsiClass psiClass){
-				String jvmClassName = getJVMClassName(psiClass);
-				if(jvmClassName == null)
-					jvmClassName = "";
-				String classFileName = jvmClassName.replace('.', '/') + ".class";
-				for(VirtualFile outputDirectory : outputDirectories){
-					final VirtualFile file = outputDirectory.findFileByRelativePath(classFileName);
-					if(file != null && file.exists()){
-						return file;
-					}
-				}
-				return null;
+				return findClassFile(outputDirectories, psiClass);
 			}
 			
 			private PsiClass findClassAtCaret(PsiFile psiFile, int caretOffset){
@@ -245,102 +237,137 @@ public class ShowBytecodeOutlineAction extends AnAction{
 		});
 	}
 	
+	/**
+	 * Finds the class file compiled from a source class among the output directories of its module. Must be called in a
+	 * read action.
+	 *
+	 * @return the class file, or null if the module has no output or the class was not compiled yet
+	 */
+	public static VirtualFile findClassFile(final PsiClass psiClass){
+		final Module module = ModuleUtil.findModuleForPsiElement(psiClass);
+		if(module == null) return null;
+		final CompilerModuleExtension cme = CompilerModuleExtension.getInstance(module);
+		return cme == null? null : findClassFile(cme.getOutputRoots(true), psiClass);
+	}
+	
+	public static VirtualFile findClassFile(final VirtualFile[] outputDirectories, final PsiClass psiClass){
+		String jvmClassName = getJVMClassName(psiClass);
+		if(jvmClassName == null)
+			jvmClassName = "";
+		String classFileName = jvmClassName.replace('.', '/') + ".class";
+		for(VirtualFile outputDirectory : outputDirectories){
+			final VirtualFile file = outputDirectory.findFileByRelativePath(classFileName);
+			if(file != null && file.exists()){
+				return file;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * @return the method or static initializer at the caret, as named in the class file, or null
+	 */
+	private static BytecodeRenderer.MethodRef findMethodAtCaret(final PsiFile psiFile, final Caret caret){
+		if(caret == null) return null;
+		final PsiMember member = PsiTreeUtil.getParentOfType(psiFile.findElementAt(caret.getOffset()), PsiMethod.class, PsiClassInitializer.class);
+		if(member instanceof PsiMethod method){
+			return new BytecodeRenderer.MethodRef(method.isConstructor()? "<init>" : method.getName(), ClassUtil.getAsmMethodSignature(method));
+		}
+		if(member instanceof PsiClassInitializer initializer && initializer.hasModifierProperty(PsiModifier.STATIC)){
+			return new BytecodeRenderer.MethodRef("<clinit>", "()V");
+		}
+		return null;
+	}
+	
 	public void runAsmDecode(final Project project, final VirtualFile file){
+		runAsmDecode(project, file, null, null);
+	}
+	
+	/**
+	 * Renders the given class file and offers every other class file emitted by the same source file, such as the other
+	 * top level classes and the inner, anonymous and local classes. The class files are found and read on a pooled
+	 * thread.
+	 *
+	 * @param source the file the class was compiled from, or null to find its classes from the class file
+	 * @param method the method to show in current method only mode, or null
+	 */
+	public void runAsmDecode(final Project project, final VirtualFile file, final PsiFile source, final BytecodeRenderer.MethodRef method){
 		if(file == null){
+			BytecodeRenderer.getInstance(project).clear();
 			ApplicationManager.getApplication().invokeLater(() -> ApplicationManager.getApplication().runWriteAction(() -> updateToolWindowContents(project, null, null, null, null)));
 			return;
 		}
-		final ASMPluginComponent config = project.getService(ASMPluginComponent.class);
-		
-		
-		Executor exec = r -> {
-			ApplicationManager.getApplication().invokeLater(
-				() -> {
-					ApplicationManager.getApplication().runWriteAction(() -> {
-						r.run();
-						ToolWindowManager.getInstance(project).getToolWindow("ASM").activate(null);
-					});
-				}
-			);
-		};
-		
-		ClassReader reader;
-		try{
-			file.refresh(false, false);
-			reader = new ClassReader(file.contentsToByteArray());
-		}catch(IOException e){
+		final Application application = ApplicationManager.getApplication();
+		if(application.isDispatchThread()){
+			application.executeOnPooledThread(() -> runAsmDecode(project, file, source, method));
 			return;
 		}
-		
-		CompletableFuture
-			.supplyAsync(() -> {
-				var          stringWriter = new StringWriter();
-				ClassVisitor visitor      = new TraceClassVisitor(new PrintWriter(stringWriter));
-				reader.accept(visitor, computeFlags(config));
-				return stringWriter.toString();
-			})
-			.exceptionally(e -> mapVisitErr(e, config))
-			.thenAcceptAsync(code -> BytecodeOutline.getInstance(project).setCode(file, code), exec);
-		
-		CompletableFuture
-			.supplyAsync(() -> {
-				var stringWriter = new StringWriter();
-				reader.accept(
-					new TraceClassVisitor(
-						null,
-						new CustomASMifier(),
-						new PrintWriter(stringWriter)
-					),
-					computeFlags(config)
-				);
-				return ApplicationManager.getApplication().runReadAction((Computable<String>)() -> {
-					var asmfiedFile = PsiFileFactory.getInstance(project).createFileFromText(
-						"asm.java", JavaFileType.INSTANCE, stringWriter.toString()
-					);
-					CodeStyleManager.getInstance(project).reformatText(asmfiedFile, 0, asmfiedFile.getTextLength());
-					return asmfiedFile.getText();
-				});
-			})
-			.exceptionally(e -> mapVisitErr(e, config))
-			.thenAcceptAsync(code -> BytecodeASMified.getInstance(project).setCode(file, code), exec);
-		
-		CompletableFuture
-			.supplyAsync(() -> {
-				var stringWriter = new StringWriter();
-				reader.accept(
-					new TraceClassVisitor(
-						null,
-						new GroovifiedTextifier(config.getCodeStyle()),
-						new PrintWriter(stringWriter)
-					),
-					ClassReader.SKIP_FRAMES|ClassReader.SKIP_DEBUG
-				);
-				return stringWriter.toString();
-			})
-			.exceptionally(e -> mapVisitErr(e, config))
-			.thenAcceptAsync(code -> GroovifiedView.getInstance(project).setCode(file, code), exec);
+		final List<VirtualFile>        emitted = ReadAction.compute(() -> findEmittedClassFiles(project, file, source));
+		final Map<VirtualFile, byte[]> classes = new LinkedHashMap<>();
+		for(VirtualFile classFile : emitted){
+			try{
+				classFile.refresh(false, false);
+				classes.put(classFile, classFile.contentsToByteArray());
+			}catch(IOException e){
+				if(classFile.equals(file)) return;
+			}
+		}
+		BytecodeRenderer.getInstance(project).render(classes, file, method);
+	}
+	
+	/**
+	 * Class files emitted by the same source file are those of the classes it declares, at top level or nested, and of
+	 * the anonymous and local classes inside them, named after their enclosing class with a {@code $} and a number.
+	 * They are all in the same directory. Must be called in a read action.
+	 *
+	 * @return the class files in name order, including the given one
+	 */
+	private static List<VirtualFile> findEmittedClassFiles(final Project project, final VirtualFile classFile, final PsiFile source){
+		final VirtualFile   directory = classFile.getParent();
+		final PsiClassOwner owner     = directory == null? null : findClassOwner(project, classFile, source);
+		if(owner == null) return List.of(classFile);
+		final Set<String> declared = new HashSet<>();
+		for(PsiClass psiClass : owner.getClasses()) addDeclaredNames(psiClass, declared);
+		final List<VirtualFile> files = new ArrayList<>();
+		for(VirtualFile child : directory.getChildren()){
+			if(!"class".equals(child.getExtension()) || child.isDirectory()) continue;
+			final String name = child.getNameWithoutExtension();
+			if(declared.contains(name) || isAnonymousOrLocal(name, declared)) files.add(child);
+		}
+		if(!files.contains(classFile)) files.add(classFile);
+		files.sort(Comparator.comparing(VirtualFile::getName));
+		return files;
+	}
+	
+	/**
+	 * @return the source file, or else the PSI of the class file or of its top level class file, since the class files
+	 * of nested classes have none
+	 */
+	private static PsiClassOwner findClassOwner(final Project project, final VirtualFile classFile, final PsiFile source){
+		if(source instanceof PsiClassOwner owner && source.isValid()) return owner;
+		final PsiManager manager = PsiManager.getInstance(project);
+		if(manager.findFile(classFile) instanceof PsiClassOwner owner && owner.getClasses().length>0) return owner;
+		final String      name     = classFile.getNameWithoutExtension();
+		final int         dollar   = name.indexOf('$');
+		final VirtualFile topLevel = dollar>0? classFile.getParent().findChild(name.substring(0, dollar) + ".class") : null;
+		return topLevel != null && manager.findFile(topLevel) instanceof PsiClassOwner owner? owner : null;
 	}
 	
-	private String mapVisitErr(Throwable e, ASMPluginComponent config){
-		if(e instanceof CompletionException ce && ce.getCause() != null) e = ce.getCause();
-		var printw = new StringWriter();
-		e.printStackTrace(new PrintWriter(printw));
-		return "/*\n" +
-		       "Something went wrong! Try enabling a skip option in the configuration. Current config:\n" +
-		       config + "\n" +
-		       "\n" +
-		       "Stacktrace:\n" +
-		       printw.toString().replace("\r", "") + "\n" +
-		       "*/";
+	/**
+	 * Adds the class file names, without package, of a class and of the classes nested in it.
+	 */
+	private static void addDeclaredNames(final PsiClass psiClass, final Set<String> names){
+		final String jvmClassName = ClassUtil.getJVMClassName(psiClass);
+		if(jvmClassName != null) names.add(jvmClassName.substring(jvmClassName.lastIndexOf('.') + 1));
+		for(PsiClass inner : psiClass.getInnerClasses()) addDeclaredNames(inner, names);
 	}
 	
-	private static int computeFlags(ASMPluginComponent config){
-		int flags = 0;
-		if(config.isSkipDebug()) flags = flags|ClassReader.SKIP_DEBUG;
-		if(config.isSkipFrames()) flags = flags|ClassReader.SKIP_FRAMES;
-		if(config.isExpandFrames()) flags = flags|ClassReader.EXPAND_FRAMES;
-		if(config.isSkipCode()) flags = flags|ClassReader.SKIP_CODE;
-		return flags;
+	private static boolean isAnonymousOrLocal(final String name, final Set<String> declared){
+		for(String enclosing : declared){
+			if(name.length()>enclosing.length() + 1 && name.startsWith(enclosing) && name.charAt(enclosing.length()) == '$' &&
+			   Character.isDigit(name.charAt(enclosing.length() + 1))) return true;
+		}
+		return false;
 	}
 	
 	/**
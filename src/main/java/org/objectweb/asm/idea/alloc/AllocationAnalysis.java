@@ -0,0 +1,175 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.alloc;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.idea.cfg.ControlFlowGraph;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.MultiANewArrayInsnNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.util.Printer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Finds the instructions of a class which allocate on the heap: object and array creation, boxing of primitives
+ * through the {@code valueOf} methods of the wrapper classes, and string concatenation compiled to
+ * {@code invokedynamic}. Each site is placed in the natural loops of its method, an allocation in a loop being the one
+ * worth a look.
+ * <p>
+ * Methods are analysed independently and in parallel, and the control-flow graph is only built for methods which
+ * allocate. Escape analysis may still remove an allocation once the method is compiled, and boxing hits the
+ * {@code Integer} cache for small values, so a site is a candidate rather than a certainty.
+ */
+public final class AllocationAnalysis{
+	
+	public enum Kind{
+		NEW("new"), ARRAY("array"), BOXING("boxing"), CONCAT("concat");
+		
+		public final String label;
+		
+		Kind(final String label){
+			this.label = label;
+		}
+	}
+	
+	/**
+	 * An allocating instruction.
+	 *
+	 * @param method      the method name and descriptor
+	 * @param instruction the index of the instruction among the real instructions of the method
+	 * @param kind        what allocates
+	 * @param type        the internal name or descriptor of what is allocated
+	 * @param loopDepth   the number of loops the instruction is in, 0 outside of any loop
+	 */
+	public record Site(String method, int instruction, Kind kind, String type, int loopDepth){
+		
+		public boolean isInLoop(){
+			return loopDepth>0;
+		}
+		
+		public String getMethodName(){
+			return method.substring(0, method.indexOf('('));
+		}
+		
+		public String getMethodDescriptor(){
+			return method.substring(method.indexOf('('));
+		}
+		
+		/**
+		 * @return a description like {@code boxes int into java/lang/Integer, in 2 nested loops}
+		 */
+		public String describe(){
+			final String what = switch(kind){
+				case NEW -> "allocates " + type;
+				case ARRAY -> "allocates " + type + " array";
+				case BOXING -> "boxes " + type;
+				case CONCAT -> "concatenates into a new String";
+			};
+			return what + (loopDepth == 0? "" : loopDepth == 1? ", in a loop" : ", in " + loopDepth + " nested loops");
+		}
+	}
+	
+	private static final Set<String> WRAPPERS = Set.of(
+		"java/lang/Boolean", "java/lang/Byte", "java/lang/Character", "java/lang/Short",
+		"java/lang/Integer", "java/lang/Long", "java/lang/Float", "java/lang/Double"
+	);
+	
+	private static final String STRING_CONCAT_FACTORY = "java/lang/invoke/StringConcatFactory";
+	
+	private final List<Site> sites;
+	
+	private AllocationAnalysis(final List<Site> sites){
+		this.sites = sites;
+	}
+	
+	public static AllocationAnalysis of(final byte[] bytes){
+		final ClassNode node = new ClassNode();
+		new ClassReader(bytes).accept(node, ClassReader.SKIP_DEBUG|ClassReader.SKIP_FRAMES);
+		return new AllocationAnalysis(node.methods.parallelStream().flatMap(method -> analyse(method).stream()).toList());
+	}
+	
+	private static List<Site> analyse(final MethodNode method){
+		final String     key   = method.name + method.desc;
+		final List<Site> found = new ArrayList<>();
+		int              index = 0;
+		for(AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()){
+			if(insn.getOpcode()<0) continue;
+			final Site site = site(key, index, insn);
+			if(site != null) found.add(site);
+			index++;
+		}
+		if(found.isEmpty()) return found;
+		
+		final ControlFlowGraph graph = ControlFlowGraph.of(method);
+		if(graph.getLoops().isEmpty()) return found;
+		final List<Site> sites = new ArrayList<>(found.size());
+		for(Site site : found){
+			sites.add(new Site(site.method, site.instruction, site.kind, site.type, graph.loopDepth(site.instruction)));
+		}
+		return sites;
+	}
+	
+	/**
+	 * @return the allocation made by an instruction, outside of any loop, or null if it does not allocate
+	 */
+	private static Site site(final String method, final int index, final AbstractInsnNode insn){
+		return switch(insn.getOpcode()){
+			case Opcodes.NEW -> new Site(method, index, Kind.NEW, ((TypeInsnNode)insn).desc, 0);
+			case Opcodes.NEWARRAY -> new Site(method, index, Kind.ARRAY, Printer.TYPES[((IntInsnNode)insn).operand].substring(2).toLowerCase(Locale.ROOT), 0);
+			case Opcodes.ANEWARRAY -> new Site(method, index, Kind.ARRAY, ((TypeInsnNode)insn).desc, 0);
+			case Opcodes.MULTIANEWARRAY -> {
+				final MultiANewArrayInsnNode array = (MultiANewArrayInsnNode)insn;
+				yield new Site(method, index, Kind.ARRAY, Type.getType(array.desc).getElementType().getClassName() + " " + array.dims + "-dimensional", 0);
+			}
+			case Opcodes.INVOKESTATIC -> {
+				final MethodInsnNode call = (MethodInsnNode)insn;
+				if(!"valueOf".equals(call.name) || !WRAPPERS.contains(call.owner)) yield null;
+				// valueOf(String) parses rather than boxes
+				final Type[] arguments = Type.getArgumentTypes(call.desc);
+				if(arguments.length != 1 || arguments[0].getSort()>Type.DOUBLE) yield null;
+				yield new Site(method, index, Kind.BOXING, arguments[0].getClassName() + " into " + call.owner, 0);
+			}
+			case Opcodes.INVOKEDYNAMIC -> STRING_CONCAT_FACTORY.equals(((InvokeDynamicInsnNode)insn).bsm.getOwner())?
+			                              new Site(method, index, Kind.CONCAT, "java/lang/String", 0) : null;
+			default -> null;
+		};
+	}
+	
+	/**
+	 * @return every allocation of the class, by method then instruction
+	 */
+	public List<Site> getSites(){
+		return sites;
+	}
+	
+	public long countInLoops(){
+		return sites.stream().filter(Site::isInLoop).count();
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.alloc;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.ui.JBColor;
+import org.objectweb.asm.idea.BytecodeRenderer;
+import org.objectweb.asm.idea.annotate.BytecodeOffsets;
+import org.objectweb.asm.idea.annotate.InstructionAnnotation;
+import org.objectweb.asm.idea.annotate.InstructionAnnotator;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+
+import java.awt.Color;
+import java.util.List;
+
+/**
+ * Annotates every allocating instruction of the shown class, those in loops with a colour growing with the nesting
+ * depth, and hands the sites to the {@link AllocationsPanel}. The analysis is kept with the rendered views of the
+ * class, so switching back to a class, or the panel listing it, does not run it again.
+ * <p>
+ * The class is only analysed while the panel is on screen or the sites are
+ * {@link ASMPluginComponent#isHighlightAllocations() highlighted}, and only highlighted in the latter case.
+ */
+public class AllocationSites implements InstructionAnnotator{
+	
+	private final Project project;
+	
+	public AllocationSites(final Project project){
+		this.project = project;
+	}
+	
+	public static AllocationSites getInstance(Project project){
+		return project.getService(AllocationSites.class);
+	}
+	
+	@Override
+	public List<InstructionAnnotation> annotate(final String className, final byte[] bytes, final BytecodeOffsets offsets){
+		final boolean          highlight = project.getService(ASMPluginComponent.class).isHighlightAllocations();
+		final AllocationsPanel panel     = AllocationsPanel.getInstance(project);
+		if(!highlight && !panel.isListing()) return List.of();
+		
+		final AllocationAnalysis analysis = BytecodeRenderer.getInstance(project)
+		                                                    .analysis(bytes, AllocationAnalysis.class, AllocationAnalysis::of)
+		                                                    .join();
+		panel.show(className, bytes, analysis);
+		if(!highlight) return List.of();
+		return analysis.getSites().stream()
+		               .map(site -> new InstructionAnnotation(site.method(), site.instruction(), site.describe(), color(site)))
+		               .toList();
+	}
+	
+	private static Color color(final AllocationAnalysis.Site site){
+		return switch(site.loopDepth()){
+			case 0 -> null;
+			case 1 -> JBColor.ORANGE;
+			default -> JBColor.RED;
+		};
+	}
+}
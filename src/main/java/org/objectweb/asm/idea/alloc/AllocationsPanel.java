@@ -0,0 +1,243 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.alloc;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.ListTableModel;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.BytecodeRenderer;
+import org.objectweb.asm.idea.annotate.InstructionAnnotations;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Lists the {@link AllocationAnalysis allocation sites} of the class shown in the Bytecode view in a table which sorts
+ * on any column, loop depth first. Opening a site moves the caret of the Bytecode view to its instruction.
+ * <p>
+ * The class is only analysed while this tab is on screen, using the analysis {@link AllocationSites} keeps with the
+ * rendered class.
+ */
+public class AllocationsPanel extends SimpleToolWindowPanel implements Disposable{
+	
+	public static final String TAB_NAME = "Allocations";
+	
+	private static final ColumnInfo<AllocationAnalysis.Site, Integer> LOOPS  = column("Loop Depth", AllocationAnalysis.Site::loopDepth);
+	private static final ColumnInfo<AllocationAnalysis.Site, String>  KIND   = column("Kind", site -> site.kind().label);
+	private static final ColumnInfo<AllocationAnalysis.Site, String>  TYPE   = column("Allocates", AllocationAnalysis.Site::type);
+	private static final ColumnInfo<AllocationAnalysis.Site, String>  METHOD = column("Method", AllocationAnalysis.Site::method);
+	private static final ColumnInfo<AllocationAnalysis.Site, Integer> INDEX  = column("#", AllocationAnalysis.Site::instruction);
+	
+	private final Project                                 project;
+	// deepest loops first until another column is picked
+	private final ListTableModel<AllocationAnalysis.Site> model  = new ListTableModel<>(new ColumnInfo[]{LOOPS, KIND, TYPE, METHOD, INDEX}, List.of(), 0, SortOrder.DESCENDING);
+	private final TableView<AllocationAnalysis.Site>      table  = new TableView<>(model);
+	private final JBLabel                                 status = new JBLabel(" ");
+	
+	// the class listed, read and written on the EDT
+	private VirtualFile        file;
+	private byte[]             bytes;
+	private AllocationAnalysis analysis;
+	private boolean            loopsOnly;
+	// whether the tab is on screen, read by the annotator on its own thread
+	private volatile boolean   listing;
+	
+	public AllocationsPanel(final Project project){
+		super(true, true);
+		this.project = project;
+		setupUI();
+	}
+	
+	public static AllocationsPanel getInstance(Project project){
+		return project.getService(AllocationsPanel.class);
+	}
+	
+	private void setupUI(){
+		final DefaultActionGroup actions = new DefaultActionGroup(new LoopsOnlyAction(), new HighlightAction());
+		final ActionToolbar      toolbar = ActionManager.getInstance().createActionToolbar("ASM", actions, true);
+		toolbar.setTargetComponent(this);
+		setToolbar(toolbar.getComponent());
+		
+		table.getEmptyText().setText("No allocations in the class shown in the Bytecode view");
+		new DoubleClickListener(){
+			@Override
+			protected boolean onDoubleClick(final @NotNull MouseEvent event){
+				navigate(table.getSelectedObject());
+				return true;
+			}
+		}.installOn(table);
+		table.addKeyListener(new KeyAdapter(){
+			@Override
+			public void keyPressed(final KeyEvent e){
+				if(e.getKeyCode() == KeyEvent.VK_ENTER){
+					navigate(table.getSelectedObject());
+					e.consume();
+				}
+			}
+		});
+		
+		final JPanel content = new JPanel(new BorderLayout());
+		content.add(ScrollPaneFactory.createScrollPane(table), BorderLayout.CENTER);
+		content.add(status, BorderLayout.SOUTH);
+		setContent(content);
+		
+		addHierarchyListener(e -> {
+			if((e.getChangeFlags()&HierarchyEvent.SHOWING_CHANGED) == 0) return;
+			listing = isShowing();
+			if(listing) listShownClass();
+		});
+	}
+	
+	/**
+	 * @return whether the tab is on screen, so the allocation sites of the shown class should be listed
+	 */
+	public boolean isListing(){
+		return listing;
+	}
+	
+	/**
+	 * Lists the class shown in the Bytecode view, unless it already is.
+	 */
+	private void listShownClass(){
+		final BytecodeRenderer renderer = BytecodeRenderer.getInstance(project);
+		final byte[]           shown    = renderer.getSelectedBytes();
+		if(shown == null || shown == bytes) return;
+		final String className = new ClassReader(shown).getClassName();
+		renderer.analysis(shown, AllocationAnalysis.class, AllocationAnalysis::of)
+		        .thenAccept(shownAnalysis -> show(className, shown, shownAnalysis));
+	}
+	
+	/**
+	 * Lists the allocation sites of a class, if it is still the one shown.
+	 */
+	public void show(final String className, final byte[] bytes, final AllocationAnalysis analysis){
+		ApplicationManager.getApplication().invokeLater(() -> {
+			final BytecodeRenderer renderer = BytecodeRenderer.getInstance(project);
+			if(renderer.getSelectedBytes() != bytes) return;
+			this.file = renderer.getSelected();
+			this.bytes = bytes;
+			this.analysis = analysis;
+			update();
+			status.setText(analysis.getSites().size() + " allocation sites in " + className + ", " + analysis.countInLoops() + " in loops");
+		}, project.getDisposed());
+	}
+	
+	private void update(){
+		if(analysis == null) return;
+		model.setItems(analysis.getSites().stream().filter(site -> !loopsOnly || site.isInLoop()).toList());
+	}
+	
+	private void navigate(final AllocationAnalysis.Site site){
+		if(site == null || file == null) return;
+		BytecodeRenderer.getInstance(project).reveal(
+			file, bytes, new BytecodeRenderer.MethodRef(site.getMethodName(), site.getMethodDescriptor()), site.instruction()
+		);
+	}
+	
+	private static <T extends Comparable<T>> ColumnInfo<AllocationAnalysis.Site, T> column(final String name, final Function<AllocationAnalysis.Site, T> value){
+		return new ColumnInfo<>(name){
+			@Override
+			public T valueOf(final AllocationAnalysis.Site site){
+				return value.apply(site);
+			}
+			
+			@Override
+			public Comparator<AllocationAnalysis.Site> getComparator(){
+				return Comparator.comparing(value);
+			}
+		};
+	}
+	
+	@Override
+	public void dispose(){
+		analysis = null;
+		bytes = null;
+	}
+	
+	private final class HighlightAction extends ToggleAction{
+		
+		private HighlightAction(){
+			super("Highlight in Bytecode View", "Highlight the allocation sites in the Bytecode view, in loops by nesting depth", AllIcons.Actions.Highlighting);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public boolean isSelected(final @NotNull AnActionEvent e){
+			return project.getService(ASMPluginComponent.class).isHighlightAllocations();
+		}
+		
+		@Override
+		public void setSelected(final @NotNull AnActionEvent e, final boolean state){
+			project.getService(ASMPluginComponent.class).setHighlightAllocations(state);
+			InstructionAnnotations.getInstance(project).refresh();
+		}
+	}
+	
+	private final class LoopsOnlyAction extends ToggleAction{
+		
+		private LoopsOnlyAction(){
+			super("In Loops Only", "List only the allocations made in a loop", AllIcons.General.Filter);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public boolean isSelected(final @NotNull AnActionEvent e){
+			return loopsOnly;
+		}
+		
+		@Override
+		public void setSelected(final @NotNull AnActionEvent e, final boolean state){
+			loopsOnly = state;
+			update();
+		}
+	}
+}
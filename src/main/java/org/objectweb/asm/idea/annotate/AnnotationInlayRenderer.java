@@ -0,0 +1,89 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.annotate;
+
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorCustomElementRenderer;
+import com.intellij.openapi.editor.Inlay;
+import com.intellij.openapi.editor.colors.EditorFontType;
+import com.intellij.openapi.editor.markup.LineMarkerRenderer;
+import com.intellij.openapi.editor.markup.TextAttributes;
+import com.intellij.ui.JBColor;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.UIUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+
+/**
+ * Paints the text of an {@link InstructionAnnotation} after the end of its line, its color goes to the gutter.
+ */
+public final class AnnotationInlayRenderer implements EditorCustomElementRenderer{
+	
+	private static final int GAP = 12;
+	
+	private final InstructionAnnotation annotation;
+	
+	public AnnotationInlayRenderer(final InstructionAnnotation annotation){
+		this.annotation = annotation;
+	}
+	
+	@Override
+	public int calcWidthInPixels(final @NotNull Inlay inlay){
+		return JBUI.scale(GAP) + metrics(inlay.getEditor()).stringWidth(annotation.text());
+	}
+	
+	@Override
+	public void paint(final @NotNull Inlay inlay, final @NotNull Graphics g, final @NotNull Rectangle target, final @NotNull TextAttributes textAttributes){
+		final Editor editor = inlay.getEditor();
+		g.setFont(metrics(editor).getFont());
+		g.setColor(JBColor.GRAY);
+		UIUtil.applyRenderingHints(g);
+		g.drawString(annotation.text(), target.x + JBUI.scale(GAP), target.y + editor.getAscent());
+	}
+	
+	private static FontMetrics metrics(final Editor editor){
+		final Font font = editor.getColorsScheme().getFont(EditorFontType.ITALIC);
+		return editor.getContentComponent().getFontMetrics(font);
+	}
+	
+	/**
+	 * @return a renderer painting a strip of the given color on the lines it is attached to
+	 */
+	public static LineMarkerRenderer gutterStrip(final Color color){
+		return (editor, g, r) -> {
+			g.setColor(color);
+			g.fillRect(r.x, r.y, JBUI.scale(3), r.height);
+		};
+	}
+	
+	/**
+	 * @param heat from 0 for barely warm to 1 for the hottest
+	 * @return a color from yellow to red
+	 */
+	public static Color heat(final double heat){
+		final double clamped = Math.max(0, Math.min(1, heat));
+		final int    green   = (int)Math.round(210*(1 - clamped));
+		return new JBColor(new Color(240, green, 0), new Color(220, Math.max(40, green), 30));
+	}
+}
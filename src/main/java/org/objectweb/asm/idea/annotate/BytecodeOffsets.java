@@ -0,0 +1,129 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.annotate;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.CodeAttributes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The bytecode index of every instruction of every method of a class, read from the code arrays of the class file.
+ * <p>
+ * Profilers and JIT logs point at instructions by bytecode index while the views count real instructions, and ASM
+ * does not tell where each instruction starts. ASM visits exactly one instruction per opcode in the code array, in
+ * order, so the n-th instruction start found here is the n-th instruction of the views.
+ */
+public final class BytecodeOffsets{
+	
+	private static final int TABLESWITCH  = 0xAA;
+	private static final int LOOKUPSWITCH = 0xAB;
+	private static final int WIDE         = 0xC4;
+	private static final int IINC         = 0x84;
+	
+	/**
+	 * Length of every fixed size instruction, by opcode.
+	 */
+	private static final byte[] LENGTHS = new byte[256];
+	
+	static{
+		Arrays.fill(LENGTHS, (byte)1);
+		for(int opcode : new int[]{0x10, 0x12, 0x15, 0x16, 0x17, 0x18, 0x19, 0x36, 0x37, 0x38, 0x39, 0x3A, 0xA9, 0xBC}) LENGTHS[opcode] = 2;
+		for(int opcode : new int[]{0x11, 0x13, 0x14, IINC, 0xB2, 0xB3, 0xB4, 0xB5, 0xB6, 0xB7, 0xB8, 0xBB, 0xBD, 0xC0, 0xC1, 0xC6, 0xC7}) LENGTHS[opcode] = 3;
+		for(int opcode = 0x99; opcode<=0xA8; opcode++) LENGTHS[opcode] = 3;
+		LENGTHS[0xC5] = 4;
+		for(int opcode : new int[]{0xB9, 0xBA, 0xC8, 0xC9}) LENGTHS[opcode] = 5;
+	}
+	
+	public static final BytecodeOffsets EMPTY = new BytecodeOffsets(Map.of());
+	
+	// instruction starts by method name and descriptor
+	private final Map<String, int[]> methods;
+	
+	private BytecodeOffsets(final Map<String, int[]> methods){
+		this.methods = methods;
+	}
+	
+	public static BytecodeOffsets of(final byte[] bytes){
+		final ClassReader        reader  = new ClassReader(bytes);
+		final Map<String, int[]> methods = new HashMap<>();
+		CodeAttributes.accept(reader, (access, name, descriptor, code) -> {
+			if(code>=0){
+				methods.put(name + descriptor, instructionStarts(reader, CodeAttributes.codeStart(code), CodeAttributes.codeLength(reader, code)));
+			}
+		});
+		return new BytecodeOffsets(methods);
+	}
+	
+	private static int[] instructionStarts(final ClassReader reader, final int codeStart, final int codeLength){
+		int[] starts = new int[Math.max(16, codeLength/2)];
+		int   count  = 0;
+		for(int bci = 0; bci<codeLength; ){
+			if(count == starts.length) starts = Arrays.copyOf(starts, count*2);
+			starts[count++] = bci;
+			final int opcode = reader.readByte(codeStart + bci);
+			if(opcode == TABLESWITCH || opcode == LOOKUPSWITCH){
+				// operands are aligned on 4 bytes from the start of the code
+				final int operands = bci + 4 - (bci&3);
+				if(opcode == TABLESWITCH){
+					final int low  = reader.readInt(codeStart + operands + 4);
+					final int high = reader.readInt(codeStart + operands + 8);
+					bci = operands + 12 + 4*(high - low + 1);
+				}else{
+					bci = operands + 8 + 8*reader.readInt(codeStart + operands + 4);
+				}
+			}else if(opcode == WIDE){
+				bci += reader.readByte(codeStart + bci + 1) == IINC? 6 : 4;
+			}else{
+				bci += LENGTHS[opcode];
+			}
+		}
+		return Arrays.copyOf(starts, count);
+	}
+	
+	/**
+	 * @param method the method name and descriptor
+	 * @return the index of the instruction starting at the bytecode index among the real instructions of the method,
+	 * or -1 if no instruction starts there
+	 */
+	public int instructionAt(final String method, final int bci){
+		final int[] starts = methods.get(method);
+		if(starts == null) return -1;
+		final int index = Arrays.binarySearch(starts, bci);
+		return index<0? -1 : index;
+	}
+	
+	/**
+	 * @return the bytecode index of an instruction, or -1 if the method has no such instruction
+	 */
+	public int bciOf(final String method, final int instruction){
+		final int[] starts = methods.get(method);
+		return starts == null || instruction<0 || instruction>=starts.length? -1 : starts[instruction];
+	}
+	
+	/**
+	 * @return the number of real instructions of the method
+	 */
+	public int instructionCount(final String method){
+		final int[] starts = methods.get(method);
+		return starts == null? 0 : starts.length;
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.annotate;
+
+import java.awt.Color;
+
+/**
+ * A note shown at the end of an instruction line of the Bytecode view, or of the declaration line of a method.
+ *
+ * @param method      the method name and descriptor
+ * @param instruction the index of the instruction among the real instructions of the method, or {@link #DECLARATION}
+ * @param text        the note
+ * @param color       painted as a strip in the gutter and as a mark on the error stripe, or null for neither
+ */
+public record InstructionAnnotation(String method, int instruction, String text, Color color){
+	
+	/**
+	 * The instruction index which stands for the declaration line of the method.
+	 */
+	public static final int DECLARATION = -1;
+}
@@ -0,0 +1,126 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.annotate;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.BytecodeOutline;
+import org.objectweb.asm.idea.BytecodeRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Collects the annotations of every {@link InstructionAnnotator} registered with an {@link InstructionAnnotatorBean} for
+ * the class shown in the Bytecode view.
+ * <p>
+ * Annotations are computed from the class bytes, one class at a time on a background thread, and handed to the view
+ * tagged with their class file. The view applies them once it shows that class, whichever comes first.
+ */
+public class InstructionAnnotations{
+	private static final Logger LOG = Logger.getInstance(InstructionAnnotations.class);
+	
+	private final Project         project;
+	// one at a time, so the annotations of the last shown class are always the last handed over
+	private final ExecutorService executor;
+	
+	public InstructionAnnotations(final Project project){
+		this.project = project;
+		this.executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("ASM Instruction Annotations", 1);
+	}
+	
+	public static InstructionAnnotations getInstance(Project project){
+		return project.getService(InstructionAnnotations.class);
+	}
+	
+	/**
+	 * Annotates a class which is being shown in the Bytecode view.
+	 */
+	public void update(final VirtualFile file, final byte[] bytes){
+		executor.execute(() -> {
+			final List<InstructionAnnotation> annotations = annotate(bytes);
+			ApplicationManager.getApplication().invokeLater(
+				() -> BytecodeOutline.getInstance(project).setAnnotations(file, annotations), project.getDisposed()
+			);
+		});
+	}
+	
+	/**
+	 * Adds annotations to a shown class without annotating it again, for an annotator which has more to say about it,
+	 * such as about one more method. They are computed in turn with the updates, so they follow the annotations of
+	 * the class they are about.
+	 *
+	 * @param annotations computes the annotations to add, on the background thread
+	 */
+	public void add(final VirtualFile file, final Supplier<List<InstructionAnnotation>> annotations){
+		executor.execute(() -> {
+			final List<InstructionAnnotation> added;
+			try{
+				added = annotations.get();
+			}catch(RuntimeException e){
+				LOG.warn("Could not annotate bytecode", e);
+				return;
+			}
+			if(added.isEmpty()) return;
+			ApplicationManager.getApplication().invokeLater(
+				() -> BytecodeOutline.getInstance(project).addAnnotations(file, added), project.getDisposed()
+			);
+		});
+	}
+	
+	/**
+	 * Annotates the shown class again, after the data of an annotator changed.
+	 */
+	public void refresh(){
+		final BytecodeRenderer renderer = BytecodeRenderer.getInstance(project);
+		final VirtualFile      file     = renderer.getSelected();
+		final byte[]           bytes    = renderer.getSelectedBytes();
+		if(file != null && bytes != null) update(file, bytes);
+	}
+	
+	/**
+	 * Runs every registered annotator. One that fails loses only its own annotations.
+	 */
+	private List<InstructionAnnotation> annotate(final byte[] bytes){
+		final List<InstructionAnnotation> annotations = new ArrayList<>();
+		final String                      className;
+		final BytecodeOffsets             offsets;
+		try{
+			className = new ClassReader(bytes).getClassName();
+			offsets = BytecodeOffsets.of(bytes);
+		}catch(RuntimeException e){
+			LOG.warn("Could not annotate bytecode", e);
+			return annotations;
+		}
+		for(InstructionAnnotatorBean bean : InstructionAnnotatorBean.EP_NAME.getExtensionList()){
+			try{
+				annotations.addAll(bean.getAnnotator(project).annotate(className, bytes, offsets));
+			}catch(RuntimeException e){
+				LOG.warn("Instruction annotator " + bean + " failed on " + className, e);
+			}
+		}
+		return annotations;
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.annotate;
+
+import java.util.List;
+
+/**
+ * A source of {@link InstructionAnnotation}s for the class shown in the Bytecode view, such as a loaded profile.
+ * Implemented by a project service and registered with an {@link InstructionAnnotatorBean}.
+ */
+public interface InstructionAnnotator{
+	
+	/**
+	 * Called on a background thread whenever another class is shown or {@link InstructionAnnotations#refresh()} is
+	 * called, so it should only look up data it already has.
+	 *
+	 * @param className the internal name of the class
+	 * @param bytes     the class file contents
+	 * @param offsets   the bytecode index of every instruction of the class
+	 */
+	List<InstructionAnnotation> annotate(String className, byte[] bytes, BytecodeOffsets offsets);
+}
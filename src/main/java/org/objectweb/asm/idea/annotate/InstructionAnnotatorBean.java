@@ -0,0 +1,67 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.annotate;
+
+import com.intellij.openapi.extensions.ExtensionPointName;
+import com.intellij.openapi.extensions.PluginAware;
+import com.intellij.openapi.extensions.PluginDescriptor;
+import com.intellij.openapi.extensions.RequiredElement;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.xmlb.annotations.Attribute;
+
+/**
+ * Registers an {@link InstructionAnnotator}, by the class of the project service implementing it:
+ * <pre>{@code <instructionAnnotator serviceClass="org.objectweb.asm.idea.jfr.JfrSamples"/>}</pre>
+ * The service is only looked up when a class is annotated, so registering it does not create it.
+ */
+public final class InstructionAnnotatorBean implements PluginAware{
+	
+	static final ExtensionPointName<InstructionAnnotatorBean> EP_NAME = ExtensionPointName.create("org.sireum.intellij.asm.instructionAnnotator");
+	
+	@Attribute("serviceClass")
+	@RequiredElement
+	public String serviceClass;
+	
+	private          PluginDescriptor plugin;
+	private volatile Class<?>         service;
+	
+	@Override
+	public void setPluginDescriptor(final PluginDescriptor plugin){
+		this.plugin = plugin;
+	}
+	
+	InstructionAnnotator getAnnotator(final Project project){
+		Class<?> type = service;
+		if(type == null){
+			final ClassLoader loader = plugin == null || plugin.getPluginClassLoader() == null? getClass().getClassLoader() : plugin.getPluginClassLoader();
+			try{
+				type = Class.forName(serviceClass, true, loader);
+			}catch(ClassNotFoundException e){
+				throw new IllegalStateException("No instruction annotator " + serviceClass, e);
+			}
+			service = type;
+		}
+		return (InstructionAnnotator)project.getService(type);
+	}
+	
+	@Override
+	public String toString(){
+		return serviceClass;
+	}
+}
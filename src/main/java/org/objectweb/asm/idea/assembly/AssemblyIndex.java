@@ -0,0 +1,174 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.assembly;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Where the machine code of each compiled method is in a {@code -XX:+PrintAssembly} output file.
+ * <p>
+ * The file is scanned once through memory mapped windows, noting only the offsets at which each {@code Compiled method}
+ * block starts and ends and which method it belongs to. Showing a method then only reads its own blocks.
+ */
+public final class AssemblyIndex{
+	
+	/**
+	 * Size of the windows the file is mapped through, mapping is limited to 2 GiB at a time.
+	 */
+	private static final int WINDOW = 256*1024*1024;
+	
+	private static final byte[] COMPILED_METHOD = "Compiled method (".getBytes(StandardCharsets.US_ASCII);
+	// JDK 8 and older
+	private static final byte[] DECODING_METHOD = "Decoding compiled method ".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] METHOD_COMMENT  = "# {method} {".getBytes(StandardCharsets.US_ASCII);
+	
+	/**
+	 * The machine code of one compilation of a method.
+	 *
+	 * @param header the line which starts the block, naming the compiler, compile id and tier
+	 * @param start  the offset of the block in the file
+	 * @param end    the offset after its last line
+	 */
+	public record Block(String header, long start, long end){ }
+	
+	private final Path                     file;
+	// blocks by class internal name, a dot, the method name and descriptor
+	private final Map<String, List<Block>> methods;
+	
+	private AssemblyIndex(final Path file, final Map<String, List<Block>> methods){
+		this.file = file;
+		this.methods = methods;
+	}
+	
+	public static AssemblyIndex build(final Path file, final ProgressIndicator indicator) throws IOException{
+		final Map<String, List<Block>> methods = new HashMap<>();
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+			final long size     = channel.size();
+			long       position = 0;
+			// the block being scanned, its method is named a few lines after its header
+			String     header   = null;
+			long       start    = -1;
+			String     method   = null;
+			while(position<size){
+				indicator.checkCanceled();
+				indicator.setFraction((double)position/size);
+				final long             length = Math.min(WINDOW, size - position);
+				final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+				final boolean          last   = position + length == size;
+				int                    line   = 0;
+				for(int i = 0; i<length; i++){
+					if(buffer.get(i) != '\n' && !(last && i == length - 1)) continue;
+					final int end = buffer.get(i) == '\n'? i : i + 1;
+					if(startsWith(buffer, line, end, COMPILED_METHOD) || startsWith(buffer, line, end, DECODING_METHOD)){
+						if(method != null) methods.computeIfAbsent(method, k -> new ArrayList<>()).add(new Block(header, start, position + line));
+						header = text(buffer, line, end).trim();
+						start = position + line;
+						method = null;
+					}else if(header != null && method == null){
+						int first = line;
+						while(first<end && buffer.get(first) == ' ') first++;
+						if(startsWith(buffer, first, end, METHOD_COMMENT)) method = methodKey(text(buffer, first, end));
+					}
+					line = i + 1;
+				}
+				// the last partial line is scanned again at the start of the next window
+				position += line == 0 || last? length : line;
+			}
+			if(method != null) methods.computeIfAbsent(method, k -> new ArrayList<>()).add(new Block(header, start, size));
+		}
+		return new AssemblyIndex(file, methods);
+	}
+	
+	/**
+	 * @param comment like {@code # {method} {0x00007f...} 'name' '(I)I' in 'java/lang/String'}
+	 * @return the class internal name, a dot, the method name and descriptor, or null
+	 */
+	static String methodKey(final String comment){
+		final List<String> quoted = new ArrayList<>(3);
+		for(int i = comment.indexOf('\''); i>=0 && quoted.size()<3; ){
+			final int close = comment.indexOf('\'', i + 1);
+			if(close<0) break;
+			quoted.add(comment.substring(i + 1, close));
+			i = comment.indexOf('\'', close + 1);
+		}
+		if(quoted.size()<3) return null;
+		return quoted.get(2).replace('.', '/') + "." + quoted.get(0) + quoted.get(1);
+	}
+	
+	private static boolean startsWith(final MappedByteBuffer buffer, final int start, final int end, final byte[] prefix){
+		if(end - start<prefix.length) return false;
+		for(int i = 0; i<prefix.length; i++){
+			if(buffer.get(start + i) != prefix[i]) return false;
+		}
+		return true;
+	}
+	
+	private static String text(final MappedByteBuffer buffer, final int start, final int end){
+		final byte[] bytes = new byte[end - start];
+		buffer.get(start, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	public Path getFile(){
+		return file;
+	}
+	
+	/**
+	 * @param className the internal name of a class
+	 * @param method    the method name and descriptor
+	 * @return the compilations of the method, in file order
+	 */
+	public List<Block> getBlocks(final String className, final String method){
+		return methods.getOrDefault(className + "." + method, List.of());
+	}
+	
+	/**
+	 * @return every compiled method, as the class internal name, a dot, the method name and descriptor, sorted
+	 */
+	public List<String> getMethods(){
+		return List.copyOf(new TreeSet<>(methods.keySet()));
+	}
+	
+	/**
+	 * Reads the text of a block, and nothing else of the file.
+	 */
+	public String read(final Block block) throws IOException{
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, block.start(), block.end() - block.start());
+			return text(buffer, 0, buffer.limit());
+		}
+	}
+	
+	@Override
+	public String toString(){
+		return file.getFileName() + " (" + methods.size() + " compiled methods)";
+	}
+}
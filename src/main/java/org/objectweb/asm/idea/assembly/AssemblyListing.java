@@ -0,0 +1,114 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.assembly;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lays out the machine code of a compiled method under the bytecode instructions it was compiled from.
+ * <p>
+ * HotSpot prints the debug information of a code address before or alongside the code at that address: a chain of
+ * {@code ; - Class::method@bci} frames, the innermost first, the compiled method last. The code from there up to the
+ * next such chain is taken to come from that bytecode index of the compiled method.
+ */
+final class AssemblyListing{
+	
+	private static final Pattern FRAME = Pattern.compile("\\s*;\\s+-\\s+(?:\\(reexecute\\)\\s+)?(\\S+)@(\\d+)");
+	
+	/**
+	 * The code of one bytecode index, in address order.
+	 *
+	 * @param bci     the bytecode index in the compiled method, -1 for the code before the first frame chain
+	 * @param inlined the innermost frame when the code comes from an inlined method, or null
+	 */
+	record Group(int bci, String inlined, List<String> lines){ }
+	
+	private AssemblyListing(){ }
+	
+	static List<Group> group(final String block){
+		final List<Group> groups  = new ArrayList<>();
+		final String[]    lines   = block.split("\n");
+		List<String>      current = new ArrayList<>();
+		int               bci     = -1;
+		String            inlined = null;
+		for(int i = 1; i<lines.length; ){
+			Matcher frame = FRAME.matcher(lines[i]);
+			if(!frame.lookingAt()){
+				if(!lines[i].isBlank()) current.add(lines[i]);
+				i++;
+				continue;
+			}
+			
+			// the frames describe the code from the last address line on
+			int split = current.size() - 1;
+			while(split>=0 && !isAddress(current.get(split))) split--;
+			if(split<0) split = current.size();
+			final List<String> next = new ArrayList<>(current.subList(split, current.size()));
+			current.subList(split, current.size()).clear();
+			add(groups, bci, inlined, current);
+			current = next;
+			
+			final String innermost = frame.group(1);
+			int          depth     = 0;
+			for(; i<lines.length && (frame = FRAME.matcher(lines[i])).lookingAt(); i++, depth++){
+				current.add(lines[i]);
+				bci = Integer.parseInt(frame.group(2));
+			}
+			inlined = depth>1? innermost : null;
+		}
+		add(groups, bci, inlined, current);
+		return groups;
+	}
+	
+	private static void add(final List<Group> groups, final int bci, final String inlined, final List<String> lines){
+		if(lines.isEmpty()) return;
+		final Group last = groups.isEmpty()? null : groups.get(groups.size() - 1);
+		if(last != null && last.bci() == bci && Objects.equals(last.inlined(), inlined)) last.lines().addAll(lines);
+		else groups.add(new Group(bci, inlined, new ArrayList<>(lines)));
+	}
+	
+	private static boolean isAddress(final String line){
+		return line.stripLeading().startsWith("0x");
+	}
+	
+	/**
+	 * @param block    the text of a {@link AssemblyIndex.Block}
+	 * @param bytecode the Bytecode view line of each instruction of the method, by bytecode index
+	 */
+	static void render(final StringBuilder sb, final String block, final Map<Integer, String> bytecode){
+		final int headerEnd = block.indexOf('\n');
+		sb.append("// ").append(headerEnd<0? block : block.substring(0, headerEnd)).append('\n');
+		for(Group group : group(block)){
+			if(group.bci()>=0){
+				sb.append('@').append(group.bci());
+				final String instruction = bytecode.get(group.bci());
+				if(instruction != null) sb.append("  ").append(instruction);
+				if(group.inlined() != null) sb.append("  // inlined from ").append(group.inlined());
+				sb.append('\n');
+			}
+			for(String line : group.lines()) sb.append(line).append('\n');
+		}
+		sb.append('\n');
+	}
+}
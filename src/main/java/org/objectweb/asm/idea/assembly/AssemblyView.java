@@ -0,0 +1,292 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.assembly;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.ScrollType;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.fileTypes.PlainTextFileType;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.components.JBLabel;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.BytecodeOutline;
+import org.objectweb.asm.idea.BytecodeRenderer;
+import org.objectweb.asm.idea.LazyEditor;
+import org.objectweb.asm.idea.MemberIndex;
+import org.objectweb.asm.idea.annotate.BytecodeOffsets;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shows the machine code HotSpot printed for a method with {@code -XX:+PrintAssembly}, grouped under the bytecode
+ * instructions it was compiled from.
+ * <p>
+ * The output file is indexed once, see {@link AssemblyIndex}. The method shown follows the caret of the Bytecode view
+ * whenever this tab is brought up, any other compiled method can be picked from the index.
+ */
+public class AssemblyView extends SimpleToolWindowPanel implements Disposable{
+	
+	public static final String TAB_NAME = "Assembly";
+	
+	private final    Project       project;
+	private final    JBLabel       placeholder;
+	private volatile AssemblyIndex index;
+	private          Editor        editor;
+	// text of the view, kept while the editor is released, null until something is shown
+	private          String        text;
+	
+	public AssemblyView(final Project project){
+		super(true, true);
+		this.project = project;
+		this.placeholder = new JBLabel("Open the output of a JVM run with -XX:+UnlockDiagnosticVMOptions -XX:+PrintAssembly", SwingConstants.CENTER);
+		setupUI();
+	}
+	
+	public static AssemblyView getInstance(Project project){
+		return project.getService(AssemblyView.class);
+	}
+	
+	private void setupUI(){
+		final DefaultActionGroup actions = new DefaultActionGroup(new OpenAction(), new FollowBytecodeAction(), new ChooseMethodAction());
+		final ActionToolbar      toolbar = ActionManager.getInstance().createActionToolbar("ASM", actions, true);
+		toolbar.setTargetComponent(this);
+		setToolbar(toolbar.getComponent());
+		setContent(placeholder);
+		
+		LazyEditor.install(this, this, () -> {
+			createEditor();
+			if(index != null) followBytecode();
+		}, this::releaseEditor);
+	}
+	
+	private void createEditor(){
+		if(editor != null || text == null) return;
+		final EditorFactory editorFactory = EditorFactory.getInstance();
+		editor = editorFactory.createEditor(editorFactory.createDocument(text), project, PlainTextFileType.INSTANCE, true);
+		setContent(editor.getComponent());
+	}
+	
+	private void releaseEditor(){
+		if(editor == null) return;
+		setContent(placeholder);
+		EditorFactory.getInstance().releaseEditor(editor);
+		editor = null;
+	}
+	
+	/**
+	 * Indexes a PrintAssembly output file in the background, then shows the method at the caret of the Bytecode view.
+	 */
+	public void open(final VirtualFile file){
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Indexing " + file.getName(), true){
+			private AssemblyIndex built;
+			private String        error;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				try{
+					built = AssemblyIndex.build(file.toNioPath(), indicator);
+				}catch(IOException e){
+					error = "Could not read " + file.getPresentableUrl() + ": " + e.getMessage();
+				}
+			}
+			
+			@Override
+			public void onSuccess(){
+				if(error != null){
+					showText("// " + error);
+					return;
+				}
+				index = built;
+				followBytecode();
+			}
+		});
+	}
+	
+	/**
+	 * Shows the method at the caret of the Bytecode view.
+	 */
+	private void followBytecode(){
+		final BytecodeOutline outline = BytecodeOutline.getInstance(project);
+		final byte[]          bytes   = BytecodeRenderer.getInstance(project).getSelectedBytes();
+		final String          method  = outline.getMethodAtCaret();
+		if(bytes == null || method == null){
+			showText("// " + index + "\n// Put the caret of the Bytecode view in a method, or choose a compiled method");
+			return;
+		}
+		show(new ClassReader(bytes).getClassName(), method);
+	}
+	
+	/**
+	 * @param method the method name and descriptor
+	 */
+	private void show(final String className, final String method){
+		final AssemblyIndex shownIndex = index;
+		if(shownIndex == null) return;
+		final Map<Integer, String> bytecode = bytecodeLines(className, method);
+		ApplicationManager.getApplication().executeOnPooledThread(() -> {
+			final StringBuilder sb = new StringBuilder();
+			sb.append("// ").append(className.replace('/', '.')).append('.').append(method).append(" in ").append(shownIndex).append("\n\n");
+			final var blocks = shownIndex.getBlocks(className, method);
+			if(blocks.isEmpty()) sb.append("// Not compiled in this run, or not printed\n");
+			try{
+				for(AssemblyIndex.Block block : blocks) AssemblyListing.render(sb, shownIndex.read(block), bytecode);
+			}catch(IOException e){
+				sb.append("// Could not read ").append(shownIndex.getFile()).append(": ").append(e.getMessage()).append('\n');
+			}
+			ApplicationManager.getApplication().invokeLater(() -> showText(sb.toString()), project.getDisposed());
+		});
+	}
+	
+	/**
+	 * @return the instruction lines of the method in the Bytecode view by bytecode index, empty if the view shows
+	 * another class
+	 */
+	private Map<Integer, String> bytecodeLines(final String className, final String method){
+		final BytecodeOutline outline = BytecodeOutline.getInstance(project);
+		final byte[]          bytes   = BytecodeRenderer.getInstance(project).getSelectedBytes();
+		final VirtualFile     file    = outline.getFile();
+		if(bytes == null || file == null || !file.equals(BytecodeRenderer.getInstance(project).getSelected())) return Map.of();
+		if(!className.equals(new ClassReader(bytes).getClassName())) return Map.of();
+		
+		final String               code    = outline.getCode();
+		final MemberIndex          members = outline.getMembers();
+		final int[]                offsets = members.instructionOffsets(code, method);
+		final BytecodeOffsets      bcis    = BytecodeOffsets.of(bytes);
+		final Map<Integer, String> lines   = new HashMap<>();
+		for(int i = 0; i<offsets.length; i++){
+			final int end = code.indexOf('\n', offsets[i]);
+			lines.put(bcis.bciOf(method, i), code.substring(offsets[i], end<0? code.length() : end));
+		}
+		return lines;
+	}
+	
+	private void showText(final String text){
+		this.text = text;
+		if(editor == null){
+			if(isShowing()) createEditor();
+			return;
+		}
+		ApplicationManager.getApplication().runWriteAction(() -> editor.getDocument().setText(text));
+		editor.getScrollingModel().scrollTo(editor.offsetToLogicalPosition(0), ScrollType.MAKE_VISIBLE);
+	}
+	
+	@Override
+	public void dispose(){
+		if(editor != null){
+			EditorFactory.getInstance().releaseEditor(editor);
+			editor = null;
+		}
+	}
+	
+	private final class OpenAction extends AnAction{
+		
+		private OpenAction(){
+			super("Open PrintAssembly Output...", "Index the machine code printed by a JVM run with -XX:+PrintAssembly", AllIcons.Actions.MenuOpen);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			final VirtualFile file = FileChooser.chooseFile(
+				FileChooserDescriptorFactory.createSingleFileNoJarsDescriptor().withTitle("Open PrintAssembly Output"), project, null
+			);
+			if(file != null && file.isInLocalFileSystem()) open(file);
+		}
+	}
+	
+	private final class FollowBytecodeAction extends AnAction{
+		
+		private FollowBytecodeAction(){
+			super("Show Method at Bytecode Caret", "Show the machine code of the method at the caret of the Bytecode view", AllIcons.General.Locate);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void update(final @NotNull AnActionEvent e){
+			e.getPresentation().setEnabled(index != null);
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			if(index != null) followBytecode();
+		}
+	}
+	
+	private final class ChooseMethodAction extends AnAction{
+		
+		private ChooseMethodAction(){
+			super("Choose Compiled Method", "Pick any method with machine code in the output", AllIcons.Nodes.Method);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void update(final @NotNull AnActionEvent e){
+			e.getPresentation().setEnabled(index != null);
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			final AssemblyIndex shownIndex = index;
+			if(shownIndex == null) return;
+			JBPopupFactory.getInstance()
+			              .createPopupChooserBuilder(shownIndex.getMethods())
+			              .setTitle("Compiled Methods")
+			              .setItemChosenCallback(key -> {
+				              // internal class names have no dots, so the first one ends the class name
+				              final int dot = key.indexOf('.');
+				              show(key.substring(0, dot), key.substring(dot + 1));
+			              })
+			              .createPopup()
+			              .showInBestPositionFor(e.getDataContext());
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.browser;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Opens the selected jar, or the root of a library jar, in the {@link JarBrowser}.
+ */
+public class BrowseJarAction extends AnAction{
+	
+	@Override
+	public @NotNull ActionUpdateThread getActionUpdateThread(){
+		return ActionUpdateThread.BGT;
+	}
+	
+	@Override
+	public void update(final @NotNull AnActionEvent e){
+		e.getPresentation().setEnabledAndVisible(e.getProject() != null && findJar(e) != null);
+	}
+	
+	@Override
+	public void actionPerformed(final @NotNull AnActionEvent e){
+		final Project     project = e.getProject();
+		final VirtualFile jar     = findJar(e);
+		if(project == null || jar == null) return;
+		JarBrowser.getInstance(project).open(jar.toNioPath());
+	}
+	
+	private static VirtualFile findJar(final AnActionEvent e){
+		final VirtualFile file = e.getData(CommonDataKeys.VIRTUAL_FILE);
+		if(file == null) return null;
+		if(file.getFileSystem() instanceof JarFileSystem jars){
+			final VirtualFile jar = jars.getVirtualFileForJar(file);
+			return jar != null && file.equals(jars.getJarRootForLocalFile(jar))? jar : null;
+		}
+		return file.isInLocalFileSystem() && "jar".equals(file.getExtension())? file : null;
+	}
+}
@@ -0,0 +1,336 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.browser;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.ScrollType;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.JBSplitter;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.TreeUIHelper;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.treeStructure.Tree;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.BytecodeRenderer;
+import org.objectweb.asm.idea.export.ClassFiles;
+import org.objectweb.asm.idea.lang.BytecodeFileType;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultTreeModel;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Browses the classes of a jar or class directory without decoding them up front.
+ * <p>
+ * Opening a jar only reads its central directory, so even jars with tens of thousands of entries list at once. A class
+ * is read and rendered when it is selected, and the classes next to it in its package are rendered in the background
+ * meanwhile, since they are the most likely to be selected next. The selected class never waits for those: it is
+ * rendered on its own, and selecting another class drops the neighbours of the previous one not rendered yet.
+ */
+public class JarBrowser extends SimpleToolWindowPanel implements Disposable{
+	private static final Logger LOG = Logger.getInstance(JarBrowser.class);
+	
+	public static final String TAB_NAME = "Jar Browser";
+	
+	/**
+	 * How many classes on each side of the selected one are rendered ahead.
+	 */
+	private static final int PREFETCH_DISTANCE = 2;
+	private static final int CACHE_SIZE        = 64;
+	
+	private final Project                                project;
+	private final Tree                                   tree     = new Tree(new DefaultTreeModel(null));
+	private final JBSplitter                             splitter = new JBSplitter(false, 0.35f);
+	private final ExecutorService                        prefetcher;
+	// classes to render ahead, next first, at most the neighbours of the selected class; guards draining too
+	private final Deque<Prefetch>                        pending  = new ArrayDeque<>();
+	private       boolean                                draining;
+	// rendered classes by entry name, least recently selected first
+	private final Map<String, CompletableFuture<String>> rendered = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true){
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, CompletableFuture<String>> eldest){
+			return size()>CACHE_SIZE;
+		}
+	});
+	
+	private volatile Browsed      classes;
+	private          JarTreeModel model;
+	private          Editor       editor;
+	// entry name of the selected class
+	private          String       shown;
+	
+	public JarBrowser(final Project project){
+		super(true, true);
+		this.project = project;
+		this.prefetcher = AppExecutorUtil.createBoundedApplicationPoolExecutor("ASM Jar Browser Prefetch", 1);
+		setupUI();
+	}
+	
+	public static JarBrowser getInstance(Project project){
+		return project.getService(JarBrowser.class);
+	}
+	
+	private void setupUI(){
+		final DefaultActionGroup actions = new DefaultActionGroup(new OpenAction());
+		final ActionToolbar      toolbar = ActionManager.getInstance().createActionToolbar("ASM", actions, true);
+		toolbar.setTargetComponent(this);
+		setToolbar(toolbar.getComponent());
+		
+		tree.setRootVisible(true);
+		tree.setCellRenderer(new ColoredTreeCellRenderer(){
+			@Override
+			public void customizeCellRenderer(final @NotNull JTree tree, final Object value, final boolean selected, final boolean expanded,
+			                                  final boolean leaf, final int row, final boolean hasFocus){
+				if(value instanceof JarTreeModel.ClassNode){
+					setIcon(AllIcons.FileTypes.JavaClass);
+				}else if(value instanceof JarTreeModel.PackageNode node){
+					setIcon(AllIcons.Nodes.Package);
+					append(value.toString());
+					append("  " + node.getClasses().size(), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+					return;
+				}else{
+					setIcon(AllIcons.FileTypes.Archive);
+				}
+				append(String.valueOf(value));
+			}
+		});
+		tree.addTreeSelectionListener(e -> selectionChanged());
+		TreeUIHelper.getInstance().installTreeSpeedSearch(tree);
+		
+		splitter.setFirstComponent(ScrollPaneFactory.createScrollPane(tree));
+		splitter.setSecondComponent(new JBLabel("Open a jar or class directory to browse its classes", SwingConstants.CENTER));
+		setContent(splitter);
+	}
+	
+	/**
+	 * Lists the classes of a jar or class directory and brings the browser to front.
+	 */
+	public void open(final Path path){
+		ApplicationManager.getApplication().executeOnPooledThread(() -> {
+			final long start = System.nanoTime();
+			try{
+				final ClassFiles   files    = ClassFiles.open(path);
+				final JarTreeModel newModel = new JarTreeModel(path.getFileName().toString(), files.names());
+				LOG.debug("Listed " + newModel.getClassCount() + " classes of " + path + " in " + (System.nanoTime() - start)/1_000_000 + " ms");
+				ApplicationManager.getApplication().invokeLater(() -> show(new Browsed(files), newModel), project.getDisposed());
+			}catch(IOException e){
+				ApplicationManager.getApplication().invokeLater(() -> showText("Could not read " + path + ": " + e.getMessage()), project.getDisposed());
+			}
+		});
+	}
+	
+	private void show(final Browsed files, final JarTreeModel newModel){
+		final Browsed previous = classes;
+		classes = files;
+		if(previous != null) previous.close();
+		model = newModel;
+		shown = null;
+		rendered.clear();
+		tree.setModel(newModel);
+		showText("");
+		
+		final ToolWindow toolWindow = ToolWindowManager.getInstance(project).getToolWindow("ASM");
+		if(toolWindow == null) return;
+		toolWindow.activate(() -> {
+			final Content content = toolWindow.getContentManager().findContent(TAB_NAME);
+			if(content != null) toolWindow.getContentManager().setSelectedContent(content);
+		});
+	}
+	
+	private void selectionChanged(){
+		if(!(tree.getLastSelectedPathComponent() instanceof JarTreeModel.ClassNode node)) return;
+		final Browsed files = classes;
+		shown = node.entry();
+		
+		final Executor edt = r -> ApplicationManager.getApplication().invokeLater(r, project.getDisposed());
+		render(files, node.entry(), AppExecutorUtil.getAppExecutorService()).thenAcceptAsync(text -> {
+			if(node.entry().equals(shown) && files == classes) showText(text);
+		}, edt);
+		synchronized(pending){
+			pending.clear();
+			for(JarTreeModel.ClassNode neighbour : model.neighbours(node, PREFETCH_DISTANCE)){
+				pending.add(new Prefetch(files, neighbour.entry()));
+			}
+			if(draining || pending.isEmpty()) return;
+			draining = true;
+		}
+		prefetcher.execute(this::drainPrefetches);
+	}
+	
+	/**
+	 * Renders the pending neighbours one after the other, until there are none left.
+	 */
+	private void drainPrefetches(){
+		while(true){
+			final Prefetch next;
+			synchronized(pending){
+				next = pending.poll();
+				if(next == null){
+					draining = false;
+					return;
+				}
+			}
+			if(next.classes() == classes) render(next.classes(), next.entry(), Runnable::run);
+		}
+	}
+	
+	/**
+	 * @return the rendering of a class, started on the given executor unless it is cached or already under way
+	 */
+	private CompletableFuture<String> render(final Browsed files, final String entry, final Executor executor){
+		final CompletableFuture<String> created  = new CompletableFuture<>();
+		final CompletableFuture<String> existing = rendered.putIfAbsent(entry, created);
+		if(existing != null) return existing;
+		// started outside the cache, so renders on the calling thread do not hold it
+		executor.execute(() -> {
+			try{
+				final byte[] bytes = files.read(entry);
+				// the browser moved to other classes meanwhile, nothing will show this
+				created.complete(bytes == null? "" : BytecodeRenderer.getInstance(project).renderText(BytecodeRenderer.Target.BYTECODE, bytes));
+			}catch(IOException e){
+				created.complete("// Could not read " + entry + ": " + e.getMessage());
+			}catch(RuntimeException e){
+				created.completeExceptionally(e);
+			}
+		});
+		return created;
+	}
+	
+	private void showText(final String text){
+		if(editor == null){
+			if(text.isEmpty()) return;
+			final EditorFactory editorFactory = EditorFactory.getInstance();
+			editor = editorFactory.createEditor(editorFactory.createDocument(text), project, BytecodeFileType.INSTANCE, true);
+			splitter.setSecondComponent(editor.getComponent());
+			return;
+		}
+		ApplicationManager.getApplication().runWriteAction(() -> editor.getDocument().setText(text));
+		editor.getScrollingModel().scrollTo(editor.offsetToLogicalPosition(0), ScrollType.MAKE_VISIBLE);
+	}
+	
+	@Override
+	public void dispose(){
+		prefetcher.shutdownNow();
+		final Browsed previous = classes;
+		classes = null;
+		if(previous != null) previous.close();
+		if(editor != null){
+			EditorFactory.getInstance().releaseEditor(editor);
+			editor = null;
+		}
+	}
+	
+	/**
+	 * A class to render ahead, from the classes that were browsed when it was queued.
+	 */
+	private record Prefetch(Browsed classes, String entry){ }
+	
+	/**
+	 * Classes opened in the browser. Any number of renders read them at once, each jar has its own lock, and closing
+	 * waits for the reads under way. Reads that come later see the classes are closed and don't read.
+	 */
+	private static final class Browsed{
+		private final ClassFiles    files;
+		private final ReadWriteLock lock = new ReentrantReadWriteLock();
+		private       boolean       closed;
+		
+		private Browsed(final ClassFiles files){
+			this.files = files;
+		}
+		
+		/**
+		 * @return the class file, or null if the classes are closed
+		 */
+		private byte[] read(final String name) throws IOException{
+			lock.readLock().lock();
+			try{
+				return closed? null : files.read(name);
+			}finally{
+				lock.readLock().unlock();
+			}
+		}
+		
+		private void close(){
+			lock.writeLock().lock();
+			try{
+				closed = true;
+				files.close();
+			}catch(IOException e){
+				LOG.debug("Could not close browsed classes", e);
+			}finally{
+				lock.writeLock().unlock();
+			}
+		}
+	}
+	
+	/**
+	 * Picks a jar or class directory to browse.
+	 */
+	private final class OpenAction extends AnAction{
+		
+		private OpenAction(){
+			super("Open...", "Browse the classes of a jar or class directory", AllIcons.Actions.MenuOpen);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			final VirtualFile file = FileChooser.chooseFile(
+				FileChooserDescriptorFactory.createSingleFileOrFolderDescriptor().withTitle("Browse Classes Of"), project, null
+			);
+			if(file != null && file.isInLocalFileSystem()) open(file.toNioPath());
+		}
+	}
+}
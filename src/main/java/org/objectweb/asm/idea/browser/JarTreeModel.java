@@ -0,0 +1,143 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.browser;
+
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The packages and classes of a jar, built from its entry names alone. The model never changes once built, a new
+ * model is created when another jar is opened.
+ */
+final class JarTreeModel implements TreeModel{
+	
+	static final class PackageNode{
+		private final String          name;
+		private final List<ClassNode> classes = new ArrayList<>();
+		
+		private PackageNode(final String name){
+			this.name = name;
+		}
+		
+		List<ClassNode> getClasses(){
+			return classes;
+		}
+		
+		@Override
+		public String toString(){
+			return name;
+		}
+	}
+	
+	/**
+	 * @param entry the entry name of the class file in the jar
+	 * @param name  the class name without its package
+	 */
+	record ClassNode(PackageNode parent, String entry, String name){
+		
+		@Override
+		public String toString(){
+			return name;
+		}
+	}
+	
+	private final String            root;
+	private final List<PackageNode> packages;
+	
+	/**
+	 * @param names the class file entries of the jar
+	 */
+	JarTreeModel(final String jarName, final List<String> names){
+		this.root = jarName;
+		final Map<String, PackageNode> byName = new TreeMap<>();
+		for(String entry : names){
+			final int         slash       = entry.lastIndexOf('/');
+			final String      packageName = slash<0? "(default package)" : entry.substring(0, slash).replace('/', '.');
+			final PackageNode node        = byName.computeIfAbsent(packageName, PackageNode::new);
+			node.classes.add(new ClassNode(node, entry, entry.substring(slash + 1, entry.length() - ".class".length())));
+		}
+		this.packages = List.copyOf(byName.values());
+	}
+	
+	int getClassCount(){
+		int count = 0;
+		for(PackageNode node : packages) count += node.classes.size();
+		return count;
+	}
+	
+	/**
+	 * @return the classes listed around the given one in its package, nearest first
+	 */
+	List<ClassNode> neighbours(final ClassNode node, final int distance){
+		final List<ClassNode> classes    = node.parent().classes;
+		final int             index      = classes.indexOf(node);
+		final List<ClassNode> neighbours = new ArrayList<>(2*distance);
+		for(int d = 1; d<=distance; d++){
+			if(index + d<classes.size()) neighbours.add(classes.get(index + d));
+			if(index - d>=0) neighbours.add(classes.get(index - d));
+		}
+		return neighbours;
+	}
+	
+	@Override
+	public Object getRoot(){
+		return root;
+	}
+	
+	@Override
+	public Object getChild(final Object parent, final int index){
+		if(parent instanceof PackageNode node) return node.classes.get(index);
+		return packages.get(index);
+	}
+	
+	@Override
+	public int getChildCount(final Object parent){
+		if(parent instanceof PackageNode node) return node.classes.size();
+		if(parent instanceof ClassNode) return 0;
+		return packages.size();
+	}
+	
+	@Override
+	public boolean isLeaf(final Object node){
+		return node instanceof ClassNode;
+	}
+	
+	@Override
+	public int getIndexOfChild(final Object parent, final Object child){
+		if(parent instanceof PackageNode node) return node.classes.indexOf(child);
+		return parent == root? packages.indexOf(child) : -1;
+	}
+	
+	@Override
+	public void valueForPathChanged(final TreePath path, final Object newValue){
+	}
+	
+	@Override
+	public void addTreeModelListener(final TreeModelListener listener){
+	}
+	
+	@Override
+	public void removeTreeModelListener(final TreeModelListener listener){
+	}
+}
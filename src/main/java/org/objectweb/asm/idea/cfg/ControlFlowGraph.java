@@ -0,0 +1,383 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.cfg;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The basic blocks of a method, their dominators and the natural loops they form.
+ * <p>
+ * Blocks are ranges of real instructions, numbered as in the views: labels, line numbers and frames do not count.
+ * A block starts at the first instruction, at every branch target and exception handler, after every branch, and at
+ * both ends of every try range, so each block is covered by a try range either completely or not at all and has an
+ * edge to each of its handlers. Dominators are computed with the iterative algorithm of Cooper, Harvey and Kennedy
+ * over the reverse postorder. A back edge goes to a block which dominates its source, and the natural loop of a header
+ * is the header and every block which reaches one of its back edges without going through it. Irreducible cycles
+ * have no such header and are not loops here.
+ */
+public final class ControlFlowGraph{
+	
+	public static final class Block{
+		private final int   index;
+		private final int   start;
+		private final int   end;
+		private       int[] successors   = new int[0];
+		private       int[] predecessors = new int[0];
+		// exception handler edges are among the successors, the first handler one is here
+		private       int   firstHandlerEdge;
+		private       int   dominator    = -1;
+		private       int   loop         = -1;
+		
+		private Block(final int index, final int start, final int end){
+			this.index = index;
+			this.start = start;
+			this.end = end;
+		}
+		
+		public int getIndex(){
+			return index;
+		}
+		
+		/**
+		 * @return the index of the first instruction of the block
+		 */
+		public int getStart(){
+			return start;
+		}
+		
+		/**
+		 * @return the index of the instruction following the block
+		 */
+		public int getEnd(){
+			return end;
+		}
+		
+		public int[] getSuccessors(){
+			return successors;
+		}
+		
+		public int[] getPredecessors(){
+			return predecessors;
+		}
+		
+		/**
+		 * @return whether the edge to the successor at that position of {@link #getSuccessors()} is taken when an
+		 * exception is thrown
+		 */
+		public boolean isHandlerEdge(final int position){
+			return position>=firstHandlerEdge;
+		}
+		
+		/**
+		 * @return the immediate dominator, the block itself for the entry block, or -1 if the block is unreachable
+		 */
+		public int getDominator(){
+			return dominator;
+		}
+		
+		/**
+		 * @return the innermost loop containing the block, or -1
+		 */
+		public int getLoop(){
+			return loop;
+		}
+	}
+	
+	/**
+	 * A natural loop.
+	 *
+	 * @param header the block every iteration goes through
+	 * @param body   the blocks of the loop, header and nested loops included
+	 * @param parent the innermost loop containing this one, or -1
+	 * @param depth  1 for an outermost loop, growing inwards
+	 */
+	public record Loop(int header, BitSet body, int parent, int depth){ }
+	
+	private final List<Block> blocks;
+	private final List<Loop>  loops;
+	// the block of every instruction
+	private final int[]       blockOf;
+	
+	private ControlFlowGraph(final List<Block> blocks, final List<Loop> loops, final int[] blockOf){
+		this.blocks = blocks;
+		this.loops = loops;
+		this.blockOf = blockOf;
+	}
+	
+	public static ControlFlowGraph of(final MethodNode method){
+		final Map<LabelNode, Integer> targets = new HashMap<>();
+		final List<AbstractInsnNode>  insns   = new ArrayList<>();
+		for(AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()){
+			if(insn instanceof LabelNode label) targets.put(label, insns.size());
+			else if(insn.getOpcode()>=0) insns.add(insn);
+		}
+		final int count = insns.size();
+		if(count == 0) return new ControlFlowGraph(List.of(), List.of(), new int[0]);
+		
+		final BitSet leaders = new BitSet(count + 1);
+		leaders.set(0);
+		for(int i = 0; i<count; i++){
+			final AbstractInsnNode insn = insns.get(i);
+			if(insn instanceof JumpInsnNode jump){
+				leaders.set(targets.get(jump.label));
+				leaders.set(i + 1);
+			}else if(insn instanceof TableSwitchInsnNode table){
+				leaders.set(targets.get(table.dflt));
+				for(LabelNode label : table.labels) leaders.set(targets.get(label));
+				leaders.set(i + 1);
+			}else if(insn instanceof LookupSwitchInsnNode lookup){
+				leaders.set(targets.get(lookup.dflt));
+				for(LabelNode label : lookup.labels) leaders.set(targets.get(label));
+				leaders.set(i + 1);
+			}else if(endsFlow(insn.getOpcode())){
+				leaders.set(i + 1);
+			}
+		}
+		for(TryCatchBlockNode tryCatch : method.tryCatchBlocks){
+			leaders.set(targets.get(tryCatch.start));
+			leaders.set(targets.get(tryCatch.end));
+			leaders.set(targets.get(tryCatch.handler));
+		}
+		leaders.clear(count);
+		
+		final List<Block> blocks  = new ArrayList<>(leaders.cardinality());
+		final int[]       blockOf = new int[count];
+		for(int start = 0; start<count; ){
+			final int next = leaders.nextSetBit(start + 1);
+			final int end  = next<0? count : next;
+			Arrays.fill(blockOf, start, end, blocks.size());
+			blocks.add(new Block(blocks.size(), start, end));
+			start = end;
+		}
+		
+		final List<List<Integer>> successors = new ArrayList<>(blocks.size());
+		for(Block block : blocks){
+			final List<Integer>    edges = new ArrayList<>(2);
+			final AbstractInsnNode last  = insns.get(block.end - 1);
+			if(last instanceof JumpInsnNode jump){
+				edges.add(blockOf[targets.get(jump.label)]);
+				if(last.getOpcode() != Opcodes.GOTO && block.end<count) edges.add(blockOf[block.end]);
+			}else if(last instanceof TableSwitchInsnNode table){
+				edges.add(blockOf[targets.get(table.dflt)]);
+				for(LabelNode label : table.labels) edges.add(blockOf[targets.get(label)]);
+			}else if(last instanceof LookupSwitchInsnNode lookup){
+				edges.add(blockOf[targets.get(lookup.dflt)]);
+				for(LabelNode label : lookup.labels) edges.add(blockOf[targets.get(label)]);
+			}else if(!endsFlow(last.getOpcode()) && block.end<count){
+				edges.add(blockOf[block.end]);
+			}
+			block.firstHandlerEdge = (int)edges.stream().distinct().count();
+			for(TryCatchBlockNode tryCatch : method.tryCatchBlocks){
+				if(block.start>=targets.get(tryCatch.start) && block.start<targets.get(tryCatch.end)){
+					edges.add(blockOf[targets.get(tryCatch.handler)]);
+				}
+			}
+			successors.add(edges.stream().distinct().toList());
+		}
+		link(blocks, successors);
+		final int[] number = computeDominators(blocks);
+		return new ControlFlowGraph(List.copyOf(blocks), findLoops(blocks, number), blockOf);
+	}
+	
+	private static boolean endsFlow(final int opcode){
+		return opcode>=Opcodes.IRETURN && opcode<=Opcodes.RETURN || opcode == Opcodes.ATHROW || opcode == Opcodes.RET;
+	}
+	
+	private static void link(final List<Block> blocks, final List<List<Integer>> successors){
+		final int[] predecessorCounts = new int[blocks.size()];
+		for(List<Integer> edges : successors) for(int successor : edges) predecessorCounts[successor]++;
+		for(Block block : blocks) block.predecessors = new int[predecessorCounts[block.index]];
+		Arrays.fill(predecessorCounts, 0);
+		for(Block block : blocks){
+			block.successors = successors.get(block.index).stream().mapToInt(Integer::intValue).toArray();
+			for(int successor : block.successors) blocks.get(successor).predecessors[predecessorCounts[successor]++] = block.index;
+		}
+	}
+	
+	/**
+	 * @return the reachable blocks in reverse postorder, the entry block first
+	 */
+	private static int[] reversePostorder(final List<Block> blocks){
+		final int[]    order    = new int[blocks.size()];
+		int            position = blocks.size();
+		final BitSet   visited  = new BitSet(blocks.size());
+		final int[]    stack    = new int[blocks.size()];
+		final int[]    next     = new int[blocks.size()];
+		int            depth    = 0;
+		stack[depth++] = 0;
+		visited.set(0);
+		while(depth>0){
+			final Block block = blocks.get(stack[depth - 1]);
+			if(next[block.index]<block.successors.length){
+				final int successor = block.successors[next[block.index]++];
+				if(!visited.get(successor)){
+					visited.set(successor);
+					stack[depth++] = successor;
+				}
+			}else{
+				order[--position] = block.index;
+				depth--;
+			}
+		}
+		return Arrays.copyOfRange(order, position, order.length);
+	}
+	
+	/**
+	 * @return the position of every block in the reverse postorder, -1 for unreachable blocks
+	 */
+	private static int[] computeDominators(final List<Block> blocks){
+		final int[] order  = reversePostorder(blocks);
+		final int[] number = new int[blocks.size()];
+		Arrays.fill(number, -1);
+		for(int i = 0; i<order.length; i++) number[order[i]] = i;
+		
+		blocks.get(0).dominator = 0;
+		for(boolean changed = true; changed; ){
+			changed = false;
+			for(int i = 1; i<order.length; i++){
+				final Block block     = blocks.get(order[i]);
+				int         dominator = -1;
+				for(int predecessor : block.predecessors){
+					if(blocks.get(predecessor).dominator<0) continue;
+					dominator = dominator<0? predecessor : intersect(blocks, number, predecessor, dominator);
+				}
+				if(dominator != block.dominator){
+					block.dominator = dominator;
+					changed = true;
+				}
+			}
+		}
+		return number;
+	}
+	
+	private static int intersect(final List<Block> blocks, final int[] number, int a, int b){
+		while(a != b){
+			while(number[a]>number[b]) a = blocks.get(a).dominator;
+			while(number[b]>number[a]) b = blocks.get(b).dominator;
+		}
+		return a;
+	}
+	
+	private static boolean dominates(final List<Block> blocks, final int dominator, int block){
+		while(true){
+			if(block == dominator) return true;
+			final int parent = blocks.get(block).dominator;
+			if(parent == block || parent<0) return false;
+			block = parent;
+		}
+	}
+	
+	private static List<Loop> findLoops(final List<Block> blocks, final int[] number){
+		// the body of every loop, by header, found by walking back from the sources of its back edges
+		final Map<Integer, BitSet> bodies = new HashMap<>();
+		final int[]                stack  = new int[blocks.size()];
+		for(Block block : blocks){
+			if(block.dominator<0) continue;
+			for(int successor : block.successors){
+				// a header comes first in the reverse postorder, checking that is cheaper than walking the dominators
+				if(number[successor]>number[block.index] || !dominates(blocks, successor, block.index)) continue;
+				final BitSet body = bodies.computeIfAbsent(successor, h -> {
+					final BitSet set = new BitSet(blocks.size());
+					set.set(h);
+					return set;
+				});
+				int depth = 0;
+				if(!body.get(block.index)){
+					body.set(block.index);
+					stack[depth++] = block.index;
+				}
+				while(depth>0){
+					for(int predecessor : blocks.get(stack[--depth]).predecessors){
+						if(body.get(predecessor) || blocks.get(predecessor).dominator<0) continue;
+						body.set(predecessor);
+						stack[depth++] = predecessor;
+					}
+				}
+			}
+		}
+		
+		// outer loops first, so the innermost loop of a block is the last one containing it
+		final List<Integer> headers = new ArrayList<>(bodies.keySet());
+		headers.sort((a, b) -> Integer.compare(bodies.get(b).cardinality(), bodies.get(a).cardinality()));
+		final List<Loop> loops = new ArrayList<>(headers.size());
+		for(int header : headers){
+			final BitSet body   = bodies.get(header);
+			int          parent = -1;
+			for(int i = loops.size() - 1; i>=0; i--){
+				if(loops.get(i).body.get(header)){
+					parent = i;
+					break;
+				}
+			}
+			loops.add(new Loop(header, body, parent, parent<0? 1 : loops.get(parent).depth + 1));
+			for(int block = body.nextSetBit(0); block>=0; block = body.nextSetBit(block + 1)){
+				blocks.get(block).loop = loops.size() - 1;
+			}
+		}
+		return List.copyOf(loops);
+	}
+	
+	public List<Block> getBlocks(){
+		return blocks;
+	}
+	
+	public List<Loop> getLoops(){
+		return loops;
+	}
+	
+	public int getInstructionCount(){
+		return blockOf.length;
+	}
+	
+	/**
+	 * @return the block containing an instruction
+	 */
+	public Block blockOf(final int instruction){
+		return blocks.get(blockOf[instruction]);
+	}
+	
+	/**
+	 * @return the number of loops an instruction is in, 0 outside of any loop
+	 */
+	public int loopDepth(final int instruction){
+		final int loop = blockOf(instruction).loop;
+		return loop<0? 0 : loops.get(loop).depth;
+	}
+	
+	/**
+	 * @return whether every path from the entry to one block goes through the other
+	 */
+	public boolean dominates(final int dominator, final int block){
+		return blocks.get(block).dominator>=0 && dominates(blocks, dominator, block);
+	}
+}
@@ -0,0 +1,377 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.cfg;
+
+import com.intellij.openapi.editor.colors.EditorColorsManager;
+import com.intellij.openapi.editor.colors.EditorFontType;
+import com.intellij.ui.ColorUtil;
+import com.intellij.ui.JBColor;
+import com.intellij.util.ui.GraphicsUtil;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.UIUtil;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Paints a {@link ControlFlowGraph} as a column of blocks in bytecode order, indented by loop depth. Fallthrough edges
+ * join neighbouring blocks, jumps run in lanes on either side: backward edges on the left, loop back edges in red,
+ * forward edges on the right, exception edges dashed.
+ * <p>
+ * Only what is in view is painted, and edges get their lanes as they are first scrolled to, top down, so the cost of
+ * showing a method grows with how far it was scrolled rather than with its size.
+ */
+class ControlFlowGraphComponent extends JComponent implements Scrollable{
+	
+	// instruction lines shown in a block, longer blocks end with a line telling how many are left out
+	private static final int MAX_LINES = 12;
+	private static final int MAX_LANES = 16;
+	
+	private static final Stroke HANDLER_STROKE = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10, new float[]{3, 3}, 0);
+	
+	private static final class Edge{
+		private final int     from;
+		private final int     to;
+		private final boolean handler;
+		private final boolean back;
+		private final int     upper;
+		private final int     lower;
+		private       int     lane;
+		
+		private Edge(final int from, final int to, final boolean handler, final boolean back){
+			this.from = from;
+			this.to = to;
+			this.handler = handler;
+			this.back = back;
+			this.upper = Math.min(from, to);
+			this.lower = Math.max(from, to);
+		}
+		
+		private boolean isLeft(){
+			return to<=from;
+		}
+	}
+	
+	private final ControlFlowGraphs.MethodGraph method;
+	private final List<ControlFlowGraph.Block>  blocks;
+	
+	private final Font      font;
+	private final int       lineHeight;
+	private final int       boxWidth;
+	private final int       laneWidth = JBUI.scale(6);
+	private final int       indent    = JBUI.scale(16);
+	private final int       gap       = JBUI.scale(10);
+	private final int       padding   = JBUI.scale(4);
+	// the top of every block, then the bottom of the last one
+	private final int[]     tops;
+	private final int[]     depths;
+	private final boolean[] headers;
+	private final int       maxDepth;
+	
+	// the edges which need a lane, by upper block, the first laidOut of them have one
+	private final List<Edge> edges         = new ArrayList<>();
+	private       int        laidOut;
+	private final int[]      leftLaneEnds  = new int[MAX_LANES];
+	private final int[]      rightLaneEnds = new int[MAX_LANES];
+	
+	private int selected = -1;
+	
+	/**
+	 * @param onOpen called with the index of a block when it is double-clicked
+	 */
+	ControlFlowGraphComponent(final ControlFlowGraphs.MethodGraph method, final IntConsumer onOpen){
+		this.method = method;
+		this.blocks = method.graph().getBlocks();
+		this.font = EditorColorsManager.getInstance().getGlobalScheme().getFont(EditorFontType.PLAIN);
+		final FontMetrics metrics = getFontMetrics(font);
+		this.lineHeight = metrics.getHeight();
+		this.boxWidth = metrics.charWidth('m')*56 + 2*padding;
+		
+		final List<ControlFlowGraph.Loop> loops = method.graph().getLoops();
+		this.tops = new int[blocks.size() + 1];
+		this.depths = new int[blocks.size()];
+		this.headers = new boolean[blocks.size()];
+		for(ControlFlowGraph.Loop loop : loops) headers[loop.header()] = true;
+		int depth = 0;
+		tops[0] = gap;
+		for(ControlFlowGraph.Block block : blocks){
+			final int i = block.getIndex();
+			depths[i] = block.getLoop()<0? 0 : loops.get(block.getLoop()).depth();
+			depth = Math.max(depth, depths[i]);
+			tops[i + 1] = tops[i] + height(block) + gap;
+			final int[] successors = block.getSuccessors();
+			for(int s = 0; s<successors.length; s++){
+				final boolean handler = block.isHandlerEdge(s);
+				if(!handler && successors[s] == i + 1) continue;
+				final boolean back = successors[s]<=i && method.graph().dominates(successors[s], i);
+				edges.add(new Edge(i, successors[s], handler, back));
+			}
+		}
+		this.maxDepth = depth;
+		edges.sort(Comparator.comparingInt(edge -> edge.upper));
+		
+		setToolTipText("");
+		setOpaque(true);
+		setBackground(EditorColorsManager.getInstance().getGlobalScheme().getDefaultBackground());
+		addMouseListener(new MouseAdapter(){
+			@Override
+			public void mousePressed(final MouseEvent e){
+				final int block = blockAt(e.getX(), e.getY());
+				if(block<0) return;
+				select(block);
+				if(e.getClickCount() == 2) onOpen.accept(block);
+			}
+		});
+	}
+	
+	private int height(final ControlFlowGraph.Block block){
+		return (1 + Math.min(block.getEnd() - block.getStart(), MAX_LINES))*lineHeight + 2*padding;
+	}
+	
+	private int boxX(final int block){
+		return gap + MAX_LANES*laneWidth + gap + depths[block]*indent;
+	}
+	
+	private int rightLanesX(){
+		return gap + MAX_LANES*laneWidth + gap + maxDepth*indent + boxWidth + gap;
+	}
+	
+	/**
+	 * @return the block whose row covers a y coordinate, clamped to the first and last block
+	 */
+	private int rowAt(final int y){
+		final int found = Arrays.binarySearch(tops, 0, blocks.size(), y);
+		return Math.max(0, Math.min(blocks.size() - 1, found>=0? found : -found - 2));
+	}
+	
+	/**
+	 * @return the block painted at a point, or -1
+	 */
+	private int blockAt(final int x, final int y){
+		if(blocks.isEmpty()) return -1;
+		final int block = rowAt(y);
+		final int left  = boxX(block);
+		return y>=tops[block] && y<tops[block] + height(blocks.get(block)) && x>=left && x<left + boxWidth? block : -1;
+	}
+	
+	/**
+	 * Gives a lane to every edge whose upper block is at most the given one, the lowest lane free from that block on.
+	 */
+	private void layOutEdges(final int lastBlock){
+		for(; laidOut<edges.size() && edges.get(laidOut).upper<=lastBlock; laidOut++){
+			final Edge  edge = edges.get(laidOut);
+			final int[] ends = edge.isLeft()? leftLaneEnds : rightLaneEnds;
+			int         lane = 0;
+			for(int i = 0; i<MAX_LANES; i++){
+				if(ends[i]<edge.upper){
+					lane = i;
+					break;
+				}
+				// every lane is taken, share the one freed first
+				if(ends[i]<ends[lane]) lane = i;
+			}
+			ends[lane] = Math.max(ends[lane], edge.lower);
+			edge.lane = lane;
+		}
+	}
+	
+	void select(final int block){
+		selected = block;
+		repaint();
+	}
+	
+	void scrollToBlock(final int block){
+		scrollRectToVisible(new Rectangle(0, tops[block] - gap, getWidth(), height(blocks.get(block)) + 2*gap));
+	}
+	
+	@Override
+	protected void paintComponent(final Graphics g){
+		final Graphics2D g2 = (Graphics2D)g.create();
+		try{
+			GraphicsUtil.setupAAPainting(g2);
+			g2.setFont(font);
+			Rectangle clip = g2.getClipBounds();
+			if(clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+			g2.setColor(getBackground());
+			g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+			if(blocks.isEmpty()) return;
+			
+			final int first = rowAt(clip.y);
+			final int last  = rowAt(clip.y + clip.height);
+			layOutEdges(last);
+			for(int i = 0; i<laidOut; i++){
+				final Edge edge = edges.get(i);
+				if(edge.upper>last) break;
+				if(edge.lower>=first) paintEdge(g2, edge);
+			}
+			for(int block = Math.max(0, first - 1); block<=last; block++){
+				if(block + 1<blocks.size() && hasFallthrough(blocks.get(block))) paintFallthrough(g2, block);
+			}
+			for(int block = first; block<=last; block++) paintBlock(g2, blocks.get(block));
+		}finally{
+			g2.dispose();
+		}
+	}
+	
+	private static boolean hasFallthrough(final ControlFlowGraph.Block block){
+		final int[] successors = block.getSuccessors();
+		for(int s = 0; s<successors.length; s++){
+			if(!block.isHandlerEdge(s) && successors[s] == block.getIndex() + 1) return true;
+		}
+		return false;
+	}
+	
+	private void paintBlock(final Graphics2D g, final ControlFlowGraph.Block block){
+		final int i      = block.getIndex();
+		final int   x          = boxX(i);
+		final int   y          = tops[i];
+		final int   height     = height(block);
+		final Color background = getBackground();
+		g.setColor(depths[i] == 0? background : ColorUtil.mix(background, JBColor.ORANGE, Math.min(0.12*depths[i], 0.48)));
+		g.fillRect(x, y, boxWidth, height);
+		g.setColor(i == selected? JBColor.BLUE : headers[i]? JBColor.ORANGE : JBColor.border());
+		g.drawRect(x, y, boxWidth - 1, height - 1);
+		if(i == selected) g.drawRect(x + 1, y + 1, boxWidth - 3, height - 3);
+		
+		final Shape clip = g.getClip();
+		g.clipRect(x + padding, y, boxWidth - 2*padding, height);
+		final int baseline = y + padding + g.getFontMetrics().getAscent();
+		g.setColor(block.getDominator()<0? UIUtil.getInactiveTextColor() : UIUtil.getLabelForeground());
+		g.drawString(header(block), x + padding, baseline);
+		final int count = block.getEnd() - block.getStart();
+		final int shown = count>MAX_LINES? MAX_LINES - 1 : count;
+		for(int line = 0; line<shown; line++){
+			final int instruction = block.getStart() + line;
+			g.drawString("#" + instruction + " " + method.instruction(instruction), x + padding, baseline + (line + 1)*lineHeight);
+		}
+		if(shown<count){
+			g.setColor(UIUtil.getInactiveTextColor());
+			g.drawString("... " + (count - shown) + " more instructions", x + padding, baseline + MAX_LINES*lineHeight);
+		}
+		g.setClip(clip);
+	}
+	
+	private String header(final ControlFlowGraph.Block block){
+		final int           i  = block.getIndex();
+		final StringBuilder sb = new StringBuilder("B").append(i);
+		if(headers[i]) sb.append("  loop header, depth ").append(depths[i]);
+		else if(depths[i]>0) sb.append("  loop depth ").append(depths[i]);
+		if(block.getDominator()<0) sb.append("  unreachable");
+		else if(block.getDominator() != i) sb.append("  idom B").append(block.getDominator());
+		return sb.toString();
+	}
+	
+	private void paintFallthrough(final Graphics2D g, final int block){
+		final int x1 = boxX(block) + boxWidth/2;
+		final int x2 = boxX(block + 1) + boxWidth/2;
+		final int y1 = tops[block] + height(blocks.get(block));
+		final int y2 = tops[block + 1];
+		g.setColor(block == selected || block + 1 == selected? JBColor.BLUE : JBColor.GRAY);
+		g.drawLine(x1, y1, x1, y1 + gap/2);
+		g.drawLine(x1, y1 + gap/2, x2, y1 + gap/2);
+		g.drawLine(x2, y1 + gap/2, x2, y2);
+		arrow(g, x2, y2, 0, 1);
+	}
+	
+	private void paintEdge(final Graphics2D g, final Edge edge){
+		final int     y1   = tops[edge.from] + height(blocks.get(edge.from)) - padding - lineHeight/2;
+		final int     y2   = tops[edge.to] + padding + lineHeight/2;
+		final boolean left = edge.isLeft();
+		final int     lane = left? gap + (MAX_LANES - 1 - edge.lane)*laneWidth + laneWidth/2 : rightLanesX() + edge.lane*laneWidth + laneWidth/2;
+		final int     x1   = left? boxX(edge.from) : boxX(edge.from) + boxWidth;
+		final int     x2   = left? boxX(edge.to) : boxX(edge.to) + boxWidth;
+		
+		final Stroke stroke = g.getStroke();
+		if(edge.handler) g.setStroke(HANDLER_STROKE);
+		else if(edge.from == selected || edge.to == selected) g.setStroke(new BasicStroke(JBUI.scale(2)));
+		g.setColor(edge.from == selected || edge.to == selected? JBColor.BLUE : edge.back? JBColor.RED : JBColor.GRAY);
+		g.drawLine(x1, y1, lane, y1);
+		g.drawLine(lane, y1, lane, y2);
+		g.drawLine(lane, y2, x2, y2);
+		g.setStroke(stroke);
+		arrow(g, x2, y2, left? 1 : -1, 0);
+	}
+	
+	/**
+	 * Fills an arrow head with its tip at a point, pointing along one of the axes.
+	 */
+	private void arrow(final Graphics2D g, final int x, final int y, final int dx, final int dy){
+		final int size = JBUI.scale(4);
+		g.fillPolygon(
+			new int[]{x, x - dx*size - dy*size, x - dx*size + dy*size},
+			new int[]{y, y - dy*size - dx*size, y - dy*size + dx*size},
+			3
+		);
+	}
+	
+	@Override
+	public String getToolTipText(final MouseEvent event){
+		final int i = blockAt(event.getX(), event.getY());
+		if(i<0) return null;
+		final ControlFlowGraph.Block block = blocks.get(i);
+		return "<html>B" + i + ": instructions #" + block.getStart() + " to #" + (block.getEnd() - 1) +
+		       "<br>predecessors " + names(block.getPredecessors()) +
+		       "<br>successors " + names(block.getSuccessors()) +
+		       "<br>double-click to show in the Bytecode view</html>";
+	}
+	
+	private static String names(final int[] blocks){
+		if(blocks.length == 0) return "none";
+		final StringBuilder sb = new StringBuilder();
+		for(int block : blocks) sb.append(sb.isEmpty()? "B" : ", B").append(block);
+		return sb.toString();
+	}
+	
+	@Override
+	public Dimension getPreferredSize(){
+		return new Dimension(rightLanesX() + MAX_LANES*laneWidth + gap, tops[blocks.size()]);
+	}
+	
+	@Override
+	public Dimension getPreferredScrollableViewportSize(){
+		return getPreferredSize();
+	}
+	
+	@Override
+	public int getScrollableUnitIncrement(final Rectangle visibleRect, final int orientation, final int direction){
+		return lineHeight;
+	}
+	
+	@Override
+	public int getScrollableBlockIncrement(final Rectangle visibleRect, final int orientation, final int direction){
+		return orientation == SwingConstants.VERTICAL? visibleRect.height : visibleRect.width;
+	}
+	
+	@Override
+	public boolean getScrollableTracksViewportWidth(){
+		return false;
+	}
+	
+	@Override
+	public boolean getScrollableTracksViewportHeight(){
+		return false;
+	}
+}
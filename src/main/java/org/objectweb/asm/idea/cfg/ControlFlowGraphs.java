@@ -0,0 +1,101 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.cfg;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.diff.NormalizedMethod;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Builds the {@link ControlFlowGraph} of a method in the background and keeps the graphs of the last few methods.
+ * <p>
+ * A graph is cached by the {@link NormalizedMethod normalized text} of its method, which only changes when an
+ * instruction does, so rebuilding a class or moving its constants around does not build its graphs again, and two
+ * methods with the same code share one.
+ */
+public class ControlFlowGraphs{
+	
+	static final int MAX_METHODS = 64;
+	
+	/**
+	 * The graph of a method and the text of its instructions.
+	 *
+	 * @param lines the normalized text of the method, see {@link NormalizedMethod#lines(MethodNode)}
+	 */
+	public record MethodGraph(ControlFlowGraph graph, List<String> lines){
+		
+		/**
+		 * @param instruction the index of the instruction among the real instructions of the method
+		 */
+		public String instruction(final int instruction){
+			// the first line holds the access flags
+			return lines.get(instruction + 1);
+		}
+	}
+	
+	// one at a time, a graph asked for twice is built once
+	private final ExecutorService                executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("ASM Control Flow Graph", 1);
+	// access ordered, so the least recently shown method goes first
+	private final Map<List<String>, MethodGraph> graphs   = new LinkedHashMap<>(16, 0.75f, true){
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<List<String>, MethodGraph> eldest){
+			return size()>MAX_METHODS;
+		}
+	};
+	
+	public static ControlFlowGraphs getInstance(Project project){
+		return project.getService(ControlFlowGraphs.class);
+	}
+	
+	/**
+	 * @param method the method name and descriptor
+	 * @return the graph of the method, or null if the class has no such method
+	 */
+	public CompletableFuture<MethodGraph> graph(final byte[] bytes, final String method){
+		return CompletableFuture.supplyAsync(() -> build(bytes, method), executor);
+	}
+	
+	private MethodGraph build(final byte[] bytes, final String method){
+		final ClassNode node = new ClassNode();
+		new ClassReader(bytes).accept(node, ClassReader.SKIP_DEBUG|ClassReader.SKIP_FRAMES);
+		for(MethodNode candidate : node.methods){
+			if(!method.equals(candidate.name + candidate.desc)) continue;
+			final List<String> lines = NormalizedMethod.lines(candidate);
+			synchronized(graphs){
+				final MethodGraph cached = graphs.get(lines);
+				if(cached != null) return cached;
+			}
+			final MethodGraph graph = new MethodGraph(ControlFlowGraph.of(candidate), lines);
+			synchronized(graphs){
+				graphs.put(lines, graph);
+			}
+			return graph;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.cfg;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.components.JBLabel;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.BytecodeOutline;
+import org.objectweb.asm.idea.BytecodeRenderer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+
+/**
+ * Shows the control-flow graph of the method at the caret of the Bytecode view, whenever this tab is brought up:
+ * its basic blocks, their immediate dominators and the natural loops they form. The block of the instruction at the
+ * caret is selected, double-clicking a block moves the caret of the Bytecode view to its first instruction.
+ */
+public class ControlFlowView extends SimpleToolWindowPanel implements Disposable{
+	
+	public static final String TAB_NAME = "CFG";
+	
+	private final Project project;
+	private final JPanel  content = new JPanel(new BorderLayout());
+	private final JBLabel status  = new JBLabel(" ");
+	
+	// the method shown, read and written on the EDT
+	private VirtualFile               file;
+	private byte[]                    bytes;
+	private String                    method;
+	private ControlFlowGraph          graph;
+	private ControlFlowGraphComponent component;
+	// the last graph asked for, the only one shown when it arrives
+	private int                       request;
+	
+	public ControlFlowView(final Project project){
+		super(true, true);
+		this.project = project;
+		setupUI();
+	}
+	
+	public static ControlFlowView getInstance(Project project){
+		return project.getService(ControlFlowView.class);
+	}
+	
+	private void setupUI(){
+		final DefaultActionGroup actions = new DefaultActionGroup(new FollowBytecodeAction());
+		final ActionToolbar      toolbar = ActionManager.getInstance().createActionToolbar("ASM", actions, true);
+		toolbar.setTargetComponent(this);
+		setToolbar(toolbar.getComponent());
+		
+		showMessage("Put the caret of the Bytecode view in a method");
+		final JPanel panel = new JPanel(new BorderLayout());
+		panel.add(content, BorderLayout.CENTER);
+		panel.add(status, BorderLayout.SOUTH);
+		setContent(panel);
+		
+		addHierarchyListener(e -> {
+			if((e.getChangeFlags()&HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing()) followBytecode();
+		});
+	}
+	
+	/**
+	 * Shows the graph of the method at the caret of the Bytecode view, built in the background unless it is already
+	 * shown or cached.
+	 */
+	private void followBytecode(){
+		final BytecodeRenderer renderer    = BytecodeRenderer.getInstance(project);
+		final BytecodeOutline  outline     = BytecodeOutline.getInstance(project);
+		final VirtualFile      shownFile   = renderer.getSelected();
+		final byte[]           shownBytes  = renderer.getSelectedBytes();
+		final String           caretMethod = outline.getMethodAtCaret();
+		if(shownFile == null || shownBytes == null || caretMethod == null || !shownFile.equals(outline.getFile())){
+			showMessage("Put the caret of the Bytecode view in a method");
+			return;
+		}
+		final int instruction = outline.getInstructionAtCaret();
+		if(shownBytes == bytes && caretMethod.equals(method)){
+			selectInstruction(instruction);
+			return;
+		}
+		
+		final int  current = ++request;
+		final long start   = System.nanoTime();
+		status.setText("Building the control-flow graph of " + caretMethod + "...");
+		ControlFlowGraphs.getInstance(project).graph(shownBytes, caretMethod).whenComplete((built, error) -> ApplicationManager.getApplication().invokeLater(() -> {
+			// the caret moved on while the graph was built
+			if(current != request) return;
+			if(error != null || built == null){
+				showMessage("Could not build the control-flow graph of " + caretMethod + (error == null? "" : ": " + error.getMessage()));
+				return;
+			}
+			file = shownFile;
+			bytes = shownBytes;
+			method = caretMethod;
+			graph = built.graph();
+			component = new ControlFlowGraphComponent(built, this::open);
+			content.removeAll();
+			content.add(ScrollPaneFactory.createScrollPane(component), BorderLayout.CENTER);
+			content.revalidate();
+			content.repaint();
+			status.setText(describe(built.graph()) + ", " + (System.nanoTime() - start)/1_000_000 + " ms");
+			ApplicationManager.getApplication().invokeLater(() -> selectInstruction(instruction), project.getDisposed());
+		}, project.getDisposed()));
+	}
+	
+	private String describe(final ControlFlowGraph built){
+		int depth = 0;
+		for(ControlFlowGraph.Loop loop : built.getLoops()) depth = Math.max(depth, loop.depth());
+		return method + ": " + built.getBlocks().size() + " blocks, " + built.getLoops().size() + " loops" +
+		       (depth>1? ", nested " + depth + " deep" : "");
+	}
+	
+	private void selectInstruction(final int instruction){
+		if(component == null || instruction<0 || instruction>=graph.getInstructionCount()) return;
+		final int block = graph.blockOf(instruction).getIndex();
+		component.select(block);
+		component.scrollToBlock(block);
+	}
+	
+	private void open(final int block){
+		final int split = method.indexOf('(');
+		BytecodeRenderer.getInstance(project).reveal(
+			file, bytes, new BytecodeRenderer.MethodRef(method.substring(0, split), method.substring(split)), graph.getBlocks().get(block).getStart()
+		);
+	}
+	
+	private void showMessage(final String message){
+		request++;
+		file = null;
+		bytes = null;
+		method = null;
+		graph = null;
+		component = null;
+		content.removeAll();
+		content.add(new JBLabel(message, SwingConstants.CENTER), BorderLayout.CENTER);
+		content.revalidate();
+		content.repaint();
+		status.setText(" ");
+	}
+	
+	@Override
+	public void dispose(){
+		request++;
+		component = null;
+	}
+	
+	private final class FollowBytecodeAction extends AnAction{
+		
+		private FollowBytecodeAction(){
+			super("Show Method at Bytecode Caret", "Show the control-flow graph of the method at the caret of the Bytecode view", AllIcons.General.Locate);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			followBytecode();
+		}
+	}
+}
@@ -49,8 +49,46 @@ public class ASMPluginComponent implements PersistentStateComponent<Element>{
 	private boolean         skipDebug;
 	private boolean         skipCode;
 	private boolean         expandFrames;
+	/**
+	 * Whether only the method at the caret is rendered.
+	 */
+	private boolean         currentMethodOnly;
+	/**
+	 * Whether the Bytecode view shows the stack and local types inferred before every instruction.
+	 */
+	private boolean         inferFrames;
+	/**
+	 * Whether the allocation sites of the shown class are highlighted in the Bytecode view.
+	 */
+	private boolean         highlightAllocations;
 	private GroovyCodeStyle codeStyle = GroovyCodeStyle.LEGACY;
 	
+	/**
+	 * Class file size, in KiB, above which frames are skipped and the ASMified code is not reformatted.
+	 */
+	private int     degradeSizeKb        = 256;
+	/**
+	 * Class file size, in KiB, above which only member signatures are shown.
+	 */
+	private int     signaturesOnlySizeKb = 2048;
+	/**
+	 * Time, in milliseconds, any single rendering stage may take before it is interrupted.
+	 */
+	private int     stageBudgetMillis    = 5000;
+	/**
+	 * Whether method calls in the Bytecode view are annotated with the size of their callee. Off by default, as it
+	 * resolves and reads the class file of every callee.
+	 */
+	private boolean calleeSizes;
+	/**
+	 * HotSpot's MaxInlineSize: callees up to this many bytes of bytecode are inlined at any call site.
+	 */
+	private int     maxInlineSize        = 35;
+	/**
+	 * HotSpot's FreqInlineSize: callees up to this many bytes of bytecode are inlined at hot call sites.
+	 */
+	private int     freqInlineSize       = 325;
+	
 	public ASMPluginComponent(final Project project){
 	}
 	
@@ -94,6 +132,78 @@ public class ASMPluginComponent implements PersistentStateComponent<Element>{
 		this.expandFrames = expandFrames;
 	}
 	
+	public boolean isCurrentMethodOnly(){
+		return currentMethodOnly;
+	}
+	
+	public void setCurrentMethodOnly(final boolean currentMethodOnly){
+		this.currentMethodOnly = currentMethodOnly;
+	}
+	
+	public boolean isInferFrames(){
+		return inferFrames;
+	}
+	
+	public void setInferFrames(final boolean inferFrames){
+		this.inferFrames = inferFrames;
+	}
+	
+	public boolean isHighlightAllocations(){
+		return highlightAllocations;
+	}
+	
+	public void setHighlightAllocations(final boolean highlightAllocations){
+		this.highlightAllocations = highlightAllocations;
+	}
+	
+	public int getDegradeSizeKb(){
+		return degradeSizeKb;
+	}
+	
+	public void setDegradeSizeKb(final int degradeSizeKb){
+		this.degradeSizeKb = degradeSizeKb;
+	}
+	
+	public int getSignaturesOnlySizeKb(){
+		return signaturesOnlySizeKb;
+	}
+	
+	public void setSignaturesOnlySizeKb(final int signaturesOnlySizeKb){
+		this.signaturesOnlySizeKb = signaturesOnlySizeKb;
+	}
+	
+	public int getStageBudgetMillis(){
+		return stageBudgetMillis;
+	}
+	
+	public void setStageBudgetMillis(final int stageBudgetMillis){
+		this.stageBudgetMillis = stageBudgetMillis;
+	}
+	
+	public boolean isCalleeSizes(){
+		return calleeSizes;
+	}
+	
+	public void setCalleeSizes(final boolean calleeSizes){
+		this.calleeSizes = calleeSizes;
+	}
+	
+	public int getMaxInlineSize(){
+		return maxInlineSize;
+	}
+	
+	public void setMaxInlineSize(final int maxInlineSize){
+		this.maxInlineSize = maxInlineSize;
+	}
+	
+	public int getFreqInlineSize(){
+		return freqInlineSize;
+	}
+	
+	public void setFreqInlineSize(final int freqInlineSize){
+		this.freqInlineSize = freqInlineSize;
+	}
+	
 	// -------------------- state persistence
 	
 	@Override
@@ -104,10 +214,23 @@ public class ASMPluginComponent implements PersistentStateComponent<Element>{
 		asmNode.setAttribute("skipFrames", String.valueOf(skipFrames));
 		asmNode.setAttribute("skipCode", String.valueOf(skipCode));
 		asmNode.setAttribute("expandFrames", String.valueOf(expandFrames));
+		asmNode.setAttribute("currentMethodOnly", String.valueOf(currentMethodOnly));
+		asmNode.setAttribute("inferFrames", String.valueOf(inferFrames));
+		asmNode.setAttribute("highlightAllocations", String.valueOf(highlightAllocations));
 		root.addContent(asmNode);
 		Element groovyNode = new Element("groovy");
 		groovyNode.setAttribute("codeStyle", codeStyle.toString());
 		root.addContent(groovyNode);
+		Element budgetNode = new Element("budget");
+		budgetNode.setAttribute("degradeSizeKb", String.valueOf(degradeSizeKb));
+		budgetNode.setAttribute("signaturesOnlySizeKb", String.valueOf(signaturesOnlySizeKb));
+		budgetNode.setAttribute("stageBudgetMillis", String.valueOf(stageBudgetMillis));
+		root.addContent(budgetNode);
+		Element jitNode = new Element("jit");
+		jitNode.setAttribute("calleeSizes", String.valueOf(calleeSizes));
+		jitNode.setAttribute("maxInlineSize", String.valueOf(maxInlineSize));
+		jitNode.setAttribute("freqInlineSize", String.valueOf(freqInlineSize));
+		root.addContent(jitNode);
 		return root;
 	}
 	
@@ -123,12 +246,36 @@ public class ASMPluginComponent implements PersistentStateComponent<Element>{
 			if(skipCodeStr != null) skipCode = Boolean.parseBoolean(skipCodeStr);
 			final String expandFramesStr = asmNode.getAttributeValue("expandFrames");
 			if(expandFramesStr != null) expandFrames = Boolean.parseBoolean(expandFramesStr);
+			final String currentMethodOnlyStr = asmNode.getAttributeValue("currentMethodOnly");
+			if(currentMethodOnlyStr != null) currentMethodOnly = Boolean.parseBoolean(currentMethodOnlyStr);
+			final String inferFramesStr = asmNode.getAttributeValue("inferFrames");
+			if(inferFramesStr != null) inferFrames = Boolean.parseBoolean(inferFramesStr);
+			final String highlightAllocationsStr = asmNode.getAttributeValue("highlightAllocations");
+			if(highlightAllocationsStr != null) highlightAllocations = Boolean.parseBoolean(highlightAllocationsStr);
 		}
 		Element groovyNode = state.getChild("groovy");
 		if(groovyNode != null){
 			String codeStyleStr = groovyNode.getAttributeValue("codeStyle");
 			if(codeStyleStr != null) codeStyle = GroovyCodeStyle.valueOf(codeStyleStr);
 		}
+		Element budgetNode = state.getChild("budget");
+		if(budgetNode != null){
+			final String degradeStr = budgetNode.getAttributeValue("degradeSizeKb");
+			if(degradeStr != null) degradeSizeKb = Integer.parseInt(degradeStr);
+			final String signaturesOnlyStr = budgetNode.getAttributeValue("signaturesOnlySizeKb");
+			if(signaturesOnlyStr != null) signaturesOnlySizeKb = Integer.parseInt(signaturesOnlyStr);
+			final String stageBudgetStr = budgetNode.getAttributeValue("stageBudgetMillis");
+			if(stageBudgetStr != null) stageBudgetMillis = Integer.parseInt(stageBudgetStr);
+		}
+		Element jitNode = state.getChild("jit");
+		if(jitNode != null){
+			final String calleeSizesStr = jitNode.getAttributeValue("calleeSizes");
+			if(calleeSizesStr != null) calleeSizes = Boolean.parseBoolean(calleeSizesStr);
+			final String maxInlineStr = jitNode.getAttributeValue("maxInlineSize");
+			if(maxInlineStr != null) maxInlineSize = Integer.parseInt(maxInlineStr);
+			final String freqInlineStr = jitNode.getAttributeValue("freqInlineSize");
+			if(freqInlineStr != null) freqInlineSize = Integer.parseInt(freqInlineStr);
+		}
 	}
 	
 	@Override
@@ -138,7 +285,16 @@ public class ASMPluginComponent implements PersistentStateComponent<Element>{
 		       ", skipDebug=" + skipDebug +
 		       ", skipCode=" + skipCode +
 		       ", expandFrames=" + expandFrames +
+		       ", currentMethodOnly=" + currentMethodOnly +
+		       ", inferFrames=" + inferFrames +
+		       ", highlightAllocations=" + highlightAllocations +
 		       ", codeStyle=" + codeStyle +
+		       ", degradeSizeKb=" + degradeSizeKb +
+		       ", signaturesOnlySizeKb=" + signaturesOnlySizeKb +
+		       ", stageBudgetMillis=" + stageBudgetMillis +
+		       ", calleeSizes=" + calleeSizes +
+		       ", maxInlineSize=" + maxInlineSize +
+		       ", freqInlineSize=" + freqInlineSize +
 		       '}';
 	}
 }
@@ -1,8 +1,11 @@
 package org.objectweb.asm.idea.config;
 
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
 import com.intellij.openapi.options.Configurable;
 import com.intellij.openapi.project.Project;
 import org.jetbrains.annotations.Nls;
+import org.objectweb.asm.idea.BytecodeRenderer;
+import org.objectweb.asm.idea.annotate.InstructionAnnotations;
 
 import javax.swing.*;
 
@@ -13,9 +16,11 @@ import javax.swing.*;
 public class ASMPluginConfigurable implements Configurable{
 	
 	private       ASMPluginConfiguration configDialog;
+	private final Project                project;
 	private final ASMPluginComponent     projectComponent;
 	
 	public ASMPluginConfigurable(final Project project){
+		this.project = project;
 		projectComponent = project.getService(ASMPluginComponent.class);
 	}
 	
@@ -45,6 +50,10 @@ public class ASMPluginConfigurable implements Configurable{
 	public void apply(){
 		if(configDialog != null){
 			configDialog.getData(projectComponent);
+			BytecodeRenderer.getInstance(project).settingsChanged();
+			InstructionAnnotations.getInstance(project).refresh();
+			// the method size hints weigh sizes against the thresholds
+			DaemonCodeAnalyzer.getInstance(project).restart();
 		}
 	}
 	
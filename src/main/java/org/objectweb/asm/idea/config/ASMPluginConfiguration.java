@@ -34,6 +34,12 @@ public class ASMPluginConfiguration{
 	private                JCheckBox                  skipCodeCheckBox;
 	private                JCheckBox                  expandFramesCheckBox;
 	private                JComboBox<GroovyCodeStyle> groovyCodeStyleComboBox;
+	private                JSpinner                   degradeSizeSpinner;
+	private                JSpinner                   signaturesOnlySizeSpinner;
+	private                JSpinner                   stageBudgetSpinner;
+	private                JCheckBox                  calleeSizesCheckBox;
+	private                JSpinner                   maxInlineSizeSpinner;
+	private                JSpinner                   freqInlineSizeSpinner;
 	
 	public ASMPluginConfiguration(){
 	}
@@ -48,6 +54,12 @@ public class ASMPluginConfiguration{
 		skipCodeCheckBox.setSelected(data.isSkipCode());
 		expandFramesCheckBox.setSelected(data.isExpandFrames());
 		groovyCodeStyleComboBox.setSelectedItem(data.getCodeStyle());
+		degradeSizeSpinner.setValue(data.getDegradeSizeKb());
+		signaturesOnlySizeSpinner.setValue(data.getSignaturesOnlySizeKb());
+		stageBudgetSpinner.setValue(data.getStageBudgetMillis());
+		calleeSizesCheckBox.setSelected(data.isCalleeSizes());
+		maxInlineSizeSpinner.setValue(data.getMaxInlineSize());
+		freqInlineSizeSpinner.setValue(data.getFreqInlineSize());
 	}
 	
 	public void getData(ASMPluginComponent data){
@@ -56,6 +68,12 @@ public class ASMPluginConfiguration{
 		data.setSkipCode(skipCodeCheckBox.isSelected());
 		data.setExpandFrames(expandFramesCheckBox.isSelected());
 		data.setCodeStyle((GroovyCodeStyle)groovyCodeStyleComboBox.getSelectedItem());
+		data.setDegradeSizeKb((Integer)degradeSizeSpinner.getValue());
+		data.setSignaturesOnlySizeKb((Integer)signaturesOnlySizeSpinner.getValue());
+		data.setStageBudgetMillis((Integer)stageBudgetSpinner.getValue());
+		data.setCalleeSizes(calleeSizesCheckBox.isSelected());
+		data.setMaxInlineSize((Integer)maxInlineSizeSpinner.getValue());
+		data.setFreqInlineSize((Integer)freqInlineSizeSpinner.getValue());
 	}
 	
 	public boolean isModified(ASMPluginComponent data){
@@ -63,6 +81,12 @@ public class ASMPluginConfiguration{
 		if(skipFramesCheckBox.isSelected() != data.isSkipFrames()) return true;
 		if(skipCodeCheckBox.isSelected() != data.isSkipCode()) return true;
 		if(expandFramesCheckBox.isSelected() != data.isExpandFrames()) return true;
+		if((Integer)degradeSizeSpinner.getValue() != data.getDegradeSizeKb()) return true;
+		if((Integer)signaturesOnlySizeSpinner.getValue() != data.getSignaturesOnlySizeKb()) return true;
+		if((Integer)stageBudgetSpinner.getValue() != data.getStageBudgetMillis()) return true;
+		if(calleeSizesCheckBox.isSelected() != data.isCalleeSizes()) return true;
+		if((Integer)maxInlineSizeSpinner.getValue() != data.getMaxInlineSize()) return true;
+		if((Integer)freqInlineSizeSpinner.getValue() != data.getFreqInlineSize()) return true;
 		return !Objects.equals(groovyCodeStyleComboBox.getSelectedItem(), data.getCodeStyle());
 	}
 	
@@ -70,6 +94,11 @@ public class ASMPluginConfiguration{
 		ComboBoxModel<GroovyCodeStyle> model = new EnumComboBoxModel<>(GroovyCodeStyle.class);
 		groovyCodeStyleComboBox = new ComboBox<>(model);
 		groovyCodeStyleComboBox.setRenderer(new GroovyCodeStyleCellRenderer());
+		degradeSizeSpinner = new JSpinner(new SpinnerNumberModel(256, 1, 1 << 20, 64));
+		signaturesOnlySizeSpinner = new JSpinner(new SpinnerNumberModel(2048, 1, 1 << 20, 256));
+		stageBudgetSpinner = new JSpinner(new SpinnerNumberModel(5000, 100, 600_000, 500));
+		maxInlineSizeSpinner = new JSpinner(new SpinnerNumberModel(35, 0, 65535, 1));
+		freqInlineSizeSpinner = new JSpinner(new SpinnerNumberModel(325, 0, 65535, 5));
 	}
 	
 	private static final class GroovyCodeStyleCellRenderer implements ListCellRenderer<GroovyCodeStyle>{
@@ -0,0 +1,89 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.diff;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Line counting for change summaries, the actual text diff is left to the IDE once a member is picked.
+ */
+final class LineDiff{
+	
+	/**
+	 * Past this many edits the exact answer is not worth the time and an upper bound is returned instead.
+	 */
+	private static final int MAX_EDITS = 4096;
+	
+	private LineDiff(){ }
+	
+	/**
+	 * @return the length of a longest common subsequence of the two lists, using Myers' O(ND) algorithm
+	 */
+	static int commonLines(final List<String> a, final List<String> b){
+		int start = 0;
+		while(start<a.size() && start<b.size() && a.get(start).equals(b.get(start))) start++;
+		int endA = a.size(), endB = b.size();
+		while(endA>start && endB>start && a.get(endA - 1).equals(b.get(endB - 1))){
+			endA--;
+			endB--;
+		}
+		final int n      = endA - start;
+		final int m      = endB - start;
+		final int common = a.size() - n;
+		if(n == 0 || m == 0) return common;
+		
+		final int   max    = Math.min(n + m, MAX_EDITS);
+		final int[] v      = new int[2*max + 2];
+		final int   offset = max + 1;
+		for(int d = 0; d<=max; d++){
+			for(int k = -d; k<=d; k += 2){
+				int x;
+				if(k == -d || k != d && v[offset + k - 1]<v[offset + k + 1]) x = v[offset + k + 1];
+				else x = v[offset + k - 1] + 1;
+				int y = x - k;
+				while(x<n && y<m && a.get(start + x).equals(b.get(start + y))){
+					x++;
+					y++;
+				}
+				v[offset + k] = x;
+				if(x>=n && y>=m) return common + (n + m - d)/2;
+			}
+		}
+		return common + sharedCount(a.subList(start, endA), b.subList(start, endB));
+	}
+	
+	/**
+	 * @return how many lines the two lists have in common regardless of order
+	 */
+	private static int sharedCount(final List<String> a, final List<String> b){
+		final Map<String, Integer> counts = new HashMap<>();
+		for(String line : a) counts.merge(line, 1, Integer::sum);
+		int shared = 0;
+		for(String line : b){
+			final Integer count = counts.get(line);
+			if(count != null && count>0){
+				counts.put(line, count - 1);
+				shared++;
+			}
+		}
+		return shared;
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.diff;
+
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.IincInsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.MultiANewArrayInsnNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import org.objectweb.asm.util.Printer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders a method as one line per instruction, in a form that only changes when the instruction does.
+ * <p>
+ * Labels are not printed: branch targets are written as the distance, in instructions, to the target, so inserting
+ * code only changes the branches which jump over it. Constants are printed by value, so their constant pool slot does
+ * not matter.
+ */
+public final class NormalizedMethod{
+	
+	private NormalizedMethod(){ }
+	
+	public static List<String> lines(final MethodNode method){
+		final Map<LabelNode, Integer> targets = new HashMap<>();
+		int                           index   = 0;
+		for(AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()){
+			if(insn instanceof LabelNode label) targets.put(label, index);
+			else if(insn.getOpcode()>=0) index++;
+		}
+		
+		final List<String>  lines = new ArrayList<>(index + method.tryCatchBlocks.size() + 2);
+		final StringBuilder sb    = new StringBuilder();
+		lines.add("access 0x" + Integer.toHexString(method.access) + (method.signature == null? "" : " signature " + method.signature));
+		index = 0;
+		for(AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()){
+			if(insn.getOpcode()<0) continue;
+			sb.setLength(0);
+			append(sb, insn, index, targets);
+			lines.add(sb.toString());
+			index++;
+		}
+		for(TryCatchBlockNode block : method.tryCatchBlocks){
+			lines.add("TRYCATCH #" + targets.get(block.start) + " #" + targets.get(block.end) + " -> #" + targets.get(block.handler) + " " + block.type);
+		}
+		if(method.maxStack>0 || method.maxLocals>0) lines.add("MAXSTACK " + method.maxStack + " MAXLOCALS " + method.maxLocals);
+		return lines;
+	}
+	
+	/**
+	 * Appends the opcode and operands of a real instruction.
+	 *
+	 * @param index   the position of the instruction among the real instructions of its method
+	 * @param targets the position of the instruction following each label
+	 */
+	public static void append(final StringBuilder sb, final AbstractInsnNode insn, final int index, final Map<LabelNode, Integer> targets){
+		final int opcode = insn.getOpcode();
+		sb.append(Printer.OPCODES[opcode]);
+		if(insn instanceof IntInsnNode i){
+			sb.append(' ').append(opcode == Opcodes.NEWARRAY? Printer.TYPES[i.operand] : Integer.toString(i.operand));
+		}else if(insn instanceof VarInsnNode v){
+			sb.append(' ').append(v.var);
+		}else if(insn instanceof TypeInsnNode t){
+			sb.append(' ').append(t.desc);
+		}else if(insn instanceof FieldInsnNode f){
+			sb.append(' ').append(f.owner).append('.').append(f.name).append(" : ").append(f.desc);
+		}else if(insn instanceof MethodInsnNode m){
+			sb.append(' ').append(m.owner).append('.').append(m.name).append(' ').append(m.desc);
+			if(m.itf) sb.append(" (itf)");
+		}else if(insn instanceof InvokeDynamicInsnNode d){
+			sb.append(' ').append(d.name).append(' ').append(d.desc).append(' ');
+			appendHandle(sb, d.bsm);
+			sb.append(' ').append(Arrays.stream(d.bsmArgs).map(NormalizedMethod::constant).toList());
+		}else if(insn instanceof JumpInsnNode j){
+			appendTarget(sb.append(' '), index, targets.get(j.label));
+		}else if(insn instanceof LdcInsnNode l){
+			sb.append(' ').append(constant(l.cst));
+		}else if(insn instanceof IincInsnNode i){
+			sb.append(' ').append(i.var).append(' ').append(i.incr);
+		}else if(insn instanceof TableSwitchInsnNode t){
+			sb.append(' ').append(t.min).append("..").append(t.max).append(" default ");
+			appendTarget(sb, index, targets.get(t.dflt));
+			for(LabelNode label : t.labels) appendTarget(sb.append(' '), index, targets.get(label));
+		}else if(insn instanceof LookupSwitchInsnNode l){
+			sb.append(" default ");
+			appendTarget(sb, index, targets.get(l.dflt));
+			for(int i = 0; i<l.keys.size(); i++){
+				sb.append(' ').append(l.keys.get(i)).append(':');
+				appendTarget(sb, index, targets.get(l.labels.get(i)));
+			}
+		}else if(insn instanceof MultiANewArrayInsnNode m){
+			sb.append(' ').append(m.desc).append(' ').append(m.dims);
+		}
+	}
+	
+	private static void appendTarget(final StringBuilder sb, final int index, final Integer target){
+		final int distance = target == null? 0 : target - index;
+		if(distance>=0) sb.append('+');
+		sb.append(distance);
+	}
+	
+	private static void appendHandle(final StringBuilder sb, final Handle handle){
+		sb.append(handle.getOwner()).append('.').append(handle.getName()).append(handle.getDesc());
+	}
+	
+	/**
+	 * @return a constant pool value printed by value, strings quoted so they can't be mistaken for other constants
+	 */
+	public static String constant(final Object value){
+		if(value instanceof String s) return '"' + s.replace("\\", "\\\\").replace("\n", "\\n").replace("\"", "\\\"") + '"';
+		if(value instanceof Type t) return t.getDescriptor();
+		if(value instanceof Handle h){
+			final StringBuilder sb = new StringBuilder("handle ");
+			appendHandle(sb, h);
+			return sb.toString();
+		}
+		if(value instanceof Float f) return f + "F";
+		if(value instanceof Long l) return l + "L";
+		if(value instanceof Double d) return d + "D";
+		return String.valueOf(value);
+	}
+}
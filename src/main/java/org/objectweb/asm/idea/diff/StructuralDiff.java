@@ -0,0 +1,143 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.diff;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compares two builds of a class member by member instead of as two blobs of text.
+ * <p>
+ * Members are aligned by name and descriptor, so reordering them is not a change. Every method is turned into a
+ * {@link NormalizedMethod normalized instruction list}, in which constants are resolved and branch targets are relative,
+ * so label renumbering and constant pool reordering do not show up either. Methods are then compared independently
+ * and in parallel.
+ */
+public final class StructuralDiff{
+	
+	public enum Kind{
+		ADDED, REMOVED, CHANGED
+	}
+	
+	/**
+	 * A member which differs between the two builds.
+	 *
+	 * @param member   the member name and descriptor, or {@link #CLASS_HEADER}
+	 * @param kind     how it changed
+	 * @param older    the normalized text of the member in the older build, empty if it was added
+	 * @param newer    the normalized text of the member in the newer build, empty if it was removed
+	 * @param inserted the number of lines only found in the newer build
+	 * @param deleted  the number of lines only found in the older build
+	 */
+	public record MemberChange(String member, Kind kind, List<String> older, List<String> newer, int inserted, int deleted){
+		
+		public boolean isMethod(){
+			return member.indexOf('(')>=0;
+		}
+		
+		/**
+		 * @return a compact description like {@code +3 -1}
+		 */
+		public String summary(){
+			return switch(kind){
+				case ADDED -> "added, " + newer.size() + " lines";
+				case REMOVED -> "removed, " + older.size() + " lines";
+				case CHANGED -> "+" + inserted + " -" + deleted;
+			};
+		}
+	}
+	
+	public static final String CLASS_HEADER = "<class header>";
+	
+	private StructuralDiff(){ }
+	
+	/**
+	 * @return the members which differ, class header first, then fields and methods by name
+	 */
+	public static List<MemberChange> compare(final byte[] older, final byte[] newer){
+		final Map<String, List<String>> olderMembers = members(older);
+		final Map<String, List<String>> newerMembers = members(newer);
+		
+		final TreeSet<String> keys = new TreeSet<>(olderMembers.keySet());
+		keys.addAll(newerMembers.keySet());
+		keys.remove(CLASS_HEADER);
+		final List<String> ordered = new ArrayList<>(keys.size() + 1);
+		ordered.add(CLASS_HEADER);
+		ordered.addAll(keys);
+		
+		return ordered.parallelStream()
+		              .map(key -> compare(key, olderMembers.get(key), newerMembers.get(key)))
+		              .filter(Objects::nonNull)
+		              .toList();
+	}
+	
+	private static MemberChange compare(final String member, final List<String> older, final List<String> newer){
+		if(older == null) return new MemberChange(member, Kind.ADDED, List.of(), newer, newer.size(), 0);
+		if(newer == null) return new MemberChange(member, Kind.REMOVED, older, List.of(), 0, older.size());
+		if(older.equals(newer)) return null;
+		final int common = LineDiff.commonLines(older, newer);
+		return new MemberChange(member, Kind.CHANGED, older, newer, newer.size() - common, older.size() - common);
+	}
+	
+	/**
+	 * @return the normalized text of every member of the class, by member key
+	 */
+	private static Map<String, List<String>> members(final byte[] bytes){
+		final ClassNode node = new ClassNode();
+		// line numbers and frames shift with every edit and are derived from the code anyway
+		new ClassReader(bytes).accept(node, ClassReader.SKIP_DEBUG|ClassReader.SKIP_FRAMES);
+		
+		final Map<String, List<String>> members = new TreeMap<>();
+		members.put(CLASS_HEADER, header(node));
+		for(FieldNode field : node.fields){
+			members.put(field.name + " " + field.desc, List.of(
+				"access 0x" + Integer.toHexString(field.access),
+				"signature " + field.signature,
+				"value " + NormalizedMethod.constant(field.value)
+			));
+		}
+		for(MethodNode method : node.methods){
+			members.put(method.name + method.desc, NormalizedMethod.lines(method));
+		}
+		return members;
+	}
+	
+	private static List<String> header(final ClassNode node){
+		final List<String> lines = new ArrayList<>();
+		lines.add("version " + (node.version&0xFFFF) + "." + (node.version>>>16));
+		lines.add("access 0x" + Integer.toHexString(node.access));
+		lines.add("name " + node.name);
+		lines.add("signature " + node.signature);
+		lines.add("super " + node.superName);
+		lines.add("interfaces " + new TreeSet<>(node.interfaces));
+		if(node.nestHostClass != null) lines.add("nest host " + node.nestHostClass);
+		if(node.nestMembers != null) lines.add("nest members " + new TreeSet<>(node.nestMembers));
+		if(node.permittedSubclasses != null) lines.add("permitted " + new TreeSet<>(node.permittedSubclasses));
+		return lines;
+	}
+}
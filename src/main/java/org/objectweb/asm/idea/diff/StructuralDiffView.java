@@ -0,0 +1,100 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.diff;
+
+import com.intellij.diff.DiffContentFactory;
+import com.intellij.diff.DiffDialogHints;
+import com.intellij.diff.DiffManager;
+import com.intellij.diff.chains.SimpleDiffRequestChain;
+import com.intellij.diff.requests.SimpleDiffRequest;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.ui.SimpleListCellRenderer;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.util.List;
+
+/**
+ * Shows the outcome of a {@link StructuralDiff}: a compact list of changed members, from which the members to look at
+ * in detail are opened in the diff viewer.
+ */
+public final class StructuralDiffView{
+	
+	private StructuralDiffView(){ }
+	
+	/**
+	 * Compares two builds of a class in the background and lists the members which changed.
+	 */
+	public static void show(final Project project, final byte[] older, final byte[] newer, final String olderTitle, final String newerTitle){
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Comparing class members"){
+			private List<StructuralDiff.MemberChange> changes;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				changes = StructuralDiff.compare(older, newer);
+			}
+			
+			@Override
+			public void onSuccess(){
+				if(changes.isEmpty()){
+					JBPopupFactory.getInstance()
+					              .createMessage("No structural differences between " + olderTitle + " and " + newerTitle)
+					              .showCenteredInCurrentWindow(project);
+					return;
+				}
+				JBPopupFactory.getInstance()
+				              .createPopupChooserBuilder(changes)
+				              .setTitle(changes.size() + " Changed Members, Pick Members to Compare")
+				              .setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION)
+				              .setRenderer(SimpleListCellRenderer.<StructuralDiff.MemberChange>create((label, change, index) -> {
+					              label.setText(change.member() + "   " + change.summary());
+					              label.setIcon(change.isMethod()? AllIcons.Nodes.Method : AllIcons.Nodes.Field);
+				              }))
+				              .setNamerForFiltering(StructuralDiff.MemberChange::member)
+				              .setItemsChosenCallback(chosen -> showMemberDiffs(project, List.copyOf(chosen), olderTitle, newerTitle))
+				              .createPopup()
+				              .showCenteredInCurrentWindow(project);
+			}
+		});
+	}
+	
+	/**
+	 * Opens the normalized text of the given members side by side.
+	 */
+	public static void showMemberDiffs(final Project project, final List<StructuralDiff.MemberChange> changes, final String olderTitle, final String newerTitle){
+		if(changes.isEmpty()) return;
+		var factory = DiffContentFactory.getInstance();
+		var requests = changes.stream().map(change -> new SimpleDiffRequest(
+			change.member() + " (" + change.summary() + ")",
+			factory.create(String.join("\n", change.older())),
+			factory.create(String.join("\n", change.newer())),
+			olderTitle, newerTitle
+		)).toList();
+		if(requests.size() == 1){
+			DiffManager.getInstance().showDiff(project, requests.get(0));
+		}else{
+			DiffManager.getInstance().showDiff(project, new SimpleDiffRequestChain(requests), DiffDialogHints.DEFAULT);
+		}
+	}
+}
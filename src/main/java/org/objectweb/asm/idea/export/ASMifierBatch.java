@@ -0,0 +1,267 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.export;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.CustomASMifier;
+import org.objectweb.asm.util.TraceClassVisitor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * The batch mode of {@link CustomASMifier#main}: ASMifies every class of jars, directories, class files and globs in
+ * parallel, for use in builds.
+ * <p>
+ * Classes are either written to one file each under an output directory, in any order, or to a single stream, in
+ * input order so the output can be compared between runs.
+ */
+public final class ASMifierBatch{
+	
+	public static final String USAGE =
+		"Usage: ASMifier [-nodebug] [-threads <n>] [-out <directory> | -single <file>] [-timing] <input>...\n"
+		+ "  <input>           a jar, a class directory, a class file, a glob such as build/**/*.class,\n"
+		+ "                    or @<file> listing one input per line\n"
+		+ "  -out <directory>  writes one <class>.asm.java file per class\n"
+		+ "  -single <file>    writes all classes to one file, instead of the standard output\n"
+		+ "  -threads <n>      the number of classes processed in parallel, all processors by default\n"
+		+ "  -timing           reports the time taken by each class on the standard error";
+	
+	private static final List<String> OPTIONS = List.of("-out", "-single", "-threads", "-timing");
+	
+	/**
+	 * How many classes each thread may ASMify ahead of the one written to a single stream.
+	 */
+	private static final int AHEAD_PER_THREAD = 4;
+	
+	private int     parsingOptions;
+	private int     threads = Runtime.getRuntime().availableProcessors();
+	private Path    outputDirectory;
+	private Path    outputFile;
+	private boolean timing;
+	
+	private final List<String>  inputs = new ArrayList<>();
+	private final AtomicInteger failed = new AtomicInteger();
+	
+	private ASMifierBatch(){ }
+	
+	/**
+	 * @return whether the arguments ask for more than the single class the original ASMifier handles
+	 */
+	public static boolean isBatch(final String[] args){
+		final List<String> inputs = new ArrayList<>();
+		for(String arg : args){
+			if(OPTIONS.contains(arg)) return true;
+			if(!arg.equals("-debug") && !arg.equals("-nodebug")) inputs.add(arg);
+		}
+		if(inputs.size() != 1) return inputs.size()>1;
+		final String input = inputs.get(0);
+		return input.startsWith("@") || isGlob(input) || input.endsWith(".jar") || input.endsWith(".zip") || Files.isDirectory(Path.of(input));
+	}
+	
+	/**
+	 * @return the process exit code: 0 on success, 1 if some classes failed, 2 on incorrect arguments
+	 */
+	public static int run(final String[] args, final PrintWriter logger) throws IOException{
+		final ASMifierBatch batch = new ASMifierBatch();
+		try{
+			batch.parse(args);
+		}catch(IllegalArgumentException e){
+			logger.println(e.getMessage());
+			logger.println(USAGE);
+			return 2;
+		}
+		final List<Path> paths = new ArrayList<>();
+		for(String input : batch.inputs) paths.addAll(resolve(input));
+		
+		final long start = System.nanoTime();
+		int        count = 0;
+		if(batch.outputDirectory != null){
+			for(Path path : paths) count += batch.writeFiles(path, logger);
+		}else{
+			final PrintWriter out = batch.outputFile == null
+			                        ? new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+			                        : new PrintWriter(Files.newBufferedWriter(batch.outputFile, StandardCharsets.UTF_8));
+			try{
+				for(Path path : paths) count += batch.writeStream(path, out, logger);
+			}finally{
+				// the standard output is left open
+				if(batch.outputFile == null) out.flush();
+				else out.close();
+			}
+		}
+		if(batch.timing){
+			final long millis = (System.nanoTime() - start)/1_000_000;
+			logger.println(String.format(Locale.ROOT, "%d classes in %d ms, %.1f classes/s, %d failed",
+			                             count, millis, count*1000.0/Math.max(millis, 1), batch.failed.get()));
+		}
+		return batch.failed.get() == 0? 0 : 1;
+	}
+	
+	private void parse(final String[] args){
+		for(int i = 0; i<args.length; i++){
+			switch(args[i]){
+				case "-debug" -> parsingOptions = 0;
+				case "-nodebug" -> parsingOptions = ClassReader.SKIP_DEBUG;
+				case "-timing" -> timing = true;
+				case "-out" -> outputDirectory = Path.of(value(args, ++i));
+				case "-single" -> outputFile = Path.of(value(args, ++i));
+				case "-threads" -> {
+					try{
+						threads = Integer.parseInt(value(args, ++i));
+					}catch(NumberFormatException e){
+						throw new IllegalArgumentException("-threads expects a number");
+					}
+					if(threads<1) throw new IllegalArgumentException("-threads expects a positive number");
+				}
+				default -> inputs.add(args[i]);
+			}
+		}
+		if(inputs.isEmpty()) throw new IllegalArgumentException("No input given");
+		if(outputDirectory != null && outputFile != null) throw new IllegalArgumentException("-out and -single can't be used together");
+	}
+	
+	private static String value(final String[] args, final int index){
+		if(index>=args.length) throw new IllegalArgumentException(args[index - 1] + " expects a value");
+		return args[index];
+	}
+	
+	/**
+	 * @return the jars, directories and class files an input stands for
+	 */
+	private static List<Path> resolve(final String input) throws IOException{
+		if(input.startsWith("@")){
+			final List<Path> paths = new ArrayList<>();
+			for(String line : Files.readAllLines(Path.of(input.substring(1)))){
+				line = line.strip();
+				if(!line.isEmpty() && !line.startsWith("#")) paths.addAll(resolve(line));
+			}
+			return paths;
+		}
+		if(!isGlob(input)) return List.of(Path.of(input));
+		
+		// only the directory before the first wildcard is walked
+		int wildcard = 0;
+		while(wildcard<input.length() && "*?[{".indexOf(input.charAt(wildcard))<0) wildcard++;
+		final int         separator = Math.max(input.lastIndexOf('/', wildcard), input.lastIndexOf('\\', wildcard));
+		final Path        base      = separator<0? Path.of("") : Path.of(input.substring(0, separator + 1));
+		final PathMatcher matcher   = FileSystems.getDefault().getPathMatcher("glob:" + input);
+		try(Stream<Path> files = Files.walk(base)){
+			return files.filter(file -> matcher.matches(file) && (Files.isRegularFile(file) || Files.isDirectory(file) && !file.equals(base)))
+			            .sorted()
+			            .toList();
+		}
+	}
+	
+	private static boolean isGlob(final String input){
+		for(int i = 0; i<input.length(); i++){
+			if("*?[{".indexOf(input.charAt(i))>=0) return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Writes one file per class, in whatever order the threads get to them.
+	 */
+	private int writeFiles(final Path path, final PrintWriter logger) throws IOException{
+		try(ClassFiles classes = ClassFiles.open(path)){
+			final BytecodeExporter.Result result = new BytecodeExporter(
+				classes, threads, outputDirectory, parsingOptions, List.of(BytecodeExporter.Format.ASMIFIED), () -> false,
+				(done, total, name, nanos) -> {
+					if(timing) logger.println(String.format(Locale.ROOT, "%8d us  %s", nanos/1000, name));
+				}
+			).export();
+			if(result.skipped()>0){
+				logger.println(result.skipped() + " classes of " + path + " skipped, their names lead outside " + outputDirectory);
+			}
+			failed.addAndGet(result.failed() + result.skipped());
+			return result.exported() + result.failed() + result.skipped();
+		}
+	}
+	
+	private record Rendered(String name, String text, long nanos, boolean failed){ }
+	
+	/**
+	 * Writes all classes to one stream, in input order. Classes are ASMified in parallel, at most
+	 * {@link #AHEAD_PER_THREAD} per thread ahead of the one being written, so the memory held does not depend on the
+	 * number of classes or on how slow the output is.
+	 */
+	private int writeStream(final Path path, final PrintWriter out, final PrintWriter logger) throws IOException{
+		try(ClassFiles classes = ClassFiles.open(path)){
+			final ForkJoinPool                       pool  = new ForkJoinPool(threads);
+			final Deque<CompletableFuture<Rendered>> ahead = new ArrayDeque<>();
+			final Iterator<String>                   names = classes.names().iterator();
+			try{
+				while(names.hasNext() || !ahead.isEmpty()){
+					while(ahead.size()<threads*AHEAD_PER_THREAD && names.hasNext()){
+						final String name = names.next();
+						ahead.add(CompletableFuture.supplyAsync(() -> render(classes, name), pool));
+					}
+					final Rendered rendered = ahead.poll().join();
+					out.print(rendered.text());
+					if(rendered.failed()) failed.incrementAndGet();
+					if(timing) logger.println(String.format(Locale.ROOT, "%8d us  %s", rendered.nanos()/1000, rendered.name()));
+				}
+			}catch(CompletionException e){
+				throw new IOException("Could not process " + path, e.getCause());
+			}finally{
+				pool.shutdownNow();
+			}
+			out.flush();
+			return classes.names().size();
+		}
+	}
+	
+	private Rendered render(final ClassFiles classes, final String name){
+		final long         start = System.nanoTime();
+		final StringWriter text  = new StringWriter();
+		final PrintWriter  out   = new PrintWriter(text);
+		out.println("// " + name);
+		boolean failed = false;
+		try{
+			new ClassReader(classes.read(name)).accept(new TraceClassVisitor(null, new CustomASMifier(), out), parsingOptions);
+		}catch(IOException|RuntimeException e){
+			out.println("/*");
+			e.printStackTrace(out);
+			out.println("*/");
+			failed = true;
+		}
+		out.println();
+		out.flush();
+		return new Rendered(name, text.toString(), System.nanoTime() - start, failed);
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.export;
+
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.CompilerModuleExtension;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Exports the Textifier and ASMified dumps of every class of a jar, a class directory or a module output directory.
+ */
+public class BulkExportAction extends AnAction{
+	
+	@Override
+	public @NotNull ActionUpdateThread getActionUpdateThread(){
+		return ActionUpdateThread.BGT;
+	}
+	
+	@Override
+	public void update(final @NotNull AnActionEvent e){
+		e.getPresentation().setEnabled(e.getProject() != null && findSource(e) != null);
+	}
+	
+	@Override
+	public void actionPerformed(final @NotNull AnActionEvent e){
+		final Project     project = e.getProject();
+		final VirtualFile source  = findSource(e);
+		if(project == null || source == null) return;
+		final VirtualFile target = FileChooser.chooseFile(
+			FileChooserDescriptorFactory.createSingleFolderDescriptor().withTitle("Export Bytecode of " + source.getName() + " To"),
+			project, null
+		);
+		if(target == null) return;
+		
+		final ASMPluginComponent config = project.getService(ASMPluginComponent.class);
+		int                      flags  = 0;
+		if(config.isSkipDebug()) flags |= ClassReader.SKIP_DEBUG;
+		if(config.isSkipFrames()) flags |= ClassReader.SKIP_FRAMES;
+		if(config.isExpandFrames()) flags |= ClassReader.EXPAND_FRAMES;
+		if(config.isSkipCode()) flags |= ClassReader.SKIP_CODE;
+		final int readerFlags = flags;
+		
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Exporting bytecode of " + source.getName(), true){
+			private BytecodeExporter.Result result;
+			private boolean                 cancelled;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				indicator.setIndeterminate(false);
+				final long start = System.nanoTime();
+				try(ClassFiles classes = ClassFiles.open(source.toNioPath())){
+					result = new BytecodeExporter(
+						classes, Runtime.getRuntime().availableProcessors(), target.toNioPath(), readerFlags,
+						List.of(BytecodeExporter.Format.values()), indicator::isCanceled,
+						(done, total, name, nanos) -> {
+							final double seconds = (System.nanoTime() - start)/1e9;
+							indicator.setFraction(done/(double)total);
+							indicator.setText(done + " of " + total + " classes, " + Math.round(done/Math.max(seconds, 1e-3)) + " classes/s");
+							indicator.setText2(name);
+						}
+					).export();
+					cancelled = indicator.isCanceled();
+				}catch(IOException ex){
+					showNotification(project, "Could not read " + source.getPresentableUrl() + ": " + ex.getMessage(), NotificationType.ERROR);
+				}
+			}
+			
+			@Override
+			public void onFinished(){
+				VfsUtil.markDirtyAndRefresh(true, true, true, target);
+				if(result == null) return;
+				showNotification(project,
+				                 "Exported " + result.exported() + " classes to " + target.getPresentableUrl() +
+				                 (result.failed()>0? ", " + result.failed() + " failed" : "") +
+				                 (result.skipped()>0? ", " + result.skipped() + " skipped as their names lead outside the target" : "") +
+				                 " in " + result.millis()/1000.0 + " s (" + Math.round(result.classesPerSecond()) + " classes/s)" +
+				                 (cancelled? ", cancelled" : ""),
+				                 result.failed()>0 || result.skipped()>0? NotificationType.WARNING : NotificationType.INFORMATION);
+			}
+		});
+	}
+	
+	/**
+	 * @return the selected jar or class directory, or the output directory of the selected module
+	 */
+	public static VirtualFile findSource(final AnActionEvent e){
+		final VirtualFile file = e.getData(CommonDataKeys.VIRTUAL_FILE);
+		if(file != null){
+			if(file.getFileSystem() instanceof JarFileSystem jars){
+				final VirtualFile jar = jars.getVirtualFileForJar(file);
+				if(jar != null && file.equals(jars.getJarRootForLocalFile(jar))) return jar;
+			}else if(file.isInLocalFileSystem() && ("jar".equals(file.getExtension()) || isInOutputDirectory(e.getProject(), file))){
+				return file;
+			}
+		}
+		final Module module = e.getData(LangDataKeys.MODULE_CONTEXT);
+		if(module == null) return null;
+		final CompilerModuleExtension extension = CompilerModuleExtension.getInstance(module);
+		return extension == null? null : extension.getCompilerOutputPath();
+	}
+	
+	private static boolean isInOutputDirectory(final Project project, final VirtualFile file){
+		if(project == null || !file.isDirectory()) return false;
+		for(Module module : ModuleManager.getInstance(project).getModules()){
+			final CompilerModuleExtension extension = CompilerModuleExtension.getInstance(module);
+			if(extension == null) continue;
+			for(VirtualFile root : extension.getOutputRoots(false)){
+				if(VfsUtilCore.isAncestor(root, file, false)) return true;
+			}
+		}
+		return false;
+	}
+	
+	static void showNotification(final Project project, final String content, final NotificationType type){
+		NotificationGroupManager.getInstance().getNotificationGroup("ASM Bytecode").createNotification(content, type).notify(project);
+	}
+}
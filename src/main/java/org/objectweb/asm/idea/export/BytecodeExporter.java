@@ -0,0 +1,221 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.export;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.CustomASMifier;
+import org.objectweb.asm.util.Printer;
+import org.objectweb.asm.util.Textifier;
+import org.objectweb.asm.util.TraceClassVisitor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Writes the Textifier and ASMified text of every class of a directory or jar to a target directory.
+ * <p>
+ * The classes are split between the threads of a fork-join pool, which steal work from each other when their share is
+ * done. Each class is read, printed straight to its output file and dropped, so memory stays bounded by a few classes
+ * per thread whatever the size of the input.
+ * <p>
+ * Output files are named after the entries of the input, which a crafted jar can point anywhere with {@code ..}
+ * segments or absolute names. Entries whose output would land outside the target directory are skipped.
+ */
+public final class BytecodeExporter{
+	
+	/**
+	 * The kinds of dumps written for every class.
+	 */
+	public enum Format{
+		TEXTIFIED(".txt", Textifier::new),
+		ASMIFIED(".asm.java", CustomASMifier::new);
+		
+		private final String            suffix;
+		private final Supplier<Printer> printer;
+		
+		Format(final String suffix, final Supplier<Printer> printer){
+			this.suffix = suffix;
+			this.printer = printer;
+		}
+	}
+	
+	public interface Listener{
+		/**
+		 * Called, from any thread, every time a class has been written or has failed.
+		 *
+		 * @param nanos how long reading and printing the class took
+		 */
+		void progress(int done, int total, String name, long nanos);
+	}
+	
+	/**
+	 * @param exported the number of classes written
+	 * @param failed   the number of classes which could not be read or printed, their output holds the error
+	 * @param skipped  the number of entries not exported because their output would be outside the target directory
+	 * @param millis   how long the export took
+	 */
+	public record Result(int exported, int failed, int skipped, long millis){
+		
+		public double classesPerSecond(){
+			return millis == 0? exported : exported*1000.0/millis;
+		}
+	}
+	
+	/**
+	 * Below this many classes a task is not split any further.
+	 */
+	private static final int LEAF_SIZE = 8;
+	
+	private final ClassFiles      classes;
+	private final int             parallelism;
+	private final Path            target;
+	private final int             flags;
+	private final List<Format>    formats;
+	private final BooleanSupplier cancelled;
+	private final Listener        listener;
+	
+	private final AtomicInteger done    = new AtomicInteger();
+	private final AtomicInteger failed  = new AtomicInteger();
+	private final AtomicInteger skipped = new AtomicInteger();
+	
+	/**
+	 * @param parallelism the number of threads to use
+	 * @param flags       the {@link ClassReader} parsing options
+	 * @param cancelled   polled before every class, the export stops once it returns true
+	 */
+	public BytecodeExporter(final ClassFiles classes, final int parallelism, final Path target, final int flags, final List<Format> formats,
+	                        final BooleanSupplier cancelled, final Listener listener){
+		this.classes = classes;
+		this.parallelism = parallelism;
+		this.target = target.toAbsolutePath().normalize();
+		this.flags = flags;
+		this.formats = List.copyOf(formats);
+		this.cancelled = cancelled;
+		this.listener = listener;
+	}
+	
+	public Result export(){
+		final long         start = System.nanoTime();
+		final List<String> names = classes.names();
+		final ForkJoinPool pool  = new ForkJoinPool(parallelism);
+		try{
+			pool.invoke(new ExportTask(names, 0, names.size()));
+		}finally{
+			pool.shutdown();
+		}
+		return new Result(done.get() - failed.get() - skipped.get(), failed.get(), skipped.get(), (System.nanoTime() - start)/1_000_000);
+	}
+	
+	private final class ExportTask extends RecursiveAction{
+		private final List<String> names;
+		private final int          from;
+		private final int          to;
+		
+		private ExportTask(final List<String> names, final int from, final int to){
+			this.names = names;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute(){
+			if(to - from>LEAF_SIZE){
+				final int middle = (from + to) >>> 1;
+				invokeAll(new ExportTask(names, from, middle), new ExportTask(names, middle, to));
+				return;
+			}
+			for(int i = from; i<to && !cancelled.getAsBoolean(); i++){
+				final String name  = names.get(i);
+				final long   start = System.nanoTime();
+				if(resolve(target, name) == null) skipped.incrementAndGet();
+				else if(!export(name)) failed.incrementAndGet();
+				listener.progress(done.incrementAndGet(), names.size(), name, System.nanoTime() - start);
+			}
+		}
+	}
+	
+	/**
+	 * @return whether the class could be printed, if not the error is written in place of the dump
+	 */
+	private boolean export(final String name){
+		final String baseName = name.substring(0, name.length() - ".class".length());
+		try{
+			final ClassReader reader  = new ClassReader(classes.read(name));
+			boolean           printed = true;
+			for(Format format : formats){
+				printed &= write(reader, format, resolve(target, baseName + format.suffix));
+			}
+			return printed;
+		}catch(IOException|RuntimeException e){
+			writeError(resolve(target, baseName + ".error.txt"), e);
+			return false;
+		}
+	}
+	
+	/**
+	 * @param target an absolute and normalized directory
+	 * @param name   a path relative to it, such as a jar entry name
+	 * @return the normalized path, or null if it is not inside the target directory
+	 */
+	static Path resolve(final Path target, final String name){
+		final Path path;
+		try{
+			path = target.resolve(name).normalize();
+		}catch(InvalidPathException e){
+			return null;
+		}
+		return path.startsWith(target) && !path.equals(target)? path : null;
+	}
+	
+	private boolean write(final ClassReader reader, final Format format, final Path file) throws IOException{
+		Files.createDirectories(file.getParent());
+		try(PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))){
+			try{
+				reader.accept(new TraceClassVisitor(null, format.printer.get(), out), flags);
+			}catch(RuntimeException e){
+				out.println();
+				e.printStackTrace(out);
+				return false;
+			}
+			return !out.checkError();
+		}
+	}
+	
+	private static void writeError(final Path file, final Exception error){
+		final StringWriter text = new StringWriter();
+		error.printStackTrace(new PrintWriter(text));
+		try{
+			Files.createDirectories(file.getParent());
+			Files.writeString(file, text.toString(), StandardCharsets.UTF_8);
+		}catch(IOException ignored){
+			// the class is counted as failed either way
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The class files of a directory tree or of a jar.
+ * <p>
+ * Only the names are listed up front, from the directory tree or the zip central directory, and every class is read
+ * on request. A jar is read through {@link ZipFile}, which seeks straight to an entry, so classes can be read from
+ * several threads in any order.
+ */
+public final class ClassFiles implements Closeable{
+	
+	private final Path         root;
+	private final ZipFile      zip;
+	private final List<String> names;
+	
+	private ClassFiles(final Path root, final ZipFile zip, final List<String> names){
+		this.root = root;
+		this.zip = zip;
+		this.names = List.copyOf(names);
+	}
+	
+	/**
+	 * @param path a directory, a jar or zip file, or a single class file
+	 */
+	public static ClassFiles open(final Path path) throws IOException{
+		if(path.toString().endsWith(".class") && Files.isRegularFile(path)){
+			final Path parent = path.toAbsolutePath().getParent();
+			return new ClassFiles(parent, null, List.of(path.getFileName().toString()));
+		}
+		if(Files.isDirectory(path)){
+			final List<String> names = new ArrayList<>();
+			try(Stream<Path> files = Files.walk(path)){
+				files.filter(file -> file.toString().endsWith(".class") && Files.isRegularFile(file))
+				     .forEach(file -> names.add(path.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/")));
+			}
+			Collections.sort(names);
+			return new ClassFiles(path, null, names);
+		}
+		final ZipFile      zip   = new ZipFile(path.toFile());
+		final List<String> names = new ArrayList<>(zip.size());
+		for(Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ){
+			final ZipEntry entry = entries.nextElement();
+			if(!entry.isDirectory() && entry.getName().endsWith(".class")) names.add(entry.getName());
+		}
+		Collections.sort(names);
+		return new ClassFiles(path, zip, names);
+	}
+	
+	/**
+	 * @return the paths of the class files relative to the root, with {@code /} separators, sorted
+	 */
+	public List<String> names(){
+		return names;
+	}
+	
+	public byte[] read(final String name) throws IOException{
+		if(zip == null) return Files.readAllBytes(root.resolve(name));
+		try(InputStream in = zip.getInputStream(entry(name))){
+			return in.readAllBytes();
+		}
+	}
+	
+	/**
+	 * @return when the class file was last modified, in milliseconds, as recorded in the jar for an entry
+	 */
+	public long lastModified(final String name) throws IOException{
+		if(zip == null) return Files.getLastModifiedTime(root.resolve(name)).toMillis();
+		return entry(name).getTime();
+	}
+	
+	/**
+	 * @return the size of the class file, uncompressed for an entry of a jar
+	 */
+	public long size(final String name) throws IOException{
+		if(zip == null) return Files.size(root.resolve(name));
+		return entry(name).getSize();
+	}
+	
+	private ZipEntry entry(final String name) throws IOException{
+		final ZipEntry entry = zip.getEntry(name);
+		if(entry == null) throw new IOException(name + " not found in " + root);
+		return entry;
+	}
+	
+	@Override
+	public void close() throws IOException{
+		if(zip != null) zip.close();
+	}
+}
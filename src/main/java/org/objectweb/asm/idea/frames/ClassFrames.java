@@ -0,0 +1,131 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.frames;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.BasicValue;
+import org.objectweb.asm.tree.analysis.Frame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The operand stack and local variable types a data-flow analysis infers before every instruction of a class, found
+ * one method at a time as they are asked for and kept once found.
+ * <p>
+ * Unlike the stack map frames of the class file, which only exist at branch targets, there is one frame for every
+ * instruction, and classes compiled without frames get them too.
+ */
+public final class ClassFrames{
+	
+	/**
+	 * The inferred frames of one method.
+	 *
+	 * @param summary      a note for the declaration line of the method
+	 * @param instructions a note for every real instruction, in order, empty if the analysis failed
+	 */
+	public record MethodFrames(String summary, List<String> instructions){ }
+	
+	private final ClassNode                 node;
+	private final Map<String, MethodFrames> methods = new ConcurrentHashMap<>();
+	
+	private ClassFrames(final ClassNode node){
+		this.node = node;
+	}
+	
+	public static ClassFrames of(final byte[] bytes){
+		final ClassNode node = new ClassNode();
+		new ClassReader(bytes).accept(node, ClassReader.SKIP_DEBUG|ClassReader.SKIP_FRAMES);
+		return new ClassFrames(node);
+	}
+	
+	/**
+	 * Analyses a method, unless it already was. Different methods may be analysed in parallel.
+	 *
+	 * @param method the method name and descriptor
+	 * @return the frames of the method, or null if the class has no such method
+	 */
+	public MethodFrames get(final String method){
+		final MethodFrames frames = methods.get(method);
+		if(frames != null) return frames;
+		for(MethodNode candidate : node.methods){
+			if(method.equals(candidate.name + candidate.desc)) return methods.computeIfAbsent(method, k -> analyse(candidate));
+		}
+		return null;
+	}
+	
+	private MethodFrames analyse(final MethodNode method){
+		final String summary = "max stack " + method.maxStack + ", max locals " + method.maxLocals;
+		if(method.instructions.size() == 0) return new MethodFrames(summary, List.of());
+		final Frame<BasicValue>[] frames;
+		try{
+			frames = new Analyzer<>(new TypeInterpreter()).analyze(node.name, method);
+		}catch(AnalyzerException e){
+			return new MethodFrames(summary + ", frames could not be inferred: " + e.getMessage(), List.of());
+		}
+		
+		final List<String>  instructions = new ArrayList<>();
+		final StringBuilder sb           = new StringBuilder();
+		for(int i = 0; i<frames.length; i++){
+			if(method.instructions.get(i).getOpcode()<0) continue;
+			sb.setLength(0);
+			append(sb, frames[i]);
+			instructions.add(sb.toString());
+		}
+		return new MethodFrames(summary, instructions);
+	}
+	
+	/**
+	 * Appends a frame like {@code stack 2 [String, int] locals 3 [0 Foo, 1 int, 2 long]}, leaving out the local slots
+	 * which hold nothing usable, such as the second half of a long.
+	 */
+	private static void append(final StringBuilder sb, final Frame<BasicValue> frame){
+		if(frame == null){
+			sb.append("unreachable");
+			return;
+		}
+		sb.append("stack ").append(frame.getStackSize()).append(" [");
+		for(int i = 0; i<frame.getStackSize(); i++){
+			if(i>0) sb.append(", ");
+			sb.append(name(frame.getStack(i)));
+		}
+		final StringBuilder locals = new StringBuilder();
+		int                 count  = 0;
+		for(int i = 0; i<frame.getLocals(); i++){
+			final BasicValue value = frame.getLocal(i);
+			if(value == BasicValue.UNINITIALIZED_VALUE) continue;
+			if(count++>0) locals.append(", ");
+			locals.append(i).append(' ').append(name(value));
+		}
+		sb.append("] locals ").append(count).append(" [").append(locals).append(']');
+	}
+	
+	private static String name(final BasicValue value){
+		if(value == BasicValue.RETURNADDRESS_VALUE) return "return address";
+		if(value.getType() == null) return "?";
+		final String name = value.getType().getClassName();
+		return name.substring(name.lastIndexOf('.') + 1);
+	}
+}
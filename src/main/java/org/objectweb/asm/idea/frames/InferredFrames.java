@@ -0,0 +1,133 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.frames;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.objectweb.asm.idea.BytecodeRenderer;
+import org.objectweb.asm.idea.annotate.BytecodeOffsets;
+import org.objectweb.asm.idea.annotate.InstructionAnnotation;
+import org.objectweb.asm.idea.annotate.InstructionAnnotations;
+import org.objectweb.asm.idea.annotate.InstructionAnnotator;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Annotates the instructions of the methods asked for with the stack and local types inferred before them, see
+ * {@link ClassFrames}. Methods are asked for as they are expanded or hovered in the Bytecode view, or all at once, so a
+ * class is only analysed as far as it is looked at. Methods asked for together are analysed in parallel, and the
+ * frames are kept with the rendered views of the class.
+ */
+public class InferredFrames implements InstructionAnnotator{
+	
+	private final Project project;
+	
+	// the methods asked for, all of the same class file, and those whose annotations were handed over
+	private       VirtualFile file;
+	private final Set<String> methods   = new HashSet<>();
+	private final Set<String> annotated = new HashSet<>();
+	
+	public InferredFrames(final Project project){
+		this.project = project;
+	}
+	
+	public static InferredFrames getInstance(Project project){
+		return project.getService(InferredFrames.class);
+	}
+	
+	/**
+	 * Annotates the given methods of a class file, along with those already asked for, if inferred frames are shown.
+	 * Only the annotations of methods not asked for before are added to the view.
+	 *
+	 * @param methods method names and descriptors
+	 */
+	public void request(final VirtualFile file, final Collection<String> methods){
+		if(file == null || !project.getService(ASMPluginComponent.class).isInferFrames()) return;
+		synchronized(this){
+			if(!file.equals(this.file)){
+				this.file = file;
+				this.methods.clear();
+				annotated.clear();
+			}
+			if(!this.methods.addAll(methods)) return;
+		}
+		InstructionAnnotations.getInstance(project).add(file, () -> annotateNew(file));
+	}
+	
+	/**
+	 * Forgets the methods asked for, and their annotations.
+	 */
+	public void clear(){
+		synchronized(this){
+			file = null;
+			methods.clear();
+			annotated.clear();
+		}
+		InstructionAnnotations.getInstance(project).refresh();
+	}
+	
+	@Override
+	public List<InstructionAnnotation> annotate(final String className, final byte[] bytes, final BytecodeOffsets offsets){
+		final BytecodeRenderer renderer = BytecodeRenderer.getInstance(project);
+		final List<String>     requested;
+		synchronized(this){
+			if(methods.isEmpty() || renderer.getSelectedBytes() != bytes || !Objects.equals(file, renderer.getSelected())) return List.of();
+			requested = List.copyOf(methods);
+			annotated.addAll(methods);
+		}
+		return annotations(bytes, requested);
+	}
+	
+	/**
+	 * @return the annotations of the methods of the class file asked for since the last were handed over
+	 */
+	private List<InstructionAnnotation> annotateNew(final VirtualFile file){
+		final BytecodeRenderer renderer = BytecodeRenderer.getInstance(project);
+		final byte[]           bytes    = renderer.getSelectedBytes();
+		final List<String>     requested;
+		synchronized(this){
+			if(bytes == null || !file.equals(this.file) || !file.equals(renderer.getSelected())) return List.of();
+			requested = methods.stream().filter(method -> !annotated.contains(method)).toList();
+			annotated.addAll(requested);
+		}
+		return annotations(bytes, requested);
+	}
+	
+	private List<InstructionAnnotation> annotations(final byte[] bytes, final List<String> requested){
+		if(requested.isEmpty()) return List.of();
+		final ClassFrames frames = BytecodeRenderer.getInstance(project).analysis(bytes, ClassFrames.class, ClassFrames::of).join();
+		return requested.parallelStream().flatMap(method -> annotations(method, frames.get(method)).stream()).toList();
+	}
+	
+	private static List<InstructionAnnotation> annotations(final String method, final ClassFrames.MethodFrames frames){
+		if(frames == null) return List.of();
+		final List<InstructionAnnotation> annotations = new ArrayList<>(frames.instructions().size() + 1);
+		annotations.add(new InstructionAnnotation(method, InstructionAnnotation.DECLARATION, frames.summary(), null));
+		for(int i = 0; i<frames.instructions().size(); i++){
+			annotations.add(new InstructionAnnotation(method, i, frames.instructions().get(i), null));
+		}
+		return annotations;
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.frames;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.BasicInterpreter;
+import org.objectweb.asm.tree.analysis.BasicValue;
+
+/**
+ * A {@link BasicInterpreter} which keeps the class of references instead of folding them all into one reference type.
+ * <p>
+ * Where two paths bring references of different classes together, the result is a plain reference: finding their
+ * common super class would mean loading the class hierarchy, and the class is only shown, not verified.
+ */
+class TypeInterpreter extends BasicInterpreter{
+	
+	TypeInterpreter(){
+		super(Opcodes.ASM9);
+	}
+	
+	@Override
+	public BasicValue newValue(final Type type){
+		if(type != null && (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY)) return new BasicValue(type);
+		return super.newValue(type);
+	}
+	
+	@Override
+	public BasicValue binaryOperation(final AbstractInsnNode insn, final BasicValue value1, final BasicValue value2) throws AnalyzerException{
+		if(insn.getOpcode() == Opcodes.AALOAD && value1.getType() != null && value1.getType().getSort() == Type.ARRAY){
+			return newValue(Type.getType(value1.getType().getDescriptor().substring(1)));
+		}
+		return super.binaryOperation(insn, value1, value2);
+	}
+	
+	@Override
+	public BasicValue merge(final BasicValue value1, final BasicValue value2){
+		if(!value1.equals(value2) && value1.isReference() && value2.isReference()) return BasicValue.REFERENCE_VALUE;
+		return super.merge(value1, value2);
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jfr;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The execution samples of a JFR recording, counted per method and bytecode index.
+ * <p>
+ * The recording is read one event at a time and only the counts are kept, so its size does not matter. A sample counts
+ * as a self sample at the bytecode index of its top frame, and as a total sample at each bytecode index of its stack,
+ * once per method even if the method recurses.
+ */
+public final class JfrProfile{
+	
+	private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+	
+	/**
+	 * JFR resolves each method once per chunk, the identity cache is dropped past this many entries to bound it.
+	 */
+	private static final int MAX_CACHED_METHODS = 100_000;
+	
+	/**
+	 * The samples of one method.
+	 *
+	 * @param className  the internal name of the class of the method
+	 * @param bcis       the sampled bytecode indexes, in ascending order
+	 * @param selfCounts the self samples at each bytecode index
+	 * @param totals     the total samples at each bytecode index
+	 */
+	public record MethodSamples(String className, String name, String descriptor, int self, int total,
+	                            int[] bcis, int[] selfCounts, int[] totals){
+		
+		/**
+		 * @return the method name and descriptor
+		 */
+		public String method(){
+			return name + descriptor;
+		}
+		
+		/**
+		 * @return the bytecode index with the most self samples, or with the most total samples if it has none
+		 */
+		public int hottestBci(){
+			int hottest = 0;
+			for(int i = 1; i<bcis.length; i++){
+				if(selfCounts[i]>selfCounts[hottest] || selfCounts[i] == selfCounts[hottest] && totals[i]>totals[hottest]) hottest = i;
+			}
+			return bcis.length == 0? 0 : bcis[hottest];
+		}
+	}
+	
+	private static final class Accumulator{
+		private final String              className;
+		private final String              name;
+		private final String              descriptor;
+		private final Map<Integer, int[]> bcis = new HashMap<>();
+		private       int                 self;
+		private       int                 total;
+		
+		private Accumulator(final String className, final String name, final String descriptor){
+			this.className = className;
+			this.name = name;
+			this.descriptor = descriptor;
+		}
+		
+		private MethodSamples freeze(){
+			final int[] sorted = bcis.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+			final int[] selfs  = new int[sorted.length];
+			final int[] totals = new int[sorted.length];
+			for(int i = 0; i<sorted.length; i++){
+				final int[] counts = bcis.get(sorted[i]);
+				selfs[i] = counts[0];
+				totals[i] = counts[1];
+			}
+			return new MethodSamples(className, name, descriptor, self, total, sorted, selfs, totals);
+		}
+	}
+	
+	private final Path                             file;
+	private final long                             samples;
+	private final List<MethodSamples>              hottest;
+	private final Map<String, List<MethodSamples>> classes;
+	private final int                              maxSelf;
+	
+	private JfrProfile(final Path file, final long samples, final List<MethodSamples> hottest){
+		this.file = file;
+		this.samples = samples;
+		this.hottest = hottest;
+		final Map<String, List<MethodSamples>> classes = new HashMap<>();
+		int                                    maxSelf = 0;
+		for(MethodSamples method : hottest){
+			classes.computeIfAbsent(method.className(), k -> new ArrayList<>()).add(method);
+			for(int count : method.selfCounts()) maxSelf = Math.max(maxSelf, count);
+		}
+		this.classes = classes;
+		this.maxSelf = maxSelf;
+	}
+	
+	/**
+	 * Streams the execution samples of a recording.
+	 */
+	public static JfrProfile read(final Path file, final ProgressIndicator indicator) throws IOException{
+		final Map<String, Accumulator>         methods = new HashMap<>();
+		final Map<RecordedMethod, Accumulator> cache   = new IdentityHashMap<>();
+		final Set<Accumulator>                 seen    = new HashSet<>();
+		long                                   events  = 0;
+		long                                   samples = 0;
+		indicator.setIndeterminate(true);
+		try(RecordingFile recording = new RecordingFile(file)){
+			while(recording.hasMoreEvents()){
+				final RecordedEvent event = recording.readEvent();
+				if((++events&0xFFF) == 0){
+					indicator.checkCanceled();
+					indicator.setText2(samples + " execution samples in " + events + " events");
+				}
+				if(!EXECUTION_SAMPLE.equals(event.getEventType().getName())) continue;
+				final RecordedStackTrace stack = event.getStackTrace();
+				if(stack == null || stack.getFrames().isEmpty()) continue;
+				samples++;
+				if(cache.size()>MAX_CACHED_METHODS) cache.clear();
+				
+				seen.clear();
+				boolean top = true;
+				for(RecordedFrame frame : stack.getFrames()){
+					if(!frame.isJavaFrame() || frame.getMethod() == null){
+						top = false;
+						continue;
+					}
+					final Accumulator method = cache.computeIfAbsent(frame.getMethod(), m -> accumulator(methods, m));
+					final int[]       counts = method.bcis.computeIfAbsent(Math.max(0, frame.getBytecodeIndex()), bci -> new int[2]);
+					if(top){
+						method.self++;
+						counts[0]++;
+						top = false;
+					}
+					if(seen.add(method)){
+						method.total++;
+						counts[1]++;
+					}
+				}
+			}
+		}
+		final List<MethodSamples> hottest = new ArrayList<>(methods.size());
+		for(Accumulator method : methods.values()) hottest.add(method.freeze());
+		hottest.sort(Comparator.comparingInt(MethodSamples::self).reversed().thenComparing(Comparator.comparingInt(MethodSamples::total).reversed()));
+		return new JfrProfile(file, samples, List.copyOf(hottest));
+	}
+	
+	private static Accumulator accumulator(final Map<String, Accumulator> methods, final RecordedMethod method){
+		final String className = method.getType().getName().replace('.', '/');
+		return methods.computeIfAbsent(className + '.' + method.getName() + method.getDescriptor(),
+		                               k -> new Accumulator(className, method.getName(), method.getDescriptor()));
+	}
+	
+	public Path getFile(){
+		return file;
+	}
+	
+	/**
+	 * @return the number of execution samples with a stack trace
+	 */
+	public long getSamples(){
+		return samples;
+	}
+	
+	/**
+	 * @return every sampled method, most self samples first
+	 */
+	public List<MethodSamples> getHottest(){
+		return hottest;
+	}
+	
+	/**
+	 * @param className the internal name of a class
+	 * @return the sampled methods of the class, most self samples first
+	 */
+	public List<MethodSamples> getMethods(final String className){
+		return classes.getOrDefault(className, List.of());
+	}
+	
+	/**
+	 * @return the most self samples of any bytecode index
+	 */
+	public int getMaxSelf(){
+		return maxSelf;
+	}
+	
+	/**
+	 * @return the share of all samples, in percent
+	 */
+	public double percent(final int count){
+		return samples == 0? 0 : 100.0*count/samples;
+	}
+	
+	@Override
+	public String toString(){
+		return file.getFileName() + " (" + samples + " samples, " + hottest.size() + " methods)";
+	}
+}
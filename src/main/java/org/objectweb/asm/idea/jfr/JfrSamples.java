@@ -0,0 +1,152 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jfr;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.SimpleListCellRenderer;
+import org.objectweb.asm.idea.BytecodeRenderer;
+import org.objectweb.asm.idea.ClassFileFinder;
+import org.objectweb.asm.idea.annotate.AnnotationInlayRenderer;
+import org.objectweb.asm.idea.annotate.BytecodeOffsets;
+import org.objectweb.asm.idea.annotate.InstructionAnnotation;
+import org.objectweb.asm.idea.annotate.InstructionAnnotations;
+import org.objectweb.asm.idea.annotate.InstructionAnnotator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the loaded {@link JfrProfile} and annotates the instructions of the shown class with their samples.
+ */
+public class JfrSamples implements InstructionAnnotator{
+	
+	/**
+	 * The hot methods list stops here, the rest are rarely worth a look.
+	 */
+	private static final int MAX_LISTED = 500;
+	
+	private final    Project    project;
+	private volatile JfrProfile profile;
+	
+	public JfrSamples(final Project project){
+		this.project = project;
+	}
+	
+	public static JfrSamples getInstance(Project project){
+		return project.getService(JfrSamples.class);
+	}
+	
+	/**
+	 * @return the loaded recording, or null
+	 */
+	public JfrProfile getProfile(){
+		return profile;
+	}
+	
+	/**
+	 * Replaces the loaded recording, null to drop it, and annotates the shown class again.
+	 */
+	public void setProfile(final JfrProfile profile){
+		this.profile = profile;
+		InstructionAnnotations.getInstance(project).refresh();
+	}
+	
+	@Override
+	public List<InstructionAnnotation> annotate(final String className, final byte[] bytes, final BytecodeOffsets offsets){
+		final JfrProfile loaded = profile;
+		if(loaded == null) return List.of();
+		final List<InstructionAnnotation> annotations = new ArrayList<>();
+		for(JfrProfile.MethodSamples method : loaded.getMethods(className)){
+			annotations.add(new InstructionAnnotation(method.method(), InstructionAnnotation.DECLARATION, describe(loaded, method.self(), method.total()), null));
+			for(int i = 0; i<method.bcis().length; i++){
+				final int instruction = offsets.instructionAt(method.method(), method.bcis()[i]);
+				if(instruction<0) continue;
+				final int self = method.selfCounts()[i];
+				annotations.add(new InstructionAnnotation(
+					method.method(), instruction, describe(loaded, self, method.totals()[i]),
+					self == 0? null : AnnotationInlayRenderer.heat(Math.sqrt((double)self/loaded.getMaxSelf()))
+				));
+			}
+		}
+		return annotations;
+	}
+	
+	private static String describe(final JfrProfile profile, final int self, final int total){
+		final String selfText = "%d samples (%.1f%%)".formatted(self, profile.percent(self));
+		if(total == self) return selfText;
+		return selfText + ", %d with callees (%.1f%%)".formatted(total, profile.percent(total));
+	}
+	
+	/**
+	 * Lists the sampled methods, most self samples first, and shows the picked one at its hottest instruction.
+	 */
+	public void showHotMethods(){
+		final JfrProfile loaded = profile;
+		if(loaded == null) return;
+		final List<JfrProfile.MethodSamples> methods = loaded.getHottest();
+		if(methods.isEmpty()){
+			JBPopupFactory.getInstance().createMessage("No execution samples in " + loaded.getFile().getFileName()).showCenteredInCurrentWindow(project);
+			return;
+		}
+		JBPopupFactory.getInstance()
+		              .createPopupChooserBuilder(methods.subList(0, Math.min(MAX_LISTED, methods.size())))
+		              .setTitle("Hot Methods of " + loaded)
+		              .setRenderer(SimpleListCellRenderer.<JfrProfile.MethodSamples>create((label, method, index) -> {
+			              label.setText("%5.1f%%  %5.1f%%  %s.%s%s".formatted(
+				              loaded.percent(method.self()), loaded.percent(method.total()),
+				              method.className().replace('/', '.'), method.name(), method.descriptor()
+			              ));
+			              label.setIcon(AllIcons.Nodes.Method);
+		              }))
+		              .setNamerForFiltering(method -> method.className() + "." + method.name())
+		              .setItemChosenCallback(this::navigate)
+		              .createPopup()
+		              .showCenteredInCurrentWindow(project);
+	}
+	
+	private void navigate(final JfrProfile.MethodSamples method){
+		ApplicationManager.getApplication().executeOnPooledThread(() -> {
+			final VirtualFile file = ClassFileFinder.of(project).find(method.className());
+			if(file == null){
+				message("No class file for " + method.className().replace('/', '.') + " in the project or its libraries");
+				return;
+			}
+			try{
+				final byte[] bytes       = file.contentsToByteArray();
+				final int    instruction = BytecodeOffsets.of(bytes).instructionAt(method.method(), method.hottestBci());
+				ApplicationManager.getApplication().invokeLater(() -> BytecodeRenderer.getInstance(project).reveal(
+					file, bytes, new BytecodeRenderer.MethodRef(method.name(), method.descriptor()), Math.max(0, instruction)
+				), project.getDisposed());
+			}catch(IOException e){
+				message("Could not read " + file.getPresentableUrl() + ": " + e.getMessage());
+			}
+		});
+	}
+	
+	private void message(final String text){
+		ApplicationManager.getApplication().invokeLater(
+			() -> JBPopupFactory.getInstance().createMessage(text).showCenteredInCurrentWindow(project), project.getDisposed()
+		);
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jfr;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Lists the hottest methods of the loaded JFR recording again.
+ */
+public class ShowHotMethodsAction extends AnAction{
+	
+	@Override
+	public @NotNull ActionUpdateThread getActionUpdateThread(){
+		return ActionUpdateThread.BGT;
+	}
+	
+	@Override
+	public void update(final @NotNull AnActionEvent e){
+		final Project project = e.getProject();
+		e.getPresentation().setEnabled(project != null && JfrSamples.getInstance(project).getProfile() != null);
+	}
+	
+	@Override
+	public void actionPerformed(final @NotNull AnActionEvent e){
+		final Project project = e.getProject();
+		if(project != null) JfrSamples.getInstance(project).showHotMethods();
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.ui.JBColor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.ClassFileFinder;
+import org.objectweb.asm.idea.annotate.BytecodeOffsets;
+import org.objectweb.asm.idea.annotate.InstructionAnnotation;
+import org.objectweb.asm.idea.annotate.InstructionAnnotator;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Annotates every method call of the shown class with the bytecode size of the callee, weighed against the inlining
+ * thresholds of HotSpot: callees up to {@code MaxInlineSize} are inlined wherever they are called, callees up to
+ * {@code FreqInlineSize} only at hot call sites, larger ones never.
+ * <p>
+ * The call is resolved statically, as the JVM links it. A virtual call may dispatch to an override of another size.
+ * Nothing is resolved unless {@link ASMPluginComponent#isCalleeSizes() enabled} in the settings.
+ */
+public class CalleeSizes implements InstructionAnnotator{
+	
+	private final Project project;
+	
+	public CalleeSizes(final Project project){
+		this.project = project;
+	}
+	
+	public static CalleeSizes getInstance(Project project){
+		return project.getService(CalleeSizes.class);
+	}
+	
+	@Override
+	public List<InstructionAnnotation> annotate(final String className, final byte[] bytes, final BytecodeOffsets offsets){
+		final ASMPluginComponent settings = project.getService(ASMPluginComponent.class);
+		if(!settings.isCalleeSizes()) return List.of();
+		
+		final ClassNode node = new ClassNode();
+		new ClassReader(bytes).accept(node, ClassReader.SKIP_DEBUG|ClassReader.SKIP_FRAMES);
+		
+		final MethodSizeIndex                               index       = MethodSizeIndex.getInstance(project);
+		final Map<String, Optional<MethodSizeIndex.Callee>> callees     = new HashMap<>();
+		final List<InstructionAnnotation>                   annotations = new ArrayList<>();
+		ClassFileFinder                                     finder      = null;
+		for(MethodNode method : node.methods){
+			int instruction = 0;
+			for(AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()){
+				if(insn.getOpcode()<0) continue;
+				if(insn instanceof MethodInsnNode call){
+					if(finder == null) finder = ClassFileFinder.of(project);
+					final ClassFileFinder resolver = finder;
+					// a class calls the same few methods over and over
+					final MethodSizeIndex.Callee callee = callees.computeIfAbsent(
+						call.owner + '.' + call.name + call.desc,
+						k -> Optional.ofNullable(index.resolve(resolver, call.owner, call.name + call.desc))
+					).orElse(null);
+					annotations.add(annotation(method.name + method.desc, instruction, callee, settings));
+				}
+				instruction++;
+			}
+		}
+		return annotations;
+	}
+	
+	private static InstructionAnnotation annotation(final String method, final int instruction, final MethodSizeIndex.Callee callee, final ASMPluginComponent settings){
+		final String text;
+		final Color  color;
+		if(callee == null){
+			text = "callee not on the classpath";
+			color = null;
+		}else if(callee.size() == MethodSizes.NO_CODE){
+			text = "callee has no code, the receiver decides";
+			color = null;
+		}else if(callee.size()<=settings.getMaxInlineSize()){
+			text = "callee " + callee.size() + " bytes, within MaxInlineSize " + settings.getMaxInlineSize();
+			color = null;
+		}else if(callee.size()<=settings.getFreqInlineSize()){
+			text = "callee " + callee.size() + " bytes, over MaxInlineSize " + settings.getMaxInlineSize() + ", inlined only if hot";
+			color = JBColor.ORANGE;
+		}else{
+			text = "callee " + callee.size() + " bytes, over FreqInlineSize " + settings.getFreqInlineSize() + ", never inlined";
+			color = JBColor.RED;
+		}
+		return new InstructionAnnotation(method, instruction, text, color);
+	}
+}
@@ -0,0 +1,420 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What a HotSpot {@code -XX:+LogCompilation} log says about each method: which compilers compiled it, the inlining
+ * decision at each of its call sites, and the uncommon traps and deoptimizations at each bytecode index.
+ * <p>
+ * The log is read with a SAX parser and only these notes are kept, counted when they repeat, so logs of any size can
+ * be read. Once read, the notes are indexed by class and method.
+ */
+public final class CompilationLog{
+	
+	public enum Severity{
+		/**
+		 * Inlined calls and intrinsics.
+		 */
+		INFO,
+		/**
+		 * Calls which were not inlined and traps compiled in.
+		 */
+		WARNING,
+		/**
+		 * Traps hit and deoptimizations while running.
+		 */
+		RUNTIME
+	}
+	
+	/**
+	 * A note at one bytecode index.
+	 *
+	 * @param text  the note, with its repeat count when it occurs more than once
+	 * @param level the most severe occurrence
+	 */
+	public record Note(String text, Severity level){ }
+	
+	/**
+	 * The notes of one method.
+	 *
+	 * @param className   the internal name of the class of the method
+	 * @param compilations the compilers and tiers which compiled the method, like {@code C2 level 4}
+	 * @param notes       the notes by bytecode index
+	 */
+	public record MethodLog(String className, String name, String descriptor, List<String> compilations,
+	                        int notEntrant, Map<Integer, List<Note>> notes){
+		
+		public String method(){
+			return name + descriptor;
+		}
+	}
+	
+	/**
+	 * A method as it is written in the {@code method} attributes of the log: holder, name and descriptor separated by
+	 * spaces.
+	 */
+	private record MethodKey(String className, String name, String descriptor){
+		
+		private static MethodKey parse(final String text){
+			if(text == null) return null;
+			final int first  = text.indexOf(' ');
+			final int second = text.indexOf(' ', first + 1);
+			if(first<0 || second<0) return null;
+			return new MethodKey(text.substring(0, first).replace('.', '/'), text.substring(first + 1, second), text.substring(second + 1));
+		}
+	}
+	
+	/**
+	 * Notes of one method while the log is read, each with its count and level.
+	 */
+	private static final class Accumulator{
+		private final MethodKey                        key;
+		private final List<String>                     compilations = new ArrayList<>();
+		private final Map<Integer, Map<String, int[]>> notes        = new TreeMap<>();
+		private       int                              notEntrant;
+		
+		private Accumulator(final MethodKey key){
+			this.key = key;
+		}
+		
+		private void note(final int bci, final String text, final Severity level){
+			if(bci<0) return;
+			final int[] counts = notes.computeIfAbsent(bci, k -> new LinkedHashMap<>()).computeIfAbsent(text, k -> new int[2]);
+			counts[0]++;
+			counts[1] = Math.max(counts[1], level.ordinal());
+		}
+		
+		private MethodLog freeze(){
+			final Map<Integer, List<Note>> frozen = new TreeMap<>();
+			for(Map.Entry<Integer, Map<String, int[]>> bci : notes.entrySet()){
+				final List<Note> list = new ArrayList<>(bci.getValue().size());
+				for(Map.Entry<String, int[]> note : bci.getValue().entrySet()){
+					final int[] counts = note.getValue();
+					list.add(new Note(counts[0] == 1? note.getKey() : note.getKey() + " ×" + counts[0], Severity.values()[counts[1]]));
+				}
+				frozen.put(bci.getKey(), List.copyOf(list));
+			}
+			return new MethodLog(key.className(), key.name(), key.descriptor(), List.copyOf(compilations), notEntrant, frozen);
+		}
+	}
+	
+	private final Path                         file;
+	private final Map<String, List<MethodLog>> classes;
+	private final int                          methods;
+	private final String                       warning;
+	
+	private CompilationLog(final Path file, final Map<String, List<MethodLog>> classes, final int methods, final String warning){
+		this.file = file;
+		this.classes = classes;
+		this.methods = methods;
+		this.warning = warning;
+	}
+	
+	public static CompilationLog read(final Path file, final ProgressIndicator indicator) throws IOException{
+		final long size    = Files.size(file);
+		Handler    handler = null;
+		String     warning = null;
+		try(CountingInputStream in = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file), 1<<16))){
+			handler = new Handler(indicator, in, size);
+			// the log is picked by the user and may come from anywhere: no entity may reach outside of it
+			final SAXParserFactory factory = SAXParserFactory.newInstance();
+			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+			factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+			factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+			factory.newSAXParser().parse(new InputSource(in), handler);
+		}catch(SAXParseException e){
+			// a JVM which did not exit cleanly leaves the log unterminated, what was read so far is still good
+			warning = "Stopped reading at line " + e.getLineNumber() + ": " + e.getMessage();
+		}catch(SAXException | ParserConfigurationException e){
+			throw new IOException(e.getMessage(), e);
+		}
+		
+		final Map<String, List<MethodLog>> classes = new HashMap<>();
+		for(Accumulator method : handler.methods.values()){
+			classes.computeIfAbsent(method.key.className(), k -> new ArrayList<>()).add(method.freeze());
+		}
+		return new CompilationLog(file, classes, handler.methods.size(), warning);
+	}
+	
+	public Path getFile(){
+		return file;
+	}
+	
+	/**
+	 * @param className the internal name of a class
+	 * @return the logged methods of the class
+	 */
+	public List<MethodLog> getMethods(final String className){
+		return classes.getOrDefault(className, List.of());
+	}
+	
+	/**
+	 * @return why the log was not read to its end, or null
+	 */
+	public String getWarning(){
+		return warning;
+	}
+	
+	@Override
+	public String toString(){
+		return file.getFileName() + " (" + methods + " methods in " + classes.size() + " classes)";
+	}
+	
+	private static final class CountingInputStream extends FilterInputStream{
+		private long position;
+		
+		private CountingInputStream(final InputStream in){
+			super(in);
+		}
+		
+		@Override
+		public int read() throws IOException{
+			final int b = super.read();
+			if(b>=0) position++;
+			return b;
+		}
+		
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException{
+			final int n = super.read(b, off, len);
+			if(n>0) position += n;
+			return n;
+		}
+	}
+	
+	/**
+	 * Follows the nesting of {@code parse} elements, each one the bytecode of a method parsed for a compilation, either
+	 * the compiled method or a callee being inlined into it.
+	 */
+	private static final class Handler extends DefaultHandler{
+		
+		/**
+		 * The method being parsed, the bytecode index reached and the call made there.
+		 */
+		private static final class Parse{
+			private final Accumulator method;
+			private       int         bci = -1;
+			private       MethodKey   call;
+			private       boolean     decided;
+			
+			private Parse(final Accumulator method){
+				this.method = method;
+			}
+		}
+		
+		private final ProgressIndicator   indicator;
+		private final CountingInputStream in;
+		private final long                size;
+		private       int                 elements;
+		
+		private final Map<MethodKey, Accumulator> methods   = new HashMap<>();
+		// C1 or C2 for each compilation, from the nmethod and task_queued elements which come first
+		private final Map<String, String>         compilers = new HashMap<>();
+		private final Map<String, MethodKey>      compiled  = new HashMap<>();
+		
+		// ids are only valid within a task
+		private final Map<String, String>    types      = new HashMap<>();
+		private final Map<String, MethodKey> taskMethod = new HashMap<>();
+		private final Deque<Parse>           parses     = new ArrayDeque<>();
+		private       String                 compiler;
+		
+		// a trap or deoptimization while running, placed by its first jvms element
+		private String runtimeEvent;
+		
+		private Handler(final ProgressIndicator indicator, final CountingInputStream in, final long size){
+			this.indicator = indicator;
+			this.in = in;
+			this.size = size;
+		}
+		
+		private Accumulator method(final MethodKey key){
+			return methods.computeIfAbsent(key, Accumulator::new);
+		}
+		
+		@Override
+		public void startElement(final String uri, final String localName, final String qName, final Attributes attributes){
+			if((++elements&0x3FFF) == 0){
+				indicator.checkCanceled();
+				if(size>0) indicator.setFraction((double)in.position/size);
+			}
+			switch(qName){
+				case "task_queued" -> {
+					final String level = attributes.getValue("level");
+					if(level != null) compilers.putIfAbsent(attributes.getValue("compile_id"), level.equals("4")? "C2" : "C1");
+				}
+				case "nmethod" -> {
+					final String    id       = attributes.getValue("compile_id");
+					final String    compiler = attributes.getValue("compiler");
+					final String    level    = attributes.getValue("level");
+					final MethodKey method   = MethodKey.parse(attributes.getValue("method"));
+					if(compiler != null) compilers.put(id, compiler.toUpperCase());
+					if(method == null) return;
+					compiled.put(id, method);
+					final String compilation = (compiler == null? "compiled" : compiler.toUpperCase()) + (level == null? "" : " level " + level) +
+					                           ("osr".equals(attributes.getValue("compile_kind"))? " OSR" : "");
+					final List<String> compilations = method(method).compilations;
+					if(!compilations.contains(compilation)) compilations.add(compilation);
+				}
+				case "make_not_entrant" -> {
+					final MethodKey method = compiled.get(attributes.getValue("compile_id"));
+					if(method != null) method(method).notEntrant++;
+				}
+				case "task" -> {
+					types.clear();
+					taskMethod.clear();
+					parses.clear();
+					compiler = compilers.getOrDefault(attributes.getValue("compile_id"), "JIT");
+				}
+				case "type" -> types.put(attributes.getValue("id"), primitive(attributes.getValue("name")));
+				case "klass" -> {
+					final String name = attributes.getValue("name").replace('.', '/');
+					types.put(attributes.getValue("id"), name.startsWith("[")? name : "L" + name + ";");
+				}
+				case "method" -> {
+					final String holder = types.get(attributes.getValue("holder"));
+					if(holder == null || !holder.startsWith("L")) return;
+					final StringBuilder descriptor = new StringBuilder("(");
+					final String        arguments  = attributes.getValue("arguments");
+					if(arguments != null){
+						for(String argument : arguments.split(" ")) descriptor.append(types.getOrDefault(argument, "?"));
+					}
+					descriptor.append(')').append(types.getOrDefault(attributes.getValue("return"), "?"));
+					taskMethod.put(attributes.getValue("id"), new MethodKey(holder.substring(1, holder.length() - 1), attributes.getValue("name"), descriptor.toString()));
+				}
+				case "parse" -> {
+					final MethodKey method = taskMethod.get(attributes.getValue("method"));
+					final Parse     caller = parses.peek();
+					// older VMs only tell a call was inlined by parsing the callee right after it
+					if(caller != null && caller.call != null && !caller.decided && caller.call.equals(method)){
+						caller.method.note(caller.bci, compiler + " inlined", Severity.INFO);
+						caller.decided = true;
+					}
+					parses.push(new Parse(method == null? null : method(method)));
+				}
+				case "bc" -> {
+					final Parse parse = parses.peek();
+					if(parse == null) return;
+					parse.bci = parseInt(attributes.getValue("bci"));
+					parse.call = null;
+					parse.decided = false;
+				}
+				case "call" -> {
+					final Parse parse = parses.peek();
+					if(parse != null) parse.call = taskMethod.get(attributes.getValue("method"));
+				}
+				case "inline_success" -> decision(compiler + " inlined" + reason(attributes), Severity.INFO);
+				case "inline_fail" -> decision(compiler + " not inlined" + reason(attributes), Severity.WARNING);
+				case "intrinsic" -> decision(compiler + " intrinsic " + attributes.getValue("id"), Severity.INFO);
+				case "uncommon_trap" -> {
+					final String trap = attributes.getValue("reason") + "/" + attributes.getValue("action");
+					final String bci  = attributes.getValue("bci");
+					if(attributes.getValue("thread") != null){
+						runtimeEvent = "uncommon trap hit: " + trap;
+					}else if(bci != null){
+						final Parse parse = parses.peek();
+						if(parse != null && parse.method != null) parse.method.note(parseInt(bci), compiler + " uncommon trap " + trap, Severity.WARNING);
+					}
+				}
+				case "deoptimized" -> runtimeEvent = "deoptimized: " + attributes.getValue("reason");
+				case "jvms" -> {
+					if(runtimeEvent == null) return;
+					final MethodKey method = MethodKey.parse(attributes.getValue("method"));
+					if(method != null) method(method).note(parseInt(attributes.getValue("bci")), runtimeEvent, Severity.RUNTIME);
+					runtimeEvent = null;
+				}
+				default -> {
+				}
+			}
+		}
+		
+		@Override
+		public void endElement(final String uri, final String localName, final String qName){
+			switch(qName){
+				case "parse" -> parses.poll();
+				case "uncommon_trap", "deoptimized" -> runtimeEvent = null;
+				default -> {
+				}
+			}
+		}
+		
+		/**
+		 * Notes the inlining decision for the call at the current bytecode index of the innermost parse.
+		 */
+		private void decision(final String text, final Severity level){
+			final Parse parse = parses.peek();
+			if(parse == null || parse.method == null || parse.bci<0 || parse.decided) return;
+			parse.method.note(parse.bci, text, level);
+			parse.decided = true;
+		}
+		
+		private static String reason(final Attributes attributes){
+			final String reason = attributes.getValue("reason");
+			return reason == null? "" : ": " + reason;
+		}
+		
+		private static String primitive(final String name){
+			return switch(name){
+				case "void" -> "V";
+				case "boolean" -> "Z";
+				case "byte" -> "B";
+				case "char" -> "C";
+				case "short" -> "S";
+				case "int" -> "I";
+				case "long" -> "J";
+				case "float" -> "F";
+				case "double" -> "D";
+				default -> "L" + name.replace('.', '/') + ";";
+			};
+		}
+		
+		private static int parseInt(final String value){
+			try{
+				return value == null? -1 : Integer.parseInt(value);
+			}catch(NumberFormatException e){
+				return -1;
+			}
+		}
+	}
+}
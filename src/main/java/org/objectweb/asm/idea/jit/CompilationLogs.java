@@ -0,0 +1,103 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.ui.JBColor;
+import org.objectweb.asm.idea.annotate.BytecodeOffsets;
+import org.objectweb.asm.idea.annotate.InstructionAnnotation;
+import org.objectweb.asm.idea.annotate.InstructionAnnotations;
+import org.objectweb.asm.idea.annotate.InstructionAnnotator;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the loaded {@link CompilationLog} and annotates the instructions of the shown class with its notes.
+ */
+public class CompilationLogs implements InstructionAnnotator{
+	
+	private final    Project        project;
+	private volatile CompilationLog log;
+	
+	public CompilationLogs(final Project project){
+		this.project = project;
+	}
+	
+	public static CompilationLogs getInstance(Project project){
+		return project.getService(CompilationLogs.class);
+	}
+	
+	/**
+	 * @return the loaded log, or null
+	 */
+	public CompilationLog getLog(){
+		return log;
+	}
+	
+	/**
+	 * Replaces the loaded log, null to drop it, and annotates the shown class again.
+	 */
+	public void setLog(final CompilationLog log){
+		this.log = log;
+		InstructionAnnotations.getInstance(project).refresh();
+	}
+	
+	@Override
+	public List<InstructionAnnotation> annotate(final String className, final byte[] bytes, final BytecodeOffsets offsets){
+		final CompilationLog loaded = log;
+		if(loaded == null) return List.of();
+		final List<InstructionAnnotation> annotations = new ArrayList<>();
+		for(CompilationLog.MethodLog method : loaded.getMethods(className)){
+			if(!method.compilations().isEmpty() || method.notEntrant()>0){
+				final String compiled = method.compilations().isEmpty()? "" : "compiled " + String.join(", ", method.compilations());
+				final String dropped  = method.notEntrant() == 0? "" : "made not entrant ×" + method.notEntrant();
+				annotations.add(new InstructionAnnotation(
+					method.method(), InstructionAnnotation.DECLARATION,
+					compiled + (compiled.isEmpty() || dropped.isEmpty()? "" : "; ") + dropped, null
+				));
+			}
+			for(Map.Entry<Integer, List<CompilationLog.Note>> notes : method.notes().entrySet()){
+				final int instruction = offsets.instructionAt(method.method(), notes.getKey());
+				if(instruction<0) continue;
+				final CompilationLog.Severity level = notes.getValue().stream()
+				                                           .map(CompilationLog.Note::level)
+				                                           .max(Enum::compareTo)
+				                                           .orElse(CompilationLog.Severity.INFO);
+				annotations.add(new InstructionAnnotation(
+					method.method(), instruction,
+					notes.getValue().stream().map(CompilationLog.Note::text).collect(Collectors.joining("; ")),
+					color(level)
+				));
+			}
+		}
+		return annotations;
+	}
+	
+	private static Color color(final CompilationLog.Severity level){
+		return switch(level){
+			case INFO -> null;
+			case WARNING -> JBColor.ORANGE;
+			case RUNTIME -> JBColor.RED;
+		};
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.export.ClassFiles;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Finds the code HotSpot handles badly in a set of class directories: methods too large to be compiled, methods just
+ * too large to be inlined, long static initializers and very large switches.
+ * <p>
+ * The report keeps what it found in every class, along with the class file time stamp, size and a hash of its
+ * contents. Running it again only reads the class files whose time stamp or size changed, and only scans those whose
+ * contents did, so after a build only the recompiled classes which really changed are scanned.
+ */
+public final class JitReport{
+	
+	/**
+	 * A method is just over a threshold up to this fraction over it, close enough to get under it again with a small
+	 * refactoring.
+	 */
+	static final double NEAR_FRACTION = 0.2;
+	/**
+	 * Static initializers run once, interpreted, so only long ones matter, for startup time.
+	 */
+	static final int    LARGE_CLINIT  = 2000;
+	/**
+	 * Cases, or keys, above which a switch is large.
+	 */
+	static final int    LARGE_SWITCH  = 256;
+	
+	public enum Kind{
+		HUGE_METHOD("Not compiled"),
+		NEAR_FREQ_INLINE("Just over FreqInlineSize"),
+		NEAR_MAX_INLINE("Just over MaxInlineSize"),
+		LARGE_CLINIT("Long static initializer"),
+		LARGE_SWITCH("Large switch");
+		
+		public final String label;
+		
+		Kind(final String label){
+			this.label = label;
+		}
+	}
+	
+	/**
+	 * A problem found in one method.
+	 *
+	 * @param root        the class directory
+	 * @param entry       the path of the class file in the directory
+	 * @param method      the method name and descriptor
+	 * @param instruction the index of the instruction at fault among the real instructions of the method, 0 when the
+	 *                    whole method is
+	 * @param size        the size of the method in bytes, or the number of cases of the switch
+	 * @param text        what is wrong
+	 */
+	public record Finding(Kind kind, Path root, String entry, String method, int instruction, int size, String text){
+		
+		public String getClassName(){
+			return entry.substring(0, entry.length() - ".class".length()).replace('/', '.');
+		}
+		
+		public String getMethodName(){
+			return method.substring(0, method.indexOf('('));
+		}
+		
+		public String getMethodDescriptor(){
+			return method.substring(method.indexOf('('));
+		}
+	}
+	
+	/**
+	 * @param findings every finding, most severe kind first, then largest first
+	 * @param classes  the number of class files in the directories
+	 * @param scanned  the number of them which were scanned, the others did not change since the last run
+	 */
+	public record Result(List<Finding> findings, int classes, int scanned){ }
+	
+	private record ScannedClass(long modified, long length, long hash, List<Finding> findings){ }
+	
+	private final Map<Path, Map<String, ScannedClass>> roots = new HashMap<>();
+	// the thresholds the kept findings were made with
+	private       int                                  maxInlineSize;
+	private       int                                  freqInlineSize;
+	
+	/**
+	 * Scans the class directories, reusing the findings of the classes which did not change since the last run.
+	 */
+	public synchronized Result run(final List<Path> directories, final int maxInlineSize, final int freqInlineSize, final int parallelism,
+	                               final BooleanSupplier cancelled) throws IOException{
+		if(maxInlineSize != this.maxInlineSize || freqInlineSize != this.freqInlineSize){
+			roots.clear();
+			this.maxInlineSize = maxInlineSize;
+			this.freqInlineSize = freqInlineSize;
+		}
+		roots.keySet().retainAll(directories);
+		
+		final AtomicInteger classes  = new AtomicInteger();
+		final AtomicInteger scanned  = new AtomicInteger();
+		final ForkJoinPool  pool     = new ForkJoinPool(parallelism);
+		final List<Finding> findings = new ArrayList<>();
+		try{
+			for(Path root : directories){
+				if(!Files.isDirectory(root)) continue;
+				final Map<String, ScannedClass> previous = roots.getOrDefault(root, Map.of());
+				final Map<String, ScannedClass> current  = new ConcurrentHashMap<>();
+				try(ClassFiles files = ClassFiles.open(root)){
+					pool.submit(() -> files.names().parallelStream().forEach(name -> {
+						if(cancelled.getAsBoolean()) return;
+						final ScannedClass scannedClass = update(root, files, name, previous.get(name), scanned);
+						if(scannedClass != null) current.put(name, scannedClass);
+					})).get();
+					classes.addAndGet(files.names().size());
+				}
+				// classes skipped when cancelled or unreadable are missing, and scanned next time
+				roots.put(root, current);
+				for(ScannedClass scannedClass : current.values()) findings.addAll(scannedClass.findings);
+			}
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while scanning", e);
+		}catch(ExecutionException e){
+			throw new IOException("Could not scan", e.getCause());
+		}finally{
+			pool.shutdown();
+		}
+		findings.sort(Comparator.comparing(Finding::kind).thenComparing(Comparator.comparingInt(Finding::size).reversed()));
+		return new Result(findings, classes.get(), scanned.get());
+	}
+	
+	/**
+	 * @return what was found in the class, or null if its file can't be read, such as when a build deleted it during the
+	 * scan
+	 */
+	private ScannedClass update(final Path root, final ClassFiles files, final String name, final ScannedClass previous, final AtomicInteger scanned){
+		final Path   file = root.resolve(name);
+		final long   modified;
+		final long   length;
+		final byte[] bytes;
+		try{
+			modified = Files.getLastModifiedTime(file).toMillis();
+			length = Files.size(file);
+			if(previous != null && previous.modified == modified && previous.length == length) return previous;
+			bytes = files.read(name);
+		}catch(IOException e){
+			return null;
+		}
+		
+		final CRC32 crc = new CRC32();
+		crc.update(bytes);
+		final long hash = crc.getValue();
+		if(previous != null && previous.hash == hash) return new ScannedClass(modified, length, hash, previous.findings);
+		
+		scanned.incrementAndGet();
+		List<Finding> findings;
+		try{
+			findings = scan(root, name, bytes, maxInlineSize, freqInlineSize);
+		}catch(RuntimeException e){
+			// a class ASM can't read is skipped, it would not show in the views either
+			findings = List.of();
+		}
+		return new ScannedClass(modified, length, hash, findings);
+	}
+	
+	/**
+	 * @return the findings in one class
+	 */
+	static List<Finding> scan(final Path root, final String entry, final byte[] bytes, final int maxInlineSize, final int freqInlineSize){
+		final MethodSizes sizes = MethodSizes.of(bytes);
+		final ClassNode   node  = new ClassNode();
+		new ClassReader(bytes).accept(node, ClassReader.SKIP_DEBUG|ClassReader.SKIP_FRAMES);
+		
+		final List<Finding> findings = new ArrayList<>();
+		for(MethodNode method : node.methods){
+			final String key  = method.name + method.desc;
+			final int    size = sizes.sizeOf(key);
+			if(size<=0) continue;
+			if("<clinit>".equals(method.name)){
+				if(size>LARGE_CLINIT){
+					findings.add(new Finding(Kind.LARGE_CLINIT, root, entry, key, 0, size, size + " bytes, run once interpreted"));
+				}
+			}else if(size>MethodSizes.HUGE_METHOD_LIMIT){
+				findings.add(new Finding(Kind.HUGE_METHOD, root, entry, key, 0, size,
+				                         size + " bytes, over HugeMethodLimit " + MethodSizes.HUGE_METHOD_LIMIT + ", never compiled"));
+			}else if(size>freqInlineSize && size<=freqInlineSize*(1 + NEAR_FRACTION)){
+				findings.add(new Finding(Kind.NEAR_FREQ_INLINE, root, entry, key, 0, size,
+				                         size + " bytes, " + (size - freqInlineSize) + " over FreqInlineSize " + freqInlineSize));
+			}else if(size>maxInlineSize && size<=maxInlineSize*(1 + NEAR_FRACTION)){
+				findings.add(new Finding(Kind.NEAR_MAX_INLINE, root, entry, key, 0, size,
+				                         size + " bytes, " + (size - maxInlineSize) + " over MaxInlineSize " + maxInlineSize));
+			}
+			
+			int instruction = 0;
+			for(AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()){
+				if(insn.getOpcode()<0) continue;
+				if(insn instanceof TableSwitchInsnNode table && table.labels.size()>LARGE_SWITCH){
+					findings.add(new Finding(Kind.LARGE_SWITCH, root, entry, key, instruction, table.labels.size(),
+					                         "TABLESWITCH of " + table.labels.size() + " cases"));
+				}else if(insn instanceof LookupSwitchInsnNode lookup && lookup.keys.size()>LARGE_SWITCH){
+					findings.add(new Finding(Kind.LARGE_SWITCH, root, entry, key, instruction, lookup.keys.size(),
+					                         "LOOKUPSWITCH of " + lookup.keys.size() + " keys"));
+				}
+				instruction++;
+			}
+		}
+		return findings;
+	}
+}
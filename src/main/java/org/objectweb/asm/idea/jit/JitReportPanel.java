@@ -0,0 +1,294 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.pom.Navigatable;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassInitializer;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.util.ClassUtil;
+import com.intellij.ui.CollectionListModel;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBList;
+import com.intellij.ui.content.Content;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.BytecodeRenderer;
+import org.objectweb.asm.idea.ClassFileFinder;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+
+/**
+ * Runs the {@link JitReport} over the module outputs of the project and lists its findings. Opening a finding shows
+ * its method both in the source editor and in the Bytecode view.
+ */
+public class JitReportPanel extends SimpleToolWindowPanel implements Disposable{
+	
+	public static final String TAB_NAME = "JIT Report";
+	
+	private final Project                                project;
+	// kept across runs, so a run after a build only scans the classes which changed
+	private final JitReport                              report   = new JitReport();
+	private final CollectionListModel<JitReport.Finding> findings = new CollectionListModel<>();
+	private final JBList<JitReport.Finding>              list     = new JBList<>(findings);
+	private final JBLabel                                status   = new JBLabel(" ");
+	
+	private volatile ProgressIndicator running;
+	
+	public JitReportPanel(final Project project){
+		super(true, true);
+		this.project = project;
+		setupUI();
+	}
+	
+	public static JitReportPanel getInstance(Project project){
+		return project.getService(JitReportPanel.class);
+	}
+	
+	private void setupUI(){
+		final DefaultActionGroup actions = new DefaultActionGroup(new RunAction(), new StopAction(), new JumpToSourceAction());
+		final ActionToolbar      toolbar = ActionManager.getInstance().createActionToolbar("ASM", actions, true);
+		toolbar.setTargetComponent(this);
+		setToolbar(toolbar.getComponent());
+		
+		list.setCellRenderer(SimpleListCellRenderer.<JitReport.Finding>create((label, finding, index) -> {
+			label.setText(finding.kind().label + "   " + finding.getClassName() + "." + finding.getMethodName() +
+			              (finding.instruction()>0? " #" + finding.instruction() : "") + "   " + finding.text());
+			label.setIcon(finding.kind() == JitReport.Kind.HUGE_METHOD? AllIcons.General.Error : AllIcons.General.Warning);
+		}));
+		list.getEmptyText().setText("Scan the module outputs for methods HotSpot compiles or inlines badly");
+		new DoubleClickListener(){
+			@Override
+			protected boolean onDoubleClick(final @NotNull MouseEvent event){
+				navigate(list.getSelectedValue());
+				return true;
+			}
+		}.installOn(list);
+		list.addKeyListener(new KeyAdapter(){
+			@Override
+			public void keyPressed(final KeyEvent e){
+				if(e.getKeyCode() == KeyEvent.VK_ENTER) navigate(list.getSelectedValue());
+			}
+		});
+		
+		final JPanel content = new JPanel(new BorderLayout());
+		content.add(ScrollPaneFactory.createScrollPane(list), BorderLayout.CENTER);
+		content.add(status, BorderLayout.SOUTH);
+		setContent(content);
+	}
+	
+	/**
+	 * Shows the report tab and scans the module outputs in the background.
+	 */
+	public void run(){
+		final ToolWindow toolWindow = ToolWindowManager.getInstance(project).getToolWindow("ASM");
+		if(toolWindow != null){
+			toolWindow.activate(() -> {
+				final Content content = toolWindow.getContentManager().findContent(TAB_NAME);
+				if(content != null) toolWindow.getContentManager().setSelectedContent(content);
+			});
+		}
+		if(running != null) return;
+		
+		final ASMPluginComponent settings   = project.getService(ASMPluginComponent.class);
+		final int                maxInline  = settings.getMaxInlineSize();
+		final int                freqInline = settings.getFreqInlineSize();
+		status.setText("Scanning...");
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Scanning module outputs for JIT-hostile code", true){
+			private ProgressIndicator indicator;
+			private JitReport.Result  result;
+			private String            error;
+			private long              millis;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				this.indicator = indicator;
+				running = indicator;
+				indicator.setIndeterminate(true);
+				final long start = System.nanoTime();
+				try{
+					result = report.run(ClassFileFinder.outputDirectories(project), maxInline, freqInline, Runtime.getRuntime().availableProcessors(), indicator::isCanceled);
+				}catch(IOException e){
+					error = e.getMessage();
+				}
+				millis = (System.nanoTime() - start)/1_000_000;
+			}
+			
+			@Override
+			public void onFinished(){
+				if(running == indicator) running = null;
+				if(error != null){
+					status.setText("Could not scan the module outputs: " + error);
+					return;
+				}
+				if(result == null) return;
+				findings.replaceAll(result.findings());
+				status.setText(result.findings().size() + " findings in " + result.classes() + " classes, " + result.scanned() + " scanned, " +
+				               millis + " ms" + (indicator != null && indicator.isCanceled()? ", stopped" : ""));
+			}
+		});
+	}
+	
+	private void navigate(final JitReport.Finding finding){
+		if(finding == null) return;
+		jumpToSource(finding);
+		final VirtualFile file = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(finding.root().resolve(finding.entry()));
+		if(file == null){
+			status.setText(finding.entry() + " no longer exists");
+			return;
+		}
+		try{
+			BytecodeRenderer.getInstance(project).reveal(
+				file, file.contentsToByteArray(), new BytecodeRenderer.MethodRef(finding.getMethodName(), finding.getMethodDescriptor()), finding.instruction()
+			);
+		}catch(IOException e){
+			status.setText("Could not read " + file.getPresentableUrl() + ": " + e.getMessage());
+		}
+	}
+	
+	private void jumpToSource(final JitReport.Finding finding){
+		final PsiElement source = ReadAction.compute(() -> findSource(finding));
+		if(source instanceof Navigatable navigatable && navigatable.canNavigate()) navigatable.navigate(true);
+		else status.setText("No source for " + finding.getClassName());
+	}
+	
+	/**
+	 * @return the source of the method of a finding, or of its class if the method has no source of its own
+	 */
+	private PsiElement findSource(final JitReport.Finding finding){
+		final PsiClass psiClass = ClassUtil.findPsiClassByJVMName(PsiManager.getInstance(project), finding.getClassName());
+		if(psiClass == null) return null;
+		final String name       = finding.getMethodName();
+		final String descriptor = finding.getMethodDescriptor();
+		if("<clinit>".equals(name)){
+			for(PsiClassInitializer initializer : psiClass.getInitializers()){
+				if(initializer.hasModifierProperty(PsiModifier.STATIC)) return initializer.getNavigationElement();
+			}
+			return psiClass.getNavigationElement();
+		}
+		final PsiMethod[] methods = "<init>".equals(name)? psiClass.getConstructors() : psiClass.findMethodsByName(name, false);
+		for(PsiMethod method : methods){
+			if(descriptor.equals(ClassUtil.getAsmMethodSignature(method))) return method.getNavigationElement();
+		}
+		return psiClass.getNavigationElement();
+	}
+	
+	@Override
+	public void dispose(){
+		final ProgressIndicator indicator = running;
+		if(indicator != null) indicator.cancel();
+	}
+	
+	private final class RunAction extends AnAction{
+		
+		private RunAction(){
+			super("Scan Module Outputs", "Scan the classes the build wrote, only those changed since the last scan", AllIcons.Actions.Execute);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void update(final @NotNull AnActionEvent e){
+			e.getPresentation().setEnabled(running == null);
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			run();
+		}
+	}
+	
+	private final class StopAction extends AnAction{
+		
+		private StopAction(){
+			super("Stop", "Stop the running scan", AllIcons.Actions.Suspend);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void update(final @NotNull AnActionEvent e){
+			e.getPresentation().setEnabled(running != null);
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			final ProgressIndicator indicator = running;
+			if(indicator != null) indicator.cancel();
+		}
+	}
+	
+	private final class JumpToSourceAction extends AnAction{
+		
+		private JumpToSourceAction(){
+			super("Jump to Source", "Open the source of the selected method", AllIcons.Actions.EditSource);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void update(final @NotNull AnActionEvent e){
+			e.getPresentation().setEnabled(list.getSelectedValue() != null);
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			final JitReport.Finding finding = list.getSelectedValue();
+			if(finding != null) jumpToSource(finding);
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Reads a {@code -XX:+LogCompilation} log into {@link CompilationLogs}, whose notes then show in the Bytecode view.
+ */
+public class LoadCompilationLogAction extends AnAction{
+	
+	@Override
+	public @NotNull ActionUpdateThread getActionUpdateThread(){
+		return ActionUpdateThread.BGT;
+	}
+	
+	@Override
+	public void update(final @NotNull AnActionEvent e){
+		e.getPresentation().setEnabled(e.getProject() != null);
+	}
+	
+	@Override
+	public void actionPerformed(final @NotNull AnActionEvent e){
+		final Project project = e.getProject();
+		if(project == null) return;
+		final VirtualFile file = FileChooser.chooseFile(
+			FileChooserDescriptorFactory.createSingleFileNoJarsDescriptor().withTitle("Load HotSpot Compilation Log"), project, null
+		);
+		if(file == null) return;
+		
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Reading compilation log " + file.getName(), true){
+			private CompilationLog log;
+			private String         error;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				try{
+					log = CompilationLog.read(file.toNioPath(), indicator);
+				}catch(IOException ex){
+					error = "Could not read " + file.getPresentableUrl() + ": " + ex.getMessage();
+				}
+			}
+			
+			@Override
+			public void onSuccess(){
+				if(error != null){
+					JBPopupFactory.getInstance().createMessage(error).showCenteredInCurrentWindow(project);
+					return;
+				}
+				CompilationLogs.getInstance(project).setLog(log);
+				final String           content = "Loaded " + log + (log.getWarning() == null? "" : ". " + log.getWarning());
+				final NotificationType type    = log.getWarning() == null? NotificationType.INFORMATION : NotificationType.WARNING;
+				NotificationGroupManager.getInstance().getNotificationGroup("ASM Bytecode").createNotification(content, type).notify(project);
+			}
+		});
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+
+/**
+ * Where the bytecode size of a method stands against the HotSpot thresholds, from the configured inlining limits to
+ * {@link MethodSizes#HUGE_METHOD_LIMIT}.
+ */
+public enum MethodSizeClass{
+	/**
+	 * Up to MaxInlineSize, inlined at any call site.
+	 */
+	SMALL,
+	/**
+	 * Over MaxInlineSize, inlined only at hot call sites.
+	 */
+	MEDIUM,
+	/**
+	 * Over FreqInlineSize, never inlined.
+	 */
+	LARGE,
+	/**
+	 * Over HugeMethodLimit, never compiled either.
+	 */
+	HUGE;
+	
+	public static MethodSizeClass of(final int size, final ASMPluginComponent settings){
+		if(size>MethodSizes.HUGE_METHOD_LIMIT) return HUGE;
+		if(size>settings.getFreqInlineSize()) return LARGE;
+		if(size>settings.getMaxInlineSize()) return MEDIUM;
+		return SMALL;
+	}
+	
+	/**
+	 * @return the threshold the size is over, like {@code over FreqInlineSize 325}, or an empty string for small sizes
+	 */
+	public String threshold(final ASMPluginComponent settings){
+		return switch(this){
+			case SMALL -> "";
+			case MEDIUM -> "over MaxInlineSize " + settings.getMaxInlineSize();
+			case LARGE -> "over FreqInlineSize " + settings.getFreqInlineSize();
+			case HUGE -> "over HugeMethodLimit " + MethodSizes.HUGE_METHOD_LIMIT;
+		};
+	}
+	
+	/**
+	 * @return what HotSpot does with a method of this size
+	 */
+	public String consequence(){
+		return switch(this){
+			case SMALL -> "inlined at any call site";
+			case MEDIUM -> "inlined only at hot call sites";
+			case LARGE -> "never inlined";
+			case HUGE -> "never compiled, always interpreted";
+		};
+	}
+}
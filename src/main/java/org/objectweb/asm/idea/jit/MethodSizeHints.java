@@ -0,0 +1,126 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.objectweb.asm.idea.ShowBytecodeOutlineAction;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Serves the method sizes shown by the {@link MethodSizeInlayProvider} without ever making the editor wait.
+ * <p>
+ * Sizes come from the {@link MethodSizeIndex}, and are only returned once loaded. A class whose sizes are missing or
+ * out of date is queued for loading in the background, after which the hints of its source file are collected again
+ * if the sizes changed. After a build, only the class files the build wrote are loaded again.
+ */
+public class MethodSizeHints{
+	
+	/**
+	 * How many class files are remembered with their source. Hints are collected again whenever a source is shown, so
+	 * only sources which have not been shown for a while are forgotten. Their sizes are checked again the next time
+	 * their hints are collected.
+	 */
+	private static final int MAX_SOURCES = 512;
+	
+	private final Project                  project;
+	private final ExecutorService          executor;
+	// class file url to the source file showing its sizes, least recently shown first
+	private final Map<String, VirtualFile> sources = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true){
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, VirtualFile> eldest){
+			return size()>MAX_SOURCES;
+		}
+	});
+	private final Set<String>              queued  = ConcurrentHashMap.newKeySet();
+	
+	public MethodSizeHints(final Project project){
+		this.project = project;
+		this.executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("ASM Method Size Hints", 1);
+	}
+	
+	public static MethodSizeHints getInstance(Project project){
+		return project.getService(MethodSizeHints.class);
+	}
+	
+	/**
+	 * Must be called in a read action.
+	 *
+	 * @return the method sizes of the class compiled from a source class, or null if they are not loaded yet or the
+	 * class was not compiled
+	 */
+	public MethodSizes get(final PsiClass psiClass){
+		final VirtualFile classFile = ShowBytecodeOutlineAction.findClassFile(psiClass);
+		if(classFile == null) return null;
+		final PsiFile source = psiClass.getContainingFile();
+		if(source != null && source.getVirtualFile() != null) sources.put(classFile.getUrl(), source.getVirtualFile());
+		
+		final MethodSizes sizes = MethodSizeIndex.getInstance(project).getCached(classFile);
+		if(sizes == null) load(classFile, null);
+		return sizes;
+	}
+	
+	/**
+	 * Loads again the sizes of class files a build wrote, if their sources are shown with hints.
+	 *
+	 * @param urls the urls of the written class files
+	 */
+	public void classesWritten(final Collection<String> urls){
+		for(String url : urls){
+			if(!sources.containsKey(url)) continue;
+			final VirtualFile classFile = VirtualFileManager.getInstance().findFileByUrl(url);
+			if(classFile != null) load(classFile, MethodSizeIndex.getInstance(project).getLoaded(classFile));
+		}
+	}
+	
+	/**
+	 * @param previous the sizes the hints show now, the hints are only collected again if the new ones differ
+	 */
+	private void load(final VirtualFile classFile, final MethodSizes previous){
+		final String url = classFile.getUrl();
+		if(!queued.add(url)) return;
+		executor.execute(() -> {
+			queued.remove(url);
+			classFile.refresh(false, false);
+			final MethodSizes sizes = MethodSizeIndex.getInstance(project).get(classFile);
+			if(sizes == null || sizes == previous) return;
+			final VirtualFile source = sources.get(url);
+			if(source == null) return;
+			ReadAction.run(() -> {
+				if(project.isDisposed() || !source.isValid()) return;
+				final PsiFile psiFile = PsiManager.getInstance(project).findFile(source);
+				if(psiFile != null) DaemonCodeAnalyzer.getInstance(project).restart(psiFile);
+			});
+		});
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.openapi.compiler.CompilationStatusListener;
+import com.intellij.openapi.compiler.CompileContext;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tells the {@link MethodSizeHints} which class files each build wrote.
+ */
+public class MethodSizeHintsUpdater implements CompilationStatusListener{
+	private final Project      project;
+	private final List<String> written = new ArrayList<>();
+	
+	public MethodSizeHintsUpdater(final Project project){
+		this.project = project;
+	}
+	
+	@Override
+	public void fileGenerated(final @NotNull String outputRoot, final @NotNull String relativePath){
+		if(!relativePath.endsWith(".class")) return;
+		synchronized(written){
+			written.add(VfsUtilCore.pathToUrl(outputRoot + '/' + relativePath));
+		}
+	}
+	
+	@Override
+	public void compilationFinished(final boolean aborted, final int errors, final int warnings, final @NotNull CompileContext compileContext){
+		final List<String> urls;
+		synchronized(written){
+			urls = List.copyOf(written);
+			written.clear();
+		}
+		if(!aborted) MethodSizeHints.getInstance(project).classesWritten(urls);
+	}
+}
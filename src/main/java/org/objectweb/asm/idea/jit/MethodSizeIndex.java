@@ -0,0 +1,173 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.objectweb.asm.idea.ClassFileFinder;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * The {@link MethodSizes} of the classes of a project and its libraries, shared by everything which weighs methods
+ * against the JIT thresholds.
+ * <p>
+ * Class files are parsed once and kept until they change, so resolving the thousands of call sites of a large class,
+ * most of them into the same few library classes, costs one parse per callee class. A class file which was written
+ * again is only parsed again if its contents changed: a build rewrites many classes identically. The least recently
+ * used classes are dropped past a fixed count.
+ */
+public class MethodSizeIndex{
+	private static final Logger LOG = Logger.getInstance(MethodSizeIndex.class);
+	
+	static final int MAX_CLASSES = 8192;
+	
+	/**
+	 * The method a call resolves to.
+	 *
+	 * @param owner the internal name of the class declaring it, which may be a super type of the referenced class
+	 * @param size  the length of its code, or {@link MethodSizes#NO_CODE}
+	 */
+	public record Callee(String owner, int size){ }
+	
+	private record Entry(long stamp, long hash, MethodSizes sizes){ }
+	
+	// by class file url, access ordered so the least recently used class goes first
+	private final Map<String, Entry> classes = new LinkedHashMap<>(256, 0.75f, true){
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest){
+			return size()>MAX_CLASSES;
+		}
+	};
+	
+	public static MethodSizeIndex getInstance(Project project){
+		return project.getService(MethodSizeIndex.class);
+	}
+	
+	/**
+	 * @return the method sizes of a class file, or null if it can't be read
+	 */
+	public MethodSizes get(final VirtualFile file){
+		final String url   = file.getUrl();
+		final long   stamp = file.getModificationStamp();
+		final Entry  entry;
+		synchronized(classes){
+			entry = classes.get(url);
+		}
+		if(entry != null && entry.stamp == stamp) return entry.sizes;
+		
+		final byte[] bytes;
+		try{
+			bytes = file.contentsToByteArray();
+		}catch(IOException e){
+			LOG.debug("Could not read " + url, e);
+			return null;
+		}
+		final long  hash = hash(bytes);
+		MethodSizes sizes;
+		if(entry != null && entry.hash == hash){
+			sizes = entry.sizes;
+		}else{
+			try{
+				sizes = MethodSizes.of(bytes);
+			}catch(RuntimeException e){
+				LOG.debug("Could not parse " + url, e);
+				return null;
+			}
+		}
+		synchronized(classes){
+			classes.put(url, new Entry(stamp, hash, sizes));
+		}
+		return sizes;
+	}
+	
+	/**
+	 * @return the method sizes of a class file if they are known and the file did not change since, without reading it
+	 */
+	public MethodSizes getCached(final VirtualFile file){
+		final Entry entry;
+		synchronized(classes){
+			entry = classes.get(file.getUrl());
+		}
+		return entry != null && entry.stamp == file.getModificationStamp()? entry.sizes : null;
+	}
+	
+	/**
+	 * @return the method sizes last read from a class file, which may have changed since, or null
+	 */
+	public MethodSizes getLoaded(final VirtualFile file){
+		synchronized(classes){
+			final Entry entry = classes.get(file.getUrl());
+			return entry == null? null : entry.sizes;
+		}
+	}
+	
+	/**
+	 * @return the method sizes of a class, or null if it is not on the classpath of the project
+	 */
+	public MethodSizes get(final ClassFileFinder finder, final String className){
+		final VirtualFile file = finder.find(className);
+		return file == null? null : get(file);
+	}
+	
+	/**
+	 * Resolves a method the way the JVM links a call to it: in the referenced class, then its super classes, then the
+	 * default methods of its interfaces.
+	 *
+	 * @param owner  the internal name of the referenced class
+	 * @param method the method name and descriptor
+	 * @return the resolved method, or null if the classes involved are not all on the classpath
+	 */
+	public Callee resolve(final ClassFileFinder finder, final String owner, final String method){
+		final Deque<String> interfaces = new ArrayDeque<>();
+		for(String className = owner; className != null; ){
+			final MethodSizes sizes = get(finder, className);
+			if(sizes == null) return null;
+			final int size = sizes.sizeOf(method);
+			if(size != MethodSizes.MISSING) return new Callee(className, size);
+			for(String itf : sizes.getInterfaces()) interfaces.add(itf);
+			className = sizes.getSuperName();
+		}
+		final Set<String> seen = new HashSet<>();
+		while(!interfaces.isEmpty()){
+			final String className = interfaces.poll();
+			if(!seen.add(className)) continue;
+			final MethodSizes sizes = get(finder, className);
+			if(sizes == null) continue;
+			final int size = sizes.sizeOf(method);
+			if(size != MethodSizes.MISSING) return new Callee(className, size);
+			for(String itf : sizes.getInterfaces()) interfaces.add(itf);
+		}
+		return null;
+	}
+	
+	private static long hash(final byte[] bytes){
+		final CRC32 crc = new CRC32();
+		crc.update(bytes);
+		return (long)bytes.length<<32|crc.getValue();
+	}
+}
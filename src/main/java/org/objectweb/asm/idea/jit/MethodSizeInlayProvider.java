@@ -0,0 +1,113 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.codeInsight.hints.declarative.EndOfLinePosition;
+import com.intellij.codeInsight.hints.declarative.HintFormat;
+import com.intellij.codeInsight.hints.declarative.InlayHintsCollector;
+import com.intellij.codeInsight.hints.declarative.InlayHintsProvider;
+import com.intellij.codeInsight.hints.declarative.InlayTreeSink;
+import com.intellij.codeInsight.hints.declarative.SharedBypassCollector;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiIdentifier;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.util.ClassUtil;
+import kotlin.Unit;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Shows the compiled bytecode size of every method at the end of its declaration line, with the HotSpot threshold it
+ * is over, if any.
+ * <p>
+ * Sizes are read from the class files of the module output through the {@link MethodSizeHints}, and only if already
+ * loaded: methods of classes which are not, or which were not compiled, get no hint until they are.
+ */
+public class MethodSizeInlayProvider implements InlayHintsProvider{
+	
+	@Override
+	public InlayHintsCollector createCollector(final @NotNull PsiFile file, final @NotNull Editor editor){
+		return new Collector(file.getProject(), editor.getDocument());
+	}
+	
+	private static final class Collector implements SharedBypassCollector{
+		private final Project                              project;
+		private final Document                             document;
+		private final ASMPluginComponent                   settings;
+		// the classes of one file, looked up once per pass
+		private final Map<PsiClass, Optional<MethodSizes>> classes = new HashMap<>();
+		
+		private Collector(final Project project, final Document document){
+			this.project = project;
+			this.document = document;
+			this.settings = project.getService(ASMPluginComponent.class);
+		}
+		
+		@Override
+		public void collectFromElement(final @NotNull PsiElement element, final @NotNull InlayTreeSink sink){
+			if(!(element instanceof PsiMethod method) || method.getBody() == null) return;
+			final PsiClass      owner = method.getContainingClass();
+			final PsiIdentifier name  = method.getNameIdentifier();
+			if(owner == null || name == null) return;
+			final MethodSizes sizes = classes.computeIfAbsent(owner, c -> Optional.ofNullable(MethodSizeHints.getInstance(project).get(c))).orElse(null);
+			if(sizes == null) return;
+			
+			final int size = sizes.sizeOf((method.isConstructor()? "<init>" : method.getName()) + descriptorOf(method, owner));
+			if(size<0) return;
+			final MethodSizeClass sizeClass = MethodSizeClass.of(size, settings);
+			final String          threshold = sizeClass.threshold(settings);
+			final String          text      = size + " bytes" + (threshold.isEmpty()? "" : ", " + threshold);
+			sink.addPresentation(
+				new EndOfLinePosition(document.getLineNumber(name.getTextRange().getEndOffset())), null,
+				"Bytecode size " + size + ", " + sizeClass.consequence(), HintFormat.Companion.getDefault(),
+				builder -> {
+					builder.text(text, null);
+					return Unit.INSTANCE;
+				}
+			);
+		}
+		
+		/**
+		 * @return the descriptor javac gives the method, with the parameters it adds in front of constructors: the outer
+		 * instance for inner classes, the name and ordinal of the constant for enums
+		 */
+		private static String descriptorOf(final PsiMethod method, final PsiClass owner){
+			final String descriptor = ClassUtil.getAsmMethodSignature(method);
+			if(!method.isConstructor()) return descriptor;
+			if(owner.isEnum()) return "(Ljava/lang/String;I" + descriptor.substring(1);
+			final PsiClass outer = owner.getContainingClass();
+			// nested interfaces, enums and records are static, and so is any class nested in an interface
+			if(outer == null || outer.isInterface() || owner.isInterface() || owner.isRecord() || owner.hasModifierProperty(PsiModifier.STATIC)){
+				return descriptor;
+			}
+			final String outerName = ClassUtil.getJVMClassName(outer);
+			return outerName == null? descriptor : "(L" + outerName.replace('.', '/') + ";" + descriptor.substring(1);
+		}
+	}
+}
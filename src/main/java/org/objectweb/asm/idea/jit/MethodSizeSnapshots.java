@@ -0,0 +1,274 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The size of every method of every class the IDE built, as of the last build which wrote it, to tell which methods
+ * a build moved across a JIT threshold.
+ * <p>
+ * Nothing is read before a build: the sizes a build wrote are the sizes the next build is compared with, and a class
+ * is compared from the second build which writes it on. Each class is kept as a sorted array of method keys and a
+ * parallel array of sizes, saved in the IDE system directory so the first build after a restart is compared too.
+ * <p>
+ * The class file is also kept, deflated and in memory only, so a method which crossed a threshold can be compared with
+ * its previous build. Those copies share one memory cap, past which the least recently built classes lose theirs
+ * first; their sizes are always kept.
+ */
+public class MethodSizeSnapshots{
+	private static final Logger LOG = Logger.getInstance(MethodSizeSnapshots.class);
+	
+	private static final int VERSION = 1;
+	
+	static final long MAX_CLASS_BYTES = 32L*1024*1024;
+	
+	/**
+	 * A method a build moved across a threshold.
+	 *
+	 * @param className the internal name of its class
+	 * @param method    its name and descriptor
+	 * @param older     the class file before the build, or null if it was no longer kept
+	 * @param newer     the class file after the build
+	 */
+	public record Crossing(String className, String method, int before, int after, byte[] older, byte[] newer){
+		
+		/**
+		 * @return a description like {@code 320 → 340 bytes, over FreqInlineSize 325}
+		 */
+		public String describe(final ASMPluginComponent settings){
+			final MethodSizeClass from = MethodSizeClass.of(before, settings);
+			final MethodSizeClass to   = MethodSizeClass.of(after, settings);
+			return before + " → " + after + " bytes, " + (to.compareTo(from)>0? to.threshold(settings) : "no longer " + from.threshold(settings));
+		}
+		
+		public String getShortName(){
+			return className.substring(className.lastIndexOf('/') + 1) + "." + method.substring(0, method.indexOf('('));
+		}
+	}
+	
+	private static final class ClassSnapshot{
+		private final String[] methods;
+		private final int[]    sizes;
+		private       byte[]   deflated;
+		
+		private ClassSnapshot(final String[] methods, final int[] sizes, final byte[] deflated){
+			this.methods = methods;
+			this.sizes = sizes;
+			this.deflated = deflated;
+		}
+		
+		private static ClassSnapshot of(final MethodSizes sizes, final byte[] deflated){
+			final String[] methods = sizes.getSizes().keySet().toArray(String[]::new);
+			Arrays.sort(methods);
+			final int[] array = new int[methods.length];
+			for(int i = 0; i<methods.length; i++) array[i] = sizes.sizeOf(methods[i]);
+			return new ClassSnapshot(methods, array, deflated);
+		}
+		
+		private int sizeOf(final String method){
+			final int index = Arrays.binarySearch(methods, method);
+			return index<0? MethodSizes.MISSING : sizes[index];
+		}
+	}
+	
+	private final Project                  project;
+	// by class file path, in the order they were built, so the oldest builds lose their class file first
+	private final Map<Path, ClassSnapshot> classes = new LinkedHashMap<>();
+	private       long                     totalBytes;
+	private       boolean                  loaded;
+	
+	public MethodSizeSnapshots(final Project project){
+		this.project = project;
+	}
+	
+	public static MethodSizeSnapshots getInstance(Project project){
+		return project.getService(MethodSizeSnapshots.class);
+	}
+	
+	/**
+	 * Compares the class files a build wrote with the sizes their previous build left, and records them in place of
+	 * those. A class seen for the first time is only recorded.
+	 *
+	 * @return the methods which crossed a threshold, in the order of the files
+	 */
+	public synchronized List<Crossing> update(final Collection<Path> written, final ASMPluginComponent settings){
+		if(!loaded){
+			loaded = true;
+			load();
+		}
+		final List<Crossing> crossings = new ArrayList<>();
+		for(Path file : written){
+			final byte[] bytes;
+			try{
+				bytes = Files.readAllBytes(file);
+			}catch(IOException e){
+				// deleted again by the same build
+				classes.remove(file);
+				continue;
+			}
+			final ClassSnapshot previous = classes.get(file);
+			final ClassSnapshot current  = record(file, bytes);
+			if(previous == null || current == null) continue;
+			
+			String className = null;
+			byte[] older     = null;
+			for(int i = 0; i<current.methods.length; i++){
+				final int before = previous.sizeOf(current.methods[i]);
+				final int after  = current.sizes[i];
+				if(before<0 || after<0 || MethodSizeClass.of(before, settings) == MethodSizeClass.of(after, settings)) continue;
+				if(className == null){
+					className = new ClassReader(bytes).getClassName();
+					older = previous.deflated == null? null : inflate(previous.deflated);
+				}
+				crossings.add(new Crossing(className, current.methods[i], before, after, older, bytes));
+			}
+		}
+		if(!written.isEmpty()) save();
+		return crossings;
+	}
+	
+	/**
+	 * @return the new snapshot, or null if the class can't be read
+	 */
+	private ClassSnapshot record(final Path file, final byte[] bytes){
+		final ClassSnapshot snapshot;
+		try{
+			snapshot = ClassSnapshot.of(MethodSizes.of(bytes), deflate(bytes));
+		}catch(RuntimeException e){
+			LOG.debug("Could not snapshot " + file, e);
+			return null;
+		}
+		final ClassSnapshot previous = classes.remove(file);
+		if(previous != null && previous.deflated != null) totalBytes -= previous.deflated.length;
+		classes.put(file, snapshot);
+		totalBytes += snapshot.deflated.length;
+		
+		final Iterator<ClassSnapshot> iterator = classes.values().iterator();
+		while(totalBytes>MAX_CLASS_BYTES && iterator.hasNext()){
+			final ClassSnapshot oldest = iterator.next();
+			if(oldest.deflated == null) continue;
+			totalBytes -= oldest.deflated.length;
+			oldest.deflated = null;
+		}
+		return snapshot;
+	}
+	
+	private Path snapshotFile(){
+		return Path.of(PathManager.getSystemPath(), "asm-method-sizes", project.getLocationHash() + ".bin");
+	}
+	
+	/**
+	 * Reads the sizes saved by a previous session, without their class files. Classes deleted since are dropped.
+	 */
+	private void load(){
+		final Path file = snapshotFile();
+		if(!Files.exists(file)) return;
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))){
+			if(in.readInt() != VERSION) return;
+			final int count = in.readInt();
+			for(int i = 0; i<count; i++){
+				final Path     path    = Path.of(in.readUTF());
+				final int      size    = in.readInt();
+				final String[] methods = new String[size];
+				final int[]    sizes   = new int[size];
+				for(int j = 0; j<size; j++){
+					methods[j] = in.readUTF();
+					sizes[j] = in.readInt();
+				}
+				if(Files.exists(path)) classes.put(path, new ClassSnapshot(methods, sizes, null));
+			}
+		}catch(IOException|RuntimeException e){
+			// the next build of each class is then its first
+			LOG.warn("Could not load method sizes " + file, e);
+			classes.clear();
+		}
+	}
+	
+	private void save(){
+		final Path file = snapshotFile();
+		try{
+			Files.createDirectories(file.getParent());
+			final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+			try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))){
+				out.writeInt(VERSION);
+				out.writeInt(classes.size());
+				for(Map.Entry<Path, ClassSnapshot> entry : classes.entrySet()){
+					final ClassSnapshot snapshot = entry.getValue();
+					out.writeUTF(entry.getKey().toString());
+					out.writeInt(snapshot.methods.length);
+					for(int i = 0; i<snapshot.methods.length; i++){
+						out.writeUTF(snapshot.methods[i]);
+						out.writeInt(snapshot.sizes[i]);
+					}
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch(IOException e){
+			LOG.warn("Could not save method sizes " + file, e);
+		}
+	}
+	
+	private static byte[] deflate(final byte[] bytes){
+		final Deflater              deflater = new Deflater(Deflater.BEST_SPEED);
+		final ByteArrayOutputStream out      = new ByteArrayOutputStream(bytes.length/2 + 16);
+		try(DeflaterOutputStream stream = new DeflaterOutputStream(out, deflater)){
+			stream.write(bytes);
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}finally{
+			deflater.end();
+		}
+		return out.toByteArray();
+	}
+	
+	private static byte[] inflate(final byte[] deflated){
+		try(InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(deflated))){
+			return inflater.readAllBytes();
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.idea.CodeAttributes;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The bytecode size of every method of a class, as HotSpot measures it against its inlining thresholds: the length of
+ * the code array, read from the {@link CodeAttributes} without visiting a single instruction.
+ */
+public final class MethodSizes{
+	
+	/**
+	 * The size of an abstract or native method, which has no code.
+	 */
+	public static final int NO_CODE = -1;
+	/**
+	 * The size of a method the class does not declare.
+	 */
+	public static final int MISSING = -2;
+	
+	/**
+	 * HotSpot's HugeMethodLimit: methods larger than this are not compiled, as long as DontCompileHugeMethods is on, which
+	 * it is by default.
+	 */
+	public static final int HUGE_METHOD_LIMIT = 8000;
+	
+	private final String               superName;
+	private final String[]             interfaces;
+	// code length by method name and descriptor
+	private final Map<String, Integer> sizes;
+	
+	private MethodSizes(final String superName, final String[] interfaces, final Map<String, Integer> sizes){
+		this.superName = superName;
+		this.interfaces = interfaces;
+		this.sizes = sizes;
+	}
+	
+	public static MethodSizes of(final byte[] bytes){
+		final ClassReader          reader = new ClassReader(bytes);
+		final Map<String, Integer> sizes  = new HashMap<>();
+		CodeAttributes.accept(reader, (access, name, descriptor, code) -> {
+			final boolean hasCode = code>=0 && (access&(Opcodes.ACC_ABSTRACT|Opcodes.ACC_NATIVE)) == 0;
+			sizes.put(name + descriptor, hasCode? CodeAttributes.codeLength(reader, code) : NO_CODE);
+		});
+		return new MethodSizes(reader.getSuperName(), reader.getInterfaces(), sizes);
+	}
+	
+	/**
+	 * @param method the method name and descriptor
+	 * @return the length of its code, {@link #NO_CODE} or {@link #MISSING}
+	 */
+	public int sizeOf(final String method){
+		final Integer size = sizes.get(method);
+		return size == null? MISSING : size;
+	}
+	
+	/**
+	 * @return the length of the code of every method, by name and descriptor
+	 */
+	public Map<String, Integer> getSizes(){
+		return Collections.unmodifiableMap(sizes);
+	}
+	
+	/**
+	 * @return the internal name of the super class, null for java/lang/Object and module-info
+	 */
+	public String getSuperName(){
+		return superName;
+	}
+	
+	public String[] getInterfaces(){
+		return interfaces;
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.jit;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationAction;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.compiler.CompilationStatusListener;
+import com.intellij.openapi.compiler.CompileContext;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.SimpleListCellRenderer;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.config.ASMPluginComponent;
+import org.objectweb.asm.idea.diff.StructuralDiff;
+import org.objectweb.asm.idea.diff.StructuralDiffView;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the class files each build wrote with the {@link MethodSizeSnapshots} their previous build left, and tells
+ * which methods crossed a JIT threshold, either way. Each method in the notification opens its structural diff.
+ * <p>
+ * This only works for builds run by the IDE itself: the {@code fileGenerated} events are not sent when the build is
+ * delegated to Gradle or Maven, so no threshold crossings are reported for those.
+ */
+public class ThresholdCrossingNotifier implements CompilationStatusListener{
+	
+	/**
+	 * Methods listed in the notification text and given their own action, the others are one more click away.
+	 */
+	private static final int MAX_LISTED = 5;
+	
+	private final Project    project;
+	private final List<Path> written = new ArrayList<>();
+	
+	public ThresholdCrossingNotifier(final Project project){
+		this.project = project;
+	}
+	
+	@Override
+	public void fileGenerated(final @NotNull String outputRoot, final @NotNull String relativePath){
+		if(!relativePath.endsWith(".class")) return;
+		synchronized(written){
+			written.add(Path.of(outputRoot, relativePath));
+		}
+	}
+	
+	@Override
+	public void compilationFinished(final boolean aborted, final int errors, final int warnings, final @NotNull CompileContext compileContext){
+		final List<Path> files;
+		synchronized(written){
+			files = List.copyOf(written);
+			written.clear();
+		}
+		if(aborted || files.isEmpty()) return;
+		ApplicationManager.getApplication().executeOnPooledThread(() -> {
+			final ASMPluginComponent                 settings  = project.getService(ASMPluginComponent.class);
+			final List<MethodSizeSnapshots.Crossing> crossings = MethodSizeSnapshots.getInstance(project).update(files, settings);
+			if(!crossings.isEmpty()) ApplicationManager.getApplication().invokeLater(() -> notify(crossings, settings), project.getDisposed());
+		});
+	}
+	
+	private void notify(final List<MethodSizeSnapshots.Crossing> crossings, final ASMPluginComponent settings){
+		final List<MethodSizeSnapshots.Crossing> listed  = crossings.subList(0, Math.min(MAX_LISTED, crossings.size()));
+		final StringBuilder                      content = new StringBuilder();
+		for(MethodSizeSnapshots.Crossing crossing : listed){
+			if(content.length()>0) content.append("<br>");
+			content.append("<b>").append(StringUtil.escapeXmlEntities(crossing.getShortName())).append("</b> ")
+			       .append(StringUtil.escapeXmlEntities(crossing.describe(settings)));
+		}
+		if(crossings.size()>MAX_LISTED) content.append("<br>and ").append(crossings.size() - MAX_LISTED).append(" more");
+		final boolean grown = crossings.stream().anyMatch(crossing -> crossing.after()>crossing.before());
+		final Notification notification = NotificationGroupManager.getInstance().getNotificationGroup("ASM Bytecode").createNotification(
+			crossings.size() == 1? "A method crossed a JIT size threshold" : crossings.size() + " methods crossed JIT size thresholds",
+			content.toString(), grown? NotificationType.WARNING : NotificationType.INFORMATION
+		);
+		for(MethodSizeSnapshots.Crossing crossing : listed){
+			notification.addAction(NotificationAction.createSimple("Diff " + crossing.getShortName(), () -> showDiff(crossing)));
+		}
+		if(crossings.size()>MAX_LISTED){
+			notification.addAction(NotificationAction.createSimple("All " + crossings.size() + " Methods...", () -> choose(crossings, settings)));
+		}
+		notification.notify(project);
+	}
+	
+	private void choose(final List<MethodSizeSnapshots.Crossing> crossings, final ASMPluginComponent settings){
+		JBPopupFactory.getInstance()
+		              .createPopupChooserBuilder(crossings)
+		              .setTitle("Methods Which Crossed JIT Size Thresholds")
+		              .setRenderer(SimpleListCellRenderer.<MethodSizeSnapshots.Crossing>create((label, crossing, index) -> {
+			              label.setText(crossing.className().replace('/', '.') + "." + crossing.method() + "   " + crossing.describe(settings));
+			              label.setIcon(AllIcons.Nodes.Method);
+		              }))
+		              .setNamerForFiltering(crossing -> crossing.className() + "." + crossing.method())
+		              .setItemChosenCallback(this::showDiff)
+		              .createPopup()
+		              .showCenteredInCurrentWindow(project);
+	}
+	
+	/**
+	 * Compares the method before and after the build in the background, then opens the diff.
+	 */
+	private void showDiff(final MethodSizeSnapshots.Crossing crossing){
+		if(crossing.older() == null){
+			JBPopupFactory.getInstance()
+			              .createMessage("The build before is no longer kept for " + crossing.className().replace('/', '.'))
+			              .showCenteredInCurrentWindow(project);
+			return;
+		}
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Comparing " + crossing.getShortName()){
+			private List<StructuralDiff.MemberChange> changes;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				changes = StructuralDiff.compare(crossing.older(), crossing.newer()).stream()
+				                        .filter(change -> change.member().equals(crossing.method()))
+				                        .toList();
+			}
+			
+			@Override
+			public void onSuccess(){
+				StructuralDiffView.showMemberDiffs(project, changes, "Before build", "After build");
+			}
+		});
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.lang;
+
+import com.intellij.openapi.fileTypes.LanguageFileType;
+import com.intellij.openapi.util.IconLoader;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+
+/**
+ * File type of the Bytecode view, so Textifier output gets its own lexer instead of the Java one.
+ */
+public final class BytecodeFileType extends LanguageFileType{
+	
+	public static final BytecodeFileType INSTANCE  = new BytecodeFileType();
+	public static final String           EXTENSION = "jvmbc";
+	
+	private BytecodeFileType(){
+		super(BytecodeLanguage.INSTANCE);
+	}
+	
+	@Override
+	public @NotNull String getName(){
+		return "JVM Bytecode";
+	}
+	
+	@Override
+	public @NotNull String getDescription(){
+		return "JVM bytecode as printed by the ASM Textifier";
+	}
+	
+	@Override
+	public @NotNull String getDefaultExtension(){
+		return EXTENSION;
+	}
+	
+	@Override
+	public Icon getIcon(){
+		return IconLoader.getIcon("/images/asm.svg", BytecodeFileType.class);
+	}
+}
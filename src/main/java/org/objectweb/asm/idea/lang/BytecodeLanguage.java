@@ -0,0 +1,38 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.lang;
+
+import com.intellij.lang.Language;
+
+/**
+ * The text printed by ASM's Textifier: class and member declarations, instructions, labels, frames and constants.
+ */
+public final class BytecodeLanguage extends Language{
+	
+	public static final BytecodeLanguage INSTANCE = new BytecodeLanguage();
+	
+	private BytecodeLanguage(){
+		super("JVMBytecode");
+	}
+	
+	@Override
+	public String getDisplayName(){
+		return "JVM Bytecode";
+	}
+}
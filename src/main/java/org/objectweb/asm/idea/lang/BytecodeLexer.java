@@ -0,0 +1,218 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.lang;
+
+import com.intellij.lexer.LexerBase;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.util.Printer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hand-written lexer for Textifier output.
+ * <p>
+ * Every character is first mapped to a class through a table, then a word is looked up in a table of opcodes and
+ * directives. The lexer keeps no state between lines, so the editor can restart it anywhere and only re-lex what
+ * changed.
+ */
+public class BytecodeLexer extends LexerBase{
+	
+	private static final byte SPACE   = 0;
+	private static final byte WORD    = 1;
+	private static final byte SLASH   = 2;
+	private static final byte QUOTE   = 3;
+	private static final byte PAREN   = 4;
+	private static final byte BRACKET = 5;
+	private static final byte PUNCT   = 6;
+	
+	private static final byte[] CHAR_CLASSES = new byte[128];
+	
+	private static final Map<String, IElementType> WORDS = new HashMap<>();
+	
+	static{
+		for(int c = 0; c<CHAR_CLASSES.length; c++){
+			if(Character.isLetterOrDigit(c)) CHAR_CLASSES[c] = WORD;
+			else if(Character.isWhitespace(c)) CHAR_CLASSES[c] = SPACE;
+			else CHAR_CLASSES[c] = PUNCT;
+		}
+		// descriptors, internal names and <init> are read as a single word
+		for(char c : "_$;[<>.".toCharArray()) CHAR_CLASSES[c] = WORD;
+		CHAR_CLASSES['/'] = SLASH;
+		CHAR_CLASSES['"'] = QUOTE;
+		CHAR_CLASSES['('] = PAREN;
+		CHAR_CLASSES[')'] = PAREN;
+		CHAR_CLASSES['{'] = BRACKET;
+		CHAR_CLASSES['}'] = BRACKET;
+		
+		for(String opcode : Printer.OPCODES){
+			if(opcode != null && !opcode.isEmpty()) WORDS.put(opcode, BytecodeTokenTypes.OPCODE);
+		}
+		for(String keyword : new String[]{
+			"public", "private", "protected", "static", "final", "synchronized", "volatile", "transient", "native",
+			"abstract", "strictfp", "synthetic", "bridge", "varargs", "mandated", "enum", "record", "class", "interface",
+			"extends", "implements", "default", "throws", "deprecated", "module", "open", "requires", "exports", "opens",
+			"uses", "provides", "with", "to", "transitive",
+			"FRAME", "FULL", "APPEND", "CHOP", "SAME", "SAME1", "LINENUMBER", "LOCALVARIABLE", "TRYCATCHBLOCK",
+			"MAXSTACK", "MAXLOCALS", "INNERCLASS", "OUTERCLASS", "NESTHOST", "NESTMEMBER", "PERMITTEDSUBCLASS",
+			"RECORDCOMPONENT", "ATTRIBUTE"
+		}){
+			WORDS.put(keyword, BytecodeTokenTypes.KEYWORD);
+		}
+	}
+	
+	private CharSequence buffer;
+	private int          bufferEnd;
+	private int          tokenStart;
+	private int          tokenEnd;
+	private IElementType tokenType;
+	
+	@Override
+	public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState){
+		this.buffer = buffer;
+		this.bufferEnd = endOffset;
+		this.tokenEnd = startOffset;
+		advance();
+	}
+	
+	@Override
+	public int getState(){
+		return 0;
+	}
+	
+	@Override
+	public IElementType getTokenType(){
+		return tokenType;
+	}
+	
+	@Override
+	public int getTokenStart(){
+		return tokenStart;
+	}
+	
+	@Override
+	public int getTokenEnd(){
+		return tokenEnd;
+	}
+	
+	@Override
+	public @NotNull CharSequence getBufferSequence(){
+		return buffer;
+	}
+	
+	@Override
+	public int getBufferEnd(){
+		return bufferEnd;
+	}
+	
+	@Override
+	public void advance(){
+		tokenStart = tokenEnd;
+		if(tokenStart>=bufferEnd){
+			tokenType = null;
+			return;
+		}
+		int pos = tokenStart;
+		switch(charClass(buffer.charAt(pos))){
+			case SPACE -> {
+				while(pos<bufferEnd && charClass(buffer.charAt(pos)) == SPACE) pos++;
+				tokenType = TokenType.WHITE_SPACE;
+			}
+			case SLASH -> {
+				if(pos + 1<bufferEnd && buffer.charAt(pos + 1) == '/'){
+					pos = lineEnd(pos);
+					tokenType = BytecodeTokenTypes.COMMENT;
+				}else{
+					pos = wordEnd(pos);
+					tokenType = BytecodeTokenTypes.DESCRIPTOR;
+				}
+			}
+			case QUOTE -> {
+				pos++;
+				while(pos<bufferEnd){
+					final char c = buffer.charAt(pos);
+					if(c == '\n') break;
+					pos++;
+					if(c == '"') break;
+					if(c == '\\' && pos<bufferEnd && buffer.charAt(pos) != '\n') pos++;
+				}
+				tokenType = BytecodeTokenTypes.STRING;
+			}
+			case PAREN -> {
+				pos++;
+				tokenType = BytecodeTokenTypes.PARENTHESIS;
+			}
+			case BRACKET -> {
+				pos++;
+				tokenType = BytecodeTokenTypes.BRACKET;
+			}
+			case PUNCT -> {
+				pos++;
+				tokenType = BytecodeTokenTypes.PUNCTUATION;
+			}
+			default -> {
+				pos = wordEnd(pos);
+				tokenType = classifyWord(pos);
+			}
+		}
+		tokenEnd = pos;
+	}
+	
+	private IElementType classifyWord(final int end){
+		final char first = buffer.charAt(tokenStart);
+		if(Character.isDigit(first)) return BytecodeTokenTypes.NUMBER;
+		if(first == 'L' && end - tokenStart>1 && allDigits(tokenStart + 1, end)) return BytecodeTokenTypes.LABEL;
+		final IElementType type = WORDS.get(buffer.subSequence(tokenStart, end).toString());
+		if(type != null) return type;
+		if(first == '[') return BytecodeTokenTypes.DESCRIPTOR;
+		for(int i = tokenStart; i<end; i++){
+			final char c = buffer.charAt(i);
+			if(c == '/' || c == ';') return BytecodeTokenTypes.DESCRIPTOR;
+		}
+		return BytecodeTokenTypes.IDENTIFIER;
+	}
+	
+	private boolean allDigits(final int start, final int end){
+		for(int i = start; i<end; i++){
+			if(!Character.isDigit(buffer.charAt(i))) return false;
+		}
+		return true;
+	}
+	
+	private int wordEnd(int pos){
+		while(pos<bufferEnd){
+			final byte charClass = charClass(buffer.charAt(pos));
+			if(charClass != WORD && charClass != SLASH) break;
+			pos++;
+		}
+		return pos;
+	}
+	
+	private int lineEnd(int pos){
+		while(pos<bufferEnd && buffer.charAt(pos) != '\n') pos++;
+		return pos;
+	}
+	
+	private static byte charClass(final char c){
+		if(c<CHAR_CLASSES.length) return CHAR_CLASSES[c];
+		return Character.isWhitespace(c)? SPACE : WORD;
+	}
+}
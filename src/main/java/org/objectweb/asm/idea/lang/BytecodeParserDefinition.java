@@ -0,0 +1,81 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.lang;
+
+import com.intellij.extapi.psi.ASTWrapperPsiElement;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.ParserDefinition;
+import com.intellij.lang.PsiParser;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.FileViewProvider;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IFileElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The PSI of a bytecode file is flat, just the lexer tokens under the file: everything the views need comes from the
+ * lexer, a real parser would only cost time on large classes.
+ */
+public class BytecodeParserDefinition implements ParserDefinition{
+	
+	private static final IFileElementType FILE = new IFileElementType(BytecodeLanguage.INSTANCE);
+	
+	@Override
+	public @NotNull Lexer createLexer(Project project){
+		return new BytecodeLexer();
+	}
+	
+	@Override
+	public @NotNull PsiParser createParser(Project project){
+		return (root, builder) -> {
+			var marker = builder.mark();
+			while(!builder.eof()) builder.advanceLexer();
+			marker.done(root);
+			return builder.getTreeBuilt();
+		};
+	}
+	
+	@Override
+	public @NotNull IFileElementType getFileNodeType(){
+		return FILE;
+	}
+	
+	@Override
+	public @NotNull TokenSet getCommentTokens(){
+		return TokenSet.create(BytecodeTokenTypes.COMMENT);
+	}
+	
+	@Override
+	public @NotNull TokenSet getStringLiteralElements(){
+		return TokenSet.create(BytecodeTokenTypes.STRING);
+	}
+	
+	@Override
+	public @NotNull PsiElement createElement(ASTNode node){
+		return new ASTWrapperPsiElement(node);
+	}
+	
+	@Override
+	public @NotNull PsiFile createFile(@NotNull FileViewProvider viewProvider){
+		return new BytecodeFile(viewProvider);
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.lang;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.fileTypes.SyntaxHighlighterBase;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+import static com.intellij.openapi.editor.colors.TextAttributesKey.createTextAttributesKey;
+
+public class BytecodeSyntaxHighlighter extends SyntaxHighlighterBase{
+	
+	public static final TextAttributesKey OPCODE      = createTextAttributesKey("JVM_BYTECODE_OPCODE", DefaultLanguageHighlighterColors.KEYWORD);
+	public static final TextAttributesKey KEYWORD     = createTextAttributesKey("JVM_BYTECODE_KEYWORD", DefaultLanguageHighlighterColors.METADATA);
+	public static final TextAttributesKey LABEL       = createTextAttributesKey("JVM_BYTECODE_LABEL", DefaultLanguageHighlighterColors.LABEL);
+	public static final TextAttributesKey DESCRIPTOR  = createTextAttributesKey("JVM_BYTECODE_DESCRIPTOR", DefaultLanguageHighlighterColors.CLASS_REFERENCE);
+	public static final TextAttributesKey IDENTIFIER  = createTextAttributesKey("JVM_BYTECODE_IDENTIFIER", DefaultLanguageHighlighterColors.IDENTIFIER);
+	public static final TextAttributesKey NUMBER      = createTextAttributesKey("JVM_BYTECODE_NUMBER", DefaultLanguageHighlighterColors.NUMBER);
+	public static final TextAttributesKey STRING      = createTextAttributesKey("JVM_BYTECODE_STRING", DefaultLanguageHighlighterColors.STRING);
+	public static final TextAttributesKey COMMENT     = createTextAttributesKey("JVM_BYTECODE_COMMENT", DefaultLanguageHighlighterColors.LINE_COMMENT);
+	public static final TextAttributesKey PARENTHESIS = createTextAttributesKey("JVM_BYTECODE_PARENTHESIS", DefaultLanguageHighlighterColors.PARENTHESES);
+	public static final TextAttributesKey BRACKET     = createTextAttributesKey("JVM_BYTECODE_BRACKET", DefaultLanguageHighlighterColors.BRACES);
+	public static final TextAttributesKey PUNCTUATION = createTextAttributesKey("JVM_BYTECODE_PUNCTUATION", DefaultLanguageHighlighterColors.OPERATION_SIGN);
+	
+	private static final Map<IElementType, TextAttributesKey> KEYS = Map.ofEntries(
+		Map.entry(BytecodeTokenTypes.OPCODE, OPCODE),
+		Map.entry(BytecodeTokenTypes.KEYWORD, KEYWORD),
+		Map.entry(BytecodeTokenTypes.LABEL, LABEL),
+		Map.entry(BytecodeTokenTypes.DESCRIPTOR, DESCRIPTOR),
+		Map.entry(BytecodeTokenTypes.IDENTIFIER, IDENTIFIER),
+		Map.entry(BytecodeTokenTypes.NUMBER, NUMBER),
+		Map.entry(BytecodeTokenTypes.STRING, STRING),
+		Map.entry(BytecodeTokenTypes.COMMENT, COMMENT),
+		Map.entry(BytecodeTokenTypes.PARENTHESIS, PARENTHESIS),
+		Map.entry(BytecodeTokenTypes.BRACKET, BRACKET),
+		Map.entry(BytecodeTokenTypes.PUNCTUATION, PUNCTUATION)
+	);
+	
+	@Override
+	public @NotNull Lexer getHighlightingLexer(){
+		return new BytecodeLexer();
+	}
+	
+	@Override
+	public TextAttributesKey @NotNull [] getTokenHighlights(IElementType tokenType){
+		return pack(KEYS.get(tokenType));
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.lang;
+
+import com.intellij.psi.tree.IElementType;
+
+/**
+ * Token types produced by the {@link BytecodeLexer}.
+ */
+public interface BytecodeTokenTypes{
+	IElementType OPCODE      = new IElementType("OPCODE", BytecodeLanguage.INSTANCE);
+	IElementType KEYWORD     = new IElementType("KEYWORD", BytecodeLanguage.INSTANCE);
+	IElementType LABEL       = new IElementType("LABEL", BytecodeLanguage.INSTANCE);
+	IElementType DESCRIPTOR  = new IElementType("DESCRIPTOR", BytecodeLanguage.INSTANCE);
+	IElementType IDENTIFIER  = new IElementType("IDENTIFIER", BytecodeLanguage.INSTANCE);
+	IElementType NUMBER      = new IElementType("NUMBER", BytecodeLanguage.INSTANCE);
+	IElementType STRING      = new IElementType("STRING", BytecodeLanguage.INSTANCE);
+	IElementType COMMENT     = new IElementType("COMMENT", BytecodeLanguage.INSTANCE);
+	IElementType PARENTHESIS = new IElementType("PARENTHESIS", BytecodeLanguage.INSTANCE);
+	IElementType BRACKET     = new IElementType("BRACKET", BytecodeLanguage.INSTANCE);
+	IElementType PUNCTUATION = new IElementType("PUNCTUATION", BytecodeLanguage.INSTANCE);
+}
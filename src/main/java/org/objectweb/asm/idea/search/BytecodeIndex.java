@@ -0,0 +1,428 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.search;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.ClassFileFinder;
+import org.objectweb.asm.idea.export.ClassFiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An inverted index of the references made by the bytecode of the project, its module outputs and its libraries: which
+ * instructions call a method, access a field, use a type, load a constant or bootstrap an INVOKEDYNAMIC.
+ * <p>
+ * The index is built in parallel on first use and saved in the IDE system directory. Later updates only read the jars
+ * which changed since, and the class files of directories whose modification time changed, so compiling only costs
+ * the classes it wrote. Lookups are prefix searches in a sorted map and take milliseconds.
+ */
+public class BytecodeIndex{
+	private static final Logger LOG = Logger.getInstance(BytecodeIndex.class);
+	
+	private static final int VERSION = 2;
+	
+	public static final int MAX_RESULTS = 1000;
+	
+	/**
+	 * An instruction found by a search.
+	 *
+	 * @param reference   the reference made by the instruction, in internal names
+	 * @param root        the jar or class directory of the class
+	 * @param entry       the path of the class file in its root
+	 * @param method      the method name and descriptor
+	 * @param instruction the index of the instruction among the real instructions of the method
+	 */
+	public record Occurrence(ReferenceKind kind, String reference, String root, boolean jar, String entry, String method, int instruction){
+		
+		public String getClassName(){
+			return entry.substring(0, entry.length() - ".class".length()).replace('/', '.');
+		}
+		
+		public String getMethodName(){
+			return method.substring(0, method.indexOf('('));
+		}
+		
+		public String getMethodDescriptor(){
+			return method.substring(method.indexOf('('));
+		}
+		
+		/**
+		 * @return the class file, or null if it no longer exists
+		 */
+		public VirtualFile findFile(){
+			if(jar) return JarFileSystem.getInstance().findFileByPath(FileUtil.toSystemIndependentName(root) + JarFileSystem.JAR_SEPARATOR + entry);
+			return LocalFileSystem.getInstance().refreshAndFindFileByNioFile(Path.of(root).resolve(entry));
+		}
+	}
+	
+	private record IndexedRoot(String path, boolean jar, long stamp, Map<String, IndexedClass> classes){ }
+	
+	private record Posting(String root, boolean jar, IndexedClass indexed){ }
+	
+	private record Scan(Path root, ClassFiles files, String entry, long stamp){ }
+	
+	private final    Project                                   project;
+	private final    Map<String, IndexedRoot>                  roots             = new ConcurrentHashMap<>();
+	// classes by the lookup keys of the references they make
+	private final    ConcurrentSkipListMap<String, Set<Posting>> lookup            = new ConcurrentSkipListMap<>();
+	private final    AtomicBoolean                             rootsUpdateQueued = new AtomicBoolean();
+	private volatile boolean                                   ready;
+	
+	public BytecodeIndex(final Project project){
+		this.project = project;
+	}
+	
+	public static BytecodeIndex getInstance(Project project){
+		return project.getService(BytecodeIndex.class);
+	}
+	
+	/**
+	 * @return whether the index was built or loaded, and can be searched
+	 */
+	public boolean isReady(){
+		return ready;
+	}
+	
+	/**
+	 * Brings the index up to date with every module output and library, loading the saved index first if this is the
+	 * first update.
+	 */
+	public synchronized void update(final ProgressIndicator indicator){
+		if(!ready) load();
+		update(findRoots(true), true, indicator);
+	}
+	
+	/**
+	 * Re-indexes the module outputs in the background once a build wrote them, if the index is in use.
+	 */
+	public void outputsChanged(){
+		if(!ready) return;
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Updating bytecode index", true){
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				synchronized(BytecodeIndex.this){
+					update(findRoots(false), false, indicator);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Re-indexes the module outputs and libraries in the background once the project roots changed, such as after a
+	 * library was added or upgraded, if the index is in use. Unchanged jars are skipped, and the roots which are gone
+	 * dropped. Changes made while an update waits to start are taken up by it.
+	 */
+	public void rootsChanged(){
+		if(!ready || !rootsUpdateQueued.compareAndSet(false, true)) return;
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Updating bytecode index", true){
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				synchronized(BytecodeIndex.this){
+					rootsUpdateQueued.set(false);
+					update(findRoots(true), true, indicator);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Finds the instructions whose reference starts with the query. Class and member names may be written with dots or
+	 * slashes, string constants with or without their opening quote.
+	 *
+	 * @return at most {@link #MAX_RESULTS} occurrences, grouped by reference
+	 */
+	public List<Occurrence> search(final String query){
+		final String           text    = query.trim();
+		final List<Occurrence> results = new ArrayList<>();
+		if(text.isEmpty()) return results;
+		for(ReferenceKind kind : ReferenceKind.values()){
+			collect(kind.lookupKey(text), results);
+			if(kind == ReferenceKind.CONSTANT && !text.startsWith("\"")) collect(kind.lookupKey('"' + text), results);
+		}
+		return results;
+	}
+	
+	private void collect(final String prefix, final List<Occurrence> results){
+		for(Map.Entry<String, Set<Posting>> entry : lookup.subMap(prefix, prefix + Character.MAX_VALUE).entrySet()){
+			for(Posting posting : entry.getValue()){
+				final IndexedClass indexed = posting.indexed();
+				for(int key = 0; key<indexed.keys.length; key++){
+					// keys only differ from their lookup key in separators, so the length check skips nearly all
+					if(indexed.keys[key].length() != entry.getKey().length() || !lookupKey(indexed.keys[key]).equals(entry.getKey())) continue;
+					final String        reference = indexed.keys[key];
+					final ReferenceKind kind      = ReferenceKind.of(reference);
+					for(int i = 0; i<indexed.refs.length; i += 3){
+						if(indexed.refs[i] != key) continue;
+						results.add(new Occurrence(kind, reference.substring(1), posting.root(), posting.jar(), indexed.entry,
+						                           indexed.methods[indexed.refs[i + 1]], indexed.refs[i + 2]));
+						if(results.size()>=MAX_RESULTS) return;
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @param all whether the given roots are all the roots, and the others are to be dropped
+	 */
+	private void update(final List<Path> paths, final boolean all, final ProgressIndicator indicator){
+		final long                     start   = System.nanoTime();
+		final List<Scan>               scans   = new ArrayList<>();
+		final List<ClassFiles>         opened  = new ArrayList<>();
+		final Map<String, IndexedRoot> updated = new HashMap<>();
+		indicator.setText("Listing class files");
+		try{
+			for(Path path : paths){
+				indicator.checkCanceled();
+				if(Files.exists(path)) list(path, scans, opened, updated);
+			}
+			
+			indicator.setIndeterminate(false);
+			final AtomicInteger done = new AtomicInteger();
+			final ForkJoinPool  pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+			try{
+				final List<IndexedClass> scanned = pool.submit(() -> scans.parallelStream().map(scan -> {
+					if(indicator.isCanceled()) return null;
+					final IndexedClass indexed = scan(scan);
+					final int          count   = done.incrementAndGet();
+					if(count%256 == 0){
+						indicator.setFraction(count/(double)scans.size());
+						indicator.setText("Indexing bytecode, " + count + " of " + scans.size() + " classes");
+					}
+					return indexed;
+				}).toList()).get();
+				indicator.checkCanceled();
+				for(int i = 0; i<scans.size(); i++){
+					if(scanned.get(i) != null) updated.get(scans.get(i).root().toString()).classes().put(scans.get(i).entry(), scanned.get(i));
+				}
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				return;
+			}catch(ExecutionException e){
+				LOG.warn("Could not index bytecode", e.getCause());
+				return;
+			}finally{
+				pool.shutdown();
+			}
+		}finally{
+			for(ClassFiles files : opened){
+				try{
+					files.close();
+				}catch(IOException e){
+					LOG.debug("Could not close " + files, e);
+				}
+			}
+		}
+		
+		for(IndexedRoot root : updated.values()) replace(roots.get(root.path()), root);
+		if(all){
+			final Set<String> wanted = new LinkedHashSet<>();
+			for(Path path : paths) wanted.add(path.toString());
+			for(IndexedRoot root : List.copyOf(roots.values())){
+				if(!wanted.contains(root.path())) replace(root, null);
+			}
+		}
+		ready = true;
+		LOG.info("Bytecode index of " + project.getName() + " updated in " + (System.nanoTime() - start)/1_000_000 + " ms, " +
+		         scans.size() + " classes read, " + lookup.size() + " distinct references");
+		if(!updated.isEmpty() || all) save();
+	}
+	
+	/**
+	 * Lists the classes of a root which are new or changed since the root was last indexed, a jar which has not changed
+	 * at all is skipped.
+	 */
+	private void list(final Path path, final List<Scan> scans, final List<ClassFiles> opened, final Map<String, IndexedRoot> updated){
+		final String      key = path.toString();
+		final IndexedRoot old = roots.get(key);
+		try{
+			final boolean jar   = !Files.isDirectory(path);
+			final long    stamp = jar? jarStamp(path) : 0;
+			if(jar && old != null && old.stamp() == stamp) return;
+			
+			final ClassFiles files = ClassFiles.open(path);
+			opened.add(files);
+			// filled in once the classes are scanned, and only published after
+			final Map<String, IndexedClass> classes = new HashMap<>();
+			final List<Scan>                changed = new ArrayList<>();
+			for(String entry : files.names()){
+				final long         classStamp = jar? stamp : classStamp(path, entry);
+				final IndexedClass previous   = old == null? null : old.classes().get(entry);
+				if(previous != null && previous.stamp == classStamp) classes.put(entry, previous);
+				else changed.add(new Scan(path, files, entry, classStamp));
+			}
+			updated.put(key, new IndexedRoot(key, jar, stamp, classes));
+			scans.addAll(changed);
+		}catch(IOException e){
+			// the root keeps its previous classes, if any, until it can be read again
+			LOG.warn("Could not list the classes of " + path, e);
+		}
+	}
+	
+	private static IndexedClass scan(final Scan scan){
+		try{
+			return IndexedClass.scan(scan.entry(), scan.stamp(), scan.files().read(scan.entry()));
+		}catch(IOException | RuntimeException e){
+			// a class ASM can't read is left out, it would not show in the views either
+			LOG.debug("Could not index " + scan.entry() + " of " + scan.root(), e);
+			return null;
+		}
+	}
+	
+	/**
+	 * Swaps the postings of a root for those of its new version, classes kept from the old version keep theirs.
+	 */
+	private void replace(final IndexedRoot old, final IndexedRoot root){
+		if(old != null){
+			for(IndexedClass indexed : old.classes().values()){
+				if(root != null && root.classes().get(indexed.entry) == indexed) continue;
+				final Posting posting = new Posting(old.path(), old.jar(), indexed);
+				for(String key : indexed.keys){
+					final String       lookupKey = lookupKey(key);
+					final Set<Posting> postings  = lookup.get(lookupKey);
+					if(postings == null) continue;
+					postings.remove(posting);
+					if(postings.isEmpty()) lookup.remove(lookupKey);
+				}
+			}
+		}
+		if(root == null){
+			if(old != null) roots.remove(old.path());
+			return;
+		}
+		for(IndexedClass indexed : root.classes().values()){
+			if(old != null && old.classes().get(indexed.entry) == indexed) continue;
+			final Posting posting = new Posting(root.path(), root.jar(), indexed);
+			for(String key : indexed.keys){
+				lookup.computeIfAbsent(lookupKey(key), k -> ConcurrentHashMap.newKeySet()).add(posting);
+			}
+		}
+		roots.put(root.path(), root);
+	}
+	
+	private static String lookupKey(final String key){
+		return ReferenceKind.of(key).lookupKey(key.substring(1));
+	}
+	
+	/**
+	 * @param libraries whether to include the library jars and class directories, or only the module outputs
+	 */
+	private List<Path> findRoots(final boolean libraries){
+		final Set<Path> paths = new LinkedHashSet<>(ClassFileFinder.outputDirectories(project));
+		if(libraries) paths.addAll(ClassFileFinder.libraryRoots(project));
+		return List.copyOf(paths);
+	}
+	
+	private static long jarStamp(final Path jar) throws IOException{
+		return Files.getLastModifiedTime(jar).toMillis()*31 + Files.size(jar);
+	}
+	
+	private static long classStamp(final Path root, final String entry) throws IOException{
+		try{
+			return Files.getLastModifiedTime(root.resolve(entry)).toMillis();
+		}catch(NoSuchFileException e){
+			return -1;
+		}
+	}
+	
+	private Path indexFile(){
+		return Path.of(PathManager.getSystemPath(), "asm-bytecode-index", project.getLocationHash() + ".bin");
+	}
+	
+	private void load(){
+		final Path file = indexFile();
+		if(!Files.exists(file)) return;
+		final long start = System.nanoTime();
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))){
+			if(in.readInt() != VERSION) return;
+			final int count = in.readInt();
+			for(int i = 0; i<count; i++){
+				final String                    path    = in.readUTF();
+				final boolean                   jar     = in.readBoolean();
+				final long                      stamp   = in.readLong();
+				final Map<String, IndexedClass> classes = new HashMap<>();
+				final int                       size    = in.readInt();
+				for(int j = 0; j<size; j++){
+					final IndexedClass indexed = IndexedClass.read(in);
+					classes.put(indexed.entry, indexed);
+				}
+				replace(null, new IndexedRoot(path, jar, stamp, classes));
+			}
+			LOG.info("Bytecode index of " + project.getName() + " loaded in " + (System.nanoTime() - start)/1_000_000 + " ms");
+		}catch(IOException e){
+			// a broken index is rebuilt from scratch
+			LOG.warn("Could not load bytecode index " + file, e);
+			roots.clear();
+			lookup.clear();
+		}
+	}
+	
+	private void save(){
+		final Path file = indexFile();
+		try{
+			Files.createDirectories(file.getParent());
+			final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+			try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))){
+				out.writeInt(VERSION);
+				final List<IndexedRoot> saved = List.copyOf(roots.values());
+				out.writeInt(saved.size());
+				for(IndexedRoot root : saved){
+					out.writeUTF(root.path());
+					out.writeBoolean(root.jar());
+					out.writeLong(root.stamp());
+					out.writeInt(root.classes().size());
+					for(IndexedClass indexed : root.classes().values()) indexed.write(out);
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}catch(IOException e){
+			LOG.warn("Could not save bytecode index " + file, e);
+		}
+	}
+}
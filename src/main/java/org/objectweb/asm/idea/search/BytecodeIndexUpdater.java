@@ -0,0 +1,48 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.search;
+
+import com.intellij.openapi.compiler.CompilationStatusListener;
+import com.intellij.openapi.compiler.CompileContext;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Keeps the {@link BytecodeIndex} in step with the module outputs after each build, and with the libraries when the
+ * project roots change.
+ */
+public class BytecodeIndexUpdater implements CompilationStatusListener, ModuleRootListener{
+	private final Project project;
+	
+	public BytecodeIndexUpdater(final Project project){
+		this.project = project;
+	}
+	
+	@Override
+	public void compilationFinished(final boolean aborted, final int errors, final int warnings, final @NotNull CompileContext compileContext){
+		if(!aborted) BytecodeIndex.getInstance(project).outputsChanged();
+	}
+	
+	@Override
+	public void rootsChanged(final @NotNull ModuleRootEvent event){
+		BytecodeIndex.getInstance(project).rootsChanged();
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.search;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ConstantDynamic;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.idea.diff.NormalizedMethod;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The references made by the code of one class file, as stored in the {@link BytecodeIndex}.
+ * <p>
+ * Every distinct reference is stored once as a key, and every place it is used as a triple of key, method and
+ * instruction index in {@link #refs}, which keeps the class compact on disk and in memory.
+ */
+final class IndexedClass{
+	
+	/**
+	 * Constants longer than this are cut, nobody searches for the middle of a long string by prefix.
+	 */
+	private static final int MAX_CONSTANT_LENGTH = 200;
+	
+	final String   entry;
+	final long     stamp;
+	final String[] methods;
+	final String[] keys;
+	final int[]    refs;
+	
+	private IndexedClass(final String entry, final long stamp, final String[] methods, final String[] keys, final int[] refs){
+		this.entry = entry;
+		this.stamp = stamp;
+		this.methods = methods;
+		this.keys = keys;
+		this.refs = refs;
+	}
+	
+	/**
+	 * @param entry the path of the class file relative to its root
+	 * @param stamp changes whenever the class file does
+	 */
+	static IndexedClass scan(final String entry, final long stamp, final byte[] bytes){
+		final Collector collector = new Collector();
+		new ClassReader(bytes).accept(collector, ClassReader.SKIP_DEBUG|ClassReader.SKIP_FRAMES);
+		final int[] refs = new int[collector.refs.size()];
+		for(int i = 0; i<refs.length; i++) refs[i] = collector.refs.get(i);
+		return new IndexedClass(entry, stamp, collector.methods.toArray(String[]::new), collector.keys.keySet().toArray(String[]::new), refs);
+	}
+	
+	static IndexedClass read(final DataInput in) throws IOException{
+		final String   entry   = in.readUTF();
+		final long     stamp   = in.readLong();
+		final String[] methods = new String[in.readInt()];
+		for(int i = 0; i<methods.length; i++) methods[i] = in.readUTF();
+		final String[] keys = new String[in.readInt()];
+		for(int i = 0; i<keys.length; i++) keys[i] = in.readUTF();
+		final int[] refs = new int[in.readInt()];
+		for(int i = 0; i<refs.length; i++) refs[i] = in.readInt();
+		return new IndexedClass(entry, stamp, methods, keys, refs);
+	}
+	
+	void write(final DataOutput out) throws IOException{
+		out.writeUTF(entry);
+		out.writeLong(stamp);
+		out.writeInt(methods.length);
+		for(String method : methods) out.writeUTF(method);
+		out.writeInt(keys.length);
+		for(String key : keys) out.writeUTF(key);
+		out.writeInt(refs.length);
+		for(int ref : refs) out.writeInt(ref);
+	}
+	
+	/**
+	 * Builds the keys and reference triples while the class is read, counting real instructions the same way as the
+	 * Bytecode view lists them.
+	 */
+	private static final class Collector extends ClassVisitor{
+		// insertion ordered, the values are the key indexes
+		private final Map<String, Integer> keys    = new LinkedHashMap<>();
+		private final List<String>         methods = new ArrayList<>();
+		private final List<Integer>        refs    = new ArrayList<>();
+		
+		private Collector(){
+			super(Opcodes.ASM9);
+		}
+		
+		@Override
+		public MethodVisitor visitMethod(final int access, final String name, final String descriptor, final String signature, final String[] exceptions){
+			final int method = methods.size();
+			methods.add(name + descriptor);
+			return new MethodVisitor(Opcodes.ASM9){
+				private int instruction;
+				
+				private void add(final ReferenceKind kind, final String text){
+					final Integer key = keys.computeIfAbsent(kind.key(text), k -> keys.size());
+					refs.add(key);
+					refs.add(method);
+					refs.add(instruction);
+				}
+				
+				/**
+				 * Arrays are found by their element class, like the class itself; arrays of primitives are not found.
+				 */
+				private void addType(final Type type){
+					final Type element = type.getSort() == Type.ARRAY? type.getElementType() : type;
+					if(element.getSort() == Type.OBJECT) add(ReferenceKind.TYPE, element.getInternalName());
+				}
+				
+				@Override
+				public void visitInsn(final int opcode){
+					instruction++;
+				}
+				
+				@Override
+				public void visitIntInsn(final int opcode, final int operand){
+					instruction++;
+				}
+				
+				@Override
+				public void visitVarInsn(final int opcode, final int varIndex){
+					instruction++;
+				}
+				
+				@Override
+				public void visitTypeInsn(final int opcode, final String type){
+					addType(Type.getObjectType(type));
+					instruction++;
+				}
+				
+				@Override
+				public void visitFieldInsn(final int opcode, final String owner, final String name, final String descriptor){
+					add(ReferenceKind.FIELD, owner + "." + name + ":" + descriptor);
+					instruction++;
+				}
+				
+				@Override
+				public void visitMethodInsn(final int opcode, final String owner, final String name, final String descriptor, final boolean isInterface){
+					add(ReferenceKind.METHOD, owner + "." + name + descriptor);
+					instruction++;
+				}
+				
+				@Override
+				public void visitInvokeDynamicInsn(final String name, final String descriptor, final Handle bootstrapMethodHandle, final Object... bootstrapMethodArguments){
+					add(ReferenceKind.BOOTSTRAP, bootstrapMethodHandle.getOwner() + "." + bootstrapMethodHandle.getName() + bootstrapMethodHandle.getDesc());
+					for(Object argument : bootstrapMethodArguments){
+						// the implementation method of a lambda is a reference like any other
+						if(argument instanceof Handle handle) add(handle.getTag()<=Opcodes.H_PUTSTATIC? ReferenceKind.FIELD : ReferenceKind.METHOD, handleKey(handle));
+					}
+					instruction++;
+				}
+				
+				@Override
+				public void visitJumpInsn(final int opcode, final Label label){
+					instruction++;
+				}
+				
+				@Override
+				public void visitLdcInsn(final Object value){
+					if(value instanceof Type type && type.getSort() != Type.METHOD) addType(type);
+					else if(value instanceof Handle handle) add(handle.getTag()<=Opcodes.H_PUTSTATIC? ReferenceKind.FIELD : ReferenceKind.METHOD, handleKey(handle));
+					else if(value instanceof ConstantDynamic dynamic) add(ReferenceKind.BOOTSTRAP, handleKey(dynamic.getBootstrapMethod()));
+					else add(ReferenceKind.CONSTANT, constant(value));
+					instruction++;
+				}
+				
+				@Override
+				public void visitIincInsn(final int varIndex, final int increment){
+					instruction++;
+				}
+				
+				@Override
+				public void visitTableSwitchInsn(final int min, final int max, final Label dflt, final Label... labels){
+					instruction++;
+				}
+				
+				@Override
+				public void visitLookupSwitchInsn(final Label dflt, final int[] keys, final Label[] labels){
+					instruction++;
+				}
+				
+				@Override
+				public void visitMultiANewArrayInsn(final String descriptor, final int numDimensions){
+					addType(Type.getType(descriptor));
+					instruction++;
+				}
+			};
+		}
+	}
+	
+	private static String handleKey(final Handle handle){
+		return handle.getTag()<=Opcodes.H_PUTSTATIC
+		       ? handle.getOwner() + "." + handle.getName() + ":" + handle.getDesc()
+		       : handle.getOwner() + "." + handle.getName() + handle.getDesc();
+	}
+	
+	private static String constant(final Object value){
+		final String text = NormalizedMethod.constant(value);
+		return text.length()>MAX_CONSTANT_LENGTH? text.substring(0, MAX_CONSTANT_LENGTH) : text;
+	}
+}
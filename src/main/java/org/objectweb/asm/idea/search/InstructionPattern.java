@@ -0,0 +1,236 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.search;
+
+import org.objectweb.asm.idea.diff.NormalizedMethod;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.util.Printer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A sequence of instructions to look for, such as {@code ALOAD; GETFIELD owner/x; INVOKEVIRTUAL java/lang/Integer.intValue}.
+ * <p>
+ * Steps are separated by new lines, or by semicolons followed by a space. A step is an opcode, in which {@code *}
+ * and {@code ?} are wildcards, optionally followed by the start of its operand, written as in the Bytecode view and
+ * also with wildcards. Dots and slashes are interchangeable in operands, and a descriptor may follow a method name with or
+ * without a space. {@code *} alone matches any one instruction and {@code ...} any number of them. Only real
+ * instructions take part: labels, line numbers and frames are skipped.
+ */
+public final class InstructionPattern{
+	
+	/**
+	 * A match, in real instructions of the method.
+	 *
+	 * @param start  the index of the first matched instruction
+	 * @param length the number of matched instructions
+	 */
+	public record Found(int start, int length){ }
+	
+	/**
+	 * @param opcode  matches the opcode name, or null for any instruction
+	 * @param operand matches the start of the normalized operand, or null for any operand
+	 */
+	private record Step(Pattern opcode, Pattern operand, boolean gap){ }
+	
+	private static final int UNKNOWN = -2;
+	
+	private final String     text;
+	private final List<Step> steps;
+	
+	private InstructionPattern(final String text, final List<Step> steps){
+		this.text = text;
+		this.steps = List.copyOf(steps);
+	}
+	
+	/**
+	 * @throws IllegalArgumentException with a message for the user if the pattern is malformed
+	 */
+	public static InstructionPattern parse(final String text){
+		final List<Step> steps = new ArrayList<>();
+		// descriptors contain semicolons too, but never followed by a space
+		for(String part : text.split(";(?=\\s|$)|\\n")){
+			final String step = part.trim();
+			if(step.isEmpty()) continue;
+			if(step.equals("...")){
+				if(!steps.isEmpty() && steps.get(steps.size() - 1).gap()) continue;
+				steps.add(new Step(null, null, true));
+				continue;
+			}
+			final int    space   = step.indexOf(' ');
+			final String opcode  = space<0? step : step.substring(0, space);
+			final String operand = space<0? null : step.substring(space + 1).trim();
+			if(!opcode.matches("[A-Za-z0-9_*?]+")) throw new IllegalArgumentException("Not an opcode: " + opcode);
+			final Pattern opcodePattern = opcode.equals("*")? null : Pattern.compile(glob(opcode.toUpperCase(Locale.ROOT)));
+			if(opcodePattern != null && !matchesAnyOpcode(opcodePattern)) throw new IllegalArgumentException("No opcode matches " + opcode);
+			// the operand must end where a name ends, so owner/x does not match owner/xy
+			final Pattern operandPattern = operand == null? null : Pattern.compile(glob(normalize(operand)) + "(?=$|[ (:])");
+			steps.add(new Step(opcodePattern, operandPattern, false));
+		}
+		if(steps.stream().allMatch(Step::gap)) throw new IllegalArgumentException("The pattern has no instructions");
+		// leading and trailing gaps would only make matches longer
+		while(steps.get(0).gap()) steps.remove(0);
+		while(steps.get(steps.size() - 1).gap()) steps.remove(steps.size() - 1);
+		return new InstructionPattern(text, steps);
+	}
+	
+	/**
+	 * @return the non overlapping matches in the method, in instruction order
+	 */
+	public List<Found> find(final MethodNode method){
+		final Instructions insns = new Instructions(method);
+		final List<Found>  found = new ArrayList<>();
+		final int[][]      gaps  = new int[steps.size()][];
+		for(int start = 0; start<insns.size(); ){
+			final int end = matchAt(0, insns, start, gaps);
+			if(end<0){
+				start++;
+			}else{
+				found.add(new Found(start, end - start));
+				start = end;
+			}
+		}
+		return found;
+	}
+	
+	/**
+	 * The result of a gap step only depends on where it starts, so it is remembered in {@code gaps}, by step then
+	 * index, and each is worked out once per method instead of again for every way of reaching it.
+	 *
+	 * @return the index after the last instruction matched by the steps from {@code step} on, or -1
+	 */
+	private int matchAt(final int step, final Instructions insns, final int index, final int[][] gaps){
+		if(step == steps.size()) return index;
+		final Step current = steps.get(step);
+		if(current.gap()){
+			if(index>=insns.size()) return -1;
+			if(gaps[step] == null){
+				gaps[step] = new int[insns.size()];
+				Arrays.fill(gaps[step], UNKNOWN);
+			}
+			final int[] known = gaps[step];
+			// as few instructions as possible, so a match does not swallow the next one
+			int end  = -1;
+			int skip = index;
+			for(; skip<insns.size(); skip++){
+				if(known[skip] != UNKNOWN){
+					end = known[skip];
+					break;
+				}
+				end = matchAt(step + 1, insns, skip, gaps);
+				if(end>=0) break;
+			}
+			// the gap ends the same way from every index it went over
+			Arrays.fill(known, index, Math.min(skip + 1, insns.size()), end);
+			return end;
+		}
+		if(index>=insns.size()) return -1;
+		if(current.opcode() != null && !current.opcode().matcher(insns.opcode(index)).matches()) return -1;
+		if(current.operand() != null && !current.operand().matcher(insns.operand(index)).lookingAt()) return -1;
+		return matchAt(step + 1, insns, index + 1, gaps);
+	}
+	
+	@Override
+	public String toString(){
+		return text;
+	}
+	
+	/**
+	 * The real instructions of a method, their operands printed only when a step looks at them.
+	 */
+	static final class Instructions{
+		private final List<AbstractInsnNode>  insns   = new ArrayList<>();
+		private final Map<LabelNode, Integer> targets = new HashMap<>();
+		private final String[]                operands;
+		
+		Instructions(final MethodNode method){
+			for(AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()){
+				if(insn instanceof LabelNode label) targets.put(label, insns.size());
+				else if(insn.getOpcode()>=0) insns.add(insn);
+			}
+			operands = new String[insns.size()];
+		}
+		
+		int size(){
+			return insns.size();
+		}
+		
+		String opcode(final int index){
+			return Printer.OPCODES[insns.get(index).getOpcode()];
+		}
+		
+		String operand(final int index){
+			if(operands[index] == null){
+				final StringBuilder sb = new StringBuilder();
+				NormalizedMethod.append(sb, insns.get(index), index, targets);
+				final int space = sb.indexOf(" ");
+				operands[index] = space<0? "" : normalize(sb.substring(space + 1));
+			}
+			return operands[index];
+		}
+		
+		/**
+		 * @return the instructions as printed in the Bytecode view, separated by semicolons
+		 */
+		String text(final int start, final int length){
+			final StringBuilder sb = new StringBuilder();
+			for(int i = start; i<start + length; i++){
+				if(i>start) sb.append("; ");
+				NormalizedMethod.append(sb, insns.get(i), i, targets);
+			}
+			return sb.toString();
+		}
+	}
+	
+	/**
+	 * Removes the differences between the ways an operand can be written: dots and slashes, the spaces the Bytecode
+	 * view puts around field descriptors and before method descriptors, and the semicolon ending a descriptor, which
+	 * may have been taken for a step separator.
+	 */
+	private static String normalize(final String operand){
+		final String normalized = operand.replace(" : ", ":").replace(" (", "(").replace('.', '/');
+		return normalized.endsWith(";")? normalized.substring(0, normalized.length() - 1) : normalized;
+	}
+	
+	private static String glob(final String glob){
+		final StringBuilder regex = new StringBuilder();
+		for(int i = 0; i<glob.length(); i++){
+			final char c = glob.charAt(i);
+			if(c == '*') regex.append(".*");
+			else if(c == '?') regex.append('.');
+			else regex.append(Pattern.quote(String.valueOf(c)));
+		}
+		return regex.toString();
+	}
+	
+	private static boolean matchesAnyOpcode(final Pattern opcode){
+		for(String name : Printer.OPCODES){
+			if(name != null && !name.isEmpty() && opcode.matcher(name).matches()) return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.search;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.idea.export.ClassFiles;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs an {@link InstructionPattern} over the parsed instructions of classes, never over rendered text.
+ * <p>
+ * The classes of a jar or directory are scanned in parallel and in no particular order, and the matches of each class
+ * are handed over as soon as it is done, so results can be shown while the scan goes on.
+ */
+public final class PatternSearch{
+	
+	/**
+	 * A matched instruction sequence.
+	 *
+	 * @param entry       the path of the class file in its jar or directory
+	 * @param method      the method name and descriptor
+	 * @param instruction the index of the first matched instruction among the real instructions of the method
+	 * @param text        the matched instructions
+	 */
+	public record Match(String entry, String method, int instruction, String text){
+		
+		public String getClassName(){
+			return entry.substring(0, entry.length() - ".class".length()).replace('/', '.');
+		}
+		
+		public String getMethodName(){
+			return method.substring(0, method.indexOf('('));
+		}
+		
+		public String getMethodDescriptor(){
+			return method.substring(method.indexOf('('));
+		}
+	}
+	
+	private PatternSearch(){ }
+	
+	/**
+	 * @return the matches in one class, by method then instruction
+	 */
+	public static List<Match> search(final InstructionPattern pattern, final String entry, final byte[] bytes){
+		final List<Match> matches = new ArrayList<>();
+		search(pattern, entry, bytes, () -> false, matches::addAll);
+		return matches;
+	}
+	
+	/**
+	 * Searches one class method by method, handing the matches of each method with any to {@code sink} as soon as it
+	 * is done.
+	 */
+	public static void search(final InstructionPattern pattern, final String entry, final byte[] bytes, final BooleanSupplier cancelled,
+	                          final Consumer<List<Match>> sink){
+		final ClassNode node = new ClassNode();
+		new ClassReader(bytes).accept(node, ClassReader.SKIP_DEBUG|ClassReader.SKIP_FRAMES);
+		for(MethodNode method : node.methods){
+			if(cancelled.getAsBoolean()) return;
+			final List<InstructionPattern.Found> found = pattern.find(method);
+			if(found.isEmpty()) continue;
+			final InstructionPattern.Instructions insns   = new InstructionPattern.Instructions(method);
+			final List<Match>                     matches = new ArrayList<>(found.size());
+			for(InstructionPattern.Found match : found){
+				matches.add(new Match(entry, method.name + method.desc, match.start(), insns.text(match.start(), match.length())));
+			}
+			sink.accept(matches);
+		}
+	}
+	
+	/**
+	 * Scans every class, handing the matches of each class with any to {@code sink} from the scanning threads.
+	 * Classes that can't be read, or that ASM can't parse, are skipped.
+	 *
+	 * @return the number of classes scanned
+	 */
+	public static int search(final InstructionPattern pattern, final ClassFiles classes, final int parallelism, final BooleanSupplier cancelled,
+	                         final Consumer<List<Match>> sink) throws IOException{
+		final ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try{
+			return pool.submit(() -> classes.names().parallelStream().mapToInt(name -> {
+				if(cancelled.getAsBoolean()) return 0;
+				final byte[] bytes;
+				try{
+					bytes = classes.read(name);
+				}catch(IOException e){
+					// one entry that can't be read, such as a corrupt or vanished one, does not stop the scan
+					return 0;
+				}
+				try{
+					final List<Match> matches = search(pattern, name, bytes);
+					if(!matches.isEmpty()) sink.accept(matches);
+				}catch(RuntimeException e){
+					// a class ASM can't read is skipped, it would not show in the views either
+				}
+				return 1;
+			}).sum()).get();
+		}catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while searching", e);
+		}catch(ExecutionException e){
+			throw new IOException("Could not search", e.getCause());
+		}finally{
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,380 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.search;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.CollectionListModel;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBList;
+import com.intellij.ui.components.JBTextField;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.BytecodeRenderer;
+import org.objectweb.asm.idea.export.ClassFiles;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Searches the shown class, or every class of a jar or directory, for an {@link InstructionPattern} and lists the
+ * matches as they are found. Opening a match moves the caret of the Bytecode view to its first instruction.
+ */
+public class PatternSearchPanel extends SimpleToolWindowPanel implements Disposable{
+	
+	public static final String TAB_NAME = "Pattern Search";
+	
+	static final int MAX_RESULTS = 5000;
+	
+	private final Project                                  project;
+	private final JBTextField                              patternField = new JBTextField();
+	private final CollectionListModel<PatternSearch.Match> results      = new CollectionListModel<>();
+	private final JBList<PatternSearch.Match>              list         = new JBList<>(results);
+	private final JBLabel                                  status       = new JBLabel(" ");
+	
+	private volatile ProgressIndicator                          running;
+	// finds the class file of a match of the last search
+	private          Function<PatternSearch.Match, VirtualFile> locator;
+	// the bytes searched when the last search was over the shown class
+	private          byte[]                                     shownBytes;
+	
+	public PatternSearchPanel(final Project project){
+		super(true, true);
+		this.project = project;
+		setupUI();
+	}
+	
+	public static PatternSearchPanel getInstance(Project project){
+		return project.getService(PatternSearchPanel.class);
+	}
+	
+	private void setupUI(){
+		final DefaultActionGroup actions = new DefaultActionGroup(new SearchShownClassAction(), new SearchClassesAction(), new StopAction());
+		final ActionToolbar      toolbar = ActionManager.getInstance().createActionToolbar("ASM", actions, true);
+		toolbar.setTargetComponent(this);
+		
+		patternField.getEmptyText().setText("ALOAD; GETFIELD owner/x; INVOKEVIRTUAL java/lang/Integer.intValue");
+		patternField.addKeyListener(new KeyAdapter(){
+			@Override
+			public void keyPressed(final KeyEvent e){
+				if(e.getKeyCode() == KeyEvent.VK_ENTER) searchShownClass();
+			}
+		});
+		final JPanel top = new JPanel(new BorderLayout());
+		top.add(toolbar.getComponent(), BorderLayout.WEST);
+		top.add(patternField, BorderLayout.CENTER);
+		setToolbar(top);
+		
+		list.setCellRenderer(SimpleListCellRenderer.<PatternSearch.Match>create((label, match, index) -> {
+			label.setText(match.getClassName() + "." + match.getMethodName() + " #" + match.instruction() + "   " + match.text());
+			label.setIcon(AllIcons.Nodes.Method);
+		}));
+		list.getEmptyText().setText("Search the shown class, or a jar or directory, for an instruction sequence");
+		new DoubleClickListener(){
+			@Override
+			protected boolean onDoubleClick(final @NotNull MouseEvent event){
+				navigate(list.getSelectedValue());
+				return true;
+			}
+		}.installOn(list);
+		list.addKeyListener(new KeyAdapter(){
+			@Override
+			public void keyPressed(final KeyEvent e){
+				if(e.getKeyCode() == KeyEvent.VK_ENTER) navigate(list.getSelectedValue());
+			}
+		});
+		
+		final JPanel content = new JPanel(new BorderLayout());
+		content.add(ScrollPaneFactory.createScrollPane(list), BorderLayout.CENTER);
+		content.add(status, BorderLayout.SOUTH);
+		setContent(content);
+	}
+	
+	/**
+	 * @return the parsed pattern, or null after telling the user what is wrong with it
+	 */
+	private InstructionPattern parsePattern(){
+		try{
+			return InstructionPattern.parse(patternField.getText());
+		}catch(IllegalArgumentException e){
+			status.setText(e.getMessage());
+			return null;
+		}
+	}
+	
+	/**
+	 * Parses the pattern and searches the shown class in the background, listing the matches of each method as it is
+	 * searched.
+	 */
+	private void searchShownClass(){
+		final String           text     = patternField.getText();
+		final BytecodeRenderer renderer = BytecodeRenderer.getInstance(project);
+		final VirtualFile      file     = renderer.getSelected();
+		final byte[]           bytes    = renderer.getSelectedBytes();
+		if(file == null || bytes == null){
+			status.setText("No class is shown, open one with the ASM Bytecode Viewer action first");
+			return;
+		}
+		start(match -> file, bytes);
+		final Function<PatternSearch.Match, VirtualFile> searched = locator;
+		// matches found by this search and not yet listed
+		final Queue<PatternSearch.Match>                 pending  = new ConcurrentLinkedQueue<>();
+		final AtomicBoolean                              flushing = new AtomicBoolean();
+		
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Searching " + file.getName(), true){
+			private ProgressIndicator indicator;
+			private String            error;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				this.indicator = indicator;
+				running = indicator;
+				final InstructionPattern pattern;
+				try{
+					pattern = InstructionPattern.parse(text);
+				}catch(IllegalArgumentException e){
+					error = e.getMessage();
+					return;
+				}
+				try{
+					PatternSearch.search(pattern, file.getName(), bytes, indicator::isCanceled, publisher(searched, pending, flushing));
+				}catch(RuntimeException e){
+					error = "Could not search " + file.getName() + ": " + e.getMessage();
+				}
+			}
+			
+			@Override
+			public void onFinished(){
+				if(running == indicator) running = null;
+				if(locator != searched) return;
+				if(error != null){
+					status.setText(error);
+					return;
+				}
+				flush(searched, pending, flushing);
+				status.setText(results.getSize() + (results.getSize()>=MAX_RESULTS? "+" : "") + " matches in " + file.getName() +
+				               (indicator != null && indicator.isCanceled()? ", stopped" : ""));
+			}
+		});
+	}
+	
+	/**
+	 * Scans a jar or class directory in the background, listing matches while the scan goes on.
+	 */
+	public void searchClasses(final Path root){
+		final InstructionPattern pattern = parsePattern();
+		if(pattern == null) return;
+		final boolean jar  = !Files.isDirectory(root);
+		final String  path = FileUtil.toSystemIndependentName(root.toString());
+		start(match -> jar? JarFileSystem.getInstance().findFileByPath(path + JarFileSystem.JAR_SEPARATOR + match.entry())
+		                  : LocalFileSystem.getInstance().refreshAndFindFileByNioFile(root.resolve(match.entry())), null);
+		final Function<PatternSearch.Match, VirtualFile> searched = locator;
+		// matches found by the scanning threads of this search and not yet listed
+		final Queue<PatternSearch.Match>                 pending  = new ConcurrentLinkedQueue<>();
+		final AtomicBoolean                              flushing = new AtomicBoolean();
+		
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Searching " + root.getFileName() + " for " + pattern, true){
+			private ProgressIndicator indicator;
+			private int               classes;
+			private long              millis;
+			private boolean           failed;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				this.indicator = indicator;
+				running = indicator;
+				indicator.setIndeterminate(true);
+				final long start = System.nanoTime();
+				try(ClassFiles files = ClassFiles.open(root)){
+					classes = PatternSearch.search(pattern, files, Runtime.getRuntime().availableProcessors(), indicator::isCanceled,
+					                               publisher(searched, pending, flushing));
+				}catch(IOException e){
+					failed = true;
+					ApplicationManager.getApplication().invokeLater(() -> status.setText("Could not read " + root + ": " + e.getMessage()), project.getDisposed());
+				}
+				millis = (System.nanoTime() - start)/1_000_000;
+			}
+			
+			@Override
+			public void onFinished(){
+				if(running == indicator) running = null;
+				if(locator != searched || failed) return;
+				flush(searched, pending, flushing);
+				status.setText(results.getSize() + (results.getSize()>=MAX_RESULTS? "+" : "") + " matches in " + classes + " classes of " +
+				               root.getFileName() + ", " + millis + " ms" + (indicator != null && indicator.isCanceled()? ", stopped" : ""));
+			}
+		});
+	}
+	
+	/**
+	 * Stops the running search and clears the results for a new one.
+	 */
+	private void start(final Function<PatternSearch.Match, VirtualFile> locator, final byte[] shownBytes){
+		final ProgressIndicator indicator = running;
+		if(indicator != null) indicator.cancel();
+		this.locator = locator;
+		this.shownBytes = shownBytes;
+		results.removeAll();
+		status.setText("Searching...");
+	}
+	
+	/**
+	 * @return a sink queueing the matches of a search, from any thread, to be listed by the next flush
+	 */
+	private Consumer<List<PatternSearch.Match>> publisher(final Function<PatternSearch.Match, VirtualFile> searched, final Queue<PatternSearch.Match> pending,
+	                                                      final AtomicBoolean flushing){
+		return matches -> {
+			pending.addAll(matches);
+			if(flushing.compareAndSet(false, true)) ApplicationManager.getApplication().invokeLater(() -> flush(searched, pending, flushing), project.getDisposed());
+		};
+	}
+	
+	/**
+	 * Lists the matches a search found since its last flush, if it is still the current search.
+	 */
+	private void flush(final Function<PatternSearch.Match, VirtualFile> searched, final Queue<PatternSearch.Match> pending,
+	                   final AtomicBoolean flushing){
+		flushing.set(false);
+		final List<PatternSearch.Match> found = new ArrayList<>();
+		for(PatternSearch.Match match; (match = pending.poll()) != null; ) found.add(match);
+		if(locator != searched || results.getSize()>=MAX_RESULTS) return;
+		results.add(found.subList(0, Math.min(found.size(), MAX_RESULTS - results.getSize())));
+		status.setText(results.getSize() + " matches so far...");
+	}
+	
+	private void navigate(final PatternSearch.Match match){
+		if(match == null || locator == null) return;
+		final VirtualFile file = locator.apply(match);
+		if(file == null){
+			status.setText(match.entry() + " no longer exists");
+			return;
+		}
+		try{
+			final byte[] bytes = shownBytes != null? shownBytes : file.contentsToByteArray();
+			BytecodeRenderer.getInstance(project).reveal(
+				file, bytes, new BytecodeRenderer.MethodRef(match.getMethodName(), match.getMethodDescriptor()), match.instruction()
+			);
+		}catch(IOException e){
+			status.setText("Could not read " + file.getPresentableUrl() + ": " + e.getMessage());
+		}
+	}
+	
+	@Override
+	public void dispose(){
+		final ProgressIndicator indicator = running;
+		if(indicator != null) indicator.cancel();
+	}
+	
+	private final class SearchShownClassAction extends AnAction{
+		
+		private SearchShownClassAction(){
+			super("Search Shown Class", "Search the class shown in the Bytecode view", AllIcons.Actions.Find);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			searchShownClass();
+		}
+	}
+	
+	private final class SearchClassesAction extends AnAction{
+		
+		private SearchClassesAction(){
+			super("Search Jar or Directory...", "Search every class of a jar or class directory", AllIcons.Nodes.PpJar);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			if(parsePattern() == null) return;
+			final VirtualFile file = FileChooser.chooseFile(
+				FileChooserDescriptorFactory.createSingleFileOrFolderDescriptor().withTitle("Search Classes Of"), project, null
+			);
+			if(file == null) return;
+			final VirtualFile jar  = JarFileSystem.getInstance().getVirtualFileForJar(file);
+			final VirtualFile root = jar != null? jar : file;
+			if(root.isInLocalFileSystem()) searchClasses(root.toNioPath());
+		}
+	}
+	
+	private final class StopAction extends AnAction{
+		
+		private StopAction(){
+			super("Stop", "Stop the running search", AllIcons.Actions.Suspend);
+		}
+		
+		@Override
+		public @NotNull ActionUpdateThread getActionUpdateThread(){
+			return ActionUpdateThread.EDT;
+		}
+		
+		@Override
+		public void update(final @NotNull AnActionEvent e){
+			e.getPresentation().setEnabled(running != null);
+		}
+		
+		@Override
+		public void actionPerformed(final @NotNull AnActionEvent e){
+			final ProgressIndicator indicator = running;
+			if(indicator != null) indicator.cancel();
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.search;
+
+/**
+ * What an indexed instruction refers to. Each kind prefixes its keys in the {@link BytecodeIndex} with its own letter.
+ */
+public enum ReferenceKind{
+	/**
+	 * A method call, {@code owner.name(descriptor)}, or a method handle.
+	 */
+	METHOD('M'),
+	/**
+	 * A field access, {@code owner.name:descriptor}, or a field handle.
+	 */
+	FIELD('F'),
+	/**
+	 * The class of a NEW, CHECKCAST, INSTANCEOF, ANEWARRAY, MULTIANEWARRAY or class constant.
+	 */
+	TYPE('T'),
+	/**
+	 * A number or string loaded by LDC, printed by value.
+	 */
+	CONSTANT('C'),
+	/**
+	 * The bootstrap method of an INVOKEDYNAMIC or dynamic constant.
+	 */
+	BOOTSTRAP('B');
+	
+	private final char prefix;
+	
+	ReferenceKind(final char prefix){
+		this.prefix = prefix;
+	}
+	
+	String key(final String text){
+		return prefix + text;
+	}
+	
+	/**
+	 * @return the form under which a key is looked up, in which {@code java.lang.Integer.valueOf} and
+	 * {@code java/lang/Integer.valueOf} are the same
+	 */
+	String lookupKey(final String text){
+		return this == CONSTANT? key(text) : key(text.replace('.', '/'));
+	}
+	
+	static ReferenceKind of(final String key){
+		for(ReferenceKind kind : values()){
+			if(kind.prefix == key.charAt(0)) return kind;
+		}
+		throw new IllegalArgumentException(key);
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.search;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.SimpleListCellRenderer;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.BytecodeRenderer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Searches the {@link BytecodeIndex} and opens the chosen instruction in the Bytecode view.
+ */
+public class SearchBytecodeAction extends AnAction{
+	
+	@Override
+	public @NotNull ActionUpdateThread getActionUpdateThread(){
+		return ActionUpdateThread.BGT;
+	}
+	
+	@Override
+	public void update(final @NotNull AnActionEvent e){
+		e.getPresentation().setEnabled(e.getProject() != null);
+	}
+	
+	@Override
+	public void actionPerformed(final @NotNull AnActionEvent e){
+		final Project project = e.getProject();
+		if(project == null) return;
+		final String query = Messages.showInputDialog(
+			project, "Method, field, class, bootstrap method or constant, e.g. java.lang.Integer.valueOf or java/lang/invoke/LambdaMetafactory",
+			"Search Bytecode", null
+		);
+		if(query == null || query.isBlank()) return;
+		
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Searching bytecode", true){
+			private List<BytecodeIndex.Occurrence> results;
+			private long                           millis;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				final BytecodeIndex index = BytecodeIndex.getInstance(project);
+				if(!index.isReady()) index.update(indicator);
+				final long start = System.nanoTime();
+				results = index.search(query);
+				millis = (System.nanoTime() - start)/1_000_000;
+			}
+			
+			@Override
+			public void onSuccess(){
+				if(results.isEmpty()){
+					JBPopupFactory.getInstance()
+					              .createMessage("No instruction references " + query.trim())
+					              .showCenteredInCurrentWindow(project);
+					return;
+				}
+				final String count = results.size()>=BytecodeIndex.MAX_RESULTS? "First " + results.size() : String.valueOf(results.size());
+				JBPopupFactory.getInstance()
+				              .createPopupChooserBuilder(results)
+				              .setTitle(count + " Usages of " + query.trim() + " (" + millis + " ms)")
+				              .setRenderer(SimpleListCellRenderer.<BytecodeIndex.Occurrence>create((label, occurrence, index) -> {
+					              label.setText(occurrence.getClassName() + "." + occurrence.getMethodName() + " #" + occurrence.instruction() +
+					                            "   " + occurrence.reference());
+					              label.setIcon(switch(occurrence.kind()){
+						              case METHOD -> AllIcons.Nodes.Method;
+						              case FIELD -> AllIcons.Nodes.Field;
+						              case TYPE -> AllIcons.Nodes.Class;
+						              case CONSTANT -> AllIcons.Nodes.Constant;
+						              case BOOTSTRAP -> AllIcons.Nodes.Lambda;
+					              });
+				              }))
+				              .setNamerForFiltering(occurrence -> occurrence.getClassName() + "." + occurrence.method() + " " + occurrence.reference())
+				              .setItemChosenCallback(occurrence -> navigate(project, occurrence))
+				              .createPopup()
+				              .showCenteredInCurrentWindow(project);
+			}
+		});
+	}
+	
+	/**
+	 * Shows the class of an occurrence with the caret on its instruction, once its class file is read in the background.
+	 */
+	static void navigate(final Project project, final BytecodeIndex.Occurrence occurrence){
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Opening " + occurrence.getClassName(), true){
+			private VirtualFile file;
+			private byte[]      bytes;
+			private String      error;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				file = occurrence.findFile();
+				if(file == null){
+					error = occurrence.entry() + " no longer exists in " + occurrence.root();
+					return;
+				}
+				try{
+					bytes = file.contentsToByteArray();
+				}catch(IOException e){
+					error = "Could not read " + file.getPresentableUrl() + ": " + e.getMessage();
+				}
+			}
+			
+			@Override
+			public void onSuccess(){
+				if(error != null){
+					showNotification(project, error);
+					return;
+				}
+				BytecodeRenderer.getInstance(project).reveal(
+					file, bytes, new BytecodeRenderer.MethodRef(occurrence.getMethodName(), occurrence.getMethodDescriptor()), occurrence.instruction()
+				);
+			}
+		});
+	}
+	
+	private static void showNotification(final Project project, final String content){
+		NotificationGroupManager.getInstance().getNotificationGroup("ASM Bytecode").createNotification(content, NotificationType.WARNING).notify(project);
+	}
+}
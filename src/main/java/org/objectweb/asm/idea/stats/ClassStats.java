@@ -0,0 +1,186 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.stats;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.idea.CodeAttributes;
+
+import java.util.Arrays;
+
+/**
+ * The figures of one class file which go into the {@link OpcodeStatistics}, computed without printing anything.
+ * <p>
+ * Code sizes and max stack and locals come straight from the {@link CodeAttributes}, the opcodes from a visit of the
+ * instructions. The opcode histogram is kept sparse, most classes use a few dozen opcodes out of two hundred.
+ */
+final class ClassStats{
+	
+	final int    constantPoolCount;
+	final int    constantPoolBytes;
+	// the opcodes used and how often, in opcode order
+	final byte[] opcodes;
+	final int[]  opcodeCounts;
+	// one entry per method with code
+	final int[]  codeLengths;
+	final int[]  maxStacks;
+	final int[]  maxLocals;
+	
+	private ClassStats(final int constantPoolCount, final int constantPoolBytes, final int[] histogram, final int[] codeLengths,
+	                   final int[] maxStacks, final int[] maxLocals){
+		this.constantPoolCount = constantPoolCount;
+		this.constantPoolBytes = constantPoolBytes;
+		int used = 0;
+		for(int count : histogram) if(count>0) used++;
+		this.opcodes = new byte[used];
+		this.opcodeCounts = new int[used];
+		for(int opcode = 0, i = 0; opcode<histogram.length; opcode++){
+			if(histogram[opcode] == 0) continue;
+			opcodes[i] = (byte)opcode;
+			opcodeCounts[i++] = histogram[opcode];
+		}
+		this.codeLengths = codeLengths;
+		this.maxStacks = maxStacks;
+		this.maxLocals = maxLocals;
+	}
+	
+	static ClassStats scan(final byte[] bytes){
+		final ClassReader reader    = new ClassReader(bytes);
+		final int[]       histogram = new int[256];
+		reader.accept(new ClassVisitor(Opcodes.ASM9){
+			@Override
+			public MethodVisitor visitMethod(final int access, final String name, final String descriptor, final String signature, final String[] exceptions){
+				return new OpcodeCounter(histogram);
+			}
+		}, ClassReader.SKIP_DEBUG|ClassReader.SKIP_FRAMES);
+		
+		// then read the head of every Code attribute
+		final CodeHeads heads = new CodeHeads(reader);
+		CodeAttributes.accept(reader, heads);
+		return new ClassStats(reader.getItemCount(), reader.header - 10, histogram, Arrays.copyOf(heads.codeLengths, heads.count),
+		                      Arrays.copyOf(heads.maxStacks, heads.count), Arrays.copyOf(heads.maxLocals, heads.count));
+	}
+	
+	/**
+	 * Collects the code length, max stack and max locals of the methods with code.
+	 */
+	private static final class CodeHeads implements CodeAttributes.Visitor{
+		private final ClassReader reader;
+		
+		private int[] codeLengths = new int[16];
+		private int[] maxStacks   = new int[16];
+		private int[] maxLocals   = new int[16];
+		private int   count;
+		
+		private CodeHeads(final ClassReader reader){
+			this.reader = reader;
+		}
+		
+		@Override
+		public void visitMethod(final int access, final String name, final String descriptor, final int code){
+			if(code<0) return;
+			if(count == codeLengths.length){
+				codeLengths = Arrays.copyOf(codeLengths, count*2);
+				maxStacks = Arrays.copyOf(maxStacks, count*2);
+				maxLocals = Arrays.copyOf(maxLocals, count*2);
+			}
+			codeLengths[count] = CodeAttributes.codeLength(reader, code);
+			maxStacks[count] = CodeAttributes.maxStack(reader, code);
+			maxLocals[count++] = CodeAttributes.maxLocals(reader, code);
+		}
+	}
+	
+	private static final class OpcodeCounter extends MethodVisitor{
+		private final int[] histogram;
+		
+		private OpcodeCounter(final int[] histogram){
+			super(Opcodes.ASM9);
+			this.histogram = histogram;
+		}
+		
+		@Override
+		public void visitInsn(final int opcode){
+			histogram[opcode]++;
+		}
+		
+		@Override
+		public void visitIntInsn(final int opcode, final int operand){
+			histogram[opcode]++;
+		}
+		
+		@Override
+		public void visitVarInsn(final int opcode, final int varIndex){
+			histogram[opcode]++;
+		}
+		
+		@Override
+		public void visitTypeInsn(final int opcode, final String type){
+			histogram[opcode]++;
+		}
+		
+		@Override
+		public void visitFieldInsn(final int opcode, final String owner, final String name, final String descriptor){
+			histogram[opcode]++;
+		}
+		
+		@Override
+		public void visitMethodInsn(final int opcode, final String owner, final String name, final String descriptor, final boolean isInterface){
+			histogram[opcode]++;
+		}
+		
+		@Override
+		public void visitInvokeDynamicInsn(final String name, final String descriptor, final Handle bootstrapMethodHandle, final Object... bootstrapMethodArguments){
+			histogram[Opcodes.INVOKEDYNAMIC]++;
+		}
+		
+		@Override
+		public void visitJumpInsn(final int opcode, final Label label){
+			histogram[opcode]++;
+		}
+		
+		@Override
+		public void visitLdcInsn(final Object value){
+			histogram[Opcodes.LDC]++;
+		}
+		
+		@Override
+		public void visitIincInsn(final int varIndex, final int increment){
+			histogram[Opcodes.IINC]++;
+		}
+		
+		@Override
+		public void visitTableSwitchInsn(final int min, final int max, final Label dflt, final Label... labels){
+			histogram[Opcodes.TABLESWITCH]++;
+		}
+		
+		@Override
+		public void visitLookupSwitchInsn(final Label dflt, final int[] keys, final Label[] labels){
+			histogram[Opcodes.LOOKUPSWITCH]++;
+		}
+		
+		@Override
+		public void visitMultiANewArrayInsn(final String descriptor, final int numDimensions){
+			histogram[Opcodes.MULTIANEWARRAY]++;
+		}
+	}
+}
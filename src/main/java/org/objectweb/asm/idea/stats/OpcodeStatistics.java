@@ -0,0 +1,224 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.stats;
+
+import com.intellij.openapi.project.Project;
+import org.objectweb.asm.idea.export.ClassFiles;
+import org.objectweb.asm.util.Printer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Opcode histograms, method code sizes, constant pool sizes and max stack and locals over every class of a module
+ * output or jar, to compare what different compilers or compiler versions generate.
+ * <p>
+ * Classes are scanned in parallel and no text is ever printed. The figures of each class are kept with its time stamp,
+ * size and the hash of its bytes, per scanned jar or directory. Scanning again after a build only reads the classes
+ * whose time stamp or size changed, and only visits those whose bytes changed too.
+ */
+public class OpcodeStatistics{
+	
+	/**
+	 * Method code sizes at which HotSpot changes its mind about a method: trivial, inlined by size (MaxInlineSize),
+	 * inlined when hot (FreqInlineSize) and never compiled (HugeMethodLimit).
+	 */
+	private static final int[]    SIZE_LIMITS = {8, 35, 325, 8000};
+	private static final String[] SIZE_NOTES  = {"trivial", "inlined by size", "inlined when hot", "too big to inline", "never JIT compiled"};
+	
+	/**
+	 * @param scanned the classes read and visited, the others came from the cache
+	 */
+	public record Result(String report, int classes, int scanned, long millis){ }
+	
+	private record ScannedClass(long modified, long size, String hash, ClassStats stats){ }
+	
+	// figures of the last scan of each source, by class file name
+	private final Map<Path, Map<String, ScannedClass>> caches = new ConcurrentHashMap<>();
+	
+	public static OpcodeStatistics getInstance(Project project){
+		return project.getService(OpcodeStatistics.class);
+	}
+	
+	/**
+	 * Scans a jar or class directory.
+	 *
+	 * @return the report, or null if cancelled
+	 */
+	public Result scan(final Path source, final BooleanSupplier cancelled) throws IOException{
+		final long                    start    = System.nanoTime();
+		final Map<String, ScannedClass> previous = caches.getOrDefault(source, Map.of());
+		final Map<String, ScannedClass> current  = new ConcurrentHashMap<>();
+		// a class moved or touched without changing is found again by its hash
+		final Map<String, ClassStats>   byHash   = new HashMap<>();
+		for(ScannedClass scannedClass : previous.values()) byHash.put(scannedClass.hash(), scannedClass.stats());
+		final AtomicInteger    scanned = new AtomicInteger();
+		final List<ClassStats> stats;
+		try(ClassFiles classes = ClassFiles.open(source)){
+			final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+			try{
+				stats = pool.submit(() -> classes.names().parallelStream().map(name -> {
+					if(cancelled.getAsBoolean()) return null;
+					try{
+						final long         modified = classes.lastModified(name);
+						final long         size     = classes.size(name);
+						final ScannedClass known    = previous.get(name);
+						if(known != null && known.modified() == modified && known.size() == size){
+							current.put(name, known);
+							return known.stats();
+						}
+						final byte[] bytes = classes.read(name);
+						final String hash  = hash(bytes);
+						ClassStats   found = byHash.get(hash);
+						if(found == null){
+							found = ClassStats.scan(bytes);
+							scanned.incrementAndGet();
+						}
+						current.put(name, new ScannedClass(modified, size, hash, found));
+						return found;
+					}catch(IOException e){
+						throw new UncheckedIOException(e);
+					}catch(RuntimeException e){
+						// a class ASM can't read is left out of the figures
+						return null;
+					}
+				}).toList()).get();
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				return null;
+			}catch(ExecutionException e){
+				if(e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+				throw new IOException("Could not scan " + source, e.getCause());
+			}finally{
+				pool.shutdown();
+			}
+		}
+		if(cancelled.getAsBoolean()) return null;
+		caches.put(source, current);
+		
+		final List<ClassStats> present = stats.stream().filter(Objects::nonNull).toList();
+		final long             millis  = (System.nanoTime() - start)/1_000_000;
+		final String header = String.format(Locale.ROOT, "Opcode statistics of %s\n%d classes, %d scanned and %d unchanged since the last run, %d ms\n",
+		                                    source, present.size(), scanned.get(), present.size() - scanned.get(), millis);
+		return new Result(header + report(present), present.size(), scanned.get(), millis);
+	}
+	
+	static String report(final List<ClassStats> classes){
+		final long[]      histogram   = new long[256];
+		final List<int[]> codeLengths = new ArrayList<>();
+		final List<int[]> maxStacks   = new ArrayList<>();
+		final List<int[]> maxLocals   = new ArrayList<>();
+		final int[]       poolCounts  = new int[classes.size()];
+		final int[]       poolBytes   = new int[classes.size()];
+		for(int i = 0; i<classes.size(); i++){
+			final ClassStats stats = classes.get(i);
+			for(int j = 0; j<stats.opcodes.length; j++) histogram[stats.opcodes[j]&0xFF] += stats.opcodeCounts[j];
+			codeLengths.add(stats.codeLengths);
+			maxStacks.add(stats.maxStacks);
+			maxLocals.add(stats.maxLocals);
+			poolCounts[i] = stats.constantPoolCount;
+			poolBytes[i] = stats.constantPoolBytes;
+		}
+		final int[] sizes        = concat(codeLengths);
+		final long  instructions = Arrays.stream(histogram).sum();
+		
+		final StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.ROOT, "%d methods with code, %d instructions\n", sizes.length, instructions));
+		
+		sb.append(String.format(Locale.ROOT, "\n%-22s %8s %8s %8s %8s %8s\n", "Distribution", "mean", "median", "p90", "p99", "max"));
+		distribution(sb, "Constant pool entries", poolCounts);
+		distribution(sb, "Constant pool bytes", poolBytes);
+		distribution(sb, "Method code bytes", sizes);
+		distribution(sb, "Max stack", concat(maxStacks));
+		distribution(sb, "Max locals", concat(maxLocals));
+		
+		sb.append(String.format(Locale.ROOT, "\n%-18s %11s %8s\n", "Method code bytes", "methods", "%"));
+		final int[] buckets = new int[SIZE_LIMITS.length + 1];
+		for(int size : sizes){
+			int bucket = 0;
+			while(bucket<SIZE_LIMITS.length && size>SIZE_LIMITS[bucket]) bucket++;
+			buckets[bucket]++;
+		}
+		for(int bucket = 0; bucket<buckets.length; bucket++){
+			final String from  = bucket == 0? "0" : String.valueOf(SIZE_LIMITS[bucket - 1] + 1);
+			final String range = bucket == SIZE_LIMITS.length? ">" + SIZE_LIMITS[bucket - 1] : from + "-" + SIZE_LIMITS[bucket];
+			sb.append(String.format(Locale.ROOT, "%-18s %11d %8.2f   %s\n", range, buckets[bucket], percent(buckets[bucket], sizes.length), SIZE_NOTES[bucket]));
+		}
+		
+		sb.append(String.format(Locale.ROOT, "\n%-18s %11s %8s %14s\n", "Opcode", "count", "%", "cumulative %"));
+		final List<Integer> opcodes = new ArrayList<>();
+		for(int opcode = 0; opcode<histogram.length; opcode++) if(histogram[opcode]>0) opcodes.add(opcode);
+		opcodes.sort(Comparator.comparingLong((Integer opcode) -> histogram[opcode]).reversed());
+		long cumulative = 0;
+		for(int opcode : opcodes){
+			cumulative += histogram[opcode];
+			sb.append(String.format(Locale.ROOT, "%-18s %11d %8.2f %14.2f\n",
+			                        Printer.OPCODES[opcode], histogram[opcode], percent(histogram[opcode], instructions), percent(cumulative, instructions)));
+		}
+		return sb.toString();
+	}
+	
+	private static void distribution(final StringBuilder sb, final String name, final int[] values){
+		if(values.length == 0){
+			sb.append(String.format(Locale.ROOT, "%-22s %8s\n", name, "-"));
+			return;
+		}
+		final int[] sorted = values.clone();
+		Arrays.sort(sorted);
+		sb.append(String.format(Locale.ROOT, "%-22s %8.1f %8d %8d %8d %8d\n", name, Arrays.stream(sorted).average().orElse(0),
+		                        percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted[sorted.length - 1]));
+	}
+	
+	private static int percentile(final int[] sorted, final int percent){
+		return sorted[Math.min(sorted.length - 1, (int)((long)sorted.length*percent/100))];
+	}
+	
+	private static double percent(final long part, final long whole){
+		return whole == 0? 0 : 100.0*part/whole;
+	}
+	
+	private static int[] concat(final List<int[]> arrays){
+		return arrays.stream().flatMapToInt(Arrays::stream).toArray();
+	}
+	
+	private static String hash(final byte[] bytes){
+		try{
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(bytes));
+		}catch(NoSuchAlgorithmException e){
+			throw new IllegalStateException(e);
+		}
+	}
+}
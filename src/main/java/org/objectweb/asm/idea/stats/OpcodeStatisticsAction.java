@@ -0,0 +1,86 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.stats;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileTypes.PlainTextFileType;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.LightVirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.idea.export.BulkExportAction;
+
+import java.io.IOException;
+
+/**
+ * Computes the {@link OpcodeStatistics} of the selected jar or output directory and opens the report in an editor, where
+ * two reports can be compared with the usual diff.
+ */
+public class OpcodeStatisticsAction extends AnAction{
+	
+	@Override
+	public @NotNull ActionUpdateThread getActionUpdateThread(){
+		return ActionUpdateThread.BGT;
+	}
+	
+	@Override
+	public void update(final @NotNull AnActionEvent e){
+		e.getPresentation().setEnabled(e.getProject() != null && BulkExportAction.findSource(e) != null);
+	}
+	
+	@Override
+	public void actionPerformed(final @NotNull AnActionEvent e){
+		final Project     project = e.getProject();
+		final VirtualFile source  = BulkExportAction.findSource(e);
+		if(project == null || source == null) return;
+		
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, "Computing opcode statistics of " + source.getName(), true){
+			private OpcodeStatistics.Result result;
+			private String                  error;
+			
+			@Override
+			public void run(final @NotNull ProgressIndicator indicator){
+				try{
+					result = OpcodeStatistics.getInstance(project).scan(source.toNioPath(), indicator::isCanceled);
+				}catch(IOException ex){
+					error = "Could not read " + source.getPresentableUrl() + ": " + ex.getMessage();
+				}
+			}
+			
+			@Override
+			public void onSuccess(){
+				if(error != null){
+					JBPopupFactory.getInstance().createMessage(error).showCenteredInCurrentWindow(project);
+					return;
+				}
+				if(result == null) return;
+				final LightVirtualFile report = new LightVirtualFile("Opcode statistics of " + source.getName() + ".txt", PlainTextFileType.INSTANCE, result.report());
+				report.setWritable(false);
+				FileEditorManager.getInstance(project).openFile(report, true);
+			}
+		});
+	}
+}
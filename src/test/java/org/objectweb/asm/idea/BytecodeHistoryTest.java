@@ -0,0 +1,150 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BytecodeHistoryTest{
+	
+	/**
+	 * @param first the number of the first method, each method brings constants of its own
+	 */
+	private static byte[] classBytes(final int first, final int count){
+		final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		writer.visit(Opcodes.V21, Opcodes.ACC_PUBLIC, "p/C", null, "java/lang/Object", null);
+		for(int i = first; i<first + count; i++){
+			final MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC|Opcodes.ACC_STATIC, "method" + i, "()Ljava/lang/String;", null, null);
+			method.visitCode();
+			method.visitTypeInsn(Opcodes.NEW, "java/lang/StringBuilder");
+			method.visitInsn(Opcodes.DUP);
+			method.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/StringBuilder", "<init>", "()V", false);
+			for(int j = 0; j<8; j++){
+				method.visitLdcInsn("constant " + i + "." + j);
+				method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "append", "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+				method.visitFieldInsn(Opcodes.GETSTATIC, "p/C", "field" + i + "_" + j, "I");
+				method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "append", "(I)Ljava/lang/StringBuilder;", false);
+			}
+			method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "toString", "()Ljava/lang/String;", false);
+			method.visitInsn(Opcodes.ARETURN);
+			method.visitMaxs(0, 0);
+			method.visitEnd();
+		}
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+	
+	private static void assertRoundTrip(final byte[] newer, final byte[] older){
+		assertArrayEquals(older, BytecodeHistory.decodeDelta(newer, BytecodeHistory.encodeDelta(newer, older)));
+	}
+	
+	private static int deflatedLength(final byte[] data){
+		final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try{
+			deflater.setInput(data);
+			deflater.finish();
+			final byte[] buffer = new byte[data.length + 64];
+			int          length = 0;
+			while(!deflater.finished()) length += deflater.deflate(buffer);
+			return length;
+		}finally{
+			deflater.end();
+		}
+	}
+	
+	@Test
+	void deltasRoundTrip(){
+		final byte[] small = classBytes(0, 3);
+		final byte[] large = classBytes(0, 40);
+		assertRoundTrip(large, large);
+		assertRoundTrip(large, small);
+		assertRoundTrip(small, large);
+		assertRoundTrip(large, classBytes(1, 40));
+		assertRoundTrip(new byte[0], small);
+		assertRoundTrip(small, new byte[0]);
+		assertRoundTrip(new byte[]{1, 2, 3}, new byte[]{3, 2});
+	}
+	
+	@Test
+	void randomEditsRoundTrip(){
+		final Random random = new Random(42);
+		final byte[] base   = classBytes(0, 20);
+		for(int round = 0; round<200; round++){
+			final byte[] edited = base.clone();
+			for(int edit = random.nextInt(20); edit>=0; edit--) edited[random.nextInt(edited.length)] = (byte)random.nextInt(256);
+			final int    cut   = random.nextInt(edited.length);
+			final int    keep  = random.nextInt(edited.length - cut);
+			final byte[] older = new byte[cut + keep];
+			System.arraycopy(edited, 0, older, 0, cut);
+			System.arraycopy(edited, edited.length - keep, older, cut, keep);
+			assertRoundTrip(base, older);
+			assertRoundTrip(older, base);
+		}
+	}
+	
+	@Test
+	void renumberedConstantPoolStaysSmall(){
+		// a method added in front shifts the index of every constant after its own
+		final byte[] older = classBytes(1, 40);
+		final byte[] newer = classBytes(0, 41);
+		final byte[] delta = BytecodeHistory.encodeDelta(newer, older);
+		assertTrue(deflatedLength(delta)*4<deflatedLength(older), "delta of " + deflatedLength(delta) + " bytes for a class of " + deflatedLength(older));
+	}
+	
+	@Test
+	void restoresEveryRecordedBuild(){
+		final BytecodeHistory history = new BytecodeHistory();
+		final byte[][]        builds  = new byte[5][];
+		for(int i = 0; i<builds.length; i++){
+			builds[i] = classBytes(builds.length - i, 10 + i);
+			history.record("p/C.class", builds[i]);
+		}
+		// identical to the latest, not recorded again
+		history.record("p/C.class", builds[builds.length - 1].clone());
+		
+		final List<BytecodeHistory.Revision> revisions = history.getRevisions("p/C.class");
+		assertEquals(builds.length, revisions.size());
+		for(BytecodeHistory.Revision revision : revisions){
+			final byte[] build = builds[builds.length - 1 - revision.index()];
+			assertEquals(build.length, revision.length());
+			assertArrayEquals(build, history.restore("p/C.class", revision));
+		}
+		assertNull(history.restore("p/D.class", revisions.get(0)));
+	}
+	
+	@Test
+	void keepsAtMostMaxRevisions(){
+		final BytecodeHistory history = new BytecodeHistory();
+		for(int i = 0; i<BytecodeHistory.MAX_REVISIONS + 5; i++) history.record("p/C.class", classBytes(i, 5));
+		final List<BytecodeHistory.Revision> revisions = history.getRevisions("p/C.class");
+		assertEquals(BytecodeHistory.MAX_REVISIONS, revisions.size());
+		assertArrayEquals(classBytes(5, 5), history.restore("p/C.class", revisions.get(revisions.size() - 1)));
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.cfg;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ControlFlowGraphTest{
+	
+	private static MethodNode method(){
+		return new MethodNode(Opcodes.ACC_STATIC, "m", "(I)I", null, null);
+	}
+	
+	private static int[] dominators(final ControlFlowGraph graph){
+		return graph.getBlocks().stream().mapToInt(ControlFlowGraph.Block::getDominator).toArray();
+	}
+	
+	private static BitSet blocks(final int... indices){
+		final BitSet set = new BitSet();
+		for(int index : indices) set.set(index);
+		return set;
+	}
+	
+	@Test
+	void straightLineIsOneBlock(){
+		final MethodNode method = method();
+		final Label      line   = new Label();
+		method.visitLabel(line);
+		method.visitLineNumber(3, line);
+		method.visitVarInsn(Opcodes.ILOAD, 0);
+		method.visitInsn(Opcodes.ICONST_1);
+		method.visitInsn(Opcodes.IADD);
+		method.visitInsn(Opcodes.IRETURN);
+		
+		final ControlFlowGraph graph = ControlFlowGraph.of(method);
+		assertEquals(1, graph.getBlocks().size());
+		assertEquals(4, graph.getInstructionCount());
+		assertArrayEquals(new int[]{0}, dominators(graph));
+		assertEquals(List.of(), graph.getLoops());
+	}
+	
+	@Test
+	void branchesJoinUnderTheirCommonDominator(){
+		final MethodNode method = method();
+		final Label      other  = new Label();
+		final Label      join   = new Label();
+		method.visitVarInsn(Opcodes.ILOAD, 0);
+		method.visitJumpInsn(Opcodes.IFEQ, other);
+		method.visitInsn(Opcodes.ICONST_1);
+		method.visitJumpInsn(Opcodes.GOTO, join);
+		method.visitLabel(other);
+		method.visitInsn(Opcodes.ICONST_2);
+		method.visitLabel(join);
+		method.visitInsn(Opcodes.IRETURN);
+		
+		final ControlFlowGraph graph = ControlFlowGraph.of(method);
+		assertEquals(4, graph.getBlocks().size());
+		assertArrayEquals(new int[]{2, 1}, graph.getBlocks().get(0).getSuccessors());
+		assertArrayEquals(new int[]{3}, graph.getBlocks().get(1).getSuccessors());
+		assertArrayEquals(new int[]{1, 2}, graph.getBlocks().get(3).getPredecessors());
+		assertArrayEquals(new int[]{0, 0, 0, 0}, dominators(graph));
+		assertTrue(graph.dominates(0, 3));
+		assertFalse(graph.dominates(1, 3));
+		assertEquals(List.of(), graph.getLoops());
+	}
+	
+	@Test
+	void nestedLoops(){
+		final MethodNode method = method();
+		final Label      outer  = new Label();
+		final Label      inner  = new Label();
+		final Label      next   = new Label();
+		final Label      end    = new Label();
+		method.visitInsn(Opcodes.ICONST_0);
+		method.visitVarInsn(Opcodes.ISTORE, 1);
+		method.visitLabel(outer);
+		method.visitVarInsn(Opcodes.ILOAD, 1);
+		method.visitVarInsn(Opcodes.ILOAD, 0);
+		method.visitJumpInsn(Opcodes.IF_ICMPGE, end);
+		method.visitInsn(Opcodes.ICONST_0);
+		method.visitVarInsn(Opcodes.ISTORE, 2);
+		method.visitLabel(inner);
+		method.visitVarInsn(Opcodes.ILOAD, 2);
+		method.visitVarInsn(Opcodes.ILOAD, 0);
+		method.visitJumpInsn(Opcodes.IF_ICMPGE, next);
+		method.visitIincInsn(2, 1);
+		method.visitJumpInsn(Opcodes.GOTO, inner);
+		method.visitLabel(next);
+		method.visitIincInsn(1, 1);
+		method.visitJumpInsn(Opcodes.GOTO, outer);
+		method.visitLabel(end);
+		method.visitVarInsn(Opcodes.ILOAD, 1);
+		method.visitInsn(Opcodes.IRETURN);
+		
+		final ControlFlowGraph graph = ControlFlowGraph.of(method);
+		assertEquals(7, graph.getBlocks().size());
+		assertArrayEquals(new int[]{0, 0, 1, 2, 3, 3, 1}, dominators(graph));
+		
+		final List<ControlFlowGraph.Loop> loops = graph.getLoops();
+		assertEquals(2, loops.size());
+		assertEquals(new ControlFlowGraph.Loop(1, blocks(1, 2, 3, 4, 5), -1, 1), loops.get(0));
+		assertEquals(new ControlFlowGraph.Loop(3, blocks(3, 4), 0, 2), loops.get(1));
+		assertEquals(1, graph.blockOf(10).getLoop());
+		assertEquals(0, graph.loopDepth(0));
+		assertEquals(1, graph.loopDepth(5));
+		assertEquals(2, graph.loopDepth(10));
+		assertEquals(1, graph.loopDepth(12));
+		assertEquals(0, graph.loopDepth(14));
+	}
+	
+	@Test
+	void irreducibleCyclesAreNotLoops(){
+		final MethodNode method = method();
+		final Label      first  = new Label();
+		final Label      second = new Label();
+		method.visitVarInsn(Opcodes.ILOAD, 0);
+		method.visitJumpInsn(Opcodes.IFEQ, second);
+		method.visitLabel(first);
+		method.visitIincInsn(0, -1);
+		method.visitVarInsn(Opcodes.ILOAD, 0);
+		method.visitJumpInsn(Opcodes.IFNE, second);
+		method.visitVarInsn(Opcodes.ILOAD, 0);
+		method.visitInsn(Opcodes.IRETURN);
+		method.visitLabel(second);
+		method.visitIincInsn(0, 2);
+		method.visitJumpInsn(Opcodes.GOTO, first);
+		
+		final ControlFlowGraph graph = ControlFlowGraph.of(method);
+		assertEquals(4, graph.getBlocks().size());
+		// both blocks of the cycle can be entered first, so neither dominates the other
+		assertArrayEquals(new int[]{0, 0, 1, 0}, dominators(graph));
+		assertEquals(List.of(), graph.getLoops());
+	}
+	
+	@Test
+	void unreachableBlocksHaveNoDominator(){
+		final MethodNode method = method();
+		method.visitInsn(Opcodes.ICONST_0);
+		method.visitInsn(Opcodes.IRETURN);
+		method.visitInsn(Opcodes.ICONST_1);
+		method.visitInsn(Opcodes.IRETURN);
+		
+		final ControlFlowGraph graph = ControlFlowGraph.of(method);
+		assertArrayEquals(new int[]{0, -1}, dominators(graph));
+		assertFalse(graph.dominates(0, 1));
+	}
+	
+	@Test
+	void handlersAreReachedThroughHandlerEdges(){
+		final MethodNode method  = method();
+		final Label      start   = new Label();
+		final Label      end     = new Label();
+		final Label      handler = new Label();
+		method.visitTryCatchBlock(start, end, handler, null);
+		method.visitLabel(start);
+		method.visitVarInsn(Opcodes.ILOAD, 0);
+		method.visitJumpInsn(Opcodes.IFEQ, end);
+		method.visitInsn(Opcodes.ICONST_1);
+		method.visitInsn(Opcodes.IRETURN);
+		method.visitLabel(end);
+		method.visitInsn(Opcodes.ICONST_0);
+		method.visitInsn(Opcodes.IRETURN);
+		method.visitLabel(handler);
+		method.visitInsn(Opcodes.POP);
+		method.visitInsn(Opcodes.ICONST_M1);
+		method.visitInsn(Opcodes.IRETURN);
+		
+		final ControlFlowGraph       graph = ControlFlowGraph.of(method);
+		final ControlFlowGraph.Block entry = graph.getBlocks().get(0);
+		assertEquals(4, graph.getBlocks().size());
+		assertArrayEquals(new int[]{2, 1, 3}, entry.getSuccessors());
+		assertFalse(entry.isHandlerEdge(0));
+		assertFalse(entry.isHandlerEdge(1));
+		assertTrue(entry.isHandlerEdge(2));
+		// the block after the try range is not covered by it
+		assertArrayEquals(new int[]{}, graph.getBlocks().get(2).getSuccessors());
+		assertArrayEquals(new int[]{3}, graph.getBlocks().get(1).getSuccessors());
+		assertArrayEquals(new int[]{0, 0, 0, 0}, dominators(graph));
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ *
+ *  Copyright 2026 the ASM Bytecode Outline contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ * /
+ */
+
+package org.objectweb.asm.idea.search;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstructionPatternTest{
+	
+	private static MethodNode method(final AbstractInsnNode... insns){
+		final MethodNode method = new MethodNode(Opcodes.ACC_PUBLIC, "m", "()V", null, null);
+		for(AbstractInsnNode insn : insns) method.instructions.add(insn);
+		return method;
+	}
+	
+	private static MethodNode unboxing(){
+		return method(
+			new VarInsnNode(Opcodes.ALOAD, 0),
+			new FieldInsnNode(Opcodes.GETFIELD, "owner", "x", "Ljava/lang/Integer;"),
+			new MethodInsnNode(Opcodes.INVOKEVIRTUAL, "java/lang/Integer", "intValue", "()I", false),
+			new InsnNode(Opcodes.IRETURN)
+		);
+	}
+	
+	private static List<InstructionPattern.Found> find(final String pattern, final MethodNode method){
+		return InstructionPattern.parse(pattern).find(method);
+	}
+	
+	@Test
+	void matchesOpcodesAndOperandPrefixes(){
+		assertEquals(List.of(new InstructionPattern.Found(0, 3)), find("ALOAD; GETFIELD owner/x; INVOKEVIRTUAL java/lang/Integer.intValue", unboxing()));
+	}
+	
+	@Test
+	void operandEndsWhereANameEnds(){
+		final MethodNode method = method(new FieldInsnNode(Opcodes.GETFIELD, "owner", "xy", "I"));
+		assertEquals(List.of(), find("GETFIELD owner/x", method));
+		assertEquals(1, find("GETFIELD owner/x*", method).size());
+	}
+	
+	@Test
+	void dotsAndSlashesAreInterchangeable(){
+		assertEquals(1, find("INVOKEVIRTUAL java.lang.Integer.intValue", unboxing()).size());
+	}
+	
+	@Test
+	void descriptorSemicolonsAreNotSeparators(){
+		final MethodNode method = method(
+			new VarInsnNode(Opcodes.ALOAD, 1),
+			new MethodInsnNode(Opcodes.INVOKESTATIC, "java/lang/String", "valueOf", "(Ljava/lang/Object;)Ljava/lang/String;", false)
+		);
+		assertEquals(List.of(new InstructionPattern.Found(0, 2)), find("ALOAD; INVOKESTATIC java/lang/String.valueOf(Ljava/lang/Object;)Ljava/lang/String;", method));
+		assertEquals(1, find("INVOKESTATIC java/lang/String.valueOf (Ljava/lang/Object;)Ljava/lang/String;", method).size());
+		assertEquals(1, find("INVOKESTATIC java/lang/String.valueOf(Ljava/lang/Object;)*", method).size());
+	}
+	
+	@Test
+	void opcodeWildcards(){
+		final MethodNode method = method(
+			new VarInsnNode(Opcodes.ILOAD, 1),
+			new VarInsnNode(Opcodes.ALOAD, 2),
+			new MethodInsnNode(Opcodes.INVOKESTATIC, "a/B", "c", "()V", false),
+			new MethodInsnNode(Opcodes.INVOKEINTERFACE, "a/C", "d", "()V", true)
+		);
+		assertEquals(List.of(new InstructionPattern.Found(0, 1), new InstructionPattern.Found(1, 1)), find("?LOAD", method));
+		assertEquals(List.of(new InstructionPattern.Found(2, 1), new InstructionPattern.Found(3, 1)), find("invoke*", method));
+		assertEquals(List.of(new InstructionPattern.Found(1, 2)), find("ALOAD; *", method));
+	}
+	
+	@Test
+	void gapsMatchAsFewInstructionsAsPossible(){
+		final MethodNode method = method(
+			new VarInsnNode(Opcodes.ALOAD, 0),
+			new InsnNode(Opcodes.NOP),
+			new InsnNode(Opcodes.POP),
+			new VarInsnNode(Opcodes.ALOAD, 0),
+			new InsnNode(Opcodes.POP),
+			new InsnNode(Opcodes.RETURN)
+		);
+		// the first match ends at the first POP, so the second ALOAD starts a match of its own
+		assertEquals(List.of(new InstructionPattern.Found(0, 3), new InstructionPattern.Found(3, 2)), find("ALOAD\n...\nPOP", method));
+		// leading and trailing gaps are dropped
+		assertEquals(find("ALOAD; POP", method), find("...; ALOAD; POP; ...", method));
+		assertEquals(List.of(), find("POP; ...; ALOAD; ...; NOP", method));
+	}
+	
+	@Test
+	void gapsOverLongMethods(){
+		final MethodNode method = method();
+		for(int i = 0; i<20_000; i++) method.instructions.add(new InsnNode(Opcodes.NOP));
+		method.instructions.add(new InsnNode(Opcodes.RETURN));
+		// every start fails the same way, which must not be worked out again from each of them
+		assertEquals(List.of(), find("NOP; ...; ATHROW", method));
+		assertEquals(List.of(new InstructionPattern.Found(0, 20_001)), find("NOP; ...; RETURN", method));
+	}
+	
+	@Test
+	void labelsAndLineNumbersAreSkipped(){
+		final LabelNode  label  = new LabelNode();
+		final MethodNode method = method(
+			new VarInsnNode(Opcodes.ILOAD, 1),
+			label,
+			new LineNumberNode(12, label),
+			new JumpInsnNode(Opcodes.IFEQ, label),
+			new InsnNode(Opcodes.RETURN)
+		);
+		assertEquals(List.of(new InstructionPattern.Found(0, 2)), find("ILOAD; IFEQ", method));
+		final InstructionPattern.Instructions insns = new InstructionPattern.Instructions(method);
+		assertEquals(3, insns.size());
+		assertEquals("ILOAD 1; IFEQ +0", insns.text(0, 2));
+	}
+	
+	@Test
+	void malformedPatternsAreRejected(){
+		assertTrue(assertThrows(IllegalArgumentException.class, () -> InstructionPattern.parse("GET-FIELD")).getMessage().contains("GET-FIELD"));
+		assertTrue(assertThrows(IllegalArgumentException.class, () -> InstructionPattern.parse("NOSUCHOP")).getMessage().contains("NOSUCHOP"));
+		assertThrows(IllegalArgumentException.class, () -> InstructionPattern.parse(""));
+		assertThrows(IllegalArgumentException.class, () -> InstructionPattern.parse("...; ..."));
+	}
+}